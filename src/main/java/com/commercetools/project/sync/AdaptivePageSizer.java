@@ -0,0 +1,67 @@
+package com.commercetools.project.sync;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Sizes the pages fetched by a {@link PagePipeline} based on the observed latency of the previous
+ * pages. The latency of a page is the time it took to fetch it from the source project plus the
+ * time it took to transform and sync it, without the time it waited for other pages. After every
+ * page, the latency per resource of this page is used to compute the page size which would take
+ * {@link SyncerOptions#getTargetPageLatencyMillis()} to fetch and sync. To avoid oscillation, the
+ * page size at most doubles or halves from one page to the next. It never exceeds {@link
+ * SyncerOptions#getPageSize()}, which also is the size of the first page, and never goes below
+ * {@link #MIN_PAGE_SIZE}.
+ *
+ * <p>If {@link SyncerOptions#getTargetPageLatencyMillis()} is 0, the page size is always {@link
+ * SyncerOptions#getPageSize()}.
+ */
+final class AdaptivePageSizer {
+  static final int MIN_PAGE_SIZE = 10;
+
+  private final int maxPageSize;
+  private final int minPageSize;
+  private final long targetPageLatencyMillis;
+
+  // Guarded by "this".
+  private int pageSize;
+
+  private AdaptivePageSizer(final int maxPageSize, final long targetPageLatencyMillis) {
+    this.maxPageSize = maxPageSize;
+    this.minPageSize = Math.min(MIN_PAGE_SIZE, maxPageSize);
+    this.targetPageLatencyMillis = targetPageLatencyMillis;
+    this.pageSize = maxPageSize;
+  }
+
+  @Nonnull
+  static AdaptivePageSizer of(@Nonnull final SyncerOptions syncerOptions) {
+    return new AdaptivePageSizer(
+        syncerOptions.getPageSize(), syncerOptions.getTargetPageLatencyMillis());
+  }
+
+  /**
+   * Gets the size of the next page to fetch.
+   *
+   * @return the size of the next page to fetch.
+   */
+  synchronized int getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Adjusts the size of the next pages to the latency observed for a page.
+   *
+   * @param resources the number of resources of the page.
+   * @param latencyMillis the time it took to fetch and process the page, in milliseconds.
+   */
+  synchronized void onPageProcessed(final int resources, final long latencyMillis) {
+    if (targetPageLatencyMillis == 0 || resources == 0) {
+      return;
+    }
+
+    final double latencyPerResource = (double) Math.max(latencyMillis, 1) / resources;
+    final long targetPageSize = (long) (targetPageLatencyMillis / latencyPerResource);
+    final long boundedPageSize =
+        Math.max(Math.min(targetPageSize, 2L * pageSize), Math.max(pageSize / 2, 1));
+    pageSize = (int) Math.max(Math.min(boundedPageSize, maxPageSize), minPageSize);
+  }
+}
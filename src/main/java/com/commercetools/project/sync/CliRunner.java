@@ -1,14 +1,30 @@
 package com.commercetools.project.sync;
 
+import static com.commercetools.project.sync.SyncerOptionsBuilder.BATCH_SIZE_DEFAULT;
+import static com.commercetools.project.sync.SyncerOptionsBuilder.MAX_PAGE_SIZE;
+import static com.commercetools.project.sync.SyncerOptionsBuilder.PAGE_SIZE_DEFAULT;
+import static com.commercetools.project.sync.SyncerOptionsBuilder.PREFETCH_DEPTH_DEFAULT;
+import static com.commercetools.project.sync.SyncerOptionsBuilder.REFERENCE_CACHE_SIZE_DEFAULT;
+import static com.commercetools.project.sync.util.QueryPartitionUtils.MAX_ID_RANGE_PARTITIONS;
 import static com.commercetools.project.sync.util.SyncUtils.getApplicationName;
 import static com.commercetools.project.sync.util.SyncUtils.getApplicationVersion;
 import static io.sphere.sdk.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toMap;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -23,12 +39,50 @@ final class CliRunner {
   static final String SYNC_MODULE_OPTION_SHORT = "s";
   static final String RUNNER_NAME_OPTION_SHORT = "r";
   static final String FULL_SYNC_OPTION_SHORT = "f";
+  static final String CONCURRENCY_OPTION_SHORT = "c";
+  static final String PREFETCH_DEPTH_OPTION_SHORT = "q";
+  static final String PARTITIONS_OPTION_SHORT = "p";
+  static final String DELTA_SYNC_WINDOW_SIZE_OPTION_SHORT = "w";
+  static final String CHECKPOINT_INTERVAL_OPTION_SHORT = "i";
+  static final String PAGE_SIZE_OPTION_SHORT = "l";
+  static final String BATCH_SIZE_OPTION_SHORT = "b";
+  static final String TARGET_PAGE_LATENCY_OPTION_SHORT = "t";
+  static final String REFERENCE_CACHE_SIZE_OPTION_SHORT = "k";
+  static final String WARM_UP_REFERENCE_CACHE_OPTION_SHORT = "u";
+  static final String REFERENCE_CACHE_DIRECTORY_OPTION_SHORT = "d";
+  static final String RESOLVE_REFERENCES_FROM_CACHE_OPTION_SHORT = "x";
+  static final String TRANSFORM_PARALLELISM_OPTION_SHORT = "j";
+  static final String CALLBACK_THREADS_OPTION_SHORT = "o";
+  static final String PERSISTENCE_THREADS_OPTION_SHORT = "e";
+  static final String MAX_CONCURRENT_MODULES_OPTION_SHORT = "m";
+  static final String DAEMON_INTERVAL_OPTION_SHORT = "n";
+  static final String CHANGE_FEED_OPTION_SHORT = "g";
+  static final String SHARD_OPTION_SHORT = "a";
   static final String HELP_OPTION_SHORT = "h";
   static final String VERSION_OPTION_SHORT = "v";
 
   static final String SYNC_MODULE_OPTION_LONG = "sync";
   static final String RUNNER_NAME_OPTION_LONG = "runnerName";
   static final String FULL_SYNC_OPTION_LONG = "full";
+  static final String CONCURRENCY_OPTION_LONG = "concurrency";
+  static final String PREFETCH_DEPTH_OPTION_LONG = "prefetchDepth";
+  static final String PARTITIONS_OPTION_LONG = "partitions";
+  static final String DELTA_SYNC_WINDOW_SIZE_OPTION_LONG = "deltaWindowSize";
+  static final String CHECKPOINT_INTERVAL_OPTION_LONG = "checkpointInterval";
+  static final String PAGE_SIZE_OPTION_LONG = "pageSize";
+  static final String BATCH_SIZE_OPTION_LONG = "batchSize";
+  static final String TARGET_PAGE_LATENCY_OPTION_LONG = "targetPageLatency";
+  static final String REFERENCE_CACHE_SIZE_OPTION_LONG = "referenceCacheSize";
+  static final String WARM_UP_REFERENCE_CACHE_OPTION_LONG = "warmUpReferenceCache";
+  static final String REFERENCE_CACHE_DIRECTORY_OPTION_LONG = "referenceCacheDirectory";
+  static final String RESOLVE_REFERENCES_FROM_CACHE_OPTION_LONG = "resolveReferencesFromCache";
+  static final String TRANSFORM_PARALLELISM_OPTION_LONG = "transformParallelism";
+  static final String CALLBACK_THREADS_OPTION_LONG = "callbackThreads";
+  static final String PERSISTENCE_THREADS_OPTION_LONG = "persistenceThreads";
+  static final String MAX_CONCURRENT_MODULES_OPTION_LONG = "maxConcurrentModules";
+  static final String DAEMON_INTERVAL_OPTION_LONG = "daemonInterval";
+  static final String CHANGE_FEED_OPTION_LONG = "changeFeed";
+  static final String SHARD_OPTION_LONG = "shard";
   static final String HELP_OPTION_LONG = "help";
   static final String VERSION_OPTION_LONG = "version";
 
@@ -40,6 +94,15 @@ final class CliRunner {
   static final String SYNC_MODULE_OPTION_INVENTORY_ENTRY_SYNC = "inventoryEntries";
   static final String SYNC_MODULE_OPTION_ALL = "all";
 
+  static final List<String> SYNC_MODULES =
+      asList(
+          SYNC_MODULE_OPTION_TYPE_SYNC,
+          SYNC_MODULE_OPTION_PRODUCT_TYPE_SYNC,
+          SYNC_MODULE_OPTION_CATEGORY_SYNC,
+          SYNC_MODULE_OPTION_CART_DISCOUNT_SYNC,
+          SYNC_MODULE_OPTION_PRODUCT_SYNC,
+          SYNC_MODULE_OPTION_INVENTORY_ENTRY_SYNC);
+
   static final String SYNC_MODULE_OPTION_DESCRIPTION =
       format(
           "Choose one of the following modules to run: \"%s\", \"%s\", \"%s\", \"%s\", \"%s\", \"%s\" or \"%s\".",
@@ -57,6 +120,114 @@ final class CliRunner {
   static final String FULL_SYNC_OPTION_DESCRIPTION =
       "By default, a delta sync runs using last-sync-timestamp logic. Use this flag to run a full sync. i.e. sync the "
           + "entire data set.";
+  static final String CONCURRENCY_OPTION_DESCRIPTION =
+      "Maximum number of pages which are processed concurrently by a sync module. Either a single number which applies "
+          + "to all modules, e.g. \"4\", or a comma separated list of module specific numbers, e.g. "
+          + "\"products=4,inventoryEntries=8\". (optional parameter) default: 1.";
+  static final String PREFETCH_DEPTH_OPTION_DESCRIPTION =
+      "Maximum number of pages which a sync module fetches from the source project ahead of the pages being "
+          + "processed. Every prefetched page is kept in memory until it is synced. With \"0\", a page is only "
+          + "fetched once a processed page has been synced. Either a single number which applies to all modules, "
+          + "e.g. \"2\", or a comma separated list of module specific numbers, e.g. "
+          + "\"products=2,inventoryEntries=0\". (optional parameter) default: "
+          + PREFETCH_DEPTH_DEFAULT
+          + ".";
+  static final String PARTITIONS_OPTION_DESCRIPTION =
+      "Number of disjoint id ranges which are synced concurrently by a sync module on a full sync (max: "
+          + MAX_ID_RANGE_PARTITIONS
+          + "). Either a single number which applies to all modules, e.g. \"4\", or a comma separated list of "
+          + "module specific numbers, e.g. \"products=8\". (optional parameter) default: 1.";
+  static final String DELTA_SYNC_WINDOW_SIZE_OPTION_DESCRIPTION =
+      "Targeted number of resources per time window on a delta sync. If set, the resources modified since the last "
+          + "sync are counted and the time range is split into windows which are synced concurrently. Either a single "
+          + "number which applies to all modules, e.g. \"50000\", or a comma separated list of module specific "
+          + "numbers, e.g. \"products=50000\". (optional parameter) default: the time range is not split.";
+  static final String CHECKPOINT_INTERVAL_OPTION_DESCRIPTION =
+      "Number of synced pages after which the progress of a sync module is persisted as a checkpoint in the target "
+          + "project. If a sync is interrupted, the next sync with the same runner name resumes from the last "
+          + "checkpoint. Either a single number which applies to all modules, e.g. \"10\", or a comma separated list "
+          + "of module specific numbers, e.g. \"products=10\". (optional parameter) default: no checkpoints are "
+          + "persisted.";
+  static final String PAGE_SIZE_OPTION_DESCRIPTION =
+      "Maximum number of resources fetched from the source project per page (max: "
+          + MAX_PAGE_SIZE
+          + "). Either a single number which applies to all modules, e.g. \"200\", or a comma separated list of "
+          + "module specific numbers, e.g. \"products=50,inventoryEntries=500\". (optional parameter) default: "
+          + PAGE_SIZE_DEFAULT
+          + ".";
+  static final String BATCH_SIZE_OPTION_DESCRIPTION =
+      "Number of drafts a sync module processes at once. Either a single number which applies to all modules, e.g. "
+          + "\"50\", or a comma separated list of module specific numbers, e.g. \"products=20,inventoryEntries=100\". "
+          + "(optional parameter) default: "
+          + BATCH_SIZE_DEFAULT
+          + ".";
+  static final String TARGET_PAGE_LATENCY_OPTION_DESCRIPTION =
+      "Targeted time in milliseconds to fetch, transform and sync a page. If set, the size of every page is adapted "
+          + "to the latency observed for the previous page, up to the page size. Either a single number which applies "
+          + "to all modules, e.g. \"5000\", or a comma separated list of module specific numbers, e.g. "
+          + "\"products=5000\". (optional parameter) default: the page size is not adapted.";
+  static final String REFERENCE_CACHE_SIZE_OPTION_DESCRIPTION =
+      "Maximum number of referenced resource id to key mappings cached by a sync module, e.g. for the reference "
+          + "attributes of products. Once the cache is full, the least recently used mappings are evicted. Either a "
+          + "single number which applies to all modules, e.g. \"500000\", or a comma separated list of module "
+          + "specific numbers, e.g. \"products=500000\". (optional parameter) default: "
+          + REFERENCE_CACHE_SIZE_DEFAULT
+          + ".";
+  static final String WARM_UP_REFERENCE_CACHE_OPTION_DESCRIPTION =
+      "Before syncing products, caches the keys of all categories and productTypes of the source project, so that "
+          + "the category and productType references of the products are resolved without fetching their keys page "
+          + "by page. (optional parameter) default: the keys are fetched page by page.";
+  static final String REFERENCE_CACHE_DIRECTORY_OPTION_DESCRIPTION =
+      "Directory in which the keys of the resources referenced by products are persisted across runs, so that they "
+          + "are not fetched again by the next runs. Only use it if the keys of the referenced resources do not "
+          + "change. The file of a source project is locked while it is read or written, so that runners syncing "
+          + "different shards can share the directory. (optional parameter) default: the keys are not persisted.";
+  static final String RESOLVE_REFERENCES_FROM_CACHE_OPTION_DESCRIPTION =
+      "Fetches categories, productTypes and inventoryEntries without expanding their references and resolves the "
+          + "keys of the referenced resources from a cache of referenced resource id to key mappings instead, like "
+          + "for products. (optional parameter) default: the references are expanded.";
+  static final String TRANSFORM_PARALLELISM_OPTION_DESCRIPTION =
+      "Number of threads of a dedicated pool which transform the pages into drafts, instead of the I/O thread "
+          + "which fetched the page. The pages of products are split across the threads. Either a single number which applies to all "
+          + "modules, e.g. \"4\", or a comma separated list of module specific numbers, e.g. \"products=4\". "
+          + "(optional parameter) default: the pages are transformed sequentially.";
+  static final String CALLBACK_THREADS_OPTION_DESCRIPTION =
+      "Number of threads of a dedicated pool which process the responses of the requests, e.g. to replace "
+          + "reference ids with keys and to hand the drafts over to the sync, instead of the I/O threads of the "
+          + "client. Either a single number which applies to all modules, e.g. \"2\", or a comma separated list of "
+          + "module specific numbers, e.g. \"products=2\". (optional parameter) default: the responses are "
+          + "processed on the I/O threads.";
+  static final String PERSISTENCE_THREADS_OPTION_DESCRIPTION =
+      "Number of threads of a dedicated pool which log the statistics and persist the last sync timestamp. Either "
+          + "a single number which applies to all modules, e.g. \"1\", or a comma separated list of module specific "
+          + "numbers, e.g. \"products=1\". (optional parameter) default: they are logged and persisted on the "
+          + "I/O threads.";
+  static final String MAX_CONCURRENT_MODULES_OPTION_DESCRIPTION =
+      "Maximum number of modules which are synced at the same time when syncing \"all\" modules. Every module "
+          + "is started as soon as the modules it depends on have been synced. (optional parameter) default: "
+          + SyncModuleScheduler.MAX_CONCURRENT_MODULES_DEFAULT
+          + ".";
+  static final String DAEMON_INTERVAL_OPTION_DESCRIPTION =
+      "Number of seconds between the end of a delta sync and the start of the next one. If set, the application "
+          + "keeps running and syncs continuously, reusing the clients and the caches of referenced keys, until it "
+          + "is terminated. The running delta sync is completed before the application shuts down. Cannot be "
+          + "combined with a full sync. (optional parameter) default: a single sync is run.";
+  static final String CHANGE_FEED_OPTION_DESCRIPTION =
+      "On a delta sync of products, categories and inventoryEntries, pages through the messages of the source "
+          + "project created since the previous delta sync and fetches only the resources referenced by them, each "
+          + "once. If the messages are not enabled on the source project, the resources modified since the last sync "
+          + "are synced instead. Since not every change emits a message, the change feed does not advance the last "
+          + "sync timestamp. Once it is older than the retention period of the messages, the resources modified since "
+          + "the last sync are synced instead, including the changes which did not emit a message. (optional "
+          + "parameter) default: the resources modified since the last sync are synced.";
+  static final String SHARD_OPTION_DESCRIPTION =
+      format(
+          "Shard of the resources synced by this runner, e.g. \"3/8\" for the third of eight shards. The resources "
+              + "of every module are split into that many disjoint id ranges, so that several runner processes with "
+              + "the same runner name can sync the same module concurrently, each one its own shard. Every shard "
+              + "persists its own last sync timestamp. The number of shards has to be between 1 and %d. (optional "
+              + "parameter) default: all resources are synced by a single runner.",
+          MAX_ID_RANGE_PARTITIONS);
   static final String HELP_OPTION_DESCRIPTION = "Print help information.";
   static final String VERSION_OPTION_DESCRIPTION = "Print the version of the application.";
 
@@ -122,6 +293,136 @@ final class CliRunner {
             .desc(FULL_SYNC_OPTION_DESCRIPTION)
             .build();
 
+    final Option concurrencyOption =
+        Option.builder(CONCURRENCY_OPTION_SHORT)
+            .longOpt(CONCURRENCY_OPTION_LONG)
+            .desc(CONCURRENCY_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option prefetchDepthOption =
+        Option.builder(PREFETCH_DEPTH_OPTION_SHORT)
+            .longOpt(PREFETCH_DEPTH_OPTION_LONG)
+            .desc(PREFETCH_DEPTH_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option partitionsOption =
+        Option.builder(PARTITIONS_OPTION_SHORT)
+            .longOpt(PARTITIONS_OPTION_LONG)
+            .desc(PARTITIONS_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option deltaSyncWindowSizeOption =
+        Option.builder(DELTA_SYNC_WINDOW_SIZE_OPTION_SHORT)
+            .longOpt(DELTA_SYNC_WINDOW_SIZE_OPTION_LONG)
+            .desc(DELTA_SYNC_WINDOW_SIZE_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option checkpointIntervalOption =
+        Option.builder(CHECKPOINT_INTERVAL_OPTION_SHORT)
+            .longOpt(CHECKPOINT_INTERVAL_OPTION_LONG)
+            .desc(CHECKPOINT_INTERVAL_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option pageSizeOption =
+        Option.builder(PAGE_SIZE_OPTION_SHORT)
+            .longOpt(PAGE_SIZE_OPTION_LONG)
+            .desc(PAGE_SIZE_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option batchSizeOption =
+        Option.builder(BATCH_SIZE_OPTION_SHORT)
+            .longOpt(BATCH_SIZE_OPTION_LONG)
+            .desc(BATCH_SIZE_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option targetPageLatencyOption =
+        Option.builder(TARGET_PAGE_LATENCY_OPTION_SHORT)
+            .longOpt(TARGET_PAGE_LATENCY_OPTION_LONG)
+            .desc(TARGET_PAGE_LATENCY_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option referenceCacheSizeOption =
+        Option.builder(REFERENCE_CACHE_SIZE_OPTION_SHORT)
+            .longOpt(REFERENCE_CACHE_SIZE_OPTION_LONG)
+            .desc(REFERENCE_CACHE_SIZE_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option warmUpReferenceCacheOption =
+        Option.builder(WARM_UP_REFERENCE_CACHE_OPTION_SHORT)
+            .longOpt(WARM_UP_REFERENCE_CACHE_OPTION_LONG)
+            .desc(WARM_UP_REFERENCE_CACHE_OPTION_DESCRIPTION)
+            .build();
+
+    final Option referenceCacheDirectoryOption =
+        Option.builder(REFERENCE_CACHE_DIRECTORY_OPTION_SHORT)
+            .longOpt(REFERENCE_CACHE_DIRECTORY_OPTION_LONG)
+            .desc(REFERENCE_CACHE_DIRECTORY_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option resolveReferencesFromCacheOption =
+        Option.builder(RESOLVE_REFERENCES_FROM_CACHE_OPTION_SHORT)
+            .longOpt(RESOLVE_REFERENCES_FROM_CACHE_OPTION_LONG)
+            .desc(RESOLVE_REFERENCES_FROM_CACHE_OPTION_DESCRIPTION)
+            .build();
+
+    final Option transformParallelismOption =
+        Option.builder(TRANSFORM_PARALLELISM_OPTION_SHORT)
+            .longOpt(TRANSFORM_PARALLELISM_OPTION_LONG)
+            .desc(TRANSFORM_PARALLELISM_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option callbackThreadsOption =
+        Option.builder(CALLBACK_THREADS_OPTION_SHORT)
+            .longOpt(CALLBACK_THREADS_OPTION_LONG)
+            .desc(CALLBACK_THREADS_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option persistenceThreadsOption =
+        Option.builder(PERSISTENCE_THREADS_OPTION_SHORT)
+            .longOpt(PERSISTENCE_THREADS_OPTION_LONG)
+            .desc(PERSISTENCE_THREADS_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option maxConcurrentModulesOption =
+        Option.builder(MAX_CONCURRENT_MODULES_OPTION_SHORT)
+            .longOpt(MAX_CONCURRENT_MODULES_OPTION_LONG)
+            .desc(MAX_CONCURRENT_MODULES_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option daemonIntervalOption =
+        Option.builder(DAEMON_INTERVAL_OPTION_SHORT)
+            .longOpt(DAEMON_INTERVAL_OPTION_LONG)
+            .desc(DAEMON_INTERVAL_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option changeFeedOption =
+        Option.builder(CHANGE_FEED_OPTION_SHORT)
+            .longOpt(CHANGE_FEED_OPTION_LONG)
+            .desc(CHANGE_FEED_OPTION_DESCRIPTION)
+            .build();
+
+    final Option shardOption =
+        Option.builder(SHARD_OPTION_SHORT)
+            .longOpt(SHARD_OPTION_LONG)
+            .desc(SHARD_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
     final Option helpOption =
         Option.builder(HELP_OPTION_SHORT)
             .longOpt(HELP_OPTION_LONG)
@@ -137,6 +438,25 @@ final class CliRunner {
     options.addOption(syncOption);
     options.addOption(fullSyncOption);
     options.addOption(runnerOption);
+    options.addOption(concurrencyOption);
+    options.addOption(prefetchDepthOption);
+    options.addOption(partitionsOption);
+    options.addOption(deltaSyncWindowSizeOption);
+    options.addOption(checkpointIntervalOption);
+    options.addOption(pageSizeOption);
+    options.addOption(batchSizeOption);
+    options.addOption(targetPageLatencyOption);
+    options.addOption(referenceCacheSizeOption);
+    options.addOption(warmUpReferenceCacheOption);
+    options.addOption(referenceCacheDirectoryOption);
+    options.addOption(resolveReferencesFromCacheOption);
+    options.addOption(transformParallelismOption);
+    options.addOption(callbackThreadsOption);
+    options.addOption(persistenceThreadsOption);
+    options.addOption(maxConcurrentModulesOption);
+    options.addOption(daemonIntervalOption);
+    options.addOption(changeFeedOption);
+    options.addOption(shardOption);
     options.addOption(helpOption);
     options.addOption(versionOption);
 
@@ -188,9 +508,376 @@ final class CliRunner {
     final String runnerNameValue = commandLine.getOptionValue(RUNNER_NAME_OPTION_SHORT);
     final boolean isFullSync = commandLine.hasOption(FULL_SYNC_OPTION_SHORT);
 
-    return SYNC_MODULE_OPTION_ALL.equals(syncOptionValue)
-        ? syncerFactory.syncAll(runnerNameValue, isFullSync)
-        : syncerFactory.sync(syncOptionValue, runnerNameValue, isFullSync);
+    final Map<String, SyncerOptions> syncerOptionsByModule;
+    final String maxConcurrentModulesValue =
+        commandLine.getOptionValue(MAX_CONCURRENT_MODULES_OPTION_SHORT);
+    final int maxConcurrentModules;
+    try {
+      syncerOptionsByModule = buildSyncerOptionsByModule(commandLine);
+      maxConcurrentModules =
+          maxConcurrentModulesValue == null
+              ? SyncModuleScheduler.MAX_CONCURRENT_MODULES_DEFAULT
+              : parsePositiveNumber(
+                  maxConcurrentModulesValue,
+                  format(
+                      "Invalid argument \"%s\" supplied to \"-%s\" or \"--%s\" option! %s",
+                      maxConcurrentModulesValue,
+                      MAX_CONCURRENT_MODULES_OPTION_SHORT,
+                      MAX_CONCURRENT_MODULES_OPTION_LONG,
+                      MAX_CONCURRENT_MODULES_OPTION_DESCRIPTION));
+    } catch (final IllegalArgumentException exception) {
+      return exceptionallyCompletedFuture(exception);
+    }
+
+    if (maxConcurrentModulesValue != null && !SYNC_MODULE_OPTION_ALL.equals(syncOptionValue)) {
+      return exceptionallyCompletedFuture(
+          new IllegalArgumentException(
+              format(
+                  "The \"-%s\" or \"--%s\" option can only be used when syncing \"%s\" modules!",
+                  MAX_CONCURRENT_MODULES_OPTION_SHORT,
+                  MAX_CONCURRENT_MODULES_OPTION_LONG,
+                  SYNC_MODULE_OPTION_ALL)));
+    }
+
+    final String daemonIntervalValue = commandLine.getOptionValue(DAEMON_INTERVAL_OPTION_SHORT);
+    if (daemonIntervalValue != null) {
+      final String errorMessage =
+          format(
+              "Invalid argument \"%s\" supplied to \"-%s\" or \"--%s\" option! %s",
+              daemonIntervalValue,
+              DAEMON_INTERVAL_OPTION_SHORT,
+              DAEMON_INTERVAL_OPTION_LONG,
+              DAEMON_INTERVAL_OPTION_DESCRIPTION);
+      final int daemonIntervalSeconds;
+      try {
+        daemonIntervalSeconds = parsePositiveNumber(daemonIntervalValue, errorMessage);
+      } catch (final IllegalArgumentException exception) {
+        return exceptionallyCompletedFuture(exception);
+      }
+      if (isFullSync) {
+        return exceptionallyCompletedFuture(
+            new IllegalArgumentException(
+                format(
+                    "The \"-%s\" or \"--%s\" option can't be combined with the \"-%s\" or \"--%s\" "
+                        + "option! A continuous sync only runs delta syncs.",
+                    DAEMON_INTERVAL_OPTION_SHORT,
+                    DAEMON_INTERVAL_OPTION_LONG,
+                    FULL_SYNC_OPTION_SHORT,
+                    FULL_SYNC_OPTION_LONG)));
+      }
+      return syncContinuously(
+          syncerFactory,
+          syncOptionValue,
+          runnerNameValue,
+          syncerOptionsByModule,
+          maxConcurrentModules,
+          Duration.ofSeconds(daemonIntervalSeconds));
+    }
+
+    if (!SYNC_MODULE_OPTION_ALL.equals(syncOptionValue)) {
+      return syncerFactory.sync(
+          syncOptionValue, runnerNameValue, isFullSync, syncerOptionsByModule);
+    }
+    return maxConcurrentModulesValue == null
+        ? syncerFactory.syncAll(runnerNameValue, isFullSync, syncerOptionsByModule)
+        : syncerFactory.syncAll(
+            runnerNameValue, isFullSync, syncerOptionsByModule, maxConcurrentModules);
+  }
+
+  /**
+   * Starts the continuous sync of the supplied {@code syncerFactory} and registers a shutdown hook
+   * which stops it, e.g. on SIGTERM. The shutdown hook waits until the running delta sync has
+   * completed and the clients have been closed, so that the last sync timestamp is persisted.
+   */
+  @Nonnull
+  private static CompletionStage<Void> syncContinuously(
+      @Nonnull final SyncerFactory syncerFactory,
+      @Nonnull final String syncOptionValue,
+      @Nullable final String runnerNameValue,
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule,
+      final int maxConcurrentModules,
+      @Nonnull final Duration interval) {
+
+    final CompletableFuture<Void> continuousSync =
+        syncerFactory.syncContinuously(
+            syncOptionValue,
+            runnerNameValue,
+            syncerOptionsByModule,
+            maxConcurrentModules,
+            interval);
+
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  LOGGER.info("Stopping the continuous sync.");
+                  syncerFactory.stopContinuousSync();
+                  continuousSync.exceptionally(exception -> null).join();
+                },
+                "continuous-sync-shutdown"));
+    return continuousSync;
+  }
+
+  /**
+   * Builds the {@link SyncerOptions} of every sync module which has at least one module specific
+   * value passed to the CLI. Modules without such values are not contained in the resulting map and
+   * run with the default {@link SyncerOptions}.
+   *
+   * @param commandLine the parsed command line.
+   * @return the {@link SyncerOptions} keyed by the sync option value of the module.
+   * @throws IllegalArgumentException if an invalid value is passed to a module specific option.
+   */
+  @Nonnull
+  private static Map<String, SyncerOptions> buildSyncerOptionsByModule(
+      @Nonnull final CommandLine commandLine) {
+
+    final Map<String, SyncerOptionsBuilder> buildersByModule = new HashMap<>();
+
+    applyModuleSpecificValues(
+        commandLine,
+        CONCURRENCY_OPTION_SHORT,
+        CONCURRENCY_OPTION_LONG,
+        CONCURRENCY_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::maxPagesInFlight);
+
+    applyModuleSpecificValues(
+        commandLine,
+        PREFETCH_DEPTH_OPTION_SHORT,
+        PREFETCH_DEPTH_OPTION_LONG,
+        PREFETCH_DEPTH_OPTION_DESCRIPTION,
+        0,
+        buildersByModule,
+        SyncerOptionsBuilder::prefetchDepth);
+
+    applyModuleSpecificValues(
+        commandLine,
+        PARTITIONS_OPTION_SHORT,
+        PARTITIONS_OPTION_LONG,
+        PARTITIONS_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::fullSyncPartitions);
+
+    applyModuleSpecificValues(
+        commandLine,
+        DELTA_SYNC_WINDOW_SIZE_OPTION_SHORT,
+        DELTA_SYNC_WINDOW_SIZE_OPTION_LONG,
+        DELTA_SYNC_WINDOW_SIZE_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::deltaSyncWindowSize);
+
+    applyModuleSpecificValues(
+        commandLine,
+        CHECKPOINT_INTERVAL_OPTION_SHORT,
+        CHECKPOINT_INTERVAL_OPTION_LONG,
+        CHECKPOINT_INTERVAL_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::checkpointInterval);
+
+    applyModuleSpecificValues(
+        commandLine,
+        PAGE_SIZE_OPTION_SHORT,
+        PAGE_SIZE_OPTION_LONG,
+        PAGE_SIZE_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::pageSize);
+
+    applyModuleSpecificValues(
+        commandLine,
+        BATCH_SIZE_OPTION_SHORT,
+        BATCH_SIZE_OPTION_LONG,
+        BATCH_SIZE_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::batchSize);
+
+    applyModuleSpecificValues(
+        commandLine,
+        TARGET_PAGE_LATENCY_OPTION_SHORT,
+        TARGET_PAGE_LATENCY_OPTION_LONG,
+        TARGET_PAGE_LATENCY_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::targetPageLatencyMillis);
+
+    applyModuleSpecificValues(
+        commandLine,
+        REFERENCE_CACHE_SIZE_OPTION_SHORT,
+        REFERENCE_CACHE_SIZE_OPTION_LONG,
+        REFERENCE_CACHE_SIZE_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::referenceCacheSize);
+
+    applyModuleSpecificValues(
+        commandLine,
+        TRANSFORM_PARALLELISM_OPTION_SHORT,
+        TRANSFORM_PARALLELISM_OPTION_LONG,
+        TRANSFORM_PARALLELISM_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::transformParallelism);
+
+    applyModuleSpecificValues(
+        commandLine,
+        CALLBACK_THREADS_OPTION_SHORT,
+        CALLBACK_THREADS_OPTION_LONG,
+        CALLBACK_THREADS_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::callbackThreads);
+
+    applyModuleSpecificValues(
+        commandLine,
+        PERSISTENCE_THREADS_OPTION_SHORT,
+        PERSISTENCE_THREADS_OPTION_LONG,
+        PERSISTENCE_THREADS_OPTION_DESCRIPTION,
+        buildersByModule,
+        SyncerOptionsBuilder::persistenceThreads);
+
+    if (commandLine.hasOption(WARM_UP_REFERENCE_CACHE_OPTION_SHORT)) {
+      buildersByModule
+          .computeIfAbsent(SYNC_MODULE_OPTION_PRODUCT_SYNC, key -> SyncerOptionsBuilder.of())
+          .referenceCacheWarmUp(true);
+    }
+
+    final String referenceCacheDirectory =
+        commandLine.getOptionValue(REFERENCE_CACHE_DIRECTORY_OPTION_SHORT);
+    if (referenceCacheDirectory != null) {
+      buildersByModule
+          .computeIfAbsent(SYNC_MODULE_OPTION_PRODUCT_SYNC, key -> SyncerOptionsBuilder.of())
+          .referenceCacheDirectory(Paths.get(referenceCacheDirectory));
+    }
+
+    if (commandLine.hasOption(RESOLVE_REFERENCES_FROM_CACHE_OPTION_SHORT)) {
+      asList(
+              SYNC_MODULE_OPTION_CATEGORY_SYNC,
+              SYNC_MODULE_OPTION_PRODUCT_TYPE_SYNC,
+              SYNC_MODULE_OPTION_INVENTORY_ENTRY_SYNC)
+          .forEach(
+              module ->
+                  buildersByModule
+                      .computeIfAbsent(module, key -> SyncerOptionsBuilder.of())
+                      .resolveReferencesFromCache(true));
+    }
+
+    if (commandLine.hasOption(CHANGE_FEED_OPTION_SHORT)) {
+      asList(
+              SYNC_MODULE_OPTION_PRODUCT_SYNC,
+              SYNC_MODULE_OPTION_CATEGORY_SYNC,
+              SYNC_MODULE_OPTION_INVENTORY_ENTRY_SYNC)
+          .forEach(
+              module ->
+                  buildersByModule
+                      .computeIfAbsent(module, key -> SyncerOptionsBuilder.of())
+                      .changeFeed(true));
+    }
+
+    final String shardValue = commandLine.getOptionValue(SHARD_OPTION_SHORT);
+    if (shardValue != null) {
+      final String errorMessage =
+          format(
+              "Invalid argument \"%s\" supplied to \"-%s\" or \"--%s\" option! %s",
+              shardValue, SHARD_OPTION_SHORT, SHARD_OPTION_LONG, SHARD_OPTION_DESCRIPTION);
+      final String[] shardAndShardCount = shardValue.split("/", -1);
+      if (shardAndShardCount.length != 2) {
+        throw new IllegalArgumentException(errorMessage);
+      }
+      final int shard = parsePositiveNumber(shardAndShardCount[0], errorMessage);
+      final int shardCount = parsePositiveNumber(shardAndShardCount[1], errorMessage);
+      if (shard > shardCount || shardCount > MAX_ID_RANGE_PARTITIONS) {
+        throw new IllegalArgumentException(errorMessage);
+      }
+      // All modules sync the same shard, since a sync of all modules shares its custom objects.
+      SYNC_MODULES.forEach(
+          module ->
+              buildersByModule
+                  .computeIfAbsent(module, key -> SyncerOptionsBuilder.of())
+                  .shard(shard, shardCount));
+    }
+
+    return buildersByModule
+        .entrySet()
+        .stream()
+        .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().build()));
+  }
+
+  /**
+   * Parses the value of a module specific option, which is either a single positive number that
+   * applies to all sync modules, or a comma separated list of {@code module=number} pairs, and
+   * applies the parsed numbers on the {@link SyncerOptionsBuilder} of the corresponding modules.
+   */
+  private static void applyModuleSpecificValues(
+      @Nonnull final CommandLine commandLine,
+      @Nonnull final String optionShort,
+      @Nonnull final String optionLong,
+      @Nonnull final String optionDescription,
+      @Nonnull final Map<String, SyncerOptionsBuilder> buildersByModule,
+      @Nonnull final BiConsumer<SyncerOptionsBuilder, Integer> valueSetter) {
+
+    applyModuleSpecificValues(
+        commandLine, optionShort, optionLong, optionDescription, 1, buildersByModule, valueSetter);
+  }
+
+  /**
+   * Parses and applies the value of a module specific option like the overload without {@code
+   * minimum}, but accepts every number which is at least {@code minimum}, e.g. 0 for a value which
+   * disables a feature.
+   */
+  private static void applyModuleSpecificValues(
+      @Nonnull final CommandLine commandLine,
+      @Nonnull final String optionShort,
+      @Nonnull final String optionLong,
+      @Nonnull final String optionDescription,
+      final int minimum,
+      @Nonnull final Map<String, SyncerOptionsBuilder> buildersByModule,
+      @Nonnull final BiConsumer<SyncerOptionsBuilder, Integer> valueSetter) {
+
+    final String optionValue = commandLine.getOptionValue(optionShort);
+    if (optionValue == null) {
+      return;
+    }
+
+    final String errorMessage =
+        format(
+            "Invalid argument \"%s\" supplied to \"-%s\" or \"--%s\" option! %s",
+            optionValue, optionShort, optionLong, optionDescription);
+
+    for (final String moduleValue : optionValue.split(",")) {
+      final String[] moduleAndNumber = moduleValue.split("=", -1);
+      final List<String> modules;
+      final String number;
+      if (moduleAndNumber.length == 1) {
+        modules = SYNC_MODULES;
+        number = moduleAndNumber[0];
+      } else if (moduleAndNumber.length == 2 && SYNC_MODULES.contains(moduleAndNumber[0].trim())) {
+        modules = singletonList(moduleAndNumber[0].trim());
+        number = moduleAndNumber[1];
+      } else {
+        throw new IllegalArgumentException(errorMessage);
+      }
+
+      final int parsedNumber = parseNumber(number, minimum, errorMessage);
+      modules.forEach(
+          module ->
+              valueSetter.accept(
+                  buildersByModule.computeIfAbsent(module, key -> SyncerOptionsBuilder.of()),
+                  parsedNumber));
+    }
+  }
+
+  private static int parsePositiveNumber(
+      @Nonnull final String number, @Nonnull final String errorMessage) {
+    return parseNumber(number, 1, errorMessage);
+  }
+
+  private static int parseNumber(
+      @Nonnull final String number, final int minimum, @Nonnull final String errorMessage) {
+    final int parsedNumber;
+    try {
+      parsedNumber = Integer.parseInt(number.trim());
+    } catch (final NumberFormatException exception) {
+      throw new IllegalArgumentException(errorMessage, exception);
+    }
+    if (parsedNumber < minimum) {
+      throw new IllegalArgumentException(errorMessage);
+    }
+    return parsedNumber;
   }
 
   private static void printHelpToStdOut(@Nonnull final Options cliOptions) {
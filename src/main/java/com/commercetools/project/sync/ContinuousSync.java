@@ -0,0 +1,136 @@
+package com.commercetools.project.sync;
+
+import static io.sphere.sdk.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a sync over and over again, e.g. the delta syncs of a long running sync process. The next
+ * sync is started {@code interval} after the previous sync has completed, so that two syncs never
+ * overlap. A failed sync is logged and does not stop the continuous sync.
+ *
+ * <p>The continuous sync runs until {@link #stop()} is called. A sync which is running at that time
+ * is completed first, so that its last sync timestamp is persisted.
+ */
+final class ContinuousSync {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ContinuousSync.class);
+
+  private final Supplier<CompletionStage<Void>> sync;
+  private final Duration interval;
+  private final ScheduledExecutorService scheduler;
+  private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+  // The following fields are guarded by "this".
+  private boolean stopped;
+  private ScheduledFuture<?> nextSync;
+
+  private ContinuousSync(
+      @Nonnull final Supplier<CompletionStage<Void>> sync,
+      @Nonnull final Duration interval,
+      @Nonnull final ScheduledExecutorService scheduler) {
+    this.sync = sync;
+    this.interval = interval;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Starts the first sync of a continuous sync right away.
+   *
+   * @param sync the supplier which starts a single sync.
+   * @param interval the time between the end of a sync and the start of the next sync.
+   * @return the started continuous sync.
+   */
+  @Nonnull
+  static ContinuousSync start(
+      @Nonnull final Supplier<CompletionStage<Void>> sync, @Nonnull final Duration interval) {
+
+    final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "continuous-sync");
+              thread.setDaemon(true);
+              return thread;
+            });
+    final ContinuousSync continuousSync = new ContinuousSync(sync, interval, scheduler);
+    scheduler.execute(continuousSync::runSync);
+    return continuousSync;
+  }
+
+  /**
+   * Gets the result of the continuous sync.
+   *
+   * @return a completion stage which completes once the continuous sync has been stopped and the
+   *     running sync, if any, has completed.
+   */
+  @Nonnull
+  CompletableFuture<Void> getResult() {
+    return result;
+  }
+
+  /**
+   * Stops the continuous sync. If no sync is running, the continuous sync stops right away.
+   * Otherwise, it stops once the running sync has completed.
+   */
+  void stop() {
+    synchronized (this) {
+      if (stopped) {
+        return;
+      }
+      stopped = true;
+      // If the next sync is not scheduled yet or has already started, the continuous sync
+      // completes at the end of that sync.
+      if (nextSync == null || !nextSync.cancel(false)) {
+        return;
+      }
+    }
+    complete();
+  }
+
+  private void runSync() {
+    synchronized (this) {
+      if (stopped) {
+        complete();
+        return;
+      }
+    }
+    CompletionStage<Void> syncStage;
+    try {
+      syncStage = sync.get();
+    } catch (final RuntimeException exception) {
+      syncStage = exceptionallyCompletedFuture(exception);
+    }
+    syncStage.whenComplete(
+        (ignoredResult, exception) -> {
+          if (exception != null) {
+            LOGGER.error(
+                format(
+                    "Failed to run the sync. The next sync is started in %d seconds.",
+                    interval.getSeconds()),
+                exception);
+          }
+          synchronized (this) {
+            if (!stopped) {
+              nextSync = scheduler.schedule(this::runSync, interval.toMillis(), MILLISECONDS);
+              return;
+            }
+          }
+          complete();
+        });
+  }
+
+  private void complete() {
+    scheduler.shutdown();
+    result.complete(null);
+  }
+}
@@ -0,0 +1,296 @@
+package com.commercetools.project.sync;
+
+import static java.lang.String.format;
+
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.Resource;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QueryDsl;
+import io.sphere.sdk.queries.QueryPredicate;
+import io.sphere.sdk.queries.QuerySort;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Pages through all the resources matched by a query on a CTP project and hands every page to a
+ * processing function. Every page contains up to {@link SyncerOptions#getPageSize()} resources.
+ * Unlike {@link com.commercetools.sync.commons.utils.CtpQueryUtils#queryAll}, the next page is
+ * requested as soon as the previous page arrives, so that fetching from the CTP project overlaps
+ * with processing the pages which were already fetched. Up to {@link
+ * SyncerOptions#getMaxPagesInFlight()} pages are processed concurrently and at most {@link
+ * SyncerOptions#getPrefetchDepth()} further fetched pages wait to be processed. Once this limit is
+ * reached, no more pages are fetched until the processing of a page completes, which bounds the
+ * memory used by the pipeline.
+ *
+ * <p>The page processing function completes with the time it spent processing the page, which
+ * excludes any time the page waited for other pages, e.g. behind the sync of the previous page.
+ * Together with the fetch time of the page, this is the latency the page size is adapted to, see
+ * {@link AdaptivePageSizer}. Otherwise, processing more pages concurrently would make every page
+ * look slower and shrink the pages although the CTP project responds quickly.
+ *
+ * <p>Pages are sorted by id and every page is queried with an {@code id > lastId} predicate based
+ * on the last resource of the previous page. This is why pages are fetched one after the other. The
+ * same predicate allows starting after a given id, e.g. to resume an interrupted sync.
+ *
+ * @param <T> the type of the resources fetched.
+ * @param <C> the type of the query used to fetch the resources.
+ */
+final class PagePipeline<T extends Resource, C extends QueryDsl<T, C>> {
+  private final SphereClient client;
+  private final C pagedQuery;
+  private final AdaptivePageSizer pageSizer;
+  private final int maxPagesInFlight;
+  private final int prefetchDepth;
+  private final Function<List<T>, CompletionStage<Long>> pageProcessor;
+  private final Consumer<String> pageProcessedListener;
+
+  private final CompletableFuture<Void> result = new CompletableFuture<>();
+  private final AtomicInteger pendingDrains = new AtomicInteger();
+
+  // The following fields are guarded by "this".
+  private final Queue<FetchedPage<T>> fetchedPages = new ArrayDeque<>();
+  private final Map<Integer, String> lastIdsOfProcessedPages = new HashMap<>();
+  private C nextPageQuery;
+  private boolean isFetching;
+  private int pagesInProcess;
+  private int nextPageIndexToProcess;
+  private int nextPageIndexToComplete;
+
+  private PagePipeline(
+      @Nonnull final SphereClient client,
+      @Nonnull final C query,
+      @Nullable final String startAfterId,
+      @Nonnull final Function<List<T>, CompletionStage<Long>> pageProcessor,
+      @Nonnull final Consumer<String> pageProcessedListener,
+      @Nonnull final SyncerOptions syncerOptions) {
+    this.client = client;
+    this.pagedQuery = withPaging(query);
+    this.pageSizer = AdaptivePageSizer.of(syncerOptions);
+    this.pageProcessor = pageProcessor;
+    this.pageProcessedListener = pageProcessedListener;
+    this.maxPagesInFlight = syncerOptions.getMaxPagesInFlight();
+    this.prefetchDepth = syncerOptions.getPrefetchDepth();
+    this.nextPageQuery =
+        startAfterId == null ? pagedQuery : getQueryOfResourcesAfter(pagedQuery, startAfterId);
+  }
+
+  /**
+   * Fetches all the resources matched by the {@code query} page by page, and applies the {@code
+   * pageProcessor} on every fetched page. Pages are handed to the {@code pageProcessor} in the
+   * order they are fetched, and up to {@link SyncerOptions#getMaxPagesInFlight()} of them are
+   * processed concurrently. Meanwhile, up to {@link SyncerOptions#getPrefetchDepth()} following
+   * pages are fetched and kept waiting.
+   *
+   * @param client the client used to fetch the pages.
+   * @param query the query which defines the resources to fetch.
+   * @param pageProcessor the function applied on every fetched page. It completes with the time
+   *     spent processing the page in milliseconds, or with {@code null} if the time until its
+   *     completion should be used instead.
+   * @param syncerOptions the options which bound the number of pages processed and kept waiting.
+   * @param <T> the type of the resources fetched.
+   * @param <C> the type of the query used to fetch the resources.
+   * @return a completion stage which completes after all the pages have been processed, or
+   *     completes exceptionally as soon as fetching or processing a page fails.
+   */
+  @Nonnull
+  static <T extends Resource, C extends QueryDsl<T, C>> CompletionStage<Void> run(
+      @Nonnull final SphereClient client,
+      @Nonnull final C query,
+      @Nonnull final Function<List<T>, CompletionStage<Long>> pageProcessor,
+      @Nonnull final SyncerOptions syncerOptions) {
+
+    return run(client, query, null, pageProcessor, lastId -> {}, syncerOptions);
+  }
+
+  /**
+   * Fetches all the resources matched by the {@code query} which have an id greater than {@code
+   * startAfterId} page by page, and applies the {@code pageProcessor} on every fetched page, as
+   * described in {@link #run(SphereClient, QueryDsl, Function, SyncerOptions)}. Since the pages may
+   * complete their processing in any order, the {@code pageProcessedListener} is called with the id
+   * of the last resource of every page only once this page and all the pages before it have been
+   * processed. It is therefore called in page order, and any id it is called with is a safe point
+   * to resume from. The listener is called while the pipeline is locked, so it is expected to
+   * return quickly.
+   *
+   * @param client the client used to fetch the pages.
+   * @param query the query which defines the resources to fetch.
+   * @param startAfterId if not {@code null}, only the resources with a greater id are fetched.
+   * @param pageProcessor the function applied on every fetched page. It completes with the time
+   *     spent processing the page in milliseconds, or with {@code null} if the time until its
+   *     completion should be used instead.
+   * @param pageProcessedListener the listener called with the id of the last resource of every
+   *     page, once this page and all the pages before it have been processed.
+   * @param syncerOptions the options which bound the number of pages processed and kept waiting.
+   * @param <T> the type of the resources fetched.
+   * @param <C> the type of the query used to fetch the resources.
+   * @return a completion stage which completes after all the pages have been processed, or
+   *     completes exceptionally as soon as fetching or processing a page fails.
+   */
+  @Nonnull
+  static <T extends Resource, C extends QueryDsl<T, C>> CompletionStage<Void> run(
+      @Nonnull final SphereClient client,
+      @Nonnull final C query,
+      @Nullable final String startAfterId,
+      @Nonnull final Function<List<T>, CompletionStage<Long>> pageProcessor,
+      @Nonnull final Consumer<String> pageProcessedListener,
+      @Nonnull final SyncerOptions syncerOptions) {
+
+    final PagePipeline<T, C> pipeline =
+        new PagePipeline<>(
+            client, query, startAfterId, pageProcessor, pageProcessedListener, syncerOptions);
+    pipeline.drain();
+    return pipeline.result;
+  }
+
+  @Nonnull
+  private static <T, C extends QueryDsl<T, C>> C withPaging(@Nonnull final C query) {
+    return query.withFetchTotal(false).withSort(QuerySort.of("id asc"));
+  }
+
+  /**
+   * Starts all the fetching and processing which is currently allowed. If another thread is already
+   * draining, this call is not lost; the draining thread repeats its loop until every call is
+   * handled. This also keeps stages which complete synchronously from growing the call stack.
+   */
+  private void drain() {
+    if (pendingDrains.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      startNextSteps();
+    } while (pendingDrains.decrementAndGet() != 0);
+  }
+
+  private void startNextSteps() {
+    final Map<Integer, FetchedPage<T>> pagesToProcess = new LinkedHashMap<>();
+    final C queryToFetch;
+    final boolean isDone;
+    synchronized (this) {
+      if (result.isDone()) {
+        return;
+      }
+      while (pagesInProcess < maxPagesInFlight && !fetchedPages.isEmpty()) {
+        pagesToProcess.put(nextPageIndexToProcess++, fetchedPages.poll());
+        pagesInProcess++;
+      }
+      queryToFetch = canFetch() ? nextPageQuery : null;
+      isFetching = isFetching || queryToFetch != null;
+      isDone =
+          nextPageQuery == null && !isFetching && pagesInProcess == 0 && fetchedPages.isEmpty();
+    }
+
+    if (queryToFetch != null) {
+      fetch(queryToFetch);
+    }
+    pagesToProcess.forEach(this::process);
+    if (isDone) {
+      result.complete(null);
+    }
+  }
+
+  private boolean canFetch() {
+    final int pagesInMemory = fetchedPages.size() + pagesInProcess;
+    return !isFetching && nextPageQuery != null && pagesInMemory < maxPagesInFlight + prefetchDepth;
+  }
+
+  private void fetch(@Nonnull final C query) {
+    final int pageSize = pageSizer.getPageSize();
+    final long fetchStartNanos = System.nanoTime();
+    client
+        .execute(query.withLimit(pageSize))
+        .whenComplete(
+            (pagedQueryResult, exception) -> {
+              if (exception != null) {
+                result.completeExceptionally(exception);
+              } else {
+                onPageFetched(pagedQueryResult, pageSize, getMillisSince(fetchStartNanos));
+                drain();
+              }
+            });
+  }
+
+  private synchronized void onPageFetched(
+      @Nonnull final PagedQueryResult<T> pagedQueryResult,
+      final int pageSize,
+      final long fetchMillis) {
+    final List<T> page = pagedQueryResult.getResults();
+    isFetching = false;
+    nextPageQuery = page.size() < pageSize ? null : getNextPageQuery(page);
+    if (!page.isEmpty()) {
+      fetchedPages.add(new FetchedPage<>(page, fetchMillis));
+    }
+  }
+
+  static long getMillisSince(final long startNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+
+  @Nonnull
+  private C getNextPageQuery(@Nonnull final List<T> page) {
+    return getQueryOfResourcesAfter(pagedQuery, getLastId(page));
+  }
+
+  @Nonnull
+  private static <T, C extends QueryDsl<T, C>> C getQueryOfResourcesAfter(
+      @Nonnull final C query, @Nonnull final String id) {
+    return query.plusPredicates(QueryPredicate.of(format("id > \"%s\"", id)));
+  }
+
+  @Nonnull
+  private static String getLastId(@Nonnull final List<? extends Resource> page) {
+    return page.get(page.size() - 1).getId();
+  }
+
+  private void process(final int pageIndex, @Nonnull final FetchedPage<T> fetchedPage) {
+    final List<T> page = fetchedPage.resources;
+    final String lastId = getLastId(page);
+    final long processStartNanos = System.nanoTime();
+    CompletableFuture.completedFuture(page)
+        .thenCompose(pageProcessor::apply)
+        .whenComplete(
+            (processMillis, exception) -> {
+              if (exception != null) {
+                result.completeExceptionally(exception);
+              } else {
+                pageSizer.onPageProcessed(
+                    page.size(),
+                    fetchedPage.fetchMillis
+                        + (processMillis == null
+                            ? getMillisSince(processStartNanos)
+                            : processMillis));
+                onPageProcessed(pageIndex, lastId);
+                drain();
+              }
+            });
+  }
+
+  private synchronized void onPageProcessed(final int pageIndex, @Nonnull final String lastId) {
+    pagesInProcess--;
+    lastIdsOfProcessedPages.put(pageIndex, lastId);
+    while (lastIdsOfProcessedPages.containsKey(nextPageIndexToComplete)) {
+      pageProcessedListener.accept(lastIdsOfProcessedPages.remove(nextPageIndexToComplete++));
+    }
+  }
+
+  private static final class FetchedPage<T> {
+    private final List<T> resources;
+    private final long fetchMillis;
+
+    private FetchedPage(@Nonnull final List<T> resources, final long fetchMillis) {
+      this.resources = resources;
+      this.fetchMillis = fetchMillis;
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.commercetools.project.sync;
+
+import static java.lang.String.format;
+
+import com.commercetools.project.sync.model.response.SyncCheckpoint;
+import com.commercetools.project.sync.service.CustomObjectService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the progress of a sync and persists it as a {@link SyncCheckpoint} custom object
+ * after every {@link SyncerOptions#getCheckpointInterval()} synced pages. The checkpoints are
+ * persisted one after the other, so that an older checkpoint never overwrites a newer one. Once the
+ * sync completes, the checkpoint custom object is deleted again.
+ */
+final class SyncCheckpointTracker {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SyncCheckpointTracker.class);
+
+  private final CustomObjectService customObjectService;
+  private final String sourceProjectKey;
+  private final String syncModuleName;
+  private final String runnerName;
+  private final SyncCheckpoint syncCheckpoint;
+  private final int checkpointInterval;
+
+  // The following fields are guarded by "this".
+  private final List<String> lastSyncedIds;
+  private int pagesSinceLastCheckpoint;
+  private boolean isCheckpointPersisted;
+  private CompletionStage<?> lastCheckpointPersistence = CompletableFuture.completedFuture(null);
+
+  private SyncCheckpointTracker(
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final SyncCheckpoint syncCheckpoint,
+      final boolean isResumed,
+      final int checkpointInterval) {
+    this.customObjectService = customObjectService;
+    this.sourceProjectKey = sourceProjectKey;
+    this.syncModuleName = syncModuleName;
+    this.runnerName = runnerName;
+    this.syncCheckpoint = syncCheckpoint;
+    this.checkpointInterval = checkpointInterval;
+    this.lastSyncedIds = new ArrayList<>(syncCheckpoint.getLastSyncedIds());
+    this.isCheckpointPersisted = isResumed;
+  }
+
+  /**
+   * Creates a tracker of the sync described by the supplied {@code syncCheckpoint}.
+   *
+   * @param customObjectService the service used to persist and delete the checkpoints.
+   * @param sourceProjectKey the source project from which the data is coming.
+   * @param syncModuleName the name of the resource being synced.
+   * @param runnerName the name of this specific running sync instance defined by the user.
+   * @param syncCheckpoint the checkpoint the sync starts from.
+   * @param isResumed whether {@code syncCheckpoint} was persisted by a previous run.
+   * @param checkpointInterval the number of synced pages between two checkpoints, or 0 if no
+   *     checkpoints should be persisted.
+   * @return a new {@link SyncCheckpointTracker}.
+   */
+  @Nonnull
+  static SyncCheckpointTracker of(
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final SyncCheckpoint syncCheckpoint,
+      final boolean isResumed,
+      final int checkpointInterval) {
+    return new SyncCheckpointTracker(
+        customObjectService,
+        sourceProjectKey,
+        syncModuleName,
+        runnerName,
+        syncCheckpoint,
+        isResumed,
+        checkpointInterval);
+  }
+
+  @Nonnull
+  SyncCheckpoint getSyncCheckpoint() {
+    return syncCheckpoint;
+  }
+
+  /**
+   * Records that a page of the query with the supplied index, and all the pages before it, have
+   * been synced. A checkpoint is persisted if {@link SyncerOptions#getCheckpointInterval()} pages
+   * have been synced since the last checkpoint.
+   *
+   * @param queryIndex the index of the query the page belongs to.
+   * @param lastId the id of the last resource of the synced page.
+   */
+  synchronized void onPageSynced(final int queryIndex, @Nonnull final String lastId) {
+    lastSyncedIds.set(queryIndex, lastId);
+    if (checkpointInterval == 0 || ++pagesSinceLastCheckpoint < checkpointInterval) {
+      return;
+    }
+
+    pagesSinceLastCheckpoint = 0;
+    isCheckpointPersisted = true;
+    final SyncCheckpoint newSyncCheckpoint =
+        SyncCheckpoint.of(
+            syncCheckpoint.isFullSync(),
+            syncCheckpoint.getWindowBounds(),
+            syncCheckpoint.getSyncStartTimestamp(),
+            lastSyncedIds);
+    lastCheckpointPersistence =
+        lastCheckpointPersistence
+            .thenCompose(
+                ignoredResult ->
+                    customObjectService.createSyncCheckpointCustomObject(
+                        sourceProjectKey, syncModuleName, runnerName, newSyncCheckpoint))
+            .exceptionally(
+                exception -> {
+                  LOGGER.warn(
+                      format("Failed to persist the sync checkpoint of %s.", syncModuleName),
+                      exception);
+                  return null;
+                });
+  }
+
+  /**
+   * Waits for the pending checkpoints to be persisted and then deletes the checkpoint custom
+   * object, if one was persisted by this or a previous run. A failure to delete the checkpoint is
+   * only logged, since the sync itself has completed. A checkpoint which is left behind only causes
+   * the next run to resync the resources after it.
+   *
+   * @return a completion stage which completes after the checkpoint custom object is deleted.
+   */
+  @Nonnull
+  CompletionStage<Void> clear() {
+    final CompletionStage<?> lastPersistence;
+    final boolean isDeletionNeeded;
+    synchronized (this) {
+      lastPersistence = lastCheckpointPersistence;
+      isDeletionNeeded = isCheckpointPersisted;
+    }
+
+    if (!isDeletionNeeded) {
+      return lastPersistence.thenAccept(ignoredResult -> {});
+    }
+    return lastPersistence
+        .thenCompose(
+            ignoredResult ->
+                customObjectService.deleteSyncCheckpointCustomObject(
+                    sourceProjectKey, syncModuleName, runnerName))
+        .handle(
+            (deletedCustomObject, exception) -> {
+              if (exception != null) {
+                LOGGER.warn(
+                    format("Failed to delete the sync checkpoint of %s.", syncModuleName),
+                    exception);
+              }
+              return null;
+            });
+  }
+}
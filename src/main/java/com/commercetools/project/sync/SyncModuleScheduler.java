@@ -0,0 +1,239 @@
+package com.commercetools.project.sync;
+
+import static io.sphere.sdk.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the sync modules of a project sync in the order defined by their dependencies. Every module
+ * is started as soon as all the modules it depends on have completed, while at most {@code
+ * maxConcurrentModules} modules run at the same time. The modules which are ready to run but exceed
+ * this limit are started in the order they are declared in.
+ *
+ * <p>If a module fails, the modules which depend on it, directly or transitively, are not started
+ * and fail with the same exception. The independent modules are still run, and the sync fails once
+ * all modules have completed.
+ *
+ * <p>After all modules have completed, the wall-clock duration of the sync, the duration of every
+ * module and the critical path, i.e. the chain of dependent modules which determined the end of the
+ * sync, are logged.
+ */
+final class SyncModuleScheduler {
+  public static final int MAX_CONCURRENT_MODULES_DEFAULT = 2;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SyncModuleScheduler.class);
+
+  private final Map<String, List<String>> dependenciesByModule;
+  private final int maxConcurrentModules;
+  private final Clock clock;
+  private final Function<String, CompletionStage<Void>> moduleSync;
+
+  private final Map<String, Long> startMillisByModule = new ConcurrentHashMap<>();
+  private final Map<String, Long> endMillisByModule = new ConcurrentHashMap<>();
+
+  // The following fields are guarded by "this".
+  private final Queue<ReadyModule> readyModules = new ArrayDeque<>();
+  private int runningModules;
+
+  private SyncModuleScheduler(
+      @Nonnull final Map<String, List<String>> dependenciesByModule,
+      final int maxConcurrentModules,
+      @Nonnull final Clock clock,
+      @Nonnull final Function<String, CompletionStage<Void>> moduleSync) {
+    this.dependenciesByModule = dependenciesByModule;
+    this.maxConcurrentModules = maxConcurrentModules;
+    this.clock = clock;
+    this.moduleSync = moduleSync;
+  }
+
+  /**
+   * Runs the supplied {@code moduleSync} for every module of {@code dependenciesByModule}, in the
+   * order defined by their dependencies.
+   *
+   * @param dependenciesByModule the modules which every module depends on, keyed by the module. A
+   *     module must be declared after all the modules it depends on.
+   * @param maxConcurrentModules the maximum number of modules which run at the same time.
+   * @param clock the clock used to measure the durations of the modules.
+   * @param moduleSync the function which starts the sync of the supplied module.
+   * @return a completion stage which completes once all modules have completed, exceptionally if at
+   *     least one module failed.
+   * @throws IllegalArgumentException if a module depends on a module which is not declared before
+   *     it or if {@code maxConcurrentModules} is less than 1.
+   */
+  @Nonnull
+  static CompletableFuture<Void> run(
+      @Nonnull final Map<String, List<String>> dependenciesByModule,
+      final int maxConcurrentModules,
+      @Nonnull final Clock clock,
+      @Nonnull final Function<String, CompletionStage<Void>> moduleSync) {
+
+    if (maxConcurrentModules < 1) {
+      throw new IllegalArgumentException(
+          "The maximum number of concurrent modules must be at least 1.");
+    }
+    return new SyncModuleScheduler(dependenciesByModule, maxConcurrentModules, clock, moduleSync)
+        .run();
+  }
+
+  @Nonnull
+  private CompletableFuture<Void> run() {
+    final long syncStartMillis = clock.millis();
+    final Map<String, CompletableFuture<Void>> resultsByModule = new LinkedHashMap<>();
+    dependenciesByModule.forEach(
+        (module, dependencies) -> {
+          final CompletableFuture<?>[] dependencyResults =
+              dependencies
+                  .stream()
+                  .map(
+                      dependency -> {
+                        final CompletableFuture<Void> dependencyResult =
+                            resultsByModule.get(dependency);
+                        if (dependencyResult == null) {
+                          throw new IllegalArgumentException(
+                              format(
+                                  "The module \"%s\" depends on the module \"%s\", which is not "
+                                      + "declared before it.",
+                                  module, dependency));
+                        }
+                        return dependencyResult;
+                      })
+                  .toArray(CompletableFuture[]::new);
+          resultsByModule.put(
+              module,
+              CompletableFuture.allOf(dependencyResults)
+                  .thenCompose(ignoredResult -> schedule(module)));
+        });
+
+    return CompletableFuture.allOf(resultsByModule.values().toArray(new CompletableFuture[0]))
+        .whenComplete(
+            (ignoredResult, exception) -> {
+              if (LOGGER.isInfoEnabled()) {
+                LOGGER.info(getReportMessage(clock.millis() - syncStartMillis));
+              }
+            });
+  }
+
+  @Nonnull
+  private CompletableFuture<Void> schedule(@Nonnull final String module) {
+    final ReadyModule readyModule = new ReadyModule(module);
+    synchronized (this) {
+      readyModules.add(readyModule);
+    }
+    startReadyModules();
+    return readyModule.result;
+  }
+
+  /**
+   * Starts the modules which are ready to run, as long as less than {@code maxConcurrentModules}
+   * are running. The modules are started outside of the lock, since their syncs may complete right
+   * away and start further modules.
+   */
+  private void startReadyModules() {
+    final List<ReadyModule> modulesToStart = new ArrayList<>();
+    synchronized (this) {
+      while (runningModules < maxConcurrentModules && !readyModules.isEmpty()) {
+        runningModules++;
+        modulesToStart.add(readyModules.poll());
+      }
+    }
+    modulesToStart.forEach(this::start);
+  }
+
+  private void start(@Nonnull final ReadyModule readyModule) {
+    startMillisByModule.put(readyModule.module, clock.millis());
+    CompletionStage<Void> sync;
+    try {
+      sync = moduleSync.apply(readyModule.module);
+    } catch (final RuntimeException exception) {
+      sync = exceptionallyCompletedFuture(exception);
+    }
+    sync.whenComplete(
+        (ignoredResult, exception) -> {
+          endMillisByModule.put(readyModule.module, clock.millis());
+          synchronized (this) {
+            runningModules--;
+          }
+          startReadyModules();
+          if (exception != null) {
+            readyModule.result.completeExceptionally(exception);
+          } else {
+            readyModule.result.complete(null);
+          }
+        });
+  }
+
+  @Nonnull
+  private String getReportMessage(final long syncDurationMillis) {
+    final String moduleDurations =
+        dependenciesByModule
+            .keySet()
+            .stream()
+            .filter(endMillisByModule::containsKey)
+            .map(module -> format("%s: %d ms", module, getDurationMillis(module)))
+            .collect(joining(", "));
+    final String criticalPath =
+        getCriticalPath()
+            .stream()
+            .map(module -> format("%s (%d ms)", module, getDurationMillis(module)))
+            .collect(joining(" -> "));
+    return format(
+        "Synced all modules in %d ms. Critical path: %s. Module durations: %s.",
+        syncDurationMillis, criticalPath, moduleDurations);
+  }
+
+  /**
+   * Gets the chain of dependent modules which ended last: starting from the module which ended
+   * last, the dependency which ended last is prepended until a module without completed
+   * dependencies is reached.
+   */
+  @Nonnull
+  private List<String> getCriticalPath() {
+    final LinkedList<String> criticalPath = new LinkedList<>();
+    String module = getLastEndedModule(new ArrayList<>(endMillisByModule.keySet()));
+    while (module != null) {
+      criticalPath.addFirst(module);
+      module = getLastEndedModule(dependenciesByModule.get(module));
+    }
+    return criticalPath;
+  }
+
+  @Nullable
+  private String getLastEndedModule(@Nonnull final List<String> modules) {
+    return modules
+        .stream()
+        .filter(endMillisByModule::containsKey)
+        .max(Comparator.comparing(endMillisByModule::get))
+        .orElse(null);
+  }
+
+  private long getDurationMillis(@Nonnull final String module) {
+    return endMillisByModule.get(module) - startMillisByModule.get(module);
+  }
+
+  private static final class ReadyModule {
+    private final String module;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    ReadyModule(@Nonnull final String module) {
+      this.module = module;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.commercetools.project.sync;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+
+/**
+ * A thread-safe set of the ids of the resources synced by a sync of the changes of the source
+ * project, so that every resource referenced by its messages is synced once. Since the messages of
+ * a sync may reference millions of resources, the set does not use a {@link java.util.HashSet}. The
+ * ids of CTP resources are UUIDs, which are stored as two {@code long}s in arrays instead of a 36
+ * character string, and are looked up by an open-addressing hash table with linear probing. An id
+ * thus costs between 24 and 48 bytes, compared to well over 100 bytes of a {@link
+ * java.util.HashSet} entry with its id string. Other ids are stored as they are.
+ */
+final class SyncedIdSet {
+  private static final Pattern UUID_PATTERN =
+      Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+  private static final int INITIAL_CAPACITY = 64;
+
+  // The following fields are guarded by "this".
+  private long[] mostSignificantBits = new long[INITIAL_CAPACITY];
+  private long[] leastSignificantBits = new long[INITIAL_CAPACITY];
+  // entry index + 1 of every slot, 0 for an empty slot.
+  private int[] table = new int[2 * INITIAL_CAPACITY];
+  private int size;
+  private final Set<String> nonUuidIds = new HashSet<>();
+
+  /**
+   * Adds the supplied id to the set, unless it is already contained.
+   *
+   * @param id the id to add.
+   * @return {@code true} if the id was not contained in the set yet.
+   */
+  synchronized boolean add(@Nonnull final String id) {
+    if (!UUID_PATTERN.matcher(id).matches()) {
+      return nonUuidIds.add(id);
+    }
+
+    final UUID uuid = UUID.fromString(id);
+    final long msb = uuid.getMostSignificantBits();
+    final long lsb = uuid.getLeastSignificantBits();
+    if (size == mostSignificantBits.length) {
+      grow();
+    }
+    int slot = hash(msb, lsb) & (table.length - 1);
+    while (table[slot] != 0) {
+      final int entry = table[slot] - 1;
+      if (mostSignificantBits[entry] == msb && leastSignificantBits[entry] == lsb) {
+        return false;
+      }
+      slot = (slot + 1) & (table.length - 1);
+    }
+    mostSignificantBits[size] = msb;
+    leastSignificantBits[size] = lsb;
+    size++;
+    table[slot] = size;
+    return true;
+  }
+
+  synchronized int size() {
+    return size + nonUuidIds.size();
+  }
+
+  private void grow() {
+    final int capacity = 2 * mostSignificantBits.length;
+    mostSignificantBits = Arrays.copyOf(mostSignificantBits, capacity);
+    leastSignificantBits = Arrays.copyOf(leastSignificantBits, capacity);
+    // keeps the table at most half full, so that the probe sequences stay short.
+    table = new int[2 * capacity];
+    for (int entry = 0; entry < size; entry++) {
+      int slot = hash(mostSignificantBits[entry], leastSignificantBits[entry]) & (table.length - 1);
+      while (table[slot] != 0) {
+        slot = (slot + 1) & (table.length - 1);
+      }
+      table[slot] = entry + 1;
+    }
+  }
+
+  private static int hash(final long msb, final long lsb) {
+    final long value = msb * 31 + lsb;
+    final long mixed = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
@@ -1,25 +1,52 @@
 package com.commercetools.project.sync;
 
+import static com.commercetools.project.sync.util.QueryPartitionUtils.MAX_TIME_WINDOWS;
+import static com.commercetools.project.sync.util.QueryPartitionUtils.getShardIdRangePredicate;
+import static com.commercetools.project.sync.util.QueryPartitionUtils.getTimeWindowBounds;
+import static com.commercetools.project.sync.util.QueryPartitionUtils.partitionByIdRanges;
 import static com.commercetools.project.sync.util.StatisticsUtils.logStatistics;
 import static com.commercetools.project.sync.util.SyncUtils.getSyncModuleName;
-import static com.commercetools.sync.commons.utils.CtpQueryUtils.queryAll;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
 
 import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.model.response.SyncCheckpoint;
 import com.commercetools.project.sync.service.CustomObjectService;
+import com.commercetools.project.sync.service.ReferencesService;
+import com.commercetools.project.sync.service.impl.ReferencesServiceImpl;
 import com.commercetools.sync.commons.BaseSync;
 import com.commercetools.sync.commons.BaseSyncOptions;
 import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.customobjects.CustomObject;
+import io.sphere.sdk.messages.Message;
+import io.sphere.sdk.messages.queries.MessageQuery;
 import io.sphere.sdk.models.Resource;
+import io.sphere.sdk.projects.MessagesConfiguration;
+import io.sphere.sdk.projects.queries.ProjectGet;
 import io.sphere.sdk.queries.QueryDsl;
 import io.sphere.sdk.queries.QueryPredicate;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -55,12 +82,27 @@ public abstract class Syncer<
     B extends BaseSync<S, U, V>> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Syncer.class);
+  // Messages are deleted by CTP after this number of days, unless configured otherwise.
+  private static final long MESSAGES_RETENTION_DAYS_DEFAULT = 15;
+  // Appended to the sync module name of the last sync timestamp of the change feed syncs.
+  static final String CHANGE_FEED_SYNC_MODULE_NAME_SUFFIX = "ChangeFeed";
+  // Keeps the predicate of a query by ids well within the URL length limit of CTP.
+  static final int MAX_IDS_PER_QUERY = 100;
 
   private final B sync;
   private final SphereClient sourceClient;
   private final SphereClient targetClient;
   private final CustomObjectService customObjectService;
   private final Clock clock;
+  private final SyncerOptions syncerOptions;
+  private final ReferencesService referencesService;
+  private final SyncerExecutors executors;
+  private final List<Syncer<T, S, U, V, C, B>> additionalTargetSyncers =
+      new CopyOnWriteArrayList<>();
+
+  // Guarded by "this". The sync modules keep state between the batches they process, so the sync of
+  // a page is only started after the sync of the previously transformed page has completed.
+  private CompletionStage<?> lastPageSync = CompletableFuture.completedFuture(null);
 
   /**
    * Instantiates a {@link Syncer} which is used to sync resources from a source to a target
@@ -81,24 +123,161 @@ public abstract class Syncer<
       @Nonnull final SphereClient targetClient,
       @Nonnull final CustomObjectService customObjectService,
       @Nonnull final Clock clock) {
+    this(sync, sourceClient, targetClient, customObjectService, clock, SyncerOptions.ofDefaults());
+  }
+
+  /**
+   * Instantiates a {@link Syncer} which is used to sync resources from a source to a target
+   * commercetools project.
+   *
+   * @param sync The sync module that is used for syncing the resource drafts to the target project,
+   *     after being transformed from the resources fetched from the source project.
+   * @param sourceClient the client used for querying data from the source commercetools project.
+   * @param targetClient the client used for syncing the transformed drafts into the target
+   *     commercetools project.
+   * @param customObjectService service that is used for fetching and persisting the last sync
+   *     timestamp for delta syncing.
+   * @param clock the clock to record the time for calculating the sync duration.
+   * @param syncerOptions the options which define how the pages are fetched from the source project
+   *     and fed to the sync process.
+   */
+  public Syncer(
+      @Nonnull final B sync,
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions) {
+    this(sync, sourceClient, targetClient, customObjectService, clock, syncerOptions, null);
+  }
+
+  /**
+   * Instantiates a {@link Syncer} which is used to sync resources from a source to a target
+   * commercetools project.
+   *
+   * @param sync The sync module that is used for syncing the resource drafts to the target project,
+   *     after being transformed from the resources fetched from the source project.
+   * @param sourceClient the client used for querying data from the source commercetools project.
+   * @param targetClient the client used for syncing the transformed drafts into the target
+   *     commercetools project.
+   * @param customObjectService service that is used for fetching and persisting the last sync
+   *     timestamp for delta syncing.
+   * @param clock the clock to record the time for calculating the sync duration.
+   * @param syncerOptions the options which define how the pages are fetched from the source project
+   *     and fed to the sync process.
+   * @param referencesService if set, the service used to look up the keys of the references of the
+   *     transformed drafts, which then replace the ids of the references as described by {@link
+   *     #collectReferenceIds(Object, Map)} and {@link #replaceReferenceIdsWithKeys(Object, Map)}.
+   *     This allows to query the source resources without expanding their references.
+   */
+  public Syncer(
+      @Nonnull final B sync,
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nullable final ReferencesService referencesService) {
+    this(
+        sync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        referencesService,
+        SyncerExecutors.of(syncerOptions));
+  }
+
+  /**
+   * Instantiates a {@link Syncer} which is used to sync resources from a source to a target
+   * commercetools project.
+   *
+   * @param sync The sync module that is used for syncing the resource drafts to the target project,
+   *     after being transformed from the resources fetched from the source project.
+   * @param sourceClient the client used for querying data from the source commercetools project.
+   * @param targetClient the client used for syncing the transformed drafts into the target
+   *     commercetools project.
+   * @param customObjectService service that is used for fetching and persisting the last sync
+   *     timestamp for delta syncing.
+   * @param clock the clock to record the time for calculating the sync duration.
+   * @param syncerOptions the options which define how the pages are fetched from the source project
+   *     and fed to the sync process.
+   * @param referencesService if set, the service used to look up the keys of the references of the
+   *     transformed drafts.
+   * @param executors the executors the continuations of the sync are run on, which should be the
+   *     same as the ones used by the {@code referencesService}.
+   */
+  public Syncer(
+      @Nonnull final B sync,
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nullable final ReferencesService referencesService,
+      @Nonnull final SyncerExecutors executors) {
     this.sync = sync;
     this.sourceClient = sourceClient;
     this.targetClient = targetClient;
     this.customObjectService = customObjectService;
     this.clock = clock;
+    this.syncerOptions = syncerOptions;
+    this.referencesService = referencesService;
+    this.executors = executors;
+  }
+
+  /**
+   * Builds the {@link ReferencesService} which caches the keys of the resources referenced by the
+   * resources of the source project, as configured by the supplied {@code syncerOptions}.
+   *
+   * @param sourceClient the client used for querying the keys from the source project.
+   * @param clock the clock used to expire the irresolvable references.
+   * @param syncerOptions the options which define the size, eviction policy and directory of the
+   *     cache.
+   * @param executors the executors of the syncer, whose callback executor runs the continuations of
+   *     the key lookups.
+   * @return a new {@link ReferencesService} for the source project.
+   */
+  @Nonnull
+  protected static ReferencesService buildReferencesService(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final SyncerExecutors executors) {
+
+    return new ReferencesServiceImpl(
+        sourceClient,
+        syncerOptions.getReferenceCacheSize(),
+        syncerOptions.getReferenceCacheEvictionPolicy(),
+        Duration.ofMillis(syncerOptions.getIrresolvableReferenceTtlMillis()),
+        clock,
+        syncerOptions.getReferenceCacheDirectory(),
+        executors.getCallbackExecutor());
   }
 
   /**
    * Fetches the sourceClient's project resources of type {@code T} with all needed references
    * expanded and treats each page as a batch to the sync process. Then executes the sync process of
-   * on every page fetched from the source project sequentially. It then returns a completion stage
-   * containing a {@link Void} result after the execution of the sync process and logging the
-   * result.
+   * on every page fetched from the source project. Up to {@link
+   * SyncerOptions#getMaxPagesInFlight()} pages are transformed concurrently while the transformed
+   * pages are synced one after the other, and the following pages are prefetched as defined by
+   * {@link SyncerOptions#getPrefetchDepth()}. On a full sync, the resources are split into {@link
+   * SyncerOptions#getFullSyncPartitions()} disjoint id ranges which are paged concurrently. It then
+   * returns a completion stage containing a {@link Void} result after the execution of the sync
+   * process and logging the result.
    *
    * <p>Note: If {@code isFullSync} is {@code false}, i.e. a delta sync is required, the method
    * checks if there was a last sync time stamp persisted as a custom object in the target project
    * for this specific source project and sync module. If there is, it will sync only the resources
-   * which were modified after the last sync time stamp and before the start of this sync.
+   * which were modified after the last sync time stamp and before the start of this sync. This time
+   * range is split into concurrently synced windows as defined by {@link
+   * SyncerOptions#getDeltaSyncWindowSize()}.
+   *
+   * <p>Note: If {@link SyncerOptions#getCheckpointInterval()} is set, the progress of the sync is
+   * persisted periodically as a checkpoint custom object in the target project. If a checkpoint of
+   * an interrupted sync of the same kind and runner name exists, the sync resumes from it, using
+   * the time windows of the interrupted sync and starting every query after its last synced id.
    *
    * @param runnerName the name of the sync runner.
    * @param isFullSync whether to run a delta sync (based on the last sync timestamp) or a full
@@ -110,94 +289,537 @@ public abstract class Syncer<
 
     final String sourceProjectKey = sourceClient.getConfig().getProjectKey();
     final String syncModuleName = getSyncModuleName(sync.getClass());
+    final List<Syncer<T, S, U, V, C, B>> targetSyncers = getTargetSyncers();
     if (LOGGER.isInfoEnabled()) {
-      final String targetProjectKey = targetClient.getConfig().getProjectKey();
       LOGGER.info(
           format(
-              "Starting %s from CTP project with key '%s' to project with key '%s'",
-              syncModuleName, sourceProjectKey, targetProjectKey));
+              "Starting %s from CTP project with key '%s' to %s '%s'",
+              syncModuleName,
+              sourceProjectKey,
+              targetSyncers.size() == 1 ? "project with key" : "projects with keys",
+              targetSyncers.stream().map(Syncer::getTargetProjectKey).collect(joining("', '"))));
     }
 
-    final CompletionStage<Void> syncStage;
-    if (isFullSync) {
-      syncStage = sync(getQuery()).thenAccept(result -> {});
-    } else {
-      syncStage =
-          customObjectService
-              .getCurrentCtpTimestamp(runnerName, syncModuleName)
-              .thenCompose(
-                  currentCtpTimestamp ->
-                      syncResourcesSinceLastSync(
-                          sourceProjectKey, syncModuleName, runnerName, currentCtpTimestamp));
-    }
-
-    return syncStage.thenAccept(
-        ignoredResult -> {
-          if (LOGGER.isInfoEnabled()) {
-            logStatistics(sync.getStatistics(), LOGGER);
-          }
-        });
+    return getSyncCheckpointTracker(
+            sourceProjectKey, syncModuleName, runnerName, isFullSync, targetSyncers)
+        .thenCompose(
+            syncCheckpointTracker ->
+                sync(
+                    sourceProjectKey,
+                    syncModuleName,
+                    runnerName,
+                    syncCheckpointTracker,
+                    targetSyncers))
+        .thenAcceptAsync(
+            ignoredResult -> {
+              if (LOGGER.isInfoEnabled()) {
+                targetSyncers.forEach(
+                    targetSyncer -> {
+                      if (targetSyncers.size() > 1) {
+                        LOGGER.info(
+                            format(
+                                "Statistics of %s to project with key '%s':",
+                                syncModuleName, targetSyncer.getTargetProjectKey()));
+                      }
+                      logStatistics(targetSyncer.sync.getStatistics(), LOGGER);
+                    });
+                if (referencesService != null) {
+                  LOGGER.info(referencesService.getCacheReportMessage());
+                }
+              }
+            },
+            executors.getPersistenceExecutor());
   }
 
+  /**
+   * Builds the tracker of the checkpoint this sync starts from. If {@link
+   * SyncerOptions#getCheckpointInterval()} is set and a checkpoint of an interrupted sync of the
+   * same kind was persisted by a previous run with the same runner name, the sync resumes from this
+   * checkpoint. Otherwise, a new sync is started from zero.
+   */
   @Nonnull
-  private CompletionStage<Void> syncResourcesSinceLastSync(
+  private CompletionStage<SyncCheckpointTracker> getSyncCheckpointTracker(
       @Nonnull final String sourceProjectKey,
       @Nonnull final String syncModuleName,
       @Nullable final String runnerName,
-      @Nonnull final ZonedDateTime currentCtpTimestamp) {
+      final boolean isFullSync,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
 
-    return getQueryOfResourcesSinceLastSync(
-            sourceProjectKey, syncModuleName, runnerName, currentCtpTimestamp)
-        .thenCompose(this::sync)
+    return getPersistedSyncCheckpoint(sourceProjectKey, syncModuleName, runnerName, isFullSync)
         .thenCompose(
-            syncDurationInMillis ->
-                createNewLastSyncCustomObject(
-                    sourceProjectKey,
-                    syncModuleName,
-                    runnerName,
-                    currentCtpTimestamp,
-                    syncDurationInMillis))
-        .thenAccept(result -> {});
+            persistedSyncCheckpoint ->
+                persistedSyncCheckpoint
+                    .map(
+                        syncCheckpoint -> {
+                          if (LOGGER.isInfoEnabled()) {
+                            LOGGER.info(
+                                format(
+                                    "Resuming %s from the checkpoint of a previous run with the "
+                                        + "last synced ids %s",
+                                    syncModuleName, syncCheckpoint.getLastSyncedIds()));
+                          }
+                          return CompletableFuture.completedFuture(syncCheckpoint);
+                        })
+                    .orElseGet(
+                        () ->
+                            getNewSyncCheckpoint(
+                                    sourceProjectKey,
+                                    syncModuleName,
+                                    runnerName,
+                                    isFullSync,
+                                    targetSyncers)
+                                .toCompletableFuture())
+                    .thenApply(
+                        syncCheckpoint ->
+                            SyncCheckpointTracker.of(
+                                customObjectService,
+                                sourceProjectKey,
+                                syncModuleName,
+                                runnerName,
+                                syncCheckpoint,
+                                persistedSyncCheckpoint.isPresent(),
+                                syncerOptions.getCheckpointInterval())));
   }
 
   @Nonnull
-  private CompletionStage<C> getQueryOfResourcesSinceLastSync(
+  private CompletionStage<Optional<SyncCheckpoint>> getPersistedSyncCheckpoint(
       @Nonnull final String sourceProjectKey,
       @Nonnull final String syncModuleName,
       @Nullable final String runnerName,
-      @Nonnull final ZonedDateTime currentSyncStartTimestamp) {
+      final boolean isFullSync) {
+
+    if (syncerOptions.getCheckpointInterval() == 0) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
 
     return customObjectService
-        .getLastSyncCustomObject(sourceProjectKey, syncModuleName, runnerName)
+        .getSyncCheckpointCustomObject(sourceProjectKey, syncModuleName, runnerName)
         .thenApply(
             customObjectOptional ->
                 customObjectOptional
                     .map(CustomObject::getValue)
-                    .map(LastSyncCustomObject::getLastSyncTimestamp)
+                    .filter(syncCheckpoint -> syncCheckpoint.isFullSync() == isFullSync));
+  }
+
+  /**
+   * Builds the checkpoint of a sync which starts from zero. On a full sync, the resources are split
+   * into {@link SyncerOptions#getFullSyncPartitions()} disjoint id ranges. On a delta sync, the
+   * method checks if there was a last sync time stamp persisted as a custom object in the target
+   * project for this specific source project and sync module. If there is, only the resources which
+   * were modified after the last sync time stamp and before the start of this sync are synced. The
+   * time range of a change feed sync is never split, since the messages are small. If the resources
+   * are synced to several target projects, they are synced since the earliest last sync time stamp
+   * of all target projects.
+   */
+  @Nonnull
+  private CompletionStage<SyncCheckpoint> getNewSyncCheckpoint(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      final boolean isFullSync,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    if (isFullSync) {
+      // A shard is split into at most as many partitions as it has id range bounds.
+      final int partitions =
+          partitionByIdRanges(
+                  getQuery(),
+                  syncerOptions.getShard(),
+                  syncerOptions.getShardCount(),
+                  syncerOptions.getFullSyncPartitions())
+              .size();
+      return CompletableFuture.completedFuture(
+          SyncCheckpoint.of(true, emptyList(), null, nCopies(partitions, null)));
+    }
+
+    return customObjectService
+        .getCurrentCtpTimestamp(runnerName, syncModuleName)
+        .thenCompose(
+            currentCtpTimestamp ->
+                getEarliestLastSyncTimestamp(
+                        sourceProjectKey, syncModuleName, runnerName, targetSyncers)
+                    .thenCompose(
+                        lastSyncTimestampOptional ->
+                            lastSyncTimestampOptional
+                                .map(
+                                    lastSyncTimestamp ->
+                                        getNewDeltaSyncCheckpoint(
+                                            sourceProjectKey,
+                                            syncModuleName,
+                                            runnerName,
+                                            lastSyncTimestamp,
+                                            currentCtpTimestamp,
+                                            targetSyncers))
+                                // If there is no last sync custom object, use base query to get
+                                // all resources
+                                .orElseGet(
+                                    () ->
+                                        CompletableFuture.completedFuture(
+                                            SyncCheckpoint.of(
+                                                false,
+                                                emptyList(),
+                                                currentCtpTimestamp,
+                                                singletonList(null))))));
+  }
+
+  /**
+   * Builds the checkpoint of a delta sync of the changes since the supplied last sync timestamp. If
+   * the change feed is applicable, the resources referenced by the messages created since the last
+   * change feed sync are synced. Otherwise, the resources modified since the last sync timestamp
+   * are synced in time windows.
+   */
+  @Nonnull
+  private CompletionStage<SyncCheckpoint> getNewDeltaSyncCheckpoint(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final ZonedDateTime lastSyncTimestamp,
+      @Nonnull final ZonedDateTime currentCtpTimestamp,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    return getChangeFeedLowerBound(
+            sourceProjectKey,
+            syncModuleName,
+            runnerName,
+            lastSyncTimestamp,
+            currentCtpTimestamp,
+            targetSyncers)
+        .thenCompose(
+            changeFeedLowerBound ->
+                changeFeedLowerBound
                     .map(
-                        lastSyncTimestamp ->
-                            getQueryWithTimeBoundedPredicate(
-                                lastSyncTimestamp, currentSyncStartTimestamp))
-                    // If there is no last sync custom object, use base query to get all resources
-                    .orElseGet(this::getQuery));
+                        lowerBound ->
+                            CompletableFuture.completedFuture(
+                                SyncCheckpoint.ofChangeFeed(lowerBound, currentCtpTimestamp)))
+                    .orElseGet(
+                        () ->
+                            getDeltaSyncWindowBounds(lastSyncTimestamp, currentCtpTimestamp)
+                                .thenApply(
+                                    windowBounds ->
+                                        SyncCheckpoint.of(
+                                            false,
+                                            windowBounds,
+                                            currentCtpTimestamp,
+                                            nCopies(windowBounds.size() - 1, null)))
+                                .toCompletableFuture()));
   }
 
+  /**
+   * Gets the timestamp from which on the messages of the source project are synced, if the change
+   * feed is applicable. This is the case if {@link SyncerOptions#isChangeFeed()} is set, the
+   * resources of this syncer emit messages, the messages are enabled on the source project and the
+   * messages created since the supplied last sync timestamp are not deleted yet.
+   *
+   * <p>Since CTP does not emit a message for every change of a resource, a change feed sync does
+   * not advance the last sync timestamp, but the separate last sync timestamp of the change feed.
+   * The messages are synced from the later of both timestamps. The changes which did not emit a
+   * message are synced once the last sync timestamp is older than the retention period of the
+   * messages, when the resources modified since the last sync timestamp are synced instead.
+   *
+   * @return the lower bound of the messages, or an empty optional if the resources modified since
+   *     the last sync timestamp have to be synced.
+   */
   @Nonnull
-  private C getQueryWithTimeBoundedPredicate(
+  private CompletionStage<Optional<ZonedDateTime>> getChangeFeedLowerBound(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final ZonedDateTime lastSyncTimestamp,
+      @Nonnull final ZonedDateTime currentCtpTimestamp,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    if (!syncerOptions.isChangeFeed() || getMessageResourceTypeId() == null) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    return getMessagesRetentionDays(sourceProjectKey)
+        .thenCompose(
+            retentionDaysOptional -> {
+              if (!retentionDaysOptional.isPresent()
+                  || !lastSyncTimestamp.isAfter(
+                      currentCtpTimestamp.minusDays(retentionDaysOptional.get()))) {
+                return CompletableFuture.completedFuture(Optional.empty());
+              }
+              return getEarliestLastSyncTimestamp(
+                      sourceProjectKey,
+                      syncModuleName + CHANGE_FEED_SYNC_MODULE_NAME_SUFFIX,
+                      runnerName,
+                      targetSyncers)
+                  .thenApply(
+                      changeFeedTimestampOptional ->
+                          Optional.of(
+                              changeFeedTimestampOptional
+                                  .filter(lastSyncTimestamp::isBefore)
+                                  .orElse(lastSyncTimestamp)));
+            });
+  }
+
+  /**
+   * Gets the number of days after which the messages of the source project are deleted, or an empty
+   * optional if the messages are not enabled on the source project or its settings could not be
+   * fetched.
+   */
+  @Nonnull
+  private CompletionStage<Optional<Long>> getMessagesRetentionDays(
+      @Nonnull final String sourceProjectKey) {
+
+    return sourceClient
+        .execute(ProjectGet.of())
+        .handle(
+            (project, exception) -> {
+              if (exception != null) {
+                LOGGER.warn(
+                    format(
+                        "Failed to fetch the settings of the source project with key '%s'. The "
+                            + "resources modified since the last sync are synced instead of the "
+                            + "resources of the messages.",
+                        sourceProjectKey),
+                    exception instanceof CompletionException ? exception.getCause() : exception);
+                return Optional.empty();
+              }
+              final MessagesConfiguration messagesConfiguration = project.getMessages();
+              if (messagesConfiguration == null
+                  || !Boolean.TRUE.equals(messagesConfiguration.isEnabled())) {
+                LOGGER.warn(
+                    format(
+                        "The messages are not enabled on the source project with key '%s'. The "
+                            + "resources modified since the last sync are synced instead of the "
+                            + "resources of the messages.",
+                        sourceProjectKey));
+                return Optional.empty();
+              }
+              final Long deleteDaysAfterCreation =
+                  messagesConfiguration.getDeleteDaysAfterCreation();
+              return Optional.of(
+                  deleteDaysAfterCreation == null
+                      ? MESSAGES_RETENTION_DAYS_DEFAULT
+                      : deleteDaysAfterCreation);
+            });
+  }
+
+  /**
+   * Gets the earliest last sync timestamp of the supplied target syncers, or an empty optional if
+   * any of them has no last sync timestamp yet.
+   */
+  @Nonnull
+  private CompletionStage<Optional<ZonedDateTime>> getEarliestLastSyncTimestamp(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    final List<CompletableFuture<Optional<ZonedDateTime>>> lastSyncTimestamps =
+        targetSyncers
+            .stream()
+            .map(
+                targetSyncer ->
+                    targetSyncer
+                        .customObjectService
+                        .getLastSyncCustomObject(sourceProjectKey, syncModuleName, runnerName)
+                        .thenApply(
+                            customObjectOptional ->
+                                customObjectOptional
+                                    .map(CustomObject::getValue)
+                                    .map(LastSyncCustomObject::getLastSyncTimestamp))
+                        .toCompletableFuture())
+            .collect(Collectors.toList());
+
+    return CompletableFuture.allOf(lastSyncTimestamps.toArray(new CompletableFuture[0]))
+        .thenApply(
+            ignoredResult -> {
+              ZonedDateTime earliestLastSyncTimestamp = null;
+              for (final CompletableFuture<Optional<ZonedDateTime>> lastSyncTimestamp :
+                  lastSyncTimestamps) {
+                final Optional<ZonedDateTime> timestamp = lastSyncTimestamp.join();
+                if (!timestamp.isPresent()) {
+                  return Optional.empty();
+                }
+                if (earliestLastSyncTimestamp == null
+                    || timestamp.get().isBefore(earliestLastSyncTimestamp)) {
+                  earliestLastSyncTimestamp = timestamp.get();
+                }
+              }
+              return Optional.ofNullable(earliestLastSyncTimestamp);
+            });
+  }
+
+  /**
+   * Gets the bounds of the time windows of the resources modified between the supplied bounds. If
+   * {@link SyncerOptions#getDeltaSyncWindowSize()} is set, the number of modified resources is
+   * counted first and the time range is split into as many sub-windows of equal duration as needed
+   * for an average of at most {@link SyncerOptions#getDeltaSyncWindowSize()} resources per
+   * sub-window. The sub-windows are then synced concurrently.
+   */
+  @Nonnull
+  private CompletionStage<List<ZonedDateTime>> getDeltaSyncWindowBounds(
       @Nonnull final ZonedDateTime lowerBound, @Nonnull final ZonedDateTime upperBound) {
 
+    final int deltaSyncWindowSize = syncerOptions.getDeltaSyncWindowSize();
+    if (deltaSyncWindowSize == 0) {
+      return CompletableFuture.completedFuture(asList(lowerBound, upperBound));
+    }
+
+    final C timeBoundedQuery = getQueryWithTimeBoundedPredicate(lowerBound, upperBound, true);
+    return sourceClient
+        .execute(timeBoundedQuery.withLimit(0L).withFetchTotal(true))
+        .thenApply(
+            pagedQueryResult -> {
+              final long windows = (pagedQueryResult.getTotal() - 1) / deltaSyncWindowSize + 1;
+              return getTimeWindowBounds(
+                  lowerBound, upperBound, (int) Math.min(windows, MAX_TIME_WINDOWS));
+            });
+  }
+
+  /**
+   * Rebuilds the queries of the sync described by the supplied {@code syncCheckpoint}, in the same
+   * order as the last synced ids of the checkpoint.
+   */
+  @Nonnull
+  private List<C> getQueries(@Nonnull final SyncCheckpoint syncCheckpoint) {
+
+    if (syncCheckpoint.isFullSync()) {
+      return partitionByIdRanges(
+          getQuery(),
+          syncerOptions.getShard(),
+          syncerOptions.getShardCount(),
+          syncCheckpoint.getLastSyncedIds().size());
+    }
+
+    final List<ZonedDateTime> windowBounds = syncCheckpoint.getWindowBounds();
+    if (windowBounds.isEmpty()) {
+      return singletonList(getShardQuery());
+    }
+
+    final List<C> windowQueries = new ArrayList<>();
+    for (int window = 0; window < windowBounds.size() - 1; window++) {
+      final boolean isLastWindow = window == windowBounds.size() - 2;
+      windowQueries.add(
+          getQueryWithTimeBoundedPredicate(
+              windowBounds.get(window), windowBounds.get(window + 1), isLastWindow));
+    }
+    return windowQueries;
+  }
+
+  @Nonnull
+  private C getQueryWithTimeBoundedPredicate(
+      @Nonnull final ZonedDateTime lowerBound,
+      @Nonnull final ZonedDateTime upperBound,
+      final boolean isUpperBoundInclusive) {
+
     final QueryPredicate<T> queryPredicate =
         QueryPredicate.of(
             format(
-                "lastModifiedAt >= \"%s\" AND lastModifiedAt <= \"%s\"", lowerBound, upperBound));
-    return getQuery().plusPredicates(queryPredicate);
+                "lastModifiedAt >= \"%s\" AND lastModifiedAt %s \"%s\"",
+                lowerBound, isUpperBoundInclusive ? "<=" : "<", upperBound));
+    return getShardQuery().plusPredicates(queryPredicate);
+  }
+
+  /**
+   * Gets the query of {@link #getQuery()}, restricted to the id range of the shard synced by this
+   * runner process, if the resources are split into several shards.
+   */
+  @Nonnull
+  private C getShardQuery() {
+    return partitionByIdRanges(
+            getQuery(), syncerOptions.getShard(), syncerOptions.getShardCount(), 1)
+        .get(0);
   }
 
+  /**
+   * Syncs the resources of the sync described by the checkpoint of the supplied {@code
+   * syncCheckpointTracker}. On a delta sync, the start timestamp of the sync is persisted as the
+   * new last sync timestamp of every target project after all resources have been synced, or as the
+   * new last sync timestamp of the change feed on a change feed sync. The checkpoint custom object,
+   * if any, is deleted afterwards.
+   */
+  @Nonnull
+  private CompletionStage<Void> sync(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final SyncCheckpointTracker syncCheckpointTracker,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    final SyncCheckpoint syncCheckpoint = syncCheckpointTracker.getSyncCheckpoint();
+    final CompletionStage<Long> syncStage;
+    if (syncCheckpoint.isChangeFeed()) {
+      final List<ZonedDateTime> windowBounds = syncCheckpoint.getWindowBounds();
+      syncStage = syncChangedResources(windowBounds.get(0), windowBounds.get(1), targetSyncers);
+    } else {
+      syncStage =
+          sync(
+              getQueries(syncCheckpoint),
+              syncCheckpoint.getLastSyncedIds(),
+              syncCheckpointTracker,
+              targetSyncers);
+    }
+
+    return syncStage
+        .thenComposeAsync(
+            syncDurationInMillis -> {
+              if (syncCheckpoint.isFullSync()) {
+                return CompletableFuture.completedFuture(null);
+              }
+              final String lastSyncModuleName =
+                  syncCheckpoint.isChangeFeed()
+                      ? syncModuleName + CHANGE_FEED_SYNC_MODULE_NAME_SUFFIX
+                      : syncModuleName;
+              return CompletableFuture.allOf(
+                  targetSyncers
+                      .stream()
+                      .map(
+                          targetSyncer ->
+                              targetSyncer
+                                  .createNewLastSyncCustomObject(
+                                      sourceProjectKey,
+                                      lastSyncModuleName,
+                                      runnerName,
+                                      syncCheckpoint.getSyncStartTimestamp(),
+                                      syncDurationInMillis)
+                                  .toCompletableFuture())
+                      .toArray(CompletableFuture[]::new));
+            },
+            executors.getPersistenceExecutor())
+        .thenCompose(ignoredResult -> syncCheckpointTracker.clear());
+  }
+
+  /**
+   * Pages through the resources matched by every query of the supplied {@code queries} concurrently
+   * and syncs every page. Since all pages are synced by the same sync instance, the statistics of
+   * all queries are accumulated in the statistics of this sync instance.
+   *
+   * @param queries the disjoint queries which together match all resources to sync.
+   * @param lastSyncedIds for every query, the id after which the paging starts, or {@code null} to
+   *     page through all resources matched by the query.
+   * @param syncCheckpointTracker the tracker notified about the progress of every query.
+   * @param targetSyncers the syncers whose sync modules sync every page.
+   * @return a completion stage containing the duration of the sync in milliseconds.
+   */
   @Nonnull
-  private CompletionStage<Long> sync(@Nonnull final C queryResourcesSinceLastSync) {
+  private CompletionStage<Long> sync(
+      @Nonnull final List<C> queries,
+      @Nonnull final List<String> lastSyncedIds,
+      @Nonnull final SyncCheckpointTracker syncCheckpointTracker,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    targetSyncers.forEach(Syncer::resetLastPageSync);
 
     final long timeBeforeSync = clock.millis();
-    return queryAll(sourceClient, queryResourcesSinceLastSync, this::syncPage)
+    final CompletableFuture<?>[] querySyncs =
+        IntStream.range(0, queries.size())
+            .mapToObj(
+                queryIndex ->
+                    PagePipeline.run(
+                            sourceClient,
+                            queries.get(queryIndex),
+                            lastSyncedIds.get(queryIndex),
+                            page -> syncPage(page, targetSyncers),
+                            lastId -> syncCheckpointTracker.onPageSynced(queryIndex, lastId),
+                            syncerOptions)
+                        .toCompletableFuture())
+            .toArray(CompletableFuture[]::new);
+
+    return CompletableFuture.allOf(querySyncs)
         .thenApply(
             ignoredResult -> {
               final long timeAfterSync = clock.millis();
@@ -205,6 +827,120 @@ public abstract class Syncer<
             });
   }
 
+  /**
+   * Pages through the messages of the source project which were created between the supplied bounds
+   * and concern the resources of this syncer in the shard synced by this runner process. Every page
+   * of messages is collapsed to the ids of the resources they reference, and only the resources not
+   * synced by a previous page of the same sync are fetched by {@link #getQuery()} and synced. Since
+   * the current state of a resource is fetched, all its changes up to the fetch are synced at once.
+   *
+   * <p>Note: The progress of this sync is not persisted as a checkpoint, since the last synced ids
+   * are the ids of messages instead of resources.
+   *
+   * @param lowerBound the later of the last sync timestamp and the last change feed sync timestamp.
+   * @param upperBound the start timestamp of this sync.
+   * @param targetSyncers the syncers whose sync modules sync every page.
+   * @return a completion stage containing the duration of the sync in milliseconds.
+   */
+  @Nonnull
+  private CompletionStage<Long> syncChangedResources(
+      @Nonnull final ZonedDateTime lowerBound,
+      @Nonnull final ZonedDateTime upperBound,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    targetSyncers.forEach(Syncer::resetLastPageSync);
+
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(
+          format(
+              "Syncing the resources of the messages created between '%s' and '%s'",
+              lowerBound, upperBound));
+    }
+
+    final MessageQuery messageQuery =
+        MessageQuery.of()
+            .plusPredicates(
+                QueryPredicate.of(
+                    format(
+                        "resource(typeId=\"%s\") AND createdAt >= \"%s\" AND createdAt <= \"%s\"",
+                        getMessageResourceTypeId(), lowerBound, upperBound)));
+    final MessageQuery shardMessageQuery =
+        getShardIdRangePredicate(syncerOptions.getShard(), syncerOptions.getShardCount())
+            .map(
+                idRangePredicate ->
+                    messageQuery.plusPredicates(
+                        QueryPredicate.of(format("resource(%s)", idRangePredicate))))
+            .orElse(messageQuery);
+    final SyncedIdSet syncedIds = new SyncedIdSet();
+
+    final long timeBeforeSync = clock.millis();
+    return PagePipeline.run(
+            sourceClient,
+            shardMessageQuery,
+            messages -> syncChangedResources(messages, syncedIds, targetSyncers),
+            syncerOptions)
+        .thenApply(
+            ignoredResult -> {
+              final long timeAfterSync = clock.millis();
+              return timeAfterSync - timeBeforeSync;
+            });
+  }
+
+  /**
+   * Fetches the resources referenced by the supplied page of messages, which are not contained in
+   * {@code syncedIds} yet, in chunks of at most {@link #MAX_IDS_PER_QUERY} ids and syncs every
+   * chunk as a page. The returned stage contains the time the slowest chunk spent fetching and
+   * syncing its resources in milliseconds, since the chunks are processed concurrently.
+   */
+  @Nonnull
+  private CompletionStage<Long> syncChangedResources(
+      @Nonnull final List<Message> messages,
+      @Nonnull final SyncedIdSet syncedIds,
+      @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+
+    final List<String> changedIds =
+        messages
+            .stream()
+            .map(message -> message.getResource().getId())
+            .distinct()
+            .filter(syncedIds::add)
+            .collect(Collectors.toList());
+
+    final List<CompletableFuture<Long>> chunkSyncs =
+        IntStream.range(0, (changedIds.size() + MAX_IDS_PER_QUERY - 1) / MAX_IDS_PER_QUERY)
+            .mapToObj(
+                chunk ->
+                    changedIds.subList(
+                        chunk * MAX_IDS_PER_QUERY,
+                        Math.min((chunk + 1) * MAX_IDS_PER_QUERY, changedIds.size())))
+            .map(
+                ids -> {
+                  final String commaSeparatedIds =
+                      ids.stream().map(id -> format("\"%s\"", id)).collect(joining(", "));
+                  final C query =
+                      getShardQuery()
+                          .plusPredicates(
+                              QueryPredicate.of(format("id in (%s)", commaSeparatedIds)))
+                          .withLimit((long) ids.size());
+                  final long fetchStartNanos = System.nanoTime();
+                  return sourceClient
+                      .execute(query)
+                      .thenCompose(
+                          pagedQueryResult -> {
+                            final long fetchMillis = PagePipeline.getMillisSince(fetchStartNanos);
+                            return syncPage(pagedQueryResult.getResults(), targetSyncers)
+                                .thenApply(syncMillis -> fetchMillis + syncMillis);
+                          })
+                      .toCompletableFuture();
+                })
+            .collect(Collectors.toList());
+
+    return CompletableFuture.allOf(chunkSyncs.toArray(new CompletableFuture[0]))
+        .thenApply(
+            ignoredResult ->
+                chunkSyncs.stream().mapToLong(CompletableFuture::join).max().orElse(0));
+  }
+
   @Nonnull
   private CompletionStage<CustomObject<LastSyncCustomObject>> createNewLastSyncCustomObject(
       @Nonnull final String sourceProjectKey,
@@ -222,11 +958,145 @@ public abstract class Syncer<
 
   /**
    * Given a {@link List} representing a page of resources of type {@code T}, this method creates a
-   * {@link CompletableFuture} of each sync process on the given page as a batch.
+   * {@link CompletionStage} of the sync process on the given page as a batch. The page is
+   * transformed on the transform executor and the following stages run on the callback executor, so
+   * that neither runs on the I/O thread which completed the query of the page. The page is
+   * transformed once and its drafts are synced by the sync modules of all target syncers
+   * concurrently. The returned stage contains the time spent transforming and syncing the page in
+   * milliseconds, without the time the page waited for the transform executor or for the sync of
+   * the previous page, which is the latency the page size is adapted to.
    */
   @Nonnull
-  private U syncPage(@Nonnull final List<T> page) {
-    return transform(page).thenCompose(sync::sync).toCompletableFuture().join();
+  private CompletionStage<Long> syncPage(
+      @Nonnull final List<T> page, @Nonnull final List<Syncer<T, S, U, V, C, B>> targetSyncers) {
+    return CompletableFuture.completedFuture(page)
+        .thenComposeAsync(
+            resources -> {
+              final long transformStartNanos = System.nanoTime();
+              return transform(resources)
+                  .thenComposeAsync(
+                      this::replaceReferenceIdsWithKeys, executors.getCallbackExecutor())
+                  .thenCompose(
+                      drafts -> {
+                        final long transformMillis =
+                            PagePipeline.getMillisSince(transformStartNanos);
+                        final List<CompletableFuture<Long>> targetSyncs =
+                            targetSyncers
+                                .stream()
+                                .map(
+                                    targetSyncer ->
+                                        targetSyncer
+                                            .syncAfterLastPage(
+                                                drafts, executors.getCallbackExecutor())
+                                            .toCompletableFuture())
+                                .collect(Collectors.toList());
+                        return CompletableFuture.allOf(
+                                targetSyncs.toArray(new CompletableFuture[0]))
+                            .thenApply(
+                                ignoredResult ->
+                                    transformMillis
+                                        + targetSyncs
+                                            .stream()
+                                            .mapToLong(CompletableFuture::join)
+                                            .max()
+                                            .orElse(0));
+                      });
+            },
+            executors.getTransformExecutor());
+  }
+
+  /**
+   * If this syncer has a {@link ReferencesService}, looks up the keys of the ids collected from the
+   * supplied drafts by {@link #collectReferenceIds(Object, Map)} at once and replaces the ids with
+   * these keys by {@link #replaceReferenceIdsWithKeys(Object, Map)}. If the lookup fails, a warning
+   * is logged and none of the drafts is synced.
+   */
+  @Nonnull
+  private CompletionStage<List<S>> replaceReferenceIdsWithKeys(@Nonnull final List<S> drafts) {
+    if (referencesService == null || drafts.isEmpty()) {
+      return CompletableFuture.completedFuture(drafts);
+    }
+
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+    drafts.forEach(draft -> collectReferenceIds(draft, idsByReferenceTypeId));
+    if (idsByReferenceTypeId.isEmpty()) {
+      return CompletableFuture.completedFuture(drafts);
+    }
+
+    return referencesService
+        .getIdToKeys(idsByReferenceTypeId)
+        .thenApply(
+            idToKey ->
+                drafts
+                    .stream()
+                    .map(draft -> replaceReferenceIdsWithKeys(draft, idToKey))
+                    .collect(Collectors.toList()))
+        .handle(
+            (draftsWithKeys, exception) -> {
+              if (exception != null) {
+                LOGGER.warn(
+                    "Failed to replace referenced resource ids with keys on the resources in the "
+                        + "current fetched page from the source project. This page will not be "
+                        + "synced to the target project.",
+                    exception instanceof CompletionException ? exception.getCause() : exception);
+                return Collections.<S>emptyList();
+              }
+              return draftsWithKeys;
+            });
+  }
+
+  /**
+   * Syncs the supplied drafts once the sync of the previous page has completed.
+   *
+   * @return a completion stage containing the time the sync of the drafts took in milliseconds,
+   *     without the time it waited for the sync of the previous page.
+   */
+  @Nonnull
+  private synchronized CompletionStage<Long> syncAfterLastPage(
+      @Nonnull final List<S> drafts, @Nonnull final Executor callbackExecutor) {
+    final CompletionStage<Long> pageSync =
+        lastPageSync.thenComposeAsync(
+            ignoredResult -> {
+              final long syncStartNanos = System.nanoTime();
+              return sync.sync(drafts)
+                  .thenApply(statistics -> PagePipeline.getMillisSince(syncStartNanos));
+            },
+            callbackExecutor);
+    lastPageSync = pageSync;
+    return pageSync;
+  }
+
+  private synchronized void resetLastPageSync() {
+    lastPageSync = CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Adds a target project to which this syncer syncs the resources, in addition to its own target
+   * project. Every page is then fetched and transformed once and its drafts are synced by the sync
+   * modules of all target projects concurrently. Every target project keeps its own statistics and
+   * last sync timestamp. A delta sync syncs the resources modified since the earliest last sync
+   * timestamp of all target projects, whereas the checkpoints of the sync are only persisted in the
+   * target project of this syncer.
+   *
+   * @param targetSyncer a syncer of the same kind built for the additional target project. Only its
+   *     sync module and its custom object service are used, the resources are fetched and
+   *     transformed by this syncer.
+   */
+  public void addTarget(@Nonnull final Syncer<T, S, U, V, C, B> targetSyncer) {
+    additionalTargetSyncers.add(targetSyncer);
+  }
+
+  @Nonnull
+  private List<Syncer<T, S, U, V, C, B>> getTargetSyncers() {
+    final List<Syncer<T, S, U, V, C, B>> targetSyncers = new ArrayList<>();
+    targetSyncers.add(this);
+    targetSyncers.addAll(additionalTargetSyncers);
+    return targetSyncers;
+  }
+
+  @Nonnull
+  private String getTargetProjectKey() {
+    return targetClient.getConfig().getProjectKey();
   }
 
   /**
@@ -240,9 +1110,60 @@ public abstract class Syncer<
   @Nonnull
   protected abstract CompletionStage<List<S>> transform(@Nonnull final List<T> page);
 
+  /**
+   * Adds the ids of the references of the supplied draft, which the reference replacement of {@link
+   * #transform(List)} leaves unchanged because the references are not expanded by {@link
+   * #getQuery()}, to {@code idsByReferenceTypeId}. Only called if this syncer has a {@link
+   * ReferencesService}. By default, no ids are added.
+   *
+   * @param draft the draft transformed from a resource of the source project.
+   * @param idsByReferenceTypeId the ids collected so far, grouped by the type id of the references.
+   */
+  protected void collectReferenceIds( // NOPMD - optional hook
+      @Nonnull final S draft, @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {}
+
+  /**
+   * Builds a copy of the supplied draft in which the ids added by {@link
+   * #collectReferenceIds(Object, Map)} are replaced with their keys in {@code idToKey}. A reference
+   * whose id has no key mapping should keep its id, so that the sync reports it as unresolvable.
+   * Only called if this syncer has a {@link ReferencesService}. By default, the draft is returned
+   * unchanged.
+   *
+   * @param draft the draft transformed from a resource of the source project.
+   * @param idToKey the keys of the referenced ids.
+   * @return a draft which references the keys instead of the ids.
+   */
+  @Nonnull
+  protected S replaceReferenceIdsWithKeys(
+      @Nonnull final S draft, @Nonnull final Map<String, String> idToKey) {
+    return draft;
+  }
+
+  /**
+   * Whether the keys of the references of the drafts are resolved from the cache of the {@link
+   * ReferencesService} of this syncer instead of expanding the references in {@link #getQuery()}.
+   */
+  protected boolean isResolvingReferencesFromCache() {
+    return referencesService != null;
+  }
+
   @Nonnull
   protected abstract C getQuery();
 
+  /**
+   * Gets the type id of the resources of this syncer as referenced by the messages of CTP, e.g.
+   * {@code "product"}. Only if it is not {@code null}, a delta sync with {@link
+   * SyncerOptions#isChangeFeed()} set fetches the resources referenced by the messages since the
+   * last sync. By default, the resources do not emit messages.
+   *
+   * @return the type id of the resources in the messages, or {@code null} if the resources of this
+   *     syncer do not emit messages.
+   */
+  @Nullable
+  protected String getMessageResourceTypeId() { // NOPMD - optional hook
+    return null;
+  }
+
   public B getSync() {
     return sync;
   }
@@ -251,4 +1172,14 @@ public abstract class Syncer<
   public SphereClient getSourceClient() {
     return sourceClient;
   }
+
+  @Nonnull
+  public SyncerOptions getSyncerOptions() {
+    return syncerOptions;
+  }
+
+  @Nonnull
+  protected SyncerExecutors getExecutors() {
+    return executors;
+  }
 }
@@ -1,5 +1,6 @@
 package com.commercetools.project.sync;
 
+import static com.commercetools.project.sync.util.SphereClientUtils.CTP_ADDITIONAL_TARGET_CLIENTS;
 import static com.commercetools.project.sync.util.SphereClientUtils.CTP_SOURCE_CLIENT;
 import static com.commercetools.project.sync.util.SphereClientUtils.CTP_TARGET_CLIENT;
 
@@ -17,6 +18,9 @@ public class SyncerApplication {
         .run(
             args,
             SyncerFactory.of(
-                () -> CTP_SOURCE_CLIENT, () -> CTP_TARGET_CLIENT, Clock.systemDefaultZone()));
+                () -> CTP_SOURCE_CLIENT,
+                () -> CTP_TARGET_CLIENT,
+                () -> CTP_ADDITIONAL_TARGET_CLIENTS,
+                Clock.systemDefaultZone()));
   }
 }
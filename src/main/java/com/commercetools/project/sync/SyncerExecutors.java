@@ -0,0 +1,146 @@
+package com.commercetools.project.sync;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The executors a {@link Syncer} runs the continuations of its completion stages on, so that the
+ * work on the fetched resources does not run on the I/O threads of the client which completed the
+ * requests:
+ *
+ * <ul>
+ *   <li>the callback executor runs the continuations of completed requests, e.g. the replacement of
+ *       reference ids with keys and the hand-over of the drafts to the sync module,
+ *   <li>the transform executor runs the CPU bound transformation of the fetched pages into drafts,
+ *   <li>the persistence executor runs the logging of the statistics and the persistence of the last
+ *       sync timestamp.
+ * </ul>
+ *
+ * <p>An executor whose size is 0 in the {@link SyncerOptions} runs the continuations directly on
+ * the thread which completed the previous stage. The threads of all executors are daemon threads
+ * which terminate once they are idle. The {@link SyncerFactory} creates the executors once per sync
+ * module, shares them between the syncers of all target projects and all syncs of a continuous
+ * sync, and shuts them down once its sync has completed.
+ */
+public final class SyncerExecutors {
+  private static final Executor DIRECT_EXECUTOR = Runnable::run;
+  private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+  private final Executor callbackExecutor;
+  private final ForkJoinPool transformPool;
+  private final Executor persistenceExecutor;
+
+  private SyncerExecutors(
+      @Nonnull final Executor callbackExecutor,
+      @Nullable final ForkJoinPool transformPool,
+      @Nonnull final Executor persistenceExecutor) {
+    this.callbackExecutor = callbackExecutor;
+    this.transformPool = transformPool;
+    this.persistenceExecutor = persistenceExecutor;
+  }
+
+  /**
+   * Creates the executors of a syncer, sized by {@link SyncerOptions#getCallbackThreads()}, {@link
+   * SyncerOptions#getTransformParallelism()} and {@link SyncerOptions#getPersistenceThreads()}.
+   *
+   * @param syncerOptions the options which define the sizes of the executors.
+   * @return the executors of a syncer.
+   */
+  @Nonnull
+  public static SyncerExecutors of(@Nonnull final SyncerOptions syncerOptions) {
+    final int transformParallelism = syncerOptions.getTransformParallelism();
+    return new SyncerExecutors(
+        buildExecutor("callback", syncerOptions.getCallbackThreads()),
+        transformParallelism > 0 ? new ForkJoinPool(transformParallelism) : null,
+        buildExecutor("persistence", syncerOptions.getPersistenceThreads()));
+  }
+
+  @Nonnull
+  private static Executor buildExecutor(@Nonnull final String name, final int threads) {
+    if (threads == 0) {
+      return DIRECT_EXECUTOR;
+    }
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            IDLE_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new DaemonThreadFactory(name));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @Nonnull
+  public Executor getCallbackExecutor() {
+    return callbackExecutor;
+  }
+
+  /**
+   * Gets the pool which transforms the fetched pages into drafts.
+   *
+   * @return the transform pool, or {@code null} if the pages are transformed on the thread which
+   *     completed their query.
+   */
+  @Nullable
+  public ForkJoinPool getTransformPool() {
+    return transformPool;
+  }
+
+  @Nonnull
+  public Executor getTransformExecutor() {
+    return transformPool == null ? DIRECT_EXECUTOR : transformPool;
+  }
+
+  @Nonnull
+  public Executor getPersistenceExecutor() {
+    return persistenceExecutor;
+  }
+
+  /**
+   * Shuts down the dedicated executors, which still run the tasks already submitted to them but
+   * accept no new ones, so that their threads terminate right away instead of once they are idle.
+   * The executors whose size is 0 are not affected.
+   */
+  public void shutdown() {
+    shutdown(callbackExecutor);
+    if (transformPool != null) {
+      transformPool.shutdown();
+    }
+    shutdown(persistenceExecutor);
+  }
+
+  private static void shutdown(@Nonnull final Executor executor) {
+    if (executor instanceof ExecutorService) {
+      ((ExecutorService) executor).shutdown();
+    }
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+    private final String name;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    DaemonThreadFactory(@Nonnull final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(@Nonnull final Runnable runnable) {
+      final Thread thread =
+          new Thread(runnable, format("syncer-%s-%d", name, threadCount.incrementAndGet()));
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.commercetools.project.sync;
 
+import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_ALL;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_CART_DISCOUNT_SYNC;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_CATEGORY_SYNC;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_DESCRIPTION;
@@ -9,9 +10,15 @@ import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_PRODUC
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_PRODUCT_TYPE_SYNC;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_SHORT;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_TYPE_SYNC;
+import static com.commercetools.project.sync.util.SyncUtils.getSyncModuleName;
 import static io.sphere.sdk.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import com.commercetools.project.sync.cartdiscount.CartDiscountSyncer;
@@ -19,82 +26,297 @@ import com.commercetools.project.sync.category.CategorySyncer;
 import com.commercetools.project.sync.inventoryentry.InventoryEntrySyncer;
 import com.commercetools.project.sync.product.ProductSyncer;
 import com.commercetools.project.sync.producttype.ProductTypeSyncer;
+import com.commercetools.project.sync.service.CustomObjectService;
+import com.commercetools.project.sync.service.ReferencesService;
+import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
+import com.commercetools.project.sync.service.impl.SyncSessionCustomObjectService;
 import com.commercetools.project.sync.type.TypeSyncer;
+import com.commercetools.sync.cartdiscounts.CartDiscountSync;
+import com.commercetools.sync.categories.CategorySync;
 import com.commercetools.sync.commons.BaseSync;
 import com.commercetools.sync.commons.BaseSyncOptions;
 import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
+import com.commercetools.sync.inventories.InventorySync;
+import com.commercetools.sync.products.ProductSync;
+import com.commercetools.sync.producttypes.ProductTypeSync;
+import com.commercetools.sync.types.TypeSync;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.models.Resource;
 import io.sphere.sdk.queries.QueryDsl;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 final class SyncerFactory {
+  /**
+   * The modules synced by {@link #syncAll(String, boolean, Map, int)}, keyed by the sync option
+   * value of the module, with the modules whose resources they reference. Every module is declared
+   * after the modules it depends on.
+   */
+  static final Map<String, List<String>> MODULE_DEPENDENCIES = buildModuleDependencies();
+
+  private static final List<String> SYNC_MODULE_NAMES =
+      asList(
+          getSyncModuleName(ProductTypeSync.class),
+          getSyncModuleName(TypeSync.class),
+          getSyncModuleName(CategorySync.class),
+          getSyncModuleName(ProductSync.class),
+          getSyncModuleName(CartDiscountSync.class),
+          getSyncModuleName(InventorySync.class));
+
   private Supplier<SphereClient> targetClientSupplier;
+  private Supplier<List<SphereClient>> additionalTargetClientsSupplier;
   private Supplier<SphereClient> sourceClientSupplier;
   private Clock clock;
 
+  // The executors and reference caches of the sync modules are kept for the lifetime of the
+  // factory, so that the consecutive syncs of a continuous sync reuse their threads and cached
+  // keys.
+  private final Map<String, SyncerExecutors> executorsByModule = new ConcurrentHashMap<>();
+  private final Map<String, ReferencesService> referencesServicesByModule =
+      new ConcurrentHashMap<>();
+
+  // Guarded by "this".
+  private ContinuousSync continuousSync;
+
   private SyncerFactory(
       @Nonnull final Supplier<SphereClient> sourceClient,
       @Nonnull final Supplier<SphereClient> targetClient,
+      @Nonnull final Supplier<List<SphereClient>> additionalTargetClients,
       @Nonnull final Clock clock) {
     this.targetClientSupplier = targetClient;
+    this.additionalTargetClientsSupplier = additionalTargetClients;
     this.sourceClientSupplier = sourceClient;
     this.clock = clock;
   }
 
+  @Nonnull
+  private static Map<String, List<String>> buildModuleDependencies() {
+    final Map<String, List<String>> moduleDependencies = new LinkedHashMap<>();
+    moduleDependencies.put(SYNC_MODULE_OPTION_PRODUCT_TYPE_SYNC, emptyList());
+    moduleDependencies.put(SYNC_MODULE_OPTION_TYPE_SYNC, emptyList());
+    moduleDependencies.put(
+        SYNC_MODULE_OPTION_CATEGORY_SYNC, singletonList(SYNC_MODULE_OPTION_TYPE_SYNC));
+    moduleDependencies.put(
+        SYNC_MODULE_OPTION_PRODUCT_SYNC,
+        asList(
+            SYNC_MODULE_OPTION_PRODUCT_TYPE_SYNC,
+            SYNC_MODULE_OPTION_TYPE_SYNC,
+            SYNC_MODULE_OPTION_CATEGORY_SYNC));
+    moduleDependencies.put(
+        SYNC_MODULE_OPTION_CART_DISCOUNT_SYNC, singletonList(SYNC_MODULE_OPTION_TYPE_SYNC));
+    moduleDependencies.put(
+        SYNC_MODULE_OPTION_INVENTORY_ENTRY_SYNC, singletonList(SYNC_MODULE_OPTION_TYPE_SYNC));
+    return unmodifiableMap(moduleDependencies);
+  }
+
+  @Nonnull
+  public static SyncerFactory of(
+      @Nonnull final Supplier<SphereClient> sourceClient,
+      @Nonnull final Supplier<SphereClient> targetClient,
+      @Nonnull final Clock clock) {
+    return of(sourceClient, targetClient, Collections::emptyList, clock);
+  }
+
+  /**
+   * Creates a factory whose syncers sync the resources of the source project into several target
+   * projects. Every page of resources is fetched and transformed once and then synced into all
+   * target projects concurrently, see {@link Syncer#addTarget(Syncer)}.
+   *
+   * @param sourceClient the supplier of the client of the source project.
+   * @param targetClient the supplier of the client of the target project, which also keeps the
+   *     checkpoints of the syncs.
+   * @param additionalTargetClients the supplier of the clients of the additional target projects.
+   * @param clock the clock to record the time for calculating the sync durations.
+   * @return a new factory syncing into all supplied target projects.
+   */
   @Nonnull
   public static SyncerFactory of(
       @Nonnull final Supplier<SphereClient> sourceClient,
       @Nonnull final Supplier<SphereClient> targetClient,
+      @Nonnull final Supplier<List<SphereClient>> additionalTargetClients,
       @Nonnull final Clock clock) {
-    return new SyncerFactory(sourceClient, targetClient, clock);
+    return new SyncerFactory(sourceClient, targetClient, additionalTargetClients, clock);
   }
 
   @Nonnull
   CompletableFuture<Void> syncAll(
       @Nullable final String runnerNameOptionValue, final boolean isFullSync) {
+    return syncAll(runnerNameOptionValue, isFullSync, emptyMap());
+  }
 
-    final SphereClient sourceClient = sourceClientSupplier.get();
-    final SphereClient targetClient = targetClientSupplier.get();
+  @Nonnull
+  CompletableFuture<Void> syncAll(
+      @Nullable final String runnerNameOptionValue,
+      final boolean isFullSync,
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule) {
+    return syncAll(
+        runnerNameOptionValue,
+        isFullSync,
+        syncerOptionsByModule,
+        SyncModuleScheduler.MAX_CONCURRENT_MODULES_DEFAULT);
+  }
 
-    final List<CompletableFuture<Void>> typeAndProductTypeSync =
-        asList(
-            ProductTypeSyncer.of(sourceClient, targetClient, clock)
-                .sync(runnerNameOptionValue, isFullSync)
-                .toCompletableFuture(),
-            TypeSyncer.of(sourceClient, targetClient, clock)
-                .sync(runnerNameOptionValue, isFullSync)
-                .toCompletableFuture());
-
-    return CompletableFuture.allOf(typeAndProductTypeSync.toArray(new CompletableFuture[0]))
-        .thenCompose(
-            ignored ->
-                CategorySyncer.of(sourceClient, targetClient, clock)
-                    .sync(runnerNameOptionValue, isFullSync))
-        .thenCompose(
-            ignored ->
-                ProductSyncer.of(sourceClient, targetClient, clock)
-                    .sync(runnerNameOptionValue, isFullSync))
-        .thenCompose(
-            ignored ->
-                CartDiscountSyncer.of(sourceClient, targetClient, clock)
-                    .sync(runnerNameOptionValue, isFullSync))
+  /**
+   * Syncs all modules. Every module is started as soon as the modules it depends on, as declared by
+   * {@link #MODULE_DEPENDENCIES}, have been synced, while at most {@code maxConcurrentModules}
+   * modules are synced at the same time. On a delta sync, the current CTP timestamp and the last
+   * sync timestamps of all modules are fetched once per target project before the modules are
+   * started, see {@link SyncSessionCustomObjectService}.
+   *
+   * @param runnerNameOptionValue the name of the sync runner.
+   * @param isFullSync whether all resources are synced instead of the ones modified since the last
+   *     sync.
+   * @param syncerOptionsByModule the syncer options of the sync modules, keyed by the sync option
+   *     value of the module. Modules without an entry use the default syncer options.
+   * @param maxConcurrentModules the maximum number of modules which are synced at the same time.
+   * @return a completion stage which completes once all modules have been synced.
+   */
+  @Nonnull
+  CompletableFuture<Void> syncAll(
+      @Nullable final String runnerNameOptionValue,
+      final boolean isFullSync,
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule,
+      final int maxConcurrentModules) {
+
+    return runSyncAll(
+            runnerNameOptionValue, isFullSync, syncerOptionsByModule, maxConcurrentModules)
+        .toCompletableFuture()
+        .whenComplete((syncResult, throwable) -> close());
+  }
+
+  @Nonnull
+  private CompletionStage<Void> runSyncAll(
+      @Nullable final String runnerNameOptionValue,
+      final boolean isFullSync,
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule,
+      final int maxConcurrentModules) {
+
+    final SyncerOptions shardSyncerOptions;
+    try {
+      shardSyncerOptions = getSyncAllShardSyncerOptions(syncerOptionsByModule);
+    } catch (IllegalArgumentException exception) {
+      return exceptionallyCompletedFuture(exception);
+    }
+
+    final List<CompletableFuture<CustomObjectService>> sessionCustomObjectServices =
+        getCustomObjectServices(shardSyncerOptions)
+            .stream()
+            .map(
+                customObjectService ->
+                    isFullSync
+                        ? CompletableFuture.completedFuture(customObjectService)
+                        : SyncSessionCustomObjectService.start(
+                                customObjectService,
+                                sourceClientSupplier.get().getConfig().getProjectKey(),
+                                SYNC_MODULE_NAMES,
+                                runnerNameOptionValue)
+                            .toCompletableFuture())
+            .collect(toList());
+
+    return CompletableFuture.allOf(sessionCustomObjectServices.toArray(new CompletableFuture[0]))
         .thenCompose(
-            ignored ->
-                InventoryEntrySyncer.of(sourceClient, targetClient, clock)
-                    .sync(runnerNameOptionValue, isFullSync))
-        .whenComplete((syncResult, throwable) -> closeClients());
+            ignoredResult -> {
+              final List<CustomObjectService> sessionServices =
+                  sessionCustomObjectServices
+                      .stream()
+                      .map(CompletableFuture::join)
+                      .collect(toList());
+              return SyncModuleScheduler.run(
+                  MODULE_DEPENDENCIES,
+                  maxConcurrentModules,
+                  clock,
+                  module ->
+                      buildSyncer(module, syncerOptionsByModule, sessionServices)
+                          .sync(runnerNameOptionValue, isFullSync));
+            });
+  }
+
+  @Nonnull
+  private static SyncerOptions getSyncerOptions(
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule,
+      @Nonnull final String syncModuleOptionValue) {
+    return syncerOptionsByModule.getOrDefault(syncModuleOptionValue, SyncerOptions.ofDefaults());
+  }
+
+  /**
+   * Gets the syncer options of the module which defines the shard synced by all modules. Since all
+   * modules of a sync of all modules share the custom objects fetched at the start of the sync
+   * session, they have to sync the same shard.
+   *
+   * @throws IllegalArgumentException if the modules sync different shards.
+   */
+  @Nonnull
+  private static SyncerOptions getSyncAllShardSyncerOptions(
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule) {
+
+    final SyncerOptions shardSyncerOptions =
+        getSyncerOptions(syncerOptionsByModule, SYNC_MODULE_OPTION_TYPE_SYNC);
+    for (final String module : MODULE_DEPENDENCIES.keySet()) {
+      final SyncerOptions syncerOptions = getSyncerOptions(syncerOptionsByModule, module);
+      if (syncerOptions.getShard() != shardSyncerOptions.getShard()
+          || syncerOptions.getShardCount() != shardSyncerOptions.getShardCount()) {
+        throw new IllegalArgumentException(
+            format(
+                "All modules have to sync the same shard when syncing all modules, but module "
+                    + "\"%s\" syncs shard %d/%d and module \"%s\" syncs shard %d/%d.",
+                module,
+                syncerOptions.getShard(),
+                syncerOptions.getShardCount(),
+                SYNC_MODULE_OPTION_TYPE_SYNC,
+                shardSyncerOptions.getShard(),
+                shardSyncerOptions.getShardCount()));
+      }
+    }
+    return shardSyncerOptions;
   }
 
-  private void closeClients() {
+  /**
+   * Closes the clients and the references services and shuts down the executors of the sync modules
+   * once the sync completed.
+   */
+  private void close() {
     sourceClientSupplier.get().close();
     targetClientSupplier.get().close();
+    additionalTargetClientsSupplier.get().forEach(SphereClient::close);
+    referencesServicesByModule.values().forEach(ReferencesService::close);
+    executorsByModule.values().forEach(SyncerExecutors::shutdown);
+  }
+
+  /** Gets the clients of all target projects, starting with the one of the target project. */
+  @Nonnull
+  private List<SphereClient> getTargetClients() {
+    final List<SphereClient> targetClients = new ArrayList<>();
+    targetClients.add(targetClientSupplier.get());
+    targetClients.addAll(additionalTargetClientsSupplier.get());
+    return targetClients;
+  }
+
+  /**
+   * Builds a custom object service for every target project, whose custom objects belong to the
+   * shard of the supplied {@code syncerOptions}.
+   */
+  @Nonnull
+  private List<CustomObjectService> getCustomObjectServices(
+      @Nonnull final SyncerOptions syncerOptions) {
+    return getTargetClients()
+        .stream()
+        .map(
+            targetClient ->
+                new CustomObjectServiceImpl(
+                    targetClient, syncerOptions.getShard(), syncerOptions.getShardCount()))
+        .collect(toList());
   }
 
   @Nonnull
@@ -102,6 +324,15 @@ final class SyncerFactory {
       @Nullable final String syncOptionValue,
       @Nullable final String runnerNameOptionValue,
       final boolean isFullSync) {
+    return sync(syncOptionValue, runnerNameOptionValue, isFullSync, emptyMap());
+  }
+
+  @Nonnull
+  CompletionStage<Void> sync(
+      @Nullable final String syncOptionValue,
+      @Nullable final String runnerNameOptionValue,
+      final boolean isFullSync,
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule) {
 
     if (isBlank(syncOptionValue)) {
       final String errorMessage =
@@ -112,6 +343,17 @@ final class SyncerFactory {
       return exceptionallyCompletedFuture(new IllegalArgumentException(errorMessage));
     }
 
+    return runSync(syncOptionValue, runnerNameOptionValue, isFullSync, syncerOptionsByModule)
+        .whenComplete((syncResult, throwable) -> close());
+  }
+
+  @Nonnull
+  private CompletionStage<Void> runSync(
+      @Nonnull final String syncOptionValue,
+      @Nullable final String runnerNameOptionValue,
+      final boolean isFullSync,
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule) {
+
     Syncer<
             ? extends Resource,
             ?,
@@ -122,21 +364,122 @@ final class SyncerFactory {
         syncer;
 
     try {
-      syncer = buildSyncer(syncOptionValue);
+      syncer = buildSyncer(syncOptionValue, syncerOptionsByModule);
     } catch (IllegalArgumentException exception) {
 
       return exceptionallyCompletedFuture(exception);
     }
 
-    return syncer
-        .sync(runnerNameOptionValue, isFullSync)
-        .whenComplete((syncResult, throwable) -> closeClients());
+    return syncer.sync(runnerNameOptionValue, isFullSync);
+  }
+
+  /**
+   * Runs delta syncs of the module defined by the passed option value, or of all modules,
+   * continuously. The next delta sync is started {@code interval} after the previous one has
+   * completed. A failed delta sync is logged and does not stop the continuous sync. All delta syncs
+   * reuse the clients as well as the executors and the caches of referenced keys of the modules, so
+   * that only the first delta sync pays for their setup.
+   *
+   * <p>The continuous sync runs until {@link #stopContinuousSync()} is called. The clients are
+   * closed once the running delta sync, if any, has completed.
+   *
+   * @param syncOptionValue the string value passed to the sync option.
+   * @param runnerNameOptionValue the name of the sync runner.
+   * @param syncerOptionsByModule the syncer options of the sync modules, keyed by the sync option
+   *     value of the module. Modules without an entry use the default syncer options.
+   * @param maxConcurrentModules the maximum number of modules which are synced at the same time if
+   *     all modules are synced.
+   * @param interval the time between the end of a delta sync and the start of the next one.
+   * @return a completion stage which completes once the continuous sync has been stopped and the
+   *     clients have been closed, or exceptionally if a wrong option value is passed to the sync
+   *     option.
+   */
+  @Nonnull
+  CompletableFuture<Void> syncContinuously(
+      @Nullable final String syncOptionValue,
+      @Nullable final String runnerNameOptionValue,
+      @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule,
+      final int maxConcurrentModules,
+      @Nonnull final Duration interval) {
+
+    if (isBlank(syncOptionValue)) {
+      final String errorMessage =
+          format(
+              "Blank argument supplied to \"-%s\" or \"--%s\" option! %s",
+              SYNC_MODULE_OPTION_SHORT, SYNC_MODULE_OPTION_LONG, SYNC_MODULE_OPTION_DESCRIPTION);
+
+      return exceptionallyCompletedFuture(new IllegalArgumentException(errorMessage));
+    }
+
+    final boolean isSyncAll = SYNC_MODULE_OPTION_ALL.equals(syncOptionValue);
+    if (!isSyncAll && !MODULE_DEPENDENCIES.containsKey(syncOptionValue.trim())) {
+      return exceptionallyCompletedFuture(buildUnknownSyncOptionException(syncOptionValue));
+    }
+
+    final ContinuousSync startedContinuousSync =
+        ContinuousSync.start(
+            () ->
+                isSyncAll
+                    ? runSyncAll(
+                        runnerNameOptionValue, false, syncerOptionsByModule, maxConcurrentModules)
+                    : runSync(syncOptionValue, runnerNameOptionValue, false, syncerOptionsByModule),
+            interval);
+    synchronized (this) {
+      continuousSync = startedContinuousSync;
+    }
+    return startedContinuousSync.getResult().whenComplete((syncResult, throwable) -> close());
+  }
+
+  /**
+   * Stops the continuous sync started by {@link #syncContinuously(String, String, Map, int,
+   * Duration)}, if any, once its running delta sync has completed.
+   */
+  void stopContinuousSync() {
+    final ContinuousSync runningContinuousSync;
+    synchronized (this) {
+      runningContinuousSync = continuousSync;
+    }
+    if (runningContinuousSync != null) {
+      runningContinuousSync.stop();
+    }
   }
 
   /**
    * Builds an instance of {@link Syncer} corresponding to the passed option value.
    *
    * @param syncOptionValue the string value passed to the sync option.
+   * @param syncerOptionsByModule the syncer options of the sync modules, keyed by the sync option
+   *     value of the module. Modules without an entry use the default syncer options.
+   * @return The instance of the syncer corresponding to the passed option value.
+   * @throws IllegalArgumentException if a wrong option value is passed to the sync option.
+   */
+  @Nonnull
+  private Syncer<
+          ? extends Resource,
+          ?,
+          ? extends BaseSyncStatistics,
+          ? extends BaseSyncOptions<?, ?>,
+          ? extends QueryDsl<?, ?>,
+          ? extends BaseSync<?, ?, ?>>
+      buildSyncer(
+          @Nonnull final String syncOptionValue,
+          @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule) {
+    return buildSyncer(
+        syncOptionValue,
+        syncerOptionsByModule,
+        getCustomObjectServices(getSyncerOptions(syncerOptionsByModule, syncOptionValue.trim())));
+  }
+
+  /**
+   * Builds an instance of {@link Syncer} corresponding to the passed option value, which syncs into
+   * all target projects and fetches and persists their last sync timestamps with the supplied
+   * {@code customObjectServices}.
+   *
+   * @param syncOptionValue the string value passed to the sync option.
+   * @param syncerOptionsByModule the syncer options of the sync modules, keyed by the sync option
+   *     value of the module. Modules without an entry use the default syncer options.
+   * @param customObjectServices the services used for the last sync timestamps and checkpoints, one
+   *     per target project in the order of {@link #getTargetClients()}.
    * @return The instance of the syncer corresponding to the passed option value.
    * @throws IllegalArgumentException if a wrong option value is passed to the sync option.
    */
@@ -148,32 +491,153 @@ final class SyncerFactory {
           ? extends BaseSyncOptions<?, ?>,
           ? extends QueryDsl<?, ?>,
           ? extends BaseSync<?, ?, ?>>
-      buildSyncer(@Nonnull final String syncOptionValue) {
+      buildSyncer(
+          @Nonnull final String syncOptionValue,
+          @Nonnull final Map<String, SyncerOptions> syncerOptionsByModule,
+          @Nonnull final List<CustomObjectService> customObjectServices) {
 
     final String trimmedValue = syncOptionValue.trim();
+    final SyncerOptions syncerOptions = getSyncerOptions(syncerOptionsByModule, trimmedValue);
     switch (trimmedValue) {
       case SYNC_MODULE_OPTION_CART_DISCOUNT_SYNC:
-        return CartDiscountSyncer.of(sourceClientSupplier.get(), targetClientSupplier.get(), clock);
+        return buildSyncer(
+            (targetClient, customObjectService) ->
+                CartDiscountSyncer.of(
+                    sourceClientSupplier.get(),
+                    targetClient,
+                    clock,
+                    syncerOptions,
+                    customObjectService,
+                    getExecutors(trimmedValue, syncerOptions)),
+            customObjectServices);
       case SYNC_MODULE_OPTION_PRODUCT_TYPE_SYNC:
-        return ProductTypeSyncer.of(sourceClientSupplier.get(), targetClientSupplier.get(), clock);
+        return buildSyncer(
+            (targetClient, customObjectService) ->
+                ProductTypeSyncer.of(
+                    sourceClientSupplier.get(),
+                    targetClient,
+                    clock,
+                    syncerOptions,
+                    customObjectService,
+                    getExecutors(trimmedValue, syncerOptions),
+                    getReferencesService(trimmedValue, syncerOptions)),
+            customObjectServices);
       case SYNC_MODULE_OPTION_CATEGORY_SYNC:
-        return CategorySyncer.of(sourceClientSupplier.get(), targetClientSupplier.get(), clock);
+        return buildSyncer(
+            (targetClient, customObjectService) ->
+                CategorySyncer.of(
+                    sourceClientSupplier.get(),
+                    targetClient,
+                    clock,
+                    syncerOptions,
+                    customObjectService,
+                    getExecutors(trimmedValue, syncerOptions),
+                    getReferencesService(trimmedValue, syncerOptions)),
+            customObjectServices);
       case SYNC_MODULE_OPTION_PRODUCT_SYNC:
-        return ProductSyncer.of(sourceClientSupplier.get(), targetClientSupplier.get(), clock);
+        return buildSyncer(
+            (targetClient, customObjectService) ->
+                ProductSyncer.of(
+                    sourceClientSupplier.get(),
+                    targetClient,
+                    clock,
+                    syncerOptions,
+                    customObjectService,
+                    getExecutors(trimmedValue, syncerOptions),
+                    getReferencesService(trimmedValue, syncerOptions)),
+            customObjectServices);
       case SYNC_MODULE_OPTION_INVENTORY_ENTRY_SYNC:
-        return InventoryEntrySyncer.of(
-            sourceClientSupplier.get(), targetClientSupplier.get(), clock);
+        return buildSyncer(
+            (targetClient, customObjectService) ->
+                InventoryEntrySyncer.of(
+                    sourceClientSupplier.get(),
+                    targetClient,
+                    clock,
+                    syncerOptions,
+                    customObjectService,
+                    getExecutors(trimmedValue, syncerOptions),
+                    getReferencesService(trimmedValue, syncerOptions)),
+            customObjectServices);
       case SYNC_MODULE_OPTION_TYPE_SYNC:
-        return TypeSyncer.of(sourceClientSupplier.get(), targetClientSupplier.get(), clock);
+        return buildSyncer(
+            (targetClient, customObjectService) ->
+                TypeSyncer.of(
+                    sourceClientSupplier.get(),
+                    targetClient,
+                    clock,
+                    syncerOptions,
+                    customObjectService,
+                    getExecutors(trimmedValue, syncerOptions)),
+            customObjectServices);
       default:
-        final String errorMessage =
-            format(
-                "Unknown argument \"%s\" supplied to \"-%s\" or \"--%s\" option! %s",
-                syncOptionValue,
-                SYNC_MODULE_OPTION_SHORT,
-                SYNC_MODULE_OPTION_LONG,
-                SYNC_MODULE_OPTION_DESCRIPTION);
-        throw new IllegalArgumentException(errorMessage);
+        throw buildUnknownSyncOptionException(syncOptionValue);
+    }
+  }
+
+  /**
+   * Builds the syncer of the target project with the supplied {@code syncerBuilder} and adds the
+   * syncers of the additional target projects, built the same way, as targets to it.
+   */
+  @Nonnull
+  private <
+          T extends Resource,
+          S,
+          U extends BaseSyncStatistics,
+          V extends BaseSyncOptions<T, S>,
+          C extends QueryDsl<T, C>,
+          B extends BaseSync<S, U, V>,
+          X extends Syncer<T, S, U, V, C, B>>
+      X buildSyncer(
+          @Nonnull final BiFunction<SphereClient, CustomObjectService, X> syncerBuilder,
+          @Nonnull final List<CustomObjectService> customObjectServices) {
+
+    final List<SphereClient> targetClients = getTargetClients();
+    final X syncer = syncerBuilder.apply(targetClients.get(0), customObjectServices.get(0));
+    for (int target = 1; target < targetClients.size(); target++) {
+      syncer.addTarget(
+          syncerBuilder.apply(targetClients.get(target), customObjectServices.get(target)));
+    }
+    return syncer;
+  }
+
+  @Nonnull
+  private static IllegalArgumentException buildUnknownSyncOptionException(
+      @Nonnull final String syncOptionValue) {
+    final String errorMessage =
+        format(
+            "Unknown argument \"%s\" supplied to \"-%s\" or \"--%s\" option! %s",
+            syncOptionValue,
+            SYNC_MODULE_OPTION_SHORT,
+            SYNC_MODULE_OPTION_LONG,
+            SYNC_MODULE_OPTION_DESCRIPTION);
+    return new IllegalArgumentException(errorMessage);
+  }
+
+  @Nonnull
+  private SyncerExecutors getExecutors(
+      @Nonnull final String module, @Nonnull final SyncerOptions syncerOptions) {
+    return executorsByModule.computeIfAbsent(module, key -> SyncerExecutors.of(syncerOptions));
+  }
+
+  /**
+   * Gets the {@link ReferencesService} of the supplied module, which is built once per factory.
+   * Products always resolve their references from its cache, the other modules only if {@link
+   * SyncerOptions#isResolveReferencesFromCache()} is set.
+   */
+  @Nullable
+  private ReferencesService getReferencesService(
+      @Nonnull final String module, @Nonnull final SyncerOptions syncerOptions) {
+    if (!SYNC_MODULE_OPTION_PRODUCT_SYNC.equals(module)
+        && !syncerOptions.isResolveReferencesFromCache()) {
+      return null;
     }
+    return referencesServicesByModule.computeIfAbsent(
+        module,
+        key ->
+            Syncer.buildReferencesService(
+                sourceClientSupplier.get(),
+                clock,
+                syncerOptions,
+                getExecutors(module, syncerOptions)));
   }
 }
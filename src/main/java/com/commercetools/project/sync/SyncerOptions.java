@@ -0,0 +1,338 @@
+package com.commercetools.project.sync;
+
+import com.commercetools.project.sync.service.CacheEvictionPolicy;
+import java.nio.file.Path;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Options which define how a {@link Syncer} fetches the pages of resources from the source project
+ * and feeds them to the sync process. Instances are built using {@link SyncerOptionsBuilder}.
+ */
+public final class SyncerOptions {
+  private final int maxPagesInFlight;
+  private final int prefetchDepth;
+  private final int fullSyncPartitions;
+  private final int deltaSyncWindowSize;
+  private final int checkpointInterval;
+  private final int pageSize;
+  private final int batchSize;
+  private final long targetPageLatencyMillis;
+  private final int referenceCacheSize;
+  private final CacheEvictionPolicy referenceCacheEvictionPolicy;
+  private final long irresolvableReferenceTtlMillis;
+  private final boolean referenceCacheWarmUp;
+  private final Path referenceCacheDirectory;
+  private final boolean resolveReferencesFromCache;
+  private final int transformParallelism;
+  private final int callbackThreads;
+  private final int persistenceThreads;
+  private final boolean changeFeed;
+  private final int shard;
+  private final int shardCount;
+
+  SyncerOptions(
+      final int maxPagesInFlight,
+      final int prefetchDepth,
+      final int fullSyncPartitions,
+      final int deltaSyncWindowSize,
+      final int checkpointInterval,
+      final int pageSize,
+      final int batchSize,
+      final long targetPageLatencyMillis,
+      final int referenceCacheSize,
+      @Nonnull final CacheEvictionPolicy referenceCacheEvictionPolicy,
+      final long irresolvableReferenceTtlMillis,
+      final boolean referenceCacheWarmUp,
+      @Nullable final Path referenceCacheDirectory,
+      final boolean resolveReferencesFromCache,
+      final int transformParallelism,
+      final int callbackThreads,
+      final int persistenceThreads,
+      final boolean changeFeed,
+      final int shard,
+      final int shardCount) {
+    this.maxPagesInFlight = maxPagesInFlight;
+    this.prefetchDepth = prefetchDepth;
+    this.fullSyncPartitions = fullSyncPartitions;
+    this.deltaSyncWindowSize = deltaSyncWindowSize;
+    this.checkpointInterval = checkpointInterval;
+    this.pageSize = pageSize;
+    this.batchSize = batchSize;
+    this.targetPageLatencyMillis = targetPageLatencyMillis;
+    this.referenceCacheSize = referenceCacheSize;
+    this.referenceCacheEvictionPolicy = referenceCacheEvictionPolicy;
+    this.irresolvableReferenceTtlMillis = irresolvableReferenceTtlMillis;
+    this.referenceCacheWarmUp = referenceCacheWarmUp;
+    this.referenceCacheDirectory = referenceCacheDirectory;
+    this.resolveReferencesFromCache = resolveReferencesFromCache;
+    this.transformParallelism = transformParallelism;
+    this.callbackThreads = callbackThreads;
+    this.persistenceThreads = persistenceThreads;
+    this.changeFeed = changeFeed;
+    this.shard = shard;
+    this.shardCount = shardCount;
+  }
+
+  /**
+   * Creates a {@link SyncerOptions} instance with all options set to their default values.
+   *
+   * @return a {@link SyncerOptions} instance with the default values.
+   */
+  @Nonnull
+  public static SyncerOptions ofDefaults() {
+    return SyncerOptionsBuilder.of().build();
+  }
+
+  /**
+   * Gets the maximum number of pages which are processed concurrently. The pages in process are
+   * transformed to drafts concurrently, whereas the drafts are passed to the sync module one page
+   * after the other, since the sync modules keep state between the batches they process. Once this
+   * number of pages is in process, no more pages than defined by {@link #getPrefetchDepth()} are
+   * fetched from the source project until the processing of a page completes.
+   *
+   * @return the maximum number of pages which are processed concurrently.
+   */
+  public int getMaxPagesInFlight() {
+    return maxPagesInFlight;
+  }
+
+  /**
+   * Gets the maximum number of pages which are fetched from the source project ahead of the pages
+   * which are currently being transformed and synced. A value of 0 means that the next page is only
+   * fetched once fewer than {@link #getMaxPagesInFlight()} pages are being processed.
+   *
+   * @return the maximum number of fetched pages waiting to be transformed and synced.
+   */
+  public int getPrefetchDepth() {
+    return prefetchDepth;
+  }
+
+  /**
+   * Gets the number of disjoint id range partitions the resources are split into on a full sync.
+   * Every partition is paged independently and concurrently, each with up to {@link
+   * #getMaxPagesInFlight()} pages in process. A value of 1 means that all resources are paged by a
+   * single query.
+   *
+   * @return the number of partitions paged concurrently on a full sync.
+   */
+  public int getFullSyncPartitions() {
+    return fullSyncPartitions;
+  }
+
+  /**
+   * Gets the targeted number of resources per time window on a delta sync. If set, the resources
+   * modified since the last sync are counted first, and the time range since the last sync is split
+   * into as many windows of equal duration as needed for an average of at most this number of
+   * resources per window. The windows are synced concurrently and the last sync timestamp is only
+   * updated after all of them have been synced. A value of 0 means that the time range since the
+   * last sync is paged by a single query.
+   *
+   * @return the targeted number of resources per time window on a delta sync, or 0 if the time
+   *     range is not split.
+   */
+  public int getDeltaSyncWindowSize() {
+    return deltaSyncWindowSize;
+  }
+
+  /**
+   * Gets the number of synced pages after which the progress of the sync is persisted as a
+   * checkpoint custom object in the target project. If a sync is interrupted, the next sync with
+   * the same runner name resumes from this checkpoint instead of starting from zero. A value of 0
+   * means that no checkpoints are persisted.
+   *
+   * @return the number of synced pages between two checkpoints, or 0 if checkpointing is disabled.
+   */
+  public int getCheckpointInterval() {
+    return checkpointInterval;
+  }
+
+  /**
+   * Gets the maximum number of resources fetched from the source project per page. Every page is
+   * kept in memory until it is synced and is passed to the sync module as a single call, so smaller
+   * pages bound the memory used by resources with large payloads, e.g. products with many variants.
+   *
+   * @return the maximum number of resources per page.
+   */
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Gets the batch size of the sync module, i.e. the number of drafts the sync module processes at
+   * once. The sync module splits every page it gets into batches of this size.
+   *
+   * @return the batch size of the sync module.
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Gets the targeted time, in milliseconds, it takes to fetch a page from the source project and
+   * to transform and sync it. If set, the size of every page is adapted to the latency per resource
+   * observed for the previous page, so that pages of resources with large payloads get smaller and
+   * pages of resources with small payloads get larger, up to {@link #getPageSize()}. A value of 0
+   * means that all pages have the size {@link #getPageSize()}.
+   *
+   * @return the targeted latency of a page in milliseconds, or 0 if the page size is not adapted.
+   */
+  public long getTargetPageLatencyMillis() {
+    return targetPageLatencyMillis;
+  }
+
+  /**
+   * Gets the maximum number of referenced resource id to key mappings which are cached while
+   * replacing the ids of references with keys, e.g. on the reference attributes of products. The
+   * cache is bounded, so that syncing resources which reference millions of other resources does
+   * not exhaust the heap. Mappings evicted from the cache are fetched again when needed.
+   *
+   * @return the maximum number of cached id to key mappings.
+   */
+  public int getReferenceCacheSize() {
+    return referenceCacheSize;
+  }
+
+  /**
+   * Gets the policy which defines which id to key mapping is evicted from the reference cache once
+   * it holds {@link #getReferenceCacheSize()} mappings.
+   *
+   * @return the eviction policy of the reference cache.
+   */
+  @Nonnull
+  public CacheEvictionPolicy getReferenceCacheEvictionPolicy() {
+    return referenceCacheEvictionPolicy;
+  }
+
+  /**
+   * Gets the time, in milliseconds, the ids of referenced resources which do not exist or have no
+   * key are cached for. While an id is cached, resources referencing it are skipped as irresolvable
+   * without looking the id up again on every page. A value of 0 means that these ids are looked up
+   * again on every page.
+   *
+   * @return the time to live of cached irresolvable reference ids in milliseconds.
+   */
+  public long getIrresolvableReferenceTtlMillis() {
+    return irresolvableReferenceTtlMillis;
+  }
+
+  /**
+   * Gets whether the ids and keys of all categories and productTypes of the source project are
+   * loaded into the reference cache before the resources are synced. Categories and productTypes
+   * are small sets which are referenced by most products, so after the warm-up, the category and
+   * productType references of the products are resolved without fetching their keys page by page.
+   *
+   * @return {@code true} if the reference cache is warmed up before the sync, otherwise {@code
+   *     false}.
+   */
+  public boolean isReferenceCacheWarmUp() {
+    return referenceCacheWarmUp;
+  }
+
+  /**
+   * Gets the directory in which the referenced resource id to key mappings are persisted across
+   * runs. The mappings persisted by previous runs are loaded into the reference cache at startup,
+   * and every newly fetched mapping is appended to the file of the source project. Since persisted
+   * keys are not checked again, this is only suitable for projects where the keys of referenced
+   * resources do not change.
+   *
+   * @return the directory of the persisted reference keys, or {@code null} if the reference keys
+   *     are not persisted.
+   */
+  @Nullable
+  public Path getReferenceCacheDirectory() {
+    return referenceCacheDirectory;
+  }
+
+  /**
+   * Gets whether the syncer queries the resources without expanding their references and resolves
+   * the keys of the references from the reference cache instead. The same few referenced resources,
+   * e.g. the supply channels and custom types of inventory entries, are then fetched once instead
+   * of being copied into every resource of every page. This only applies to the sync modules which
+   * support it, i.e. categories, productTypes and inventoryEntries. Products always resolve their
+   * references from the reference cache.
+   *
+   * @return {@code true} if the references are resolved from the reference cache, otherwise {@code
+   *     false} if they are expanded by the query.
+   */
+  public boolean isResolveReferencesFromCache() {
+    return resolveReferencesFromCache;
+  }
+
+  /**
+   * Gets the number of threads of the dedicated {@link java.util.concurrent.ForkJoinPool} which
+   * runs the CPU bound part of the transformation of a page, i.e. scanning the resources for
+   * references and building the drafts, in parallel. The transformation then neither runs on nor
+   * blocks the I/O threads of the client which completed the query of the page. The pages of
+   * products are additionally split across the threads of the pool. See {@link
+   * SyncerExecutors#getTransformPool()}.
+   *
+   * @return the parallelism of the transformation, or 0 if the pages are transformed sequentially
+   *     on the thread which completed their query.
+   */
+  public int getTransformParallelism() {
+    return transformParallelism;
+  }
+
+  /**
+   * Gets the number of threads of the executor which runs the continuations of the completed
+   * requests of the syncer, e.g. the replacement of reference ids with keys and the hand-over of
+   * the drafts to the sync module, instead of the I/O threads of the client. See {@link
+   * SyncerExecutors#getCallbackExecutor()}.
+   *
+   * @return the number of callback threads, or 0 if the continuations run on the thread which
+   *     completed the request.
+   */
+  public int getCallbackThreads() {
+    return callbackThreads;
+  }
+
+  /**
+   * Gets the number of threads of the executor which logs the statistics and persists the last sync
+   * timestamp of the syncer. See {@link SyncerExecutors#getPersistenceExecutor()}.
+   *
+   * @return the number of persistence threads, or 0 if the statistics are logged and persisted on
+   *     the thread which completed the sync.
+   */
+  public int getPersistenceThreads() {
+    return persistenceThreads;
+  }
+
+  /**
+   * Gets whether a delta sync pages through the messages of the source project created since the
+   * last sync, instead of through the resources modified since the last sync. Only the resources
+   * referenced by these messages are then fetched and synced, every resource once, no matter how
+   * many messages it has. This only applies to the sync modules whose resources emit messages, i.e.
+   * products, categories and inventoryEntries, and requires the messages to be enabled on the
+   * source project. Changes which do not emit a message are not synced in this mode.
+   *
+   * @return {@code true} if a delta sync fetches the resources referenced by the messages since the
+   *     last sync, otherwise {@code false}.
+   */
+  public boolean isChangeFeed() {
+    return changeFeed;
+  }
+
+  /**
+   * Gets the number of the shard synced by this runner process, between 1 and {@link
+   * #getShardCount()}. The resources of a sync module are split into {@link #getShardCount()}
+   * disjoint id ranges, so that several runner processes can sync the same sync module
+   * concurrently, every process the resources of its own shard. Every shard persists its own last
+   * sync timestamp.
+   *
+   * @return the number of the shard synced by this runner process.
+   */
+  public int getShard() {
+    return shard;
+  }
+
+  /**
+   * Gets the number of shards the resources of a sync module are split into. A value of 1 disables
+   * the sharding.
+   *
+   * @return the number of shards the resources of a sync module are split into.
+   */
+  public int getShardCount() {
+    return shardCount;
+  }
+}
@@ -0,0 +1,415 @@
+package com.commercetools.project.sync;
+
+import static com.commercetools.project.sync.util.QueryPartitionUtils.MAX_ID_RANGE_PARTITIONS;
+
+import com.commercetools.project.sync.service.CacheEvictionPolicy;
+import com.commercetools.project.sync.service.impl.ReferencesServiceImpl;
+import com.commercetools.project.sync.util.QueryPartitionUtils;
+import java.nio.file.Path;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+public final class SyncerOptionsBuilder {
+  public static final int MAX_PAGES_IN_FLIGHT_DEFAULT = 1;
+  public static final int PREFETCH_DEPTH_DEFAULT = 1;
+  public static final int FULL_SYNC_PARTITIONS_DEFAULT = 1;
+  public static final int DELTA_SYNC_WINDOW_SIZE_DEFAULT = 0;
+  public static final int CHECKPOINT_INTERVAL_DEFAULT = 0;
+  public static final int PAGE_SIZE_DEFAULT = 500;
+  public static final int MAX_PAGE_SIZE = 500;
+  // Same as the default batch size of the sync modules of the commercetools-sync-java library.
+  public static final int BATCH_SIZE_DEFAULT = 30;
+  public static final long TARGET_PAGE_LATENCY_MILLIS_DEFAULT = 0;
+  public static final int REFERENCE_CACHE_SIZE_DEFAULT = ReferencesServiceImpl.CACHE_SIZE_DEFAULT;
+  public static final CacheEvictionPolicy REFERENCE_CACHE_EVICTION_POLICY_DEFAULT =
+      ReferencesServiceImpl.CACHE_EVICTION_POLICY_DEFAULT;
+  public static final long IRRESOLVABLE_REFERENCE_TTL_MILLIS_DEFAULT =
+      ReferencesServiceImpl.IRRESOLVABLE_ID_TIME_TO_LIVE_DEFAULT.toMillis();
+  public static final int TRANSFORM_PARALLELISM_DEFAULT = 0;
+  public static final int CALLBACK_THREADS_DEFAULT = 0;
+  public static final int PERSISTENCE_THREADS_DEFAULT = 0;
+  public static final int SHARD_COUNT_DEFAULT = 1;
+
+  private int maxPagesInFlight = MAX_PAGES_IN_FLIGHT_DEFAULT;
+  private int prefetchDepth = PREFETCH_DEPTH_DEFAULT;
+  private int fullSyncPartitions = FULL_SYNC_PARTITIONS_DEFAULT;
+  private int deltaSyncWindowSize = DELTA_SYNC_WINDOW_SIZE_DEFAULT;
+  private int checkpointInterval = CHECKPOINT_INTERVAL_DEFAULT;
+  private int pageSize = PAGE_SIZE_DEFAULT;
+  private int batchSize = BATCH_SIZE_DEFAULT;
+  private long targetPageLatencyMillis = TARGET_PAGE_LATENCY_MILLIS_DEFAULT;
+  private int referenceCacheSize = REFERENCE_CACHE_SIZE_DEFAULT;
+  private CacheEvictionPolicy referenceCacheEvictionPolicy =
+      REFERENCE_CACHE_EVICTION_POLICY_DEFAULT;
+  private long irresolvableReferenceTtlMillis = IRRESOLVABLE_REFERENCE_TTL_MILLIS_DEFAULT;
+  private boolean referenceCacheWarmUp;
+  private Path referenceCacheDirectory;
+  private boolean resolveReferencesFromCache;
+  private int transformParallelism = TRANSFORM_PARALLELISM_DEFAULT;
+  private int callbackThreads = CALLBACK_THREADS_DEFAULT;
+  private int persistenceThreads = PERSISTENCE_THREADS_DEFAULT;
+  private boolean changeFeed;
+  private int shard = 1;
+  private int shardCount = SHARD_COUNT_DEFAULT;
+
+  @Nonnull
+  public static SyncerOptionsBuilder of() {
+    return new SyncerOptionsBuilder();
+  }
+
+  /**
+   * Sets the maximum number of pages which are processed concurrently. Once this number of pages is
+   * in process and the prefetched pages are waiting, the source query pauses until the processing
+   * of a page completes. If the supplied value is less than 1, the default value {@link
+   * #MAX_PAGES_IN_FLIGHT_DEFAULT} is kept.
+   *
+   * @param maxPagesInFlight the maximum number of pages which are processed concurrently.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder maxPagesInFlight(final int maxPagesInFlight) {
+    if (maxPagesInFlight >= 1) {
+      this.maxPagesInFlight = maxPagesInFlight;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of pages which are fetched from the source project ahead of the pages
+   * which are currently being transformed and synced. Every prefetched page is kept in memory until
+   * it is synced, so this value bounds the memory used by pages waiting to be synced. If the
+   * supplied value is negative, the default value {@link #PREFETCH_DEPTH_DEFAULT} is kept. A value
+   * of 0 disables prefetching.
+   *
+   * @param prefetchDepth the maximum number of fetched pages waiting to be transformed and synced.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder prefetchDepth(final int prefetchDepth) {
+    if (prefetchDepth >= 0) {
+      this.prefetchDepth = prefetchDepth;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the number of disjoint id range partitions the resources are split into on a full sync.
+   * Every partition is paged independently and concurrently, so the number of pages in process on a
+   * full sync is up to {@code fullSyncPartitions} times the max pages in flight. If the supplied
+   * value is less than 1, the default value {@link #FULL_SYNC_PARTITIONS_DEFAULT} is kept. Values
+   * greater than {@link QueryPartitionUtils#MAX_ID_RANGE_PARTITIONS} are limited to this maximum.
+   *
+   * @param fullSyncPartitions the number of partitions paged concurrently on a full sync.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder fullSyncPartitions(final int fullSyncPartitions) {
+    if (fullSyncPartitions >= 1) {
+      this.fullSyncPartitions = Math.min(fullSyncPartitions, MAX_ID_RANGE_PARTITIONS);
+    }
+    return this;
+  }
+
+  /**
+   * Sets the targeted number of resources per time window on a delta sync. If set, the resources
+   * modified since the last sync are counted first, and the time range since the last sync is split
+   * into up to {@link QueryPartitionUtils#MAX_TIME_WINDOWS} windows of equal duration, which are
+   * synced concurrently. If the supplied value is negative, the default value {@link
+   * #DELTA_SYNC_WINDOW_SIZE_DEFAULT} is kept. A value of 0 disables the splitting.
+   *
+   * @param deltaSyncWindowSize the targeted number of resources per time window on a delta sync.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder deltaSyncWindowSize(final int deltaSyncWindowSize) {
+    if (deltaSyncWindowSize >= 0) {
+      this.deltaSyncWindowSize = deltaSyncWindowSize;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the number of synced pages after which the progress of the sync is persisted as a
+   * checkpoint custom object in the target project. A page only counts as synced once all the pages
+   * before it in the same query are synced too. If the supplied value is negative, the default
+   * value {@link #CHECKPOINT_INTERVAL_DEFAULT} is kept. A value of 0 disables checkpointing.
+   *
+   * @param checkpointInterval the number of synced pages between two checkpoints.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder checkpointInterval(final int checkpointInterval) {
+    if (checkpointInterval >= 0) {
+      this.checkpointInterval = checkpointInterval;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of resources fetched from the source project per page. If the supplied
+   * value is less than 1, the default value {@link #PAGE_SIZE_DEFAULT} is kept. Values greater than
+   * {@link #MAX_PAGE_SIZE}, which is the maximum limit of a query on CTP, are limited to this
+   * maximum.
+   *
+   * @param pageSize the maximum number of resources per page.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder pageSize(final int pageSize) {
+    if (pageSize >= 1) {
+      this.pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+    return this;
+  }
+
+  /**
+   * Sets the batch size of the sync module, i.e. the number of drafts the sync module processes at
+   * once. If the supplied value is less than 1, the default value {@link #BATCH_SIZE_DEFAULT} is
+   * kept.
+   *
+   * @param batchSize the batch size of the sync module.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder batchSize(final int batchSize) {
+    if (batchSize >= 1) {
+      this.batchSize = batchSize;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the targeted time, in milliseconds, it takes to fetch a page from the source project and
+   * to transform and sync it. If set, the page size is adapted after every page, between a minimum
+   * of 10 resources and the page size set by {@link #pageSize(int)}. If the supplied value is
+   * negative, the default value {@link #TARGET_PAGE_LATENCY_MILLIS_DEFAULT} is kept. A value of 0
+   * disables the adaptation.
+   *
+   * @param targetPageLatencyMillis the targeted latency of a page in milliseconds.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder targetPageLatencyMillis(final long targetPageLatencyMillis) {
+    if (targetPageLatencyMillis >= 0) {
+      this.targetPageLatencyMillis = targetPageLatencyMillis;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of referenced resource id to key mappings which are cached while
+   * replacing the ids of references with keys. Once the cache is full, every newly cached mapping
+   * evicts a mapping chosen by the policy set by {@link
+   * #referenceCacheEvictionPolicy(CacheEvictionPolicy)}. If the supplied value is less than 1, the
+   * default value {@link #REFERENCE_CACHE_SIZE_DEFAULT} is kept.
+   *
+   * @param referenceCacheSize the maximum number of cached id to key mappings.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder referenceCacheSize(final int referenceCacheSize) {
+    if (referenceCacheSize >= 1) {
+      this.referenceCacheSize = referenceCacheSize;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the policy which defines which id to key mapping is evicted from the reference cache once
+   * it is full. The default is {@link #REFERENCE_CACHE_EVICTION_POLICY_DEFAULT}.
+   *
+   * @param referenceCacheEvictionPolicy the eviction policy of the reference cache.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder referenceCacheEvictionPolicy(
+      @Nonnull final CacheEvictionPolicy referenceCacheEvictionPolicy) {
+    this.referenceCacheEvictionPolicy = referenceCacheEvictionPolicy;
+    return this;
+  }
+
+  /**
+   * Sets the time, in milliseconds, the ids of referenced resources which do not exist or have no
+   * key are cached for, before they are looked up again. If the supplied value is negative, the
+   * default value {@link #IRRESOLVABLE_REFERENCE_TTL_MILLIS_DEFAULT} is kept. A value of 0 disables
+   * the caching of these ids.
+   *
+   * @param irresolvableReferenceTtlMillis the time to live of cached irresolvable reference ids.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder irresolvableReferenceTtlMillis(
+      final long irresolvableReferenceTtlMillis) {
+    if (irresolvableReferenceTtlMillis >= 0) {
+      this.irresolvableReferenceTtlMillis = irresolvableReferenceTtlMillis;
+    }
+    return this;
+  }
+
+  /**
+   * Sets whether the ids and keys of all categories and productTypes of the source project are
+   * loaded into the reference cache before the resources are synced. If the reference cache is
+   * smaller than the number of categories and productTypes, the warm-up evicts some of them again.
+   * By default, the reference cache is not warmed up.
+   *
+   * @param referenceCacheWarmUp whether to warm up the reference cache before the sync.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder referenceCacheWarmUp(final boolean referenceCacheWarmUp) {
+    this.referenceCacheWarmUp = referenceCacheWarmUp;
+    return this;
+  }
+
+  /**
+   * Sets the directory in which the referenced resource id to key mappings are persisted across
+   * runs, in one append-only file per source project. Persisted keys are not checked again, so this
+   * should only be set for projects where the keys of referenced resources do not change. By
+   * default, the reference keys are not persisted.
+   *
+   * @param referenceCacheDirectory the directory of the persisted reference keys.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder referenceCacheDirectory(
+      @Nullable final Path referenceCacheDirectory) {
+    this.referenceCacheDirectory = referenceCacheDirectory;
+    return this;
+  }
+
+  /**
+   * Sets whether the syncer queries the resources without expanding their references and resolves
+   * the keys of the references from the reference cache instead. By default, the sync modules other
+   * than products expand the references of the queried resources.
+   *
+   * @param resolveReferencesFromCache whether to resolve the references from the reference cache.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder resolveReferencesFromCache(final boolean resolveReferencesFromCache) {
+    this.resolveReferencesFromCache = resolveReferencesFromCache;
+    return this;
+  }
+
+  /**
+   * Sets the number of threads of the dedicated {@link java.util.concurrent.ForkJoinPool} which
+   * transforms the resources of a page into drafts in parallel. If the supplied value is negative,
+   * the default value {@link #TRANSFORM_PARALLELISM_DEFAULT} is kept. A value of 0 disables the
+   * parallel transformation.
+   *
+   * @param transformParallelism the number of threads transforming a page.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder transformParallelism(final int transformParallelism) {
+    if (transformParallelism >= 0) {
+      this.transformParallelism = transformParallelism;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the number of threads of the executor which runs the continuations of the completed
+   * requests of the syncer, instead of the I/O threads of the client. If the supplied value is
+   * negative, the default value {@link #CALLBACK_THREADS_DEFAULT} is kept. A value of 0 runs the
+   * continuations on the thread which completed the request.
+   *
+   * @param callbackThreads the number of threads running the continuations of the requests.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder callbackThreads(final int callbackThreads) {
+    if (callbackThreads >= 0) {
+      this.callbackThreads = callbackThreads;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the number of threads of the executor which logs the statistics and persists the last sync
+   * timestamp. If the supplied value is negative, the default value {@link
+   * #PERSISTENCE_THREADS_DEFAULT} is kept. A value of 0 runs them on the thread which completed the
+   * sync.
+   *
+   * @param persistenceThreads the number of threads logging and persisting the sync results.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder persistenceThreads(final int persistenceThreads) {
+    if (persistenceThreads >= 0) {
+      this.persistenceThreads = persistenceThreads;
+    }
+    return this;
+  }
+
+  /**
+   * Sets whether a delta sync fetches only the resources referenced by the messages of the source
+   * project created since the last sync. If the last sync is older than the retention period of the
+   * messages, the resources modified since the last sync are synced instead. By default, a delta
+   * sync pages through the resources modified since the last sync.
+   *
+   * @param changeFeed whether a delta sync fetches the resources referenced by the messages.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder changeFeed(final boolean changeFeed) {
+    this.changeFeed = changeFeed;
+    return this;
+  }
+
+  /**
+   * Sets the shard synced by this runner process. The resources are split into {@code shardCount}
+   * disjoint id ranges and only the resources of the shard {@code shard} are synced, so that
+   * several runner processes can sync the same sync module concurrently. If the supplied shard is
+   * not between 1 and {@code shardCount}, or if {@code shardCount} is not between 1 and {@link
+   * QueryPartitionUtils#MAX_ID_RANGE_PARTITIONS}, the default of a single shard is kept.
+   *
+   * @param shard the number of the shard synced by this runner process, starting at 1.
+   * @param shardCount the number of shards the resources are split into.
+   * @return {@code this} instance of {@link SyncerOptionsBuilder}
+   */
+  @Nonnull
+  public SyncerOptionsBuilder shard(final int shard, final int shardCount) {
+    if (shardCount >= 1
+        && shardCount <= MAX_ID_RANGE_PARTITIONS
+        && shard >= 1
+        && shard <= shardCount) {
+      this.shard = shard;
+      this.shardCount = shardCount;
+    }
+    return this;
+  }
+
+  /**
+   * Creates a new instance of {@link SyncerOptions} enriched with all the options set on this
+   * builder.
+   *
+   * @return new instance of {@link SyncerOptions}
+   */
+  @Nonnull
+  public SyncerOptions build() {
+    return new SyncerOptions(
+        maxPagesInFlight,
+        prefetchDepth,
+        fullSyncPartitions,
+        deltaSyncWindowSize,
+        checkpointInterval,
+        pageSize,
+        batchSize,
+        targetPageLatencyMillis,
+        referenceCacheSize,
+        referenceCacheEvictionPolicy,
+        irresolvableReferenceTtlMillis,
+        referenceCacheWarmUp,
+        referenceCacheDirectory,
+        resolveReferencesFromCache,
+        transformParallelism,
+        callbackThreads,
+        persistenceThreads,
+        changeFeed,
+        shard,
+        shardCount);
+  }
+
+  private SyncerOptionsBuilder() {}
+}
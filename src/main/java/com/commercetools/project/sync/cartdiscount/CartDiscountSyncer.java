@@ -4,6 +4,8 @@ import static com.commercetools.sync.cartdiscounts.utils.CartDiscountReferenceRe
 import static com.commercetools.sync.cartdiscounts.utils.CartDiscountReferenceReplacementUtils.replaceCartDiscountsReferenceIdsWithKeys;
 
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.SyncerExecutors;
+import com.commercetools.project.sync.SyncerOptions;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.cartdiscounts.CartDiscountSync;
@@ -39,8 +41,18 @@ public final class CartDiscountSyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final CustomObjectService customObjectService,
-      @Nonnull final Clock clock) {
-    super(cartDiscountSync, sourceClient, targetClient, customObjectService, clock);
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final SyncerExecutors executors) {
+    super(
+        cartDiscountSync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        null,
+        executors);
   }
 
   @Nonnull
@@ -48,19 +60,75 @@ public final class CartDiscountSyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final Clock clock) {
+    return of(sourceClient, targetClient, clock, SyncerOptions.ofDefaults());
+  }
+
+  @Nonnull
+  public static CartDiscountSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        new CustomObjectServiceImpl(
+            targetClient, syncerOptions.getShard(), syncerOptions.getShardCount()));
+  }
+
+  /**
+   * Instantiates a {@link CartDiscountSyncer} which persists and fetches the last sync timestamps
+   * and checkpoints with the supplied {@code customObjectService}, e.g. one shared by the sync
+   * modules of a sync session.
+   */
+  @Nonnull
+  public static CartDiscountSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        customObjectService,
+        SyncerExecutors.of(syncerOptions));
+  }
+
+  /**
+   * Instantiates a {@link CartDiscountSyncer} which runs on the supplied {@code executors}, e.g.
+   * ones shared by the syncers of all target projects.
+   */
+  @Nonnull
+  public static CartDiscountSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final SyncerExecutors executors) {
 
     final CartDiscountSyncOptions syncOptions =
         CartDiscountSyncOptionsBuilder.of(targetClient)
+            .batchSize(syncerOptions.getBatchSize())
             .errorCallback(LOGGER::error)
             .warningCallback(LOGGER::warn)
             .build();
 
     final CartDiscountSync cartDiscountSync = new CartDiscountSync(syncOptions);
 
-    final CustomObjectService customObjectService = new CustomObjectServiceImpl(targetClient);
-
     return new CartDiscountSyncer(
-        cartDiscountSync, sourceClient, targetClient, customObjectService, clock);
+        cartDiscountSync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        executors);
   }
 
   @Override
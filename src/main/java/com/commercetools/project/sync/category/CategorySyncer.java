@@ -1,10 +1,19 @@
 package com.commercetools.project.sync.category;
 
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.addAssetCustomTypeIds;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.addCustomTypeId;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.addReferenceId;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.getKey;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.replaceAssetCustomTypeIdsWithKeys;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.replaceCustomTypeIdWithKey;
 import static com.commercetools.sync.categories.utils.CategoryReferenceReplacementUtils.buildCategoryQuery;
 import static com.commercetools.sync.categories.utils.CategoryReferenceReplacementUtils.replaceCategoriesReferenceIdsWithKeys;
 
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.SyncerExecutors;
+import com.commercetools.project.sync.SyncerOptions;
 import com.commercetools.project.sync.service.CustomObjectService;
+import com.commercetools.project.sync.service.ReferencesService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.categories.CategorySync;
 import com.commercetools.sync.categories.CategorySyncOptions;
@@ -12,13 +21,18 @@ import com.commercetools.sync.categories.CategorySyncOptionsBuilder;
 import com.commercetools.sync.categories.helpers.CategorySyncStatistics;
 import io.sphere.sdk.categories.Category;
 import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
 import io.sphere.sdk.categories.queries.CategoryQuery;
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.ResourceIdentifier;
 import java.time.Clock;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,10 +53,19 @@ public final class CategorySyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final CustomObjectService customObjectService,
-      @Nonnull final Clock clock) {
-    super(categorySync, sourceClient, targetClient, customObjectService, clock);
-    // TODO: Instead of reference expansion, we could cache all keys and replace references
-    // manually.
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nullable final ReferencesService referencesService,
+      @Nonnull final SyncerExecutors executors) {
+    super(
+        categorySync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        referencesService,
+        executors);
   }
 
   @Nonnull
@@ -50,17 +73,84 @@ public final class CategorySyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final Clock clock) {
+    return of(sourceClient, targetClient, clock, SyncerOptions.ofDefaults());
+  }
+
+  @Nonnull
+  public static CategorySyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        new CustomObjectServiceImpl(
+            targetClient, syncerOptions.getShard(), syncerOptions.getShardCount()));
+  }
+
+  /**
+   * Instantiates a {@link CategorySyncer} which persists and fetches the last sync timestamps and
+   * checkpoints with the supplied {@code customObjectService}, e.g. one shared by the sync modules
+   * of a sync session.
+   */
+  @Nonnull
+  public static CategorySyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService) {
+    final SyncerExecutors executors = SyncerExecutors.of(syncerOptions);
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        customObjectService,
+        executors,
+        syncerOptions.isResolveReferencesFromCache()
+            ? buildReferencesService(sourceClient, clock, syncerOptions, executors)
+            : null);
+  }
+
+  /**
+   * Instantiates a {@link CategorySyncer} which runs on the supplied {@code executors} and looks up
+   * the keys of the referenced resources with the supplied {@code referencesService}, e.g. ones
+   * kept across the consecutive syncs of a continuous sync, so that their caches stay warm. The
+   * {@code referencesService} must be {@code null} unless {@link
+   * SyncerOptions#isResolveReferencesFromCache()} is set.
+   */
+  @Nonnull
+  public static CategorySyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final SyncerExecutors executors,
+      @Nullable final ReferencesService referencesService) {
+
     final CategorySyncOptions syncOptions =
         CategorySyncOptionsBuilder.of(targetClient)
+            .batchSize(syncerOptions.getBatchSize())
             .errorCallback(LOGGER::error)
             .warningCallback(LOGGER::warn)
             .build();
 
     final CategorySync categorySync = new CategorySync(syncOptions);
 
-    final CustomObjectService customObjectService = new CustomObjectServiceImpl(targetClient);
-
-    return new CategorySyncer(categorySync, sourceClient, targetClient, customObjectService, clock);
+    return new CategorySyncer(
+        categorySync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        referencesService,
+        executors);
   }
 
   @Override
@@ -69,9 +159,48 @@ public final class CategorySyncer
     return CompletableFuture.completedFuture(replaceCategoriesReferenceIdsWithKeys(page));
   }
 
+  /**
+   * Adds the ids of the parent, the custom type and the custom types of the assets of the supplied
+   * category draft, which are not expanded if the references are resolved from the cache.
+   */
+  @Override
+  protected void collectReferenceIds(
+      @Nonnull final CategoryDraft categoryDraft,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    addReferenceId(Category.referenceTypeId(), categoryDraft.getParent(), idsByReferenceTypeId);
+    addCustomTypeId(categoryDraft.getCustom(), idsByReferenceTypeId);
+    addAssetCustomTypeIds(categoryDraft.getAssets(), idsByReferenceTypeId);
+  }
+
+  @Nonnull
+  @Override
+  protected CategoryDraft replaceReferenceIdsWithKeys(
+      @Nonnull final CategoryDraft categoryDraft, @Nonnull final Map<String, String> idToKey) {
+
+    final CategoryDraftBuilder categoryDraftBuilder =
+        CategoryDraftBuilder.of(categoryDraft)
+            .custom(replaceCustomTypeIdWithKey(categoryDraft.getCustom(), idToKey))
+            .assets(replaceAssetCustomTypeIdsWithKeys(categoryDraft.getAssets(), idToKey));
+
+    final String parentKey = getKey(categoryDraft.getParent(), idToKey);
+    if (parentKey != null) {
+      final ResourceIdentifier<Category> parentWithKey = Category.referenceOfId(parentKey);
+      categoryDraftBuilder.parent(parentWithKey);
+    }
+
+    return categoryDraftBuilder.build();
+  }
+
   @Nonnull
   @Override
   protected CategoryQuery getQuery() {
-    return buildCategoryQuery();
+    return isResolvingReferencesFromCache() ? CategoryQuery.of() : buildCategoryQuery();
+  }
+
+  @Nonnull
+  @Override
+  protected String getMessageResourceTypeId() {
+    return Category.referenceTypeId();
   }
 }
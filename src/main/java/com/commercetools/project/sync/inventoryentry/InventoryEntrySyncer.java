@@ -1,25 +1,37 @@
 package com.commercetools.project.sync.inventoryentry;
 
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.addCustomTypeId;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.addReferenceId;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.getKey;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.replaceCustomTypeIdWithKey;
 import static com.commercetools.sync.inventories.utils.InventoryReferenceReplacementUtils.replaceInventoriesReferenceIdsWithKeys;
 
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.SyncerExecutors;
+import com.commercetools.project.sync.SyncerOptions;
 import com.commercetools.project.sync.service.CustomObjectService;
+import com.commercetools.project.sync.service.ReferencesService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.inventories.InventorySync;
 import com.commercetools.sync.inventories.InventorySyncOptions;
 import com.commercetools.sync.inventories.InventorySyncOptionsBuilder;
 import com.commercetools.sync.inventories.helpers.InventorySyncStatistics;
+import io.sphere.sdk.channels.Channel;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.expansion.ExpansionPath;
 import io.sphere.sdk.inventory.InventoryEntry;
 import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.InventoryEntryDraftBuilder;
 import io.sphere.sdk.inventory.expansion.InventoryEntryExpansionModel;
 import io.sphere.sdk.inventory.queries.InventoryEntryQuery;
 import java.time.Clock;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,27 +52,100 @@ public final class InventoryEntrySyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final CustomObjectService customObjectService,
-      @Nonnull final Clock clock) {
-    super(inventorySync, sourceClient, targetClient, customObjectService, clock);
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nullable final ReferencesService referencesService,
+      @Nonnull final SyncerExecutors executors) {
+    super(
+        inventorySync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        referencesService,
+        executors);
   }
 
   public static InventoryEntrySyncer of(
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final Clock clock) {
+    return of(sourceClient, targetClient, clock, SyncerOptions.ofDefaults());
+  }
+
+  public static InventoryEntrySyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        new CustomObjectServiceImpl(
+            targetClient, syncerOptions.getShard(), syncerOptions.getShardCount()));
+  }
+
+  /**
+   * Instantiates a {@link InventoryEntrySyncer} which persists and fetches the last sync timestamps
+   * and checkpoints with the supplied {@code customObjectService}, e.g. one shared by the sync
+   * modules of a sync session.
+   */
+  public static InventoryEntrySyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService) {
+    final SyncerExecutors executors = SyncerExecutors.of(syncerOptions);
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        customObjectService,
+        executors,
+        syncerOptions.isResolveReferencesFromCache()
+            ? buildReferencesService(sourceClient, clock, syncerOptions, executors)
+            : null);
+  }
+
+  /**
+   * Instantiates a {@link InventoryEntrySyncer} which runs on the supplied {@code executors} and
+   * looks up the keys of the referenced resources with the supplied {@code referencesService}, e.g.
+   * ones kept across the consecutive syncs of a continuous sync, so that their caches stay warm.
+   * The {@code referencesService} must be {@code null} unless {@link
+   * SyncerOptions#isResolveReferencesFromCache()} is set.
+   */
+  public static InventoryEntrySyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final SyncerExecutors executors,
+      @Nullable final ReferencesService referencesService) {
 
     final InventorySyncOptions syncOptions =
         InventorySyncOptionsBuilder.of(targetClient)
+            .batchSize(syncerOptions.getBatchSize())
             .errorCallback(LOGGER::error)
             .warningCallback(LOGGER::warn)
             .build();
 
     final InventorySync inventorySync = new InventorySync(syncOptions);
 
-    final CustomObjectService customObjectService = new CustomObjectServiceImpl(targetClient);
-
     return new InventoryEntrySyncer(
-        inventorySync, sourceClient, targetClient, customObjectService, clock);
+        inventorySync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        referencesService,
+        executors);
   }
 
   @Nonnull
@@ -70,10 +155,48 @@ public final class InventoryEntrySyncer
     return CompletableFuture.completedFuture(replaceInventoriesReferenceIdsWithKeys(page));
   }
 
+  /**
+   * Adds the ids of the supply channel and the custom type of the supplied inventory entry draft,
+   * which are not expanded if the references are resolved from the cache.
+   */
+  @Override
+  protected void collectReferenceIds(
+      @Nonnull final InventoryEntryDraft inventoryEntryDraft,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    addReferenceId(
+        Channel.referenceTypeId(), inventoryEntryDraft.getSupplyChannel(), idsByReferenceTypeId);
+    addCustomTypeId(inventoryEntryDraft.getCustom(), idsByReferenceTypeId);
+  }
+
+  @Nonnull
+  @Override
+  protected InventoryEntryDraft replaceReferenceIdsWithKeys(
+      @Nonnull final InventoryEntryDraft inventoryEntryDraft,
+      @Nonnull final Map<String, String> idToKey) {
+
+    final InventoryEntryDraftBuilder inventoryEntryDraftBuilder =
+        InventoryEntryDraftBuilder.of(inventoryEntryDraft)
+            .custom(replaceCustomTypeIdWithKey(inventoryEntryDraft.getCustom(), idToKey));
+
+    final String supplyChannelKey = getKey(inventoryEntryDraft.getSupplyChannel(), idToKey);
+    if (supplyChannelKey != null) {
+      inventoryEntryDraftBuilder.supplyChannel(Channel.referenceOfId(supplyChannelKey));
+    }
+
+    return inventoryEntryDraftBuilder.build();
+  }
+
   @Nonnull
   @Override
   protected InventoryEntryQuery getQuery() {
-    return buildQuery();
+    return isResolvingReferencesFromCache() ? InventoryEntryQuery.of() : buildQuery();
+  }
+
+  @Nonnull
+  @Override
+  protected String getMessageResourceTypeId() {
+    return InventoryEntry.referenceTypeId();
   }
 
   /**
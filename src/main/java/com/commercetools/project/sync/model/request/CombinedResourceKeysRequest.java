@@ -18,10 +18,16 @@ import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 
 public class CombinedResourceKeysRequest implements SphereRequest<CombinedResult> {
+  /**
+   * The maximum number of results of each of the GraphQL queries combined in this request. Every
+   * request must not contain more than this number of ids of each resource type, otherwise the keys
+   * of the exceeding ids are not fetched.
+   */
+  public static final int QUERY_LIMIT = 500;
+
   private final Set<String> productIds;
   private final Set<String> categoryIds;
   private final Set<String> productTypeIds;
-  private static final int QUERY_LIMIT = 500;
 
   public CombinedResourceKeysRequest(
       @Nonnull final Set<String> productIds,
@@ -88,7 +94,7 @@ public class CombinedResourceKeysRequest implements SphereRequest<CombinedResult
   }
 
   @Nonnull
-  private static String createWhereQuery(@Nonnull final Set<String> ids) {
+  static String createWhereQuery(@Nonnull final Set<String> ids) {
     // The where in the graphql query should look like this in the end =>  `where: "id in (\"id1\",
     // \"id2\")"`
     // So we need an escaping backslash before the quote. So to add this:
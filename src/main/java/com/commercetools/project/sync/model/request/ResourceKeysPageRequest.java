@@ -0,0 +1,66 @@
+package com.commercetools.project.sync.model.request;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import com.commercetools.project.sync.model.response.ResultingResourcesContainer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.client.HttpRequestIntent;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.json.SphereJsonUtils;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A GraphQL request which fetches a page of the ids and keys of all resources of one type, sorted
+ * by id. The next page is fetched by passing the greatest id of the previous page as {@code
+ * lastId}. A page with fewer than {@link #PAGE_SIZE} results is the last page.
+ */
+public class ResourceKeysPageRequest implements SphereRequest<ResultingResourcesContainer> {
+  public static final int PAGE_SIZE = 500;
+
+  private final String resourceQueryName;
+  private final String lastId;
+
+  /**
+   * Creates a request of a page of ids and keys.
+   *
+   * @param resourceQueryName the name of the GraphQL query of the resource type, e.g. {@code
+   *     categories} or {@code productTypes}.
+   * @param lastId the greatest id of the previous page, or {@code null} to fetch the first page.
+   */
+  public ResourceKeysPageRequest(
+      @Nonnull final String resourceQueryName, @Nullable final String lastId) {
+    this.resourceQueryName = requireNonNull(resourceQueryName);
+    this.lastId = lastId;
+  }
+
+  @Nullable
+  @Override
+  public ResultingResourcesContainer deserialize(final HttpResponse httpResponse) {
+    final JsonNode rootJsonNode = SphereJsonUtils.parse(httpResponse.getResponseBody());
+    if (rootJsonNode.isNull()) {
+      return null;
+    }
+    final JsonNode results = rootJsonNode.get("data").get(resourceQueryName);
+    return SphereJsonUtils.readObject(results, ResultingResourcesContainer.class);
+  }
+
+  @Override
+  public HttpRequestIntent httpRequestIntent() {
+    // See CombinedResourceKeysRequest#createWhereQuery for the escaping of the quotes.
+    final String whereQuery =
+        lastId == null ? "" : format(", where: \\\"id > \\\\\\\"%s\\\\\\\"\\\"", lastId);
+
+    final String queryValue =
+        format(
+            "{ %s(limit: %d, sort: [\\\"id asc\\\"]%s) { results { id key } } }",
+            resourceQueryName, PAGE_SIZE, whereQuery);
+
+    final String body = format("{\"query\": \"%s\"}", queryValue);
+
+    return HttpRequestIntent.of(HttpMethod.POST, "/graphql", body);
+  }
+}
@@ -0,0 +1,68 @@
+package com.commercetools.project.sync.model.request;
+
+import static com.commercetools.project.sync.model.request.CombinedResourceKeysRequest.QUERY_LIMIT;
+import static com.commercetools.project.sync.model.request.CombinedResourceKeysRequest.createWhereQuery;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import com.commercetools.project.sync.model.response.ResultingResourcesContainer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.client.HttpRequestIntent;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.json.SphereJsonUtils;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A GraphQL request which fetches the ids and keys of the resources of one type with the supplied
+ * ids. Unlike {@link CombinedResourceKeysRequest}, which is limited to products, categories and
+ * productTypes, it supports every resource type which has a key and a GraphQL query, e.g. {@code
+ * taxCategories}, {@code states}, {@code channels} or {@code typeDefinitions}.
+ */
+public class ResourceKeysRequest implements SphereRequest<ResultingResourcesContainer> {
+  private final String resourceQueryName;
+  private final Set<String> ids;
+
+  /**
+   * Creates a request of the ids and keys of the resources with the supplied ids.
+   *
+   * @param resourceQueryName the name of the GraphQL query of the resource type, e.g. {@code
+   *     taxCategories} or {@code channels}.
+   * @param ids the ids of the resources, at most {@link CombinedResourceKeysRequest#QUERY_LIMIT}.
+   */
+  public ResourceKeysRequest(
+      @Nonnull final String resourceQueryName, @Nonnull final Set<String> ids) {
+    this.resourceQueryName = requireNonNull(resourceQueryName);
+    this.ids = requireNonNull(ids);
+  }
+
+  @Nullable
+  @Override
+  public ResultingResourcesContainer deserialize(final HttpResponse httpResponse) {
+    final JsonNode rootJsonNode = SphereJsonUtils.parse(httpResponse.getResponseBody());
+    if (rootJsonNode.isNull()) {
+      return null;
+    }
+    final JsonNode results = rootJsonNode.get("data").get(resourceQueryName);
+    return SphereJsonUtils.readObject(results, ResultingResourcesContainer.class);
+  }
+
+  @Override
+  public HttpRequestIntent httpRequestIntent() {
+    if (ids.isEmpty()) {
+      throw new IllegalArgumentException("No ids passed to build the graphql request body.");
+    }
+
+    final String queryValue =
+        format(
+            "{ %s(limit: %d, where: %s) { results { id key } } }",
+            resourceQueryName, QUERY_LIMIT, createWhereQuery(ids));
+
+    final String body = format("{\"query\": \"%s\"}", queryValue);
+
+    return HttpRequestIntent.of(HttpMethod.POST, "/graphql", body);
+  }
+}
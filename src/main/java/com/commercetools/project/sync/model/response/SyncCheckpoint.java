@@ -0,0 +1,172 @@
+package com.commercetools.project.sync.model.response;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+import com.commercetools.project.sync.util.SyncUtils;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The progress of a running sync, which is persisted periodically so that an interrupted sync can
+ * be resumed by the next run with the same runner name. It contains everything needed to rebuild
+ * the queries of the interrupted sync: whether it was a full sync or a change feed sync, the bounds
+ * of the delta sync time windows and the start timestamp of the sync, as well as the id of the last
+ * resource synced by every query. A query only advances its last synced id after all of its
+ * preceding pages were synced too.
+ */
+public final class SyncCheckpoint {
+
+  private boolean fullSync;
+  private boolean changeFeed;
+  private List<ZonedDateTime> windowBounds;
+  private ZonedDateTime syncStartTimestamp;
+  private List<String> lastSyncedIds;
+  private String applicationVersion;
+
+  private SyncCheckpoint(
+      final boolean fullSync,
+      final boolean changeFeed,
+      @Nonnull final List<ZonedDateTime> windowBounds,
+      @Nullable final ZonedDateTime syncStartTimestamp,
+      @Nonnull final List<String> lastSyncedIds) {
+
+    this.fullSync = fullSync;
+    this.changeFeed = changeFeed;
+    this.windowBounds = new ArrayList<>(windowBounds);
+    this.syncStartTimestamp = syncStartTimestamp;
+    this.lastSyncedIds = new ArrayList<>(lastSyncedIds);
+    this.applicationVersion = SyncUtils.getApplicationVersion();
+  }
+
+  // Needed for the 'com.fasterxml.jackson' deserialization, for example, when fetching
+  // from CTP custom objects.
+  public SyncCheckpoint() {}
+
+  /**
+   * Creates a {@link SyncCheckpoint} describing the progress of a sync.
+   *
+   * @param fullSync whether the sync is a full sync or a delta sync.
+   * @param windowBounds the ascending bounds of the delta sync time windows, or an empty list on a
+   *     full sync or on a delta sync without a last sync timestamp.
+   * @param syncStartTimestamp the CTP timestamp at the start of a delta sync, which becomes the new
+   *     last sync timestamp once the sync completes, or {@code null} on a full sync.
+   * @param lastSyncedIds for every query of the sync, the id of the last resource synced, or {@code
+   *     null} if no page of the query was synced yet.
+   * @return a {@link SyncCheckpoint} containing the supplied progress.
+   */
+  @Nonnull
+  public static SyncCheckpoint of(
+      final boolean fullSync,
+      @Nonnull final List<ZonedDateTime> windowBounds,
+      @Nullable final ZonedDateTime syncStartTimestamp,
+      @Nonnull final List<String> lastSyncedIds) {
+
+    return new SyncCheckpoint(fullSync, false, windowBounds, syncStartTimestamp, lastSyncedIds);
+  }
+
+  /**
+   * Creates a {@link SyncCheckpoint} of a delta sync which syncs the resources referenced by the
+   * messages of the source project created between the supplied bounds, instead of the resources
+   * modified between them.
+   *
+   * @param lowerBound the timestamp from which on the messages are synced.
+   * @param syncStartTimestamp the CTP timestamp at the start of the sync, up to which the messages
+   *     are synced.
+   * @return a {@link SyncCheckpoint} of a change feed sync which has not synced any page yet.
+   */
+  @Nonnull
+  public static SyncCheckpoint ofChangeFeed(
+      @Nonnull final ZonedDateTime lowerBound, @Nonnull final ZonedDateTime syncStartTimestamp) {
+
+    return new SyncCheckpoint(
+        false,
+        true,
+        asList(lowerBound, syncStartTimestamp),
+        syncStartTimestamp,
+        singletonList(null));
+  }
+
+  public boolean isFullSync() {
+    return fullSync;
+  }
+
+  public boolean isChangeFeed() {
+    return changeFeed;
+  }
+
+  public List<ZonedDateTime> getWindowBounds() {
+    return windowBounds;
+  }
+
+  public ZonedDateTime getSyncStartTimestamp() {
+    return syncStartTimestamp;
+  }
+
+  public List<String> getLastSyncedIds() {
+    return lastSyncedIds;
+  }
+
+  public String getApplicationVersion() {
+    return applicationVersion;
+  }
+
+  // Setters are needed for the 'com.fasterxml.jackson' deserialization, for example, when fetching
+  // from CTP custom objects.
+
+  public void setFullSync(final boolean fullSync) {
+    this.fullSync = fullSync;
+  }
+
+  public void setChangeFeed(final boolean changeFeed) {
+    this.changeFeed = changeFeed;
+  }
+
+  public void setWindowBounds(@Nonnull final List<ZonedDateTime> windowBounds) {
+    this.windowBounds = windowBounds;
+  }
+
+  public void setSyncStartTimestamp(@Nullable final ZonedDateTime syncStartTimestamp) {
+    this.syncStartTimestamp = syncStartTimestamp;
+  }
+
+  public void setLastSyncedIds(@Nonnull final List<String> lastSyncedIds) {
+    this.lastSyncedIds = lastSyncedIds;
+  }
+
+  public void setApplicationVersion(@Nonnull final String applicationVersion) {
+    this.applicationVersion = applicationVersion;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SyncCheckpoint)) {
+      return false;
+    }
+    SyncCheckpoint that = (SyncCheckpoint) o;
+    return isFullSync() == that.isFullSync()
+        && isChangeFeed() == that.isChangeFeed()
+        && Objects.equals(getWindowBounds(), that.getWindowBounds())
+        && Objects.equals(getSyncStartTimestamp(), that.getSyncStartTimestamp())
+        && Objects.equals(getLastSyncedIds(), that.getLastSyncedIds())
+        && Objects.equals(getApplicationVersion(), that.getApplicationVersion());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        isFullSync(),
+        isChangeFeed(),
+        getWindowBounds(),
+        getSyncStartTimestamp(),
+        getLastSyncedIds(),
+        getApplicationVersion());
+  }
+}
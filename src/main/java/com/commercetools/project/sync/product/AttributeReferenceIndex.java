@@ -0,0 +1,120 @@
+package com.commercetools.project.sync.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductVariant;
+import io.sphere.sdk.products.attributes.Attribute;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+/**
+ * The references on the attributes of the staged variants of a product, grouped by their type id.
+ * The attributes are traversed once when the index is created; the same reference nodes are then
+ * used to collect the ids to look up, to find the irresolvable references and to replace the ids
+ * with keys in place.
+ */
+final class AttributeReferenceIndex {
+  private static final String REFERENCE_TYPE_ID_FIELD = "typeId";
+  private static final String REFERENCE_ID_FIELD = "id";
+
+  private final Product product;
+  private final Map<String, List<JsonNode>> referencesByTypeId;
+
+  private AttributeReferenceIndex(
+      @Nonnull final Product product,
+      @Nonnull final Map<String, List<JsonNode>> referencesByTypeId) {
+    this.product = product;
+    this.referencesByTypeId = referencesByTypeId;
+  }
+
+  /**
+   * Creates the index of the references on the attributes of the staged variants of the supplied
+   * product.
+   *
+   * @param product the product to index the attribute references of.
+   * @return the index of the attribute references of the product.
+   */
+  @Nonnull
+  static AttributeReferenceIndex of(@Nonnull final Product product) {
+    final Map<String, List<JsonNode>> referencesByTypeId = new HashMap<>();
+    for (final ProductVariant variant : product.getMasterData().getStaged().getAllVariants()) {
+      for (final Attribute attribute : variant.getAttributes()) {
+        // This will only work if the reference is not expanded, otherwise behaviour is not
+        // guaranteed.
+        for (final JsonNode reference :
+            attribute.getValueAsJsonNode().findParents(REFERENCE_TYPE_ID_FIELD)) {
+          referencesByTypeId
+              .computeIfAbsent(
+                  reference.get(REFERENCE_TYPE_ID_FIELD).asText(), typeId -> new ArrayList<>())
+              .add(reference);
+        }
+      }
+    }
+    return new AttributeReferenceIndex(product, referencesByTypeId);
+  }
+
+  @Nonnull
+  Product getProduct() {
+    return product;
+  }
+
+  /**
+   * Adds the ids of the references with the supplied type id to {@code ids}.
+   *
+   * @param typeId the type id of the references, e.g. {@code "category"}.
+   * @param ids the set to add the ids to.
+   */
+  void collectIds(@Nonnull final String typeId, @Nonnull final Set<String> ids) {
+    referencesByTypeId
+        .getOrDefault(typeId, Collections.emptyList())
+        .forEach(reference -> ids.add(getId(reference)));
+  }
+
+  /**
+   * Gets the references, of any type id, which have no key mapping in {@code idToKey}.
+   *
+   * @param idToKey the keys of the resolvable ids.
+   * @return the distinct irresolvable references, empty if all references are resolvable.
+   */
+  @Nonnull
+  Set<JsonNode> getIrresolvableReferences(@Nonnull final Map<String, String> idToKey) {
+    final Set<JsonNode> irresolvableReferences = new LinkedHashSet<>();
+    for (final List<JsonNode> references : referencesByTypeId.values()) {
+      for (final JsonNode reference : references) {
+        if (!idToKey.containsKey(getId(reference))) {
+          irresolvableReferences.add(reference);
+        }
+      }
+    }
+    return irresolvableReferences;
+  }
+
+  /**
+   * Replaces the id of every indexed reference with its key in {@code idToKey}. This mutates the
+   * attributes of the product.
+   *
+   * @param idToKey the keys of the ids, which must contain all ids of the indexed references.
+   */
+  void replaceIdsWithKeys(@Nonnull final Map<String, String> idToKey) {
+    referencesByTypeId
+        .values()
+        .stream()
+        .flatMap(Collection::stream)
+        .forEach(
+            reference ->
+                ((ObjectNode) reference).put(REFERENCE_ID_FIELD, idToKey.get(getId(reference))));
+  }
+
+  @Nonnull
+  private static String getId(@Nonnull final JsonNode reference) {
+    return reference.get(REFERENCE_ID_FIELD).asText();
+  }
+}
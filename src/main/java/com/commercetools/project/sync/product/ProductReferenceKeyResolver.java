@@ -0,0 +1,221 @@
+package com.commercetools.project.sync.product;
+
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.addReferenceId;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.getKey;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.replaceAssetCustomTypeIdsWithKeys;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.replaceCustomTypeIdWithKey;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.models.Asset;
+import io.sphere.sdk.models.AssetDraft;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.products.CategoryOrderHints;
+import io.sphere.sdk.products.Price;
+import io.sphere.sdk.products.PriceDraft;
+import io.sphere.sdk.products.PriceDraftBuilder;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductData;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductDraftBuilder;
+import io.sphere.sdk.products.ProductVariant;
+import io.sphere.sdk.products.ProductVariantDraft;
+import io.sphere.sdk.products.ProductVariantDraftBuilder;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.states.State;
+import io.sphere.sdk.taxcategories.TaxCategory;
+import io.sphere.sdk.types.CustomFields;
+import io.sphere.sdk.types.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Resolves the keys of the references of a product which are not attributes, i.e. its productType,
+ * taxCategory, state and categories, the channels and custom types of its prices and the custom
+ * types of its assets. The product query does not expand these references, so the drafts built from
+ * the products by the sync library still reference the ids. Instead, the ids are collected from the
+ * products, their keys are looked up by the {@link
+ * com.commercetools.project.sync.service.ReferencesService} and the drafts are rebuilt with the
+ * keys in the id fields of the references.
+ *
+ * <p>A reference whose id has no key mapping keeps its id, so that the sync reports it as an
+ * unresolvable reference of the product.
+ */
+final class ProductReferenceKeyResolver {
+
+  /**
+   * Adds the ids of the references of the staged {@code product} which are not attributes to {@code
+   * idsByReferenceTypeId}, grouped by the type id of the references.
+   *
+   * @param product the product to collect the reference ids of.
+   * @param idsByReferenceTypeId the ids collected so far, grouped by the type id of the references.
+   */
+  static void collectReferenceIds(
+      @Nonnull final Product product,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    addId(product.getProductType(), idsByReferenceTypeId);
+    addId(product.getTaxCategory(), idsByReferenceTypeId);
+    addId(product.getState(), idsByReferenceTypeId);
+
+    final ProductData stagedProductData = product.getMasterData().getStaged();
+    stagedProductData.getCategories().forEach(category -> addId(category, idsByReferenceTypeId));
+
+    for (final ProductVariant variant : stagedProductData.getAllVariants()) {
+      for (final Price price : variant.getPrices()) {
+        addId(price.getChannel(), idsByReferenceTypeId);
+        addCustomTypeId(price.getCustom(), idsByReferenceTypeId);
+      }
+      for (final Asset asset : variant.getAssets()) {
+        addCustomTypeId(asset.getCustom(), idsByReferenceTypeId);
+      }
+    }
+  }
+
+  /**
+   * Builds a copy of the supplied draft in which the references which are not attributes reference
+   * the keys in {@code idToKey} instead of the ids. The productType, taxCategory, state, categories
+   * and categoryOrderHints are taken from the staged {@code product} itself, since the draft built
+   * by the sync library only maps the category ids of the categoryOrderHints of expanded
+   * categories. The prices and assets are taken from the draft, which keeps the ids of their
+   * channels and custom types if they are not expanded.
+   *
+   * @param product the product the draft was built from, whose references are not expanded.
+   * @param productDraft the draft built from {@code product}.
+   * @param idToKey the keys of the referenced ids.
+   * @return a copy of {@code productDraft} which references the keys instead of the ids.
+   */
+  @Nonnull
+  static ProductDraft replaceReferenceIdsWithKeys(
+      @Nonnull final Product product,
+      @Nonnull final ProductDraft productDraft,
+      @Nonnull final Map<String, String> idToKey) {
+
+    final ProductDraftBuilder productDraftBuilder =
+        ProductDraftBuilder.of(productDraft)
+            .masterVariant(replaceReferenceIdsWithKeys(productDraft.getMasterVariant(), idToKey))
+            .variants(
+                productDraft
+                    .getVariants()
+                    .stream()
+                    .map(variantDraft -> replaceReferenceIdsWithKeys(variantDraft, idToKey))
+                    .collect(toList()));
+
+    final Reference<ProductType> productType = product.getProductType();
+    if (productType != null) {
+      productDraftBuilder.productType(ProductType.referenceOfId(getKeyOrId(productType, idToKey)));
+    }
+
+    final Reference<TaxCategory> taxCategory = product.getTaxCategory();
+    if (taxCategory != null) {
+      productDraftBuilder.taxCategory(TaxCategory.referenceOfId(getKeyOrId(taxCategory, idToKey)));
+    }
+
+    final Reference<State> state = product.getState();
+    if (state != null) {
+      productDraftBuilder.state(State.referenceOfId(getKeyOrId(state, idToKey)));
+    }
+
+    final ProductData stagedProductData = product.getMasterData().getStaged();
+    productDraftBuilder.categories(
+        stagedProductData
+            .getCategories()
+            .stream()
+            .<ResourceIdentifier<Category>>map(
+                category -> Category.referenceOfId(getKeyOrId(category, idToKey)))
+            .collect(toSet()));
+
+    final CategoryOrderHints categoryOrderHints = stagedProductData.getCategoryOrderHints();
+    if (categoryOrderHints != null) {
+      final Map<String, String> orderHintsByCategoryKey = new HashMap<>();
+      categoryOrderHints
+          .getAsMap()
+          .forEach(
+              (categoryId, orderHint) ->
+                  orderHintsByCategoryKey.put(
+                      idToKey.getOrDefault(categoryId, categoryId), orderHint));
+      productDraftBuilder.categoryOrderHints(CategoryOrderHints.of(orderHintsByCategoryKey));
+    }
+
+    return productDraftBuilder.build();
+  }
+
+  @Nonnull
+  private static String getKeyOrId(
+      @Nonnull final Reference<?> reference, @Nonnull final Map<String, String> idToKey) {
+    return idToKey.getOrDefault(reference.getId(), reference.getId());
+  }
+
+  @Nullable
+  private static ProductVariantDraft replaceReferenceIdsWithKeys(
+      @Nullable final ProductVariantDraft variantDraft,
+      @Nonnull final Map<String, String> idToKey) {
+
+    if (variantDraft == null) {
+      return null;
+    }
+
+    final ProductVariantDraftBuilder variantDraftBuilder =
+        ProductVariantDraftBuilder.of(variantDraft);
+
+    final List<PriceDraft> prices = variantDraft.getPrices();
+    if (prices != null) {
+      variantDraftBuilder.prices(
+          prices
+              .stream()
+              .map(priceDraft -> replaceReferenceIdsWithKeys(priceDraft, idToKey))
+              .collect(toList()));
+    }
+
+    final List<AssetDraft> assets = variantDraft.getAssets();
+    if (assets != null) {
+      variantDraftBuilder.assets(replaceAssetCustomTypeIdsWithKeys(assets, idToKey));
+    }
+
+    return variantDraftBuilder.build();
+  }
+
+  @Nonnull
+  private static PriceDraft replaceReferenceIdsWithKeys(
+      @Nonnull final PriceDraft priceDraft, @Nonnull final Map<String, String> idToKey) {
+
+    final PriceDraftBuilder priceDraftBuilder =
+        PriceDraftBuilder.of(priceDraft)
+            .custom(replaceCustomTypeIdWithKey(priceDraft.getCustom(), idToKey));
+
+    final String channelKey = getKey(priceDraft.getChannel(), idToKey);
+    if (channelKey != null) {
+      final ResourceIdentifier<Channel> channelWithKey = Channel.referenceOfId(channelKey);
+      priceDraftBuilder.channel(channelWithKey);
+    }
+
+    return priceDraftBuilder.build();
+  }
+
+  private static void addId(
+      @Nullable final Reference<?> reference,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    if (reference != null) {
+      addReferenceId(reference.getTypeId(), reference, idsByReferenceTypeId);
+    }
+  }
+
+  private static void addCustomTypeId(
+      @Nullable final CustomFields customFields,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    if (customFields != null) {
+      addReferenceId(Type.referenceTypeId(), customFields.getType(), idsByReferenceTypeId);
+    }
+  }
+
+  private ProductReferenceKeyResolver() {}
+}
@@ -1,44 +1,44 @@
 package com.commercetools.project.sync.product;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toSet;
 
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.SyncerExecutors;
+import com.commercetools.project.sync.SyncerOptions;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.ReferencesService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
-import com.commercetools.project.sync.service.impl.ReferencesServiceImpl;
 import com.commercetools.sync.products.ProductSync;
 import com.commercetools.sync.products.ProductSyncOptions;
 import com.commercetools.sync.products.ProductSyncOptionsBuilder;
 import com.commercetools.sync.products.helpers.ProductSyncStatistics;
 import com.commercetools.sync.products.utils.ProductReferenceReplacementUtils;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.sphere.sdk.categories.Category;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.commands.UpdateAction;
-import io.sphere.sdk.expansion.ExpansionPath;
-import io.sphere.sdk.products.AttributeContainer;
 import io.sphere.sdk.products.Product;
 import io.sphere.sdk.products.ProductDraft;
-import io.sphere.sdk.products.ProductVariant;
-import io.sphere.sdk.products.attributes.Attribute;
 import io.sphere.sdk.products.commands.updateactions.Publish;
 import io.sphere.sdk.products.commands.updateactions.Unpublish;
-import io.sphere.sdk.products.expansion.ProductExpansionModel;
 import io.sphere.sdk.products.queries.ProductQuery;
 import io.sphere.sdk.producttypes.ProductType;
 import java.time.Clock;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,8 +52,6 @@ public final class ProductSyncer
         ProductSync> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ProductSyncer.class);
-  private static final String REFERENCE_TYPE_ID_FIELD = "typeId";
-  private static final String REFERENCE_ID_FIELD = "id";
   private static final String WITH_IRRESOLVABLE_REFS_ERROR_MSG =
       "The product with id '%s' on the source project ('%s') will "
           + "not be synced because it has the following reference attribute(s): \n"
@@ -68,8 +66,18 @@ public final class ProductSyncer
       @Nonnull final SphereClient targetClient,
       @Nonnull final CustomObjectService customObjectService,
       @Nonnull final ReferencesService referencesService,
-      @Nonnull final Clock clock) {
-    super(productSync, sourceClient, targetClient, customObjectService, clock);
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final SyncerExecutors executors) {
+    super(
+        productSync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        null,
+        executors);
     this.referencesService = referencesService;
   }
 
@@ -78,9 +86,65 @@ public final class ProductSyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final Clock clock) {
+    return of(sourceClient, targetClient, clock, SyncerOptions.ofDefaults());
+  }
+
+  @Nonnull
+  public static ProductSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        new CustomObjectServiceImpl(
+            targetClient, syncerOptions.getShard(), syncerOptions.getShardCount()));
+  }
+
+  /**
+   * Instantiates a {@link ProductSyncer} which persists and fetches the last sync timestamps and
+   * checkpoints with the supplied {@code customObjectService}, e.g. one shared by the sync modules
+   * of a sync session.
+   */
+  @Nonnull
+  public static ProductSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService) {
+    final SyncerExecutors executors = SyncerExecutors.of(syncerOptions);
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        customObjectService,
+        executors,
+        buildReferencesService(sourceClient, clock, syncerOptions, executors));
+  }
+
+  /**
+   * Instantiates a {@link ProductSyncer} which runs on the supplied {@code executors} and looks up
+   * the keys of the referenced resources with the supplied {@code referencesService}, e.g. ones
+   * kept across the consecutive syncs of a continuous sync, so that their caches stay warm.
+   */
+  @Nonnull
+  public static ProductSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final SyncerExecutors executors,
+      @Nonnull final ReferencesService referencesService) {
 
     final ProductSyncOptions syncOptions =
         ProductSyncOptionsBuilder.of(targetClient)
+            .batchSize(syncerOptions.getBatchSize())
             .errorCallback(LOGGER::error)
             .warningCallback(LOGGER::warn)
             .beforeUpdateCallback(ProductSyncer::appendPublishIfPublished)
@@ -88,31 +152,72 @@ public final class ProductSyncer
 
     final ProductSync productSync = new ProductSync(syncOptions);
 
-    final CustomObjectService customObjectService = new CustomObjectServiceImpl(targetClient);
+    return new ProductSyncer(
+        productSync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        referencesService,
+        clock,
+        syncerOptions,
+        executors);
+  }
 
-    final ReferencesService referencesService = new ReferencesServiceImpl(sourceClient);
+  /**
+   * Runs the product sync like {@link Syncer#sync(String, boolean)} and afterwards logs the usage
+   * of the cache of referenced resource keys. If {@link SyncerOptions#isReferenceCacheWarmUp()} is
+   * set, the keys of all categories and productTypes are cached before the sync. A failure of the
+   * warm-up is only logged, since the keys which are not cached are fetched page by page anyway.
+   */
+  @Override
+  public CompletionStage<Void> sync(@Nullable final String runnerName, final boolean isFullSync) {
+    return warmUpReferenceCache()
+        .thenCompose(ignoredResult -> super.sync(runnerName, isFullSync))
+        .thenAccept(
+            ignoredResult -> {
+              if (LOGGER.isInfoEnabled()) {
+                LOGGER.info(referencesService.getCacheReportMessage());
+              }
+            });
+  }
 
-    return new ProductSyncer(
-        productSync, sourceClient, targetClient, customObjectService, referencesService, clock);
+  @Nonnull
+  private CompletionStage<Void> warmUpReferenceCache() {
+    if (!getSyncerOptions().isReferenceCacheWarmUp()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return referencesService
+        .cacheAllCategoryAndProductTypeKeys()
+        .handle(
+            (ignoredResult, exception) -> {
+              if (exception != null) {
+                LOGGER.warn(
+                    "Failed to cache the keys of all categories and productTypes of the source "
+                        + "project. Their keys will be fetched page by page instead.",
+                    getCompletionExceptionCause(exception));
+              } else if (LOGGER.isInfoEnabled()) {
+                LOGGER.info(referencesService.getCacheReportMessage());
+              }
+              return null;
+            });
   }
 
   @Override
   @Nonnull
   protected CompletionStage<List<ProductDraft>> transform(@Nonnull final List<Product> page) {
-    return replaceAttributeReferenceIdsWithKeys(page)
+    return replaceReferenceIdsWithKeys(page)
         .handle(
-            (products, throwable) -> {
+            (productDrafts, throwable) -> {
               if (throwable != null) {
                 LOGGER.warn(
                     "Failed to replace referenced resource ids with keys on the attributes of the products in "
                         + "the current fetched page from the source project. This page will not be synced to the target "
                         + "project.",
                     getCompletionExceptionCause(throwable));
-                return Collections.<Product>emptyList();
+                return Collections.<ProductDraft>emptyList();
               }
-              return products;
-            })
-        .thenApply(ProductReferenceReplacementUtils::replaceProductsReferenceIdsWithKeys);
+              return productDrafts;
+            });
   }
 
   @Nonnull
@@ -124,114 +229,177 @@ public final class ProductSyncer
   }
 
   /**
-   * Replaces the ids on attribute references with keys. If a product has at least one irresolvable
-   * reference, it will be filtered out and not returned in the new list.
+   * Builds the drafts of the supplied products with the ids of their references replaced with keys.
+   * The keys of all references of the products, i.e. of their attribute references and of the
+   * references which the product query does not expand, are looked up at once. If a product has at
+   * least one irresolvable attribute reference, it will be filtered out and no draft will be built
+   * for it.
    *
-   * <p>Note: this method mutates the products passed by changing the reference keys with ids.
+   * <p>If {@link SyncerOptions#getTransformParallelism()} is set, the products are scanned for
+   * references and their drafts are built in parallel by the dedicated transform pool, instead of
+   * on the thread which completed the query of the page or the lookup of the keys.
    *
-   * @param products the products to replace the reference attributes ids with keys on.
-   * @return a new list which contains only products which have all their attributes references
-   *     resolvable and already replaced with keys.
+   * <p>Note: this method mutates the products passed by changing the attribute reference ids with
+   * keys.
+   *
+   * @param products the products to build the drafts of.
+   * @return a new list which contains the drafts of the products which have all their attribute
+   *     references resolvable, with all resolvable reference ids replaced with keys.
    */
   @Nonnull
-  private CompletionStage<List<Product>> replaceAttributeReferenceIdsWithKeys(
+  private CompletionStage<List<ProductDraft>> replaceReferenceIdsWithKeys(
       @Nonnull final List<Product> products) {
 
-    final List<JsonNode> allAttributeReferences = getAllReferences(products);
-
-    final List<JsonNode> allProductReferences =
-        getReferencesByTypeId(allAttributeReferences, Product.referenceTypeId());
-
-    final List<JsonNode> allCategoryReferences =
-        getReferencesByTypeId(allAttributeReferences, Category.referenceTypeId());
-
-    final List<JsonNode> allProductTypeReferences =
-        getReferencesByTypeId(allAttributeReferences, ProductType.referenceTypeId());
-
-    return this.referencesService
-        .getIdToKeys(
-            getIds(allProductReferences),
-            getIds(allCategoryReferences),
-            getIds(allProductTypeReferences))
-        .thenApply(
-            idToKey -> {
-              final List<Product> validProducts =
-                  filterOutWithIrresolvableReferences(products, idToKey);
-              replaceReferences(getAllReferences(validProducts), idToKey);
-              return validProducts;
-            });
+    final ForkJoinPool transformPool = getExecutors().getTransformPool();
+    final CompletionStage<List<AttributeReferenceIndex>> referenceIndexesStage =
+        transformPool == null
+            ? CompletableFuture.completedFuture(indexAttributeReferences(products))
+            : CompletableFuture.supplyAsync(
+                () -> indexAttributeReferences(products), transformPool);
+
+    return referenceIndexesStage.thenCompose(
+        referenceIndexes -> {
+          final CompletionStage<Map<String, String>> idToKeyStage =
+              this.referencesService.getIdToKeys(collectReferenceIds(products, referenceIndexes));
+          return transformPool == null
+              ? idToKeyStage.thenApply(idToKey -> buildDrafts(referenceIndexes, idToKey))
+              : idToKeyStage.thenApplyAsync(
+                  idToKey -> buildDrafts(referenceIndexes, idToKey), transformPool);
+        });
   }
 
   @Nonnull
-  private List<JsonNode> getAllReferences(@Nonnull final List<Product> products) {
-    return products
-        .stream()
-        .map(this::getAllReferences)
-        .flatMap(Collection::stream)
+  private List<AttributeReferenceIndex> indexAttributeReferences(
+      @Nonnull final List<Product> products) {
+
+    return getTransformStream(products)
+        .map(AttributeReferenceIndex::of)
         .collect(Collectors.toList());
   }
 
   @Nonnull
-  private List<JsonNode> getAllReferences(@Nonnull final Product product) {
-    final List<ProductVariant> allVariants = product.getMasterData().getStaged().getAllVariants();
-    return getAttributeReferences(allVariants);
+  private static Map<String, Set<String>> collectReferenceIds(
+      @Nonnull final List<Product> products,
+      @Nonnull final List<AttributeReferenceIndex> referenceIndexes) {
+
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+    final Set<String> productIds =
+        idsByReferenceTypeId.computeIfAbsent(Product.referenceTypeId(), typeId -> new HashSet<>());
+    final Set<String> categoryIds =
+        idsByReferenceTypeId.computeIfAbsent(Category.referenceTypeId(), typeId -> new HashSet<>());
+    final Set<String> productTypeIds =
+        idsByReferenceTypeId.computeIfAbsent(
+            ProductType.referenceTypeId(), typeId -> new HashSet<>());
+    referenceIndexes.forEach(
+        referenceIndex -> {
+          referenceIndex.collectIds(Product.referenceTypeId(), productIds);
+          referenceIndex.collectIds(Category.referenceTypeId(), categoryIds);
+          referenceIndex.collectIds(ProductType.referenceTypeId(), productTypeIds);
+        });
+    products.forEach(
+        product -> ProductReferenceKeyResolver.collectReferenceIds(product, idsByReferenceTypeId));
+    return idsByReferenceTypeId;
   }
 
+  /**
+   * Builds the drafts of the products of the supplied reference indexes which have all their
+   * attribute references resolvable. If the transform pool is set, the products are split into one
+   * chunk per thread of the pool, whose drafts are built in parallel.
+   */
   @Nonnull
-  private static List<JsonNode> getAttributeReferences(
-      @Nonnull final List<ProductVariant> variants) {
-
-    return variants
-        .stream()
-        .map(AttributeContainer::getAttributes)
-        .flatMap(Collection::stream)
-        .map(Attribute::getValueAsJsonNode)
-        .map(ProductSyncer::getReferences)
-        .flatMap(Collection::stream)
+  private List<ProductDraft> buildDrafts(
+      @Nonnull final List<AttributeReferenceIndex> referenceIndexes,
+      @Nonnull final Map<String, String> idToKey) {
+
+    final List<AttributeReferenceIndex> validReferenceIndexes =
+        filterOutWithIrresolvableReferences(referenceIndexes, idToKey);
+    final List<Product> validProducts =
+        getTransformStream(validReferenceIndexes)
+            .map(
+                referenceIndex -> {
+                  referenceIndex.replaceIdsWithKeys(idToKey);
+                  return referenceIndex.getProduct();
+                })
+            .collect(Collectors.toList());
+
+    final ForkJoinPool transformPool = getExecutors().getTransformPool();
+    final int chunks = transformPool == null ? 1 : transformPool.getParallelism();
+    return getTransformStream(partition(validProducts, chunks))
+        .map(chunk -> buildDraftsWithKeys(chunk, idToKey))
+        .flatMap(List::stream)
         .collect(Collectors.toList());
   }
 
+  /**
+   * Builds the drafts of the supplied products, whose references are not expanded, with the sync
+   * library and replaces the ids of their references which are not attributes with the keys in
+   * {@code idToKey}. The sync library builds one draft per product, in the order of the products.
+   */
   @Nonnull
-  private static List<JsonNode> getReferences(@Nonnull final JsonNode attributeValue) {
-    // This will only work if the reference is not expanded, otherwise behaviour is not guaranteed.
-    return attributeValue.findParents(REFERENCE_TYPE_ID_FIELD);
-  }
+  private static List<ProductDraft> buildDraftsWithKeys(
+      @Nonnull final List<Product> products, @Nonnull final Map<String, String> idToKey) {
 
-  @Nonnull
-  private List<JsonNode> getReferencesByTypeId(
-      @Nonnull final List<JsonNode> references, @Nonnull final String typeId) {
-    return references
-        .stream()
-        .filter(reference -> typeId.equals(reference.get(REFERENCE_TYPE_ID_FIELD).asText()))
-        .collect(Collectors.toList());
+    final List<ProductDraft> productDrafts =
+        ProductReferenceReplacementUtils.replaceProductsReferenceIdsWithKeys(products);
+    final List<ProductDraft> productDraftsWithKeys = new ArrayList<>(productDrafts.size());
+    for (int index = 0; index < productDrafts.size(); index++) {
+      productDraftsWithKeys.add(
+          ProductReferenceKeyResolver.replaceReferenceIdsWithKeys(
+              products.get(index), productDrafts.get(index), idToKey));
+    }
+    return productDraftsWithKeys;
   }
 
+  /**
+   * Gets a stream of the supplied elements which is parallel if the transform pool is set. Since
+   * the stream is only consumed by a task of the transform pool in this case, its parallel tasks
+   * are run by the transform pool as well, and not by the common pool.
+   */
   @Nonnull
-  private static Set<String> getIds(@Nonnull final List<JsonNode> references) {
-    return references.stream().map(ProductSyncer::getId).collect(toSet());
+  private <E> Stream<E> getTransformStream(@Nonnull final List<E> elements) {
+    return getExecutors().getTransformPool() == null
+        ? elements.stream()
+        : elements.parallelStream();
   }
 
   @Nonnull
-  private static String getId(@Nonnull final JsonNode ref) {
-    return ref.get(REFERENCE_ID_FIELD).asText();
+  private static <E> List<List<E>> partition(
+      @Nonnull final List<E> elements, final int numberOfChunks) {
+
+    if (numberOfChunks <= 1 || elements.size() <= 1) {
+      return Collections.singletonList(elements);
+    }
+    final int chunkSize = (elements.size() - 1) / numberOfChunks + 1;
+    final List<List<E>> chunks = new ArrayList<>();
+    for (int from = 0; from < elements.size(); from += chunkSize) {
+      chunks.add(elements.subList(from, Math.min(from + chunkSize, elements.size())));
+    }
+    return chunks;
   }
 
+  /**
+   * Filters out the products with at least one reference which has no key mapping in {@code
+   * idToKey}. The ids which the {@link ReferencesService} found to be irresolvable, either in the
+   * current lookup or in a previous one within their time to live, have no mapping in {@code
+   * idToKey}, so the products referencing them are filtered out without looking the ids up again.
+   */
   @Nonnull
-  private List<Product> filterOutWithIrresolvableReferences(
-      @Nonnull final List<Product> products, @Nonnull final Map<String, String> idToKey) {
+  private List<AttributeReferenceIndex> filterOutWithIrresolvableReferences(
+      @Nonnull final List<AttributeReferenceIndex> referenceIndexes,
+      @Nonnull final Map<String, String> idToKey) {
 
-    return products
+    return referenceIndexes
         .stream()
         .filter(
-            product -> {
+            referenceIndex -> {
               final Set<JsonNode> irresolvableReferences =
-                  getIrresolvableReferences(product, idToKey);
+                  referenceIndex.getIrresolvableReferences(idToKey);
               final boolean hasIrresolvableReferences = !irresolvableReferences.isEmpty();
               if (hasIrresolvableReferences) {
                 LOGGER.warn(
                     format(
                         WITH_IRRESOLVABLE_REFS_ERROR_MSG,
-                        product.getId(),
+                        referenceIndex.getProduct().getId(),
                         getSourceClient().getConfig().getProjectKey(),
                         irresolvableReferences));
               }
@@ -240,48 +408,18 @@ public final class ProductSyncer
         .collect(Collectors.toList());
   }
 
-  private Set<JsonNode> getIrresolvableReferences(
-      @Nonnull final Product product, @Nonnull final Map<String, String> idToKey) {
-
-    return getAllReferences(product)
-        .stream()
-        .filter(reference -> !idToKey.containsKey(getId(reference)))
-        .collect(toSet());
-  }
-
-  private static void replaceReferences(
-      @Nonnull final List<JsonNode> references, @Nonnull final Map<String, String> idToKey) {
-
-    references.forEach(
-        reference -> {
-          final String id = reference.get(REFERENCE_ID_FIELD).asText();
-          final String key = idToKey.get(id);
-          ((ObjectNode) reference).put(REFERENCE_ID_FIELD, key);
-        });
+  @Nonnull
+  @Override
+  protected ProductQuery getQuery() {
+    // The references are not expanded, their keys are resolved from the cache of the
+    // ReferencesService instead. See ProductReferenceKeyResolver.
+    return ProductQuery.of();
   }
 
   @Nonnull
   @Override
-  protected ProductQuery getQuery() {
-    // TODO: Eventually don't expand all references and cache references for replacement.
-    // https://github.com/commercetools/commercetools-project-sync/issues/49
-    final String queryPredicateStr = "masterData(current(name(en in (\"foo\", \"bar\"))))";
-    final QueryPredicate<Product> queryPredicate = QueryPredicate.of(queryPredicateStr);
-    return ProductQuery.of()
-        .withExpansionPaths(ProductExpansionModel::productType)
-        .plusExpansionPaths(ProductExpansionModel::taxCategory)
-        .plusExpansionPaths(ExpansionPath.of("state"))
-        .plusExpansionPaths(expansionModel -> expansionModel.masterData().staged().categories())
-        .plusExpansionPaths(
-            expansionModel -> expansionModel.masterData().staged().allVariants().prices().channel())
-        .plusExpansionPaths(
-            ExpansionPath.of("masterData.staged.masterVariant.prices[*].custom.type"))
-        .plusExpansionPaths(ExpansionPath.of("masterData.staged.variants[*].prices[*].custom.type"))
-        .plusExpansionPaths(
-            ExpansionPath.of("masterData.staged.masterVariant.assets[*].custom.type"))
-        .plusExpansionPaths(
-            ExpansionPath.of("masterData.staged.variants[*].assets[*].custom.type"))
-        .plusPredicates(queryPredicate);
+  protected String getMessageResourceTypeId() {
+    return Product.referenceTypeId();
   }
 
   /**
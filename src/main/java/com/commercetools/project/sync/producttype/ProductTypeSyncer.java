@@ -1,7 +1,14 @@
 package com.commercetools.project.sync.producttype;
 
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.addReferenceId;
+import static com.commercetools.project.sync.util.ReferenceKeyReplacementUtils.getKey;
+import static java.util.stream.Collectors.toList;
+
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.SyncerExecutors;
+import com.commercetools.project.sync.SyncerOptions;
 import com.commercetools.project.sync.service.CustomObjectService;
+import com.commercetools.project.sync.service.ReferencesService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.producttypes.ProductTypeSync;
 import com.commercetools.sync.producttypes.ProductTypeSyncOptions;
@@ -9,14 +16,23 @@ import com.commercetools.sync.producttypes.ProductTypeSyncOptionsBuilder;
 import com.commercetools.sync.producttypes.helpers.ProductTypeSyncStatistics;
 import com.commercetools.sync.producttypes.utils.ProductTypeReferenceReplacementUtils;
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.products.attributes.AttributeDefinitionDraft;
+import io.sphere.sdk.products.attributes.AttributeDefinitionDraftBuilder;
+import io.sphere.sdk.products.attributes.AttributeType;
+import io.sphere.sdk.products.attributes.NestedAttributeType;
+import io.sphere.sdk.products.attributes.SetAttributeType;
 import io.sphere.sdk.producttypes.ProductType;
 import io.sphere.sdk.producttypes.ProductTypeDraft;
+import io.sphere.sdk.producttypes.ProductTypeDraftBuilder;
 import io.sphere.sdk.producttypes.queries.ProductTypeQuery;
 import java.time.Clock;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,8 +53,19 @@ public final class ProductTypeSyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final CustomObjectService customObjectService,
-      @Nonnull final Clock clock) {
-    super(productTypeSync, sourceClient, targetClient, customObjectService, clock);
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nullable final ReferencesService referencesService,
+      @Nonnull final SyncerExecutors executors) {
+    super(
+        productTypeSync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        referencesService,
+        executors);
   }
 
   @Nonnull
@@ -46,19 +73,84 @@ public final class ProductTypeSyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final Clock clock) {
+    return of(sourceClient, targetClient, clock, SyncerOptions.ofDefaults());
+  }
+
+  @Nonnull
+  public static ProductTypeSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        new CustomObjectServiceImpl(
+            targetClient, syncerOptions.getShard(), syncerOptions.getShardCount()));
+  }
+
+  /**
+   * Instantiates a {@link ProductTypeSyncer} which persists and fetches the last sync timestamps
+   * and checkpoints with the supplied {@code customObjectService}, e.g. one shared by the sync
+   * modules of a sync session.
+   */
+  @Nonnull
+  public static ProductTypeSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService) {
+    final SyncerExecutors executors = SyncerExecutors.of(syncerOptions);
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        customObjectService,
+        executors,
+        syncerOptions.isResolveReferencesFromCache()
+            ? buildReferencesService(sourceClient, clock, syncerOptions, executors)
+            : null);
+  }
+
+  /**
+   * Instantiates a {@link ProductTypeSyncer} which runs on the supplied {@code executors} and looks
+   * up the keys of the referenced resources with the supplied {@code referencesService}, e.g. ones
+   * kept across the consecutive syncs of a continuous sync, so that their caches stay warm. The
+   * {@code referencesService} must be {@code null} unless {@link
+   * SyncerOptions#isResolveReferencesFromCache()} is set.
+   */
+  @Nonnull
+  public static ProductTypeSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final SyncerExecutors executors,
+      @Nullable final ReferencesService referencesService) {
 
     final ProductTypeSyncOptions syncOptions =
         ProductTypeSyncOptionsBuilder.of(targetClient)
+            .batchSize(syncerOptions.getBatchSize())
             .errorCallback(LOGGER::error)
             .warningCallback(LOGGER::warn)
             .build();
 
     final ProductTypeSync productTypeSync = new ProductTypeSync(syncOptions);
 
-    final CustomObjectService customObjectService = new CustomObjectServiceImpl(targetClient);
-
     return new ProductTypeSyncer(
-        productTypeSync, sourceClient, targetClient, customObjectService, clock);
+        productTypeSync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        referencesService,
+        executors);
   }
 
   @Nonnull
@@ -69,9 +161,88 @@ public final class ProductTypeSyncer
         ProductTypeReferenceReplacementUtils.replaceProductTypesReferenceIdsWithKeys(page));
   }
 
+  /**
+   * Adds the ids of the productTypes referenced by the nested attribute types, also within set
+   * attribute types, of the supplied productType draft, which are not expanded if the references
+   * are resolved from the cache.
+   */
+  @Override
+  protected void collectReferenceIds(
+      @Nonnull final ProductTypeDraft productTypeDraft,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    final List<AttributeDefinitionDraft> attributes = productTypeDraft.getAttributes();
+    if (attributes != null) {
+      attributes.forEach(
+          attribute -> addNestedTypeId(attribute.getAttributeType(), idsByReferenceTypeId));
+    }
+  }
+
+  @Nonnull
+  @Override
+  protected ProductTypeDraft replaceReferenceIdsWithKeys(
+      @Nonnull final ProductTypeDraft productTypeDraft,
+      @Nonnull final Map<String, String> idToKey) {
+
+    final List<AttributeDefinitionDraft> attributes = productTypeDraft.getAttributes();
+    if (attributes == null) {
+      return productTypeDraft;
+    }
+    return ProductTypeDraftBuilder.of(productTypeDraft)
+        .attributes(
+            attributes
+                .stream()
+                .map(
+                    attribute ->
+                        AttributeDefinitionDraftBuilder.of(attribute)
+                            .attributeType(
+                                replaceNestedTypeIdWithKey(attribute.getAttributeType(), idToKey))
+                            .build())
+                .collect(toList()))
+        .build();
+  }
+
+  private static void addNestedTypeId(
+      @Nullable final AttributeType attributeType,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    if (attributeType instanceof NestedAttributeType) {
+      addReferenceId(
+          ProductType.referenceTypeId(),
+          ((NestedAttributeType) attributeType).getTypeReference(),
+          idsByReferenceTypeId);
+    } else if (attributeType instanceof SetAttributeType) {
+      addNestedTypeId(((SetAttributeType) attributeType).getElementType(), idsByReferenceTypeId);
+    }
+  }
+
+  @Nullable
+  private static AttributeType replaceNestedTypeIdWithKey(
+      @Nullable final AttributeType attributeType, @Nonnull final Map<String, String> idToKey) {
+
+    if (attributeType instanceof NestedAttributeType) {
+      final String productTypeKey =
+          getKey(((NestedAttributeType) attributeType).getTypeReference(), idToKey);
+      return productTypeKey == null
+          ? attributeType
+          : NestedAttributeType.of(ProductType.referenceOfId(productTypeKey));
+    }
+    if (attributeType instanceof SetAttributeType) {
+      final AttributeType elementType = ((SetAttributeType) attributeType).getElementType();
+      final AttributeType elementTypeWithKey = replaceNestedTypeIdWithKey(elementType, idToKey);
+      return elementTypeWithKey == elementType
+          ? attributeType
+          : SetAttributeType.of(elementTypeWithKey);
+    }
+    return attributeType;
+  }
+
   @Nonnull
   @Override
   protected ProductTypeQuery getQuery() {
+    if (isResolvingReferencesFromCache()) {
+      return ProductTypeQuery.of();
+    }
     // TODO: Set depth need to be configurable.
     // https://github.com/commercetools/commercetools-project-sync/issues/44
     return ProductTypeReferenceReplacementUtils.buildProductTypeQuery(1);
@@ -0,0 +1,17 @@
+package com.commercetools.project.sync.service;
+
+/** Defines which entry is evicted from a size-bounded cache once it reaches its maximum size. */
+public enum CacheEvictionPolicy {
+  /**
+   * Evicts the entry which was read or written the longest time ago. Suits caches where the same
+   * entries are read over and over again, e.g. the keys of referenced categories and product types.
+   */
+  LEAST_RECENTLY_USED,
+
+  /**
+   * Evicts the entry which was written the longest time ago, regardless of how often it was read.
+   * Reads do not reorder the entries, which makes them slightly cheaper than with {@link
+   * #LEAST_RECENTLY_USED}.
+   */
+  FIRST_IN_FIRST_OUT
+}
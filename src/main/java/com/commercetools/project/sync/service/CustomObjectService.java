@@ -1,8 +1,11 @@
 package com.commercetools.project.sync.service;
 
 import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.model.response.SyncCheckpoint;
 import io.sphere.sdk.customobjects.CustomObject;
 import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
@@ -19,10 +22,35 @@ public interface CustomObjectService {
       @Nonnull final String syncModuleName,
       @Nullable final String runnerName);
 
+  @Nonnull
+  CompletionStage<Map<String, CustomObject<LastSyncCustomObject>>> getLastSyncCustomObjects(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final Collection<String> syncModuleNames,
+      @Nullable final String runnerName);
+
   @Nonnull
   CompletionStage<CustomObject<LastSyncCustomObject>> createLastSyncCustomObject(
       @Nonnull final String sourceProjectKey,
       @Nonnull final String syncModuleName,
       @Nullable final String runnerName,
       @Nonnull final LastSyncCustomObject lastSyncCustomObject);
+
+  @Nonnull
+  CompletionStage<Optional<CustomObject<SyncCheckpoint>>> getSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName);
+
+  @Nonnull
+  CompletionStage<CustomObject<SyncCheckpoint>> createSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final SyncCheckpoint syncCheckpoint);
+
+  @Nonnull
+  CompletionStage<CustomObject<SyncCheckpoint>> deleteSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName);
 }
@@ -12,4 +12,43 @@ public interface ReferencesService {
       @Nonnull final Set<String> productIds,
       @Nonnull final Set<String> categoryIds,
       @Nonnull final Set<String> productTypeIds);
+
+  /**
+   * Finds the keys of the supplied ids of references of any supported type. The supported reference
+   * types are products, categories, productTypes, taxCategories, states, channels and types.
+   *
+   * @param idsByReferenceTypeId the ids to find a key mapping for, grouped by the type id of their
+   *     references, e.g. {@code "tax-category"}.
+   * @return a map of id to key of the supplied ids. Ids without a mapping point to a non-existent
+   *     resource, to a resource without a key or to a resource of an unsupported type.
+   */
+  @Nonnull
+  CompletionStage<Map<String, String>> getIdToKeys(
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId);
+
+  /**
+   * Pages through the ids and keys of all categories and productTypes of the CTP project and caches
+   * them, so that subsequent calls of {@link #getIdToKeys(Set, Set, Set)} resolve category and
+   * productType references without fetching their keys. Categories and productTypes without a key
+   * are cached as irresolvable.
+   *
+   * @return a completion stage which completes after all categories and productTypes are cached.
+   */
+  @Nonnull
+  CompletionStage<Void> cacheAllCategoryAndProductTypeKeys();
+
+  /**
+   * Builds a summary of the usage of the id to key cache of this service, i.e. its size and the
+   * number of cache hits, misses and evictions so far.
+   *
+   * @return a summary of the usage of the id to key cache.
+   */
+  @Nonnull
+  String getCacheReportMessage();
+
+  /**
+   * Releases the resources held by this service, e.g. the file the fetched keys are persisted to.
+   * The service should not be used afterwards.
+   */
+  void close();
 }
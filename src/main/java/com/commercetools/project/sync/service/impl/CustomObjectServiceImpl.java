@@ -2,13 +2,17 @@ package com.commercetools.project.sync.service.impl;
 
 import static com.commercetools.project.sync.util.SyncUtils.getApplicationName;
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.joining;
 
 import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.model.response.SyncCheckpoint;
 import com.commercetools.project.sync.service.CustomObjectService;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.customobjects.CustomObject;
 import io.sphere.sdk.customobjects.CustomObjectDraft;
+import io.sphere.sdk.customobjects.commands.CustomObjectDeleteCommand;
 import io.sphere.sdk.customobjects.commands.CustomObjectUpsertCommand;
 import io.sphere.sdk.customobjects.queries.CustomObjectQuery;
 import io.sphere.sdk.models.ResourceView;
@@ -16,7 +20,10 @@ import io.sphere.sdk.queries.PagedQueryResult;
 import io.sphere.sdk.queries.QueryPredicate;
 import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -28,10 +35,32 @@ public class CustomObjectServiceImpl extends BaseServiceImpl implements CustomOb
   public static final String TIMESTAMP_GENERATOR_KEY = "timestampGenerator";
   public static final String TIMESTAMP_GENERATOR_VALUE = "";
   public static final String DEFAULT_RUNNER_NAME = "runnerName";
+  public static final String SYNC_CHECKPOINT_CONTAINER_SUFFIX = "checkpoint";
+  public static final String SHARD_CONTAINER_SUFFIX_FORMAT = "shard-%d-of-%d";
   private static final long MINUTES_BEFORE_CURRENT_TIMESTAMP = 2;
 
+  private final String shardContainerSuffix;
+
   public CustomObjectServiceImpl(@Nonnull final SphereClient sphereClient) {
+    this(sphereClient, 1, 1);
+  }
+
+  /**
+   * Creates a service whose custom objects belong to the shard {@code shard} of {@code shardCount}
+   * of the synced resources. If there are several shards, the sync module part of every container
+   * is qualified with the shard, e.g. 'commercetools-project-sync.{@code
+   * runnerName}.productSync.shard-3-of-8', so that every runner process syncing a shard of the same
+   * sync module keeps its own last sync timestamp and checkpoint.
+   *
+   * @param sphereClient the client of the project containing the custom objects.
+   * @param shard the number of the shard, starting at 1.
+   * @param shardCount the number of shards. A value of 1 leaves the containers unqualified.
+   */
+  public CustomObjectServiceImpl(
+      @Nonnull final SphereClient sphereClient, final int shard, final int shardCount) {
     super(sphereClient);
+    this.shardContainerSuffix =
+        shardCount > 1 ? "." + format(SHARD_CONTAINER_SUFFIX_FORMAT, shard, shardCount) : "";
   }
 
   /**
@@ -57,10 +86,11 @@ public class CustomObjectServiceImpl extends BaseServiceImpl implements CustomOb
 
     final String container =
         format(
-            "%s.%s.%s.%s",
+            "%s.%s.%s%s.%s",
             getApplicationName(),
             getRunnerNameValue(runnerName),
             syncModuleName,
+            shardContainerSuffix,
             TIMESTAMP_GENERATOR_KEY);
 
     final CustomObjectDraft<String> currentTimestampDraft =
@@ -120,6 +150,70 @@ public class CustomObjectServiceImpl extends BaseServiceImpl implements CustomOb
         .thenApply(Stream::findFirst);
   }
 
+  /**
+   * Queries for the last sync custom objects of all the supplied sync modules at once, i.e. the
+   * custom objects which have one of the containers: 'commercetools-project-sync.{@code
+   * runnerName}.{@code syncModuleName}' and key: {@code sourceProjectKey}. This replaces a query
+   * per sync module by {@link #getLastSyncCustomObject(String, String, String)} when several sync
+   * modules are started together.
+   *
+   * @param sourceProjectKey the source project from which the data is coming.
+   * @param syncModuleNames the names of the resources being synced. E.g. productSync, categorySync,
+   *     etc..
+   * @param runnerName the name of this specific running sync instance defined by the user.
+   * @return a {@link CompletionStage} containing the found last sync custom objects keyed by the
+   *     name of their sync module. Sync modules without a last sync custom object have no entry.
+   */
+  @Nonnull
+  @Override
+  public CompletionStage<Map<String, CustomObject<LastSyncCustomObject>>> getLastSyncCustomObjects(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final Collection<String> syncModuleNames,
+      @Nullable final String runnerName) {
+
+    final String runnerNameValue = getRunnerNameValue(runnerName);
+    final Map<String, String> syncModuleNamesByContainer = new HashMap<>();
+    syncModuleNames.forEach(
+        syncModuleName ->
+            syncModuleNamesByContainer.put(
+                buildLastSyncTimestampContainerName(syncModuleName, runnerNameValue),
+                syncModuleName));
+
+    if (syncModuleNamesByContainer.isEmpty()) {
+      return CompletableFuture.completedFuture(emptyMap());
+    }
+
+    final String containers =
+        syncModuleNamesByContainer
+            .keySet()
+            .stream()
+            .map(container -> format("\"%s\"", container))
+            .collect(joining(", "));
+    final QueryPredicate<CustomObject<LastSyncCustomObject>> queryPredicate =
+        QueryPredicate.of(format("container in (%s) AND key=\"%s\"", containers, sourceProjectKey));
+
+    return getCtpClient()
+        .execute(
+            CustomObjectQuery.of(LastSyncCustomObject.class)
+                .plusPredicates(queryPredicate)
+                .withLimit(syncModuleNamesByContainer.size()))
+        .thenApply(PagedQueryResult::getResults)
+        .thenApply(
+            customObjects -> {
+              final Map<String, CustomObject<LastSyncCustomObject>> customObjectsBySyncModule =
+                  new HashMap<>();
+              customObjects.forEach(
+                  customObject -> {
+                    final String syncModuleName =
+                        syncModuleNamesByContainer.get(customObject.getContainer());
+                    if (syncModuleName != null) {
+                      customObjectsBySyncModule.put(syncModuleName, customObject);
+                    }
+                  });
+              return customObjectsBySyncModule;
+            });
+  }
+
   /**
    * Creates (or updates an already existing) custom object, with the container:
    * 'commercetools-project-sync.{@code runnerName}.{@code syncModuleName}' and key: {@code
@@ -153,13 +247,118 @@ public class CustomObjectServiceImpl extends BaseServiceImpl implements CustomOb
     return createCustomObject(lastSyncCustomObjectDraft);
   }
 
+  /**
+   * Queries for the custom object, on the CTP project defined by the {@code sphereClient}, which
+   * has the container: 'commercetools-project-sync.{@code runnerName}.{@code
+   * syncModuleName}.checkpoint' and key: {@code sourceProjectKey}. The method then returns this
+   * custom object if it exists, wrapped in an {@link Optional} as a result of a {@link
+   * CompletionStage}.
+   *
+   * @param sourceProjectKey the source project from which the data is coming.
+   * @param syncModuleName the name of the resource being synced. E.g. productSync, categorySync,
+   *     etc..
+   * @param runnerName the name of this specific running sync instance defined by the user.
+   * @return the checkpoint custom object if it exists, wrapped in an {@link Optional} as a result
+   *     of a {@link CompletionStage}.
+   */
+  @Nonnull
+  @Override
+  public CompletionStage<Optional<CustomObject<SyncCheckpoint>>> getSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName) {
+
+    final QueryPredicate<CustomObject<SyncCheckpoint>> queryPredicate =
+        QueryPredicate.of(
+            format(
+                "container=\"%s\" AND key=\"%s\"",
+                buildSyncCheckpointContainerName(syncModuleName, getRunnerNameValue(runnerName)),
+                sourceProjectKey));
+
+    return getCtpClient()
+        .execute(CustomObjectQuery.of(SyncCheckpoint.class).plusPredicates(queryPredicate))
+        .thenApply(PagedQueryResult::getResults)
+        .thenApply(Collection::stream)
+        .thenApply(Stream::findFirst);
+  }
+
+  /**
+   * Creates (or updates an already existing) custom object, with the container:
+   * 'commercetools-project-sync.{@code runnerName}.{@code syncModuleName}.checkpoint' and key:
+   * {@code sourceProjectKey}, containing the supplied {@link SyncCheckpoint}.
+   *
+   * @param sourceProjectKey the source project from which the data is coming.
+   * @param syncModuleName the name of the resource being synced. E.g. productSync, categorySync,
+   *     etc..
+   * @param runnerName the name of this specific running sync instance defined by the user.
+   * @param syncCheckpoint the progress of the running sync.
+   * @return a {@link CompletionStage} containing the created/updated custom object.
+   */
+  @Nonnull
+  @Override
+  public CompletionStage<CustomObject<SyncCheckpoint>> createSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final SyncCheckpoint syncCheckpoint) {
+
+    final CustomObjectDraft<SyncCheckpoint> syncCheckpointDraft =
+        CustomObjectDraft.ofUnversionedUpsert(
+            buildSyncCheckpointContainerName(syncModuleName, getRunnerNameValue(runnerName)),
+            sourceProjectKey,
+            syncCheckpoint,
+            SyncCheckpoint.class);
+
+    return createCustomObject(syncCheckpointDraft);
+  }
+
+  /**
+   * Deletes the custom object with the container: 'commercetools-project-sync.{@code
+   * runnerName}.{@code syncModuleName}.checkpoint' and key: {@code sourceProjectKey}, once the sync
+   * it belongs to has completed.
+   *
+   * @param sourceProjectKey the source project from which the data is coming.
+   * @param syncModuleName the name of the resource being synced. E.g. productSync, categorySync,
+   *     etc..
+   * @param runnerName the name of this specific running sync instance defined by the user.
+   * @return a {@link CompletionStage} containing the deleted custom object.
+   */
+  @Nonnull
+  @Override
+  public CompletionStage<CustomObject<SyncCheckpoint>> deleteSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName) {
+
+    return getCtpClient()
+        .execute(
+            CustomObjectDeleteCommand.of(
+                buildSyncCheckpointContainerName(syncModuleName, getRunnerNameValue(runnerName)),
+                sourceProjectKey,
+                SyncCheckpoint.class));
+  }
+
+  @Nonnull
+  private String buildSyncCheckpointContainerName(
+      @Nonnull final String syncModuleName, @Nonnull final String runnerName) {
+
+    return format(
+        "%s.%s",
+        buildLastSyncTimestampContainerName(syncModuleName, runnerName),
+        SYNC_CHECKPOINT_CONTAINER_SUFFIX);
+  }
+
   @Nonnull
   private String buildLastSyncTimestampContainerName(
       @Nonnull final String syncModuleName, @Nonnull final String runnerName) {
 
     final String syncModuleNameWithLowerCasedFirstChar = lowerCaseFirstChar(syncModuleName);
     return format(
-        "%s.%s.%s", getApplicationName(), runnerName, syncModuleNameWithLowerCasedFirstChar);
+        "%s.%s.%s%s",
+        getApplicationName(),
+        runnerName,
+        syncModuleNameWithLowerCasedFirstChar,
+        shardContainerSuffix);
   }
 
   @Nonnull
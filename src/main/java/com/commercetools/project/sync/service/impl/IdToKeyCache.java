@@ -0,0 +1,470 @@
+package com.commercetools.project.sync.service.impl;
+
+import com.commercetools.project.sync.service.CacheEvictionPolicy;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A thread-safe cache of resource ids to keys which holds at most {@code maxSize} entries. Once the
+ * cache is full, every new entry evicts the entry chosen by the {@link CacheEvictionPolicy} of the
+ * cache. The cache counts its hits, misses and evictions, so that its size can be tuned to the
+ * data.
+ *
+ * <p>Since the cache may hold millions of entries, it does not use a {@link java.util.HashMap}. The
+ * entries are stored in parallel arrays instead, and are looked up by an open-addressing hash table
+ * with linear probing. The ids of CTP resources are UUIDs, which are stored as two {@code long}s
+ * instead of a 36 character string. Other ids are stored as they are. The eviction order is a
+ * doubly linked list of entry indexes. An entry thus costs about 40 bytes plus its key string,
+ * compared to well over 200 bytes of a {@link java.util.LinkedHashMap} entry with its id string.
+ *
+ * <p>Since the ids of every page are looked up by concurrent transformations, a large cache is
+ * split into up to {@link #MAX_SEGMENTS} segments, which are chosen by the hash of the id and have
+ * their own lock, hash table and eviction order. The eviction policy thus applies per segment,
+ * which approximates the order of the whole cache closely enough since the ids are spread evenly
+ * across the segments. A cache with less than {@code 2 * MIN_SEGMENT_SIZE} entries has a single
+ * segment, which follows the eviction policy exactly.
+ */
+final class IdToKeyCache {
+  static final int MAX_SEGMENTS = 16;
+  static final int MIN_SEGMENT_SIZE = 1024;
+  private static final int NO_ENTRY = -1;
+  private static final int INITIAL_CAPACITY = 16;
+  // Estimated size of a string object and its array without the characters, on a 64 bit JVM.
+  private static final int STRING_OVERHEAD_BYTES = 40;
+  private static final int BYTES_PER_CHAR = 2;
+  // msb + lsb + hash + previous + next + 2 references + 2 table slots (the table is half empty).
+  private static final int BYTES_PER_ENTRY = 8 + 8 + 4 + 4 + 4 + 2 * 8 + 2 * 4;
+
+  private final int maxSize;
+  private final Segment[] segments;
+  private final int segmentShift;
+
+  private IdToKeyCache(final int maxSize, @Nonnull final CacheEvictionPolicy evictionPolicy) {
+    this.maxSize = maxSize;
+    final int segmentCount =
+        Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(maxSize / MIN_SEGMENT_SIZE, 1)));
+    this.segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+    this.segments = new Segment[segmentCount];
+    final boolean isAccessOrder = evictionPolicy == CacheEvictionPolicy.LEAST_RECENTLY_USED;
+    for (int segment = 0; segment < segmentCount; segment++) {
+      // distributes the remainder of the division, so that the segments hold maxSize entries.
+      final int segmentMaxSize =
+          maxSize / segmentCount + (segment < maxSize % segmentCount ? 1 : 0);
+      segments[segment] = new Segment(segmentMaxSize, isAccessOrder);
+    }
+  }
+
+  /**
+   * Creates an empty {@link IdToKeyCache}.
+   *
+   * @param maxSize the maximum number of entries of the cache, at least 1.
+   * @param evictionPolicy defines which entry is evicted once the cache is full.
+   * @return an empty {@link IdToKeyCache}.
+   */
+  @Nonnull
+  static IdToKeyCache of(final int maxSize, @Nonnull final CacheEvictionPolicy evictionPolicy) {
+    return new IdToKeyCache(Math.max(maxSize, 1), evictionPolicy);
+  }
+
+  /**
+   * Gets the key cached for the supplied id and counts the lookup as a hit or a miss.
+   *
+   * @param id the id to get the cached key of.
+   * @return the cached key or {@code null} if no key is cached for the id.
+   */
+  @Nullable
+  String get(@Nonnull final String id) {
+    return segmentFor(id).get(id);
+  }
+
+  void put(@Nonnull final String id, @Nonnull final String key) {
+    segmentFor(id).put(id, key);
+  }
+
+  /**
+   * Performs the supplied action on every cached entry. The entries of every segment are visited
+   * from the next one to be evicted to the last one, so that putting the visited entries into an
+   * empty cache restores the eviction order of every segment.
+   *
+   * @param action the action which accepts the id and the key of every entry.
+   */
+  void forEach(@Nonnull final BiConsumer<String, String> action) {
+    for (final Segment segment : segments) {
+      segment.forEach(action);
+    }
+  }
+
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  int getSize() {
+    int size = 0;
+    for (final Segment segment : segments) {
+      size += segment.getSize();
+    }
+    return size;
+  }
+
+  long getHitCount() {
+    long hitCount = 0;
+    for (final Segment segment : segments) {
+      hitCount += segment.getHitCount();
+    }
+    return hitCount;
+  }
+
+  long getMissCount() {
+    long missCount = 0;
+    for (final Segment segment : segments) {
+      missCount += segment.getMissCount();
+    }
+    return missCount;
+  }
+
+  long getEvictionCount() {
+    long evictionCount = 0;
+    for (final Segment segment : segments) {
+      evictionCount += segment.getEvictionCount();
+    }
+    return evictionCount;
+  }
+
+  /**
+   * Estimates the heap memory used by the cache, i.e. by its arrays and the id and key strings it
+   * holds. The estimate assumes a 64 bit JVM with uncompressed references and 2 bytes per
+   * character, so it rather overestimates the actual footprint.
+   *
+   * @return the estimated heap memory used by the cache in bytes.
+   */
+  long estimateFootprintBytes() {
+    long footprintBytes = 0;
+    for (final Segment segment : segments) {
+      footprintBytes += segment.estimateFootprintBytes();
+    }
+    return footprintBytes;
+  }
+
+  /**
+   * Chooses the segment by the upper bits of the hash of the id, whereas the segments choose the
+   * slot of their hash table by the lower bits of the hash they compute.
+   */
+  @Nonnull
+  private Segment segmentFor(@Nonnull final String id) {
+    return segments.length == 1 ? segments[0] : segments[mix(id.hashCode()) >>> segmentShift];
+  }
+
+  /**
+   * A segment of the cache, i.e. a bounded cache of its own with its own lock, hash table and
+   * eviction order.
+   */
+  private static final class Segment {
+
+    private final int maxSize;
+    private final boolean isAccessOrder;
+
+    // The following fields are guarded by "this".
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    // null for the ids which are stored as UUIDs.
+    private String[] nonUuidIds;
+    private String[] keys;
+    private int[] hashes;
+    private int[] previous;
+    private int[] next;
+    // entry index + 1 of every slot, 0 for an empty slot.
+    private int[] table;
+    private int size;
+    private int eldest = NO_ENTRY;
+    private int youngest = NO_ENTRY;
+    private long stringChars;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private Segment(final int maxSize, final boolean isAccessOrder) {
+      this.maxSize = maxSize;
+      this.isAccessOrder = isAccessOrder;
+      final int capacity = Math.min(INITIAL_CAPACITY, maxSize);
+      mostSignificantBits = new long[capacity];
+      leastSignificantBits = new long[capacity];
+      nonUuidIds = new String[capacity];
+      keys = new String[capacity];
+      hashes = new int[capacity];
+      previous = new int[capacity];
+      next = new int[capacity];
+      table = new int[tableSizeFor(capacity)];
+    }
+
+    @Nullable
+    synchronized String get(@Nonnull final String id) {
+      final int entry = find(id);
+      if (entry == NO_ENTRY) {
+        missCount++;
+        return null;
+      }
+      hitCount++;
+      if (isAccessOrder) {
+        moveToYoungest(entry);
+      }
+      return keys[entry];
+    }
+
+    synchronized void put(@Nonnull final String id, @Nonnull final String key) {
+      final int existingEntry = find(id);
+      if (existingEntry != NO_ENTRY) {
+        // keeps the cached string if the key did not change, so that equal keys are not duplicated.
+        if (!keys[existingEntry].equals(key)) {
+          stringChars += key.length() - keys[existingEntry].length();
+          keys[existingEntry] = key;
+        }
+        if (isAccessOrder) {
+          moveToYoungest(existingEntry);
+        }
+        return;
+      }
+
+      final int entry;
+      if (size == maxSize) {
+        entry = eldest;
+        removeFromTable(entry);
+        unlink(entry);
+        stringChars -= keys[entry].length();
+        if (nonUuidIds[entry] != null) {
+          stringChars -= nonUuidIds[entry].length();
+        }
+        evictionCount++;
+      } else {
+        if (size == keys.length) {
+          grow();
+        }
+        entry = size++;
+      }
+
+      store(entry, id, key);
+      insertIntoTable(entry);
+      linkAsYoungest(entry);
+    }
+
+    synchronized int getSize() {
+      return size;
+    }
+
+    synchronized long getHitCount() {
+      return hitCount;
+    }
+
+    synchronized long getMissCount() {
+      return missCount;
+    }
+
+    synchronized long getEvictionCount() {
+      return evictionCount;
+    }
+
+    synchronized long estimateFootprintBytes() {
+      long stringCount = size;
+      for (int entry = 0; entry < size; entry++) {
+        if (nonUuidIds[entry] != null) {
+          stringCount++;
+        }
+      }
+      return (long) keys.length * BYTES_PER_ENTRY
+          + stringCount * STRING_OVERHEAD_BYTES
+          + stringChars * BYTES_PER_CHAR;
+    }
+
+    synchronized void forEach(@Nonnull final BiConsumer<String, String> action) {
+      for (int entry = eldest; entry != NO_ENTRY; entry = next[entry]) {
+        final String id =
+            nonUuidIds[entry] == null
+                ? new UUID(mostSignificantBits[entry], leastSignificantBits[entry]).toString()
+                : nonUuidIds[entry];
+        action.accept(id, keys[entry]);
+      }
+    }
+
+    private void grow() {
+      final int capacity = (int) Math.min(2L * keys.length, maxSize);
+      mostSignificantBits = Arrays.copyOf(mostSignificantBits, capacity);
+      leastSignificantBits = Arrays.copyOf(leastSignificantBits, capacity);
+      nonUuidIds = Arrays.copyOf(nonUuidIds, capacity);
+      keys = Arrays.copyOf(keys, capacity);
+      hashes = Arrays.copyOf(hashes, capacity);
+      previous = Arrays.copyOf(previous, capacity);
+      next = Arrays.copyOf(next, capacity);
+      table = new int[tableSizeFor(capacity)];
+      for (int entry = 0; entry < size; entry++) {
+        insertIntoTable(entry);
+      }
+    }
+
+    /** Returns the smallest power of two which is at least twice the supplied capacity. */
+    private static int tableSizeFor(final int capacity) {
+      return Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) << 1;
+    }
+
+    private void store(final int entry, @Nonnull final String id, @Nonnull final String key) {
+      if (isUuid(id)) {
+        mostSignificantBits[entry] = getMostSignificantBits(id);
+        leastSignificantBits[entry] = getLeastSignificantBits(id);
+        nonUuidIds[entry] = null;
+        hashes[entry] = hashOfUuid(mostSignificantBits[entry], leastSignificantBits[entry]);
+      } else {
+        nonUuidIds[entry] = id;
+        hashes[entry] = hashOfNonUuid(id);
+        stringChars += id.length();
+      }
+      keys[entry] = key;
+      stringChars += key.length();
+    }
+
+    private int find(@Nonnull final String id) {
+      final boolean isUuid = isUuid(id);
+      final long msb;
+      final long lsb;
+      final int hash;
+      if (isUuid) {
+        msb = getMostSignificantBits(id);
+        lsb = getLeastSignificantBits(id);
+        hash = hashOfUuid(msb, lsb);
+      } else {
+        msb = 0;
+        lsb = 0;
+        hash = hashOfNonUuid(id);
+      }
+
+      final int mask = table.length - 1;
+      for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+        final int entry = table[slot] - 1;
+        if (hashes[entry] == hash
+            && (isUuid
+                ? nonUuidIds[entry] == null
+                    && mostSignificantBits[entry] == msb
+                    && leastSignificantBits[entry] == lsb
+                : id.equals(nonUuidIds[entry]))) {
+          return entry;
+        }
+      }
+      return NO_ENTRY;
+    }
+
+    private void insertIntoTable(final int entry) {
+      final int mask = table.length - 1;
+      int slot = hashes[entry] & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = entry + 1;
+    }
+
+    /**
+     * Removes the entry from the table and shifts the following entries of the probe sequence back,
+     * so that no entry becomes unreachable and no tombstones are needed.
+     */
+    private void removeFromTable(final int entry) {
+      final int mask = table.length - 1;
+      int emptySlot = hashes[entry] & mask;
+      while (table[emptySlot] != entry + 1) {
+        emptySlot = (emptySlot + 1) & mask;
+      }
+      table[emptySlot] = 0;
+
+      for (int slot = (emptySlot + 1) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+        final int homeSlot = hashes[table[slot] - 1] & mask;
+        // the entry may move to the empty slot if the empty slot lies between its home and its
+        // slot.
+        final boolean isMovable =
+            emptySlot <= slot
+                ? homeSlot <= emptySlot || homeSlot > slot
+                : homeSlot <= emptySlot && homeSlot > slot;
+        if (isMovable) {
+          table[emptySlot] = table[slot];
+          table[slot] = 0;
+          emptySlot = slot;
+        }
+      }
+    }
+
+    private void linkAsYoungest(final int entry) {
+      previous[entry] = youngest;
+      next[entry] = NO_ENTRY;
+      if (youngest == NO_ENTRY) {
+        eldest = entry;
+      } else {
+        next[youngest] = entry;
+      }
+      youngest = entry;
+    }
+
+    private void unlink(final int entry) {
+      if (previous[entry] == NO_ENTRY) {
+        eldest = next[entry];
+      } else {
+        next[previous[entry]] = next[entry];
+      }
+      if (next[entry] == NO_ENTRY) {
+        youngest = previous[entry];
+      } else {
+        previous[next[entry]] = previous[entry];
+      }
+    }
+
+    private void moveToYoungest(final int entry) {
+      if (entry != youngest) {
+        unlink(entry);
+        linkAsYoungest(entry);
+      }
+    }
+  }
+
+  /** Checks whether the id is a UUID in its canonical lower case form, as used by CTP. */
+  private static boolean isUuid(@Nonnull final String id) {
+    if (id.length() != 36) {
+      return false;
+    }
+    for (int index = 0; index < 36; index++) {
+      final char character = id.charAt(index);
+      if (index == 8 || index == 13 || index == 18 || index == 23) {
+        if (character != '-') {
+          return false;
+        }
+      } else if (!(character >= '0' && character <= '9' || character >= 'a' && character <= 'f')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long getMostSignificantBits(@Nonnull final String uuid) {
+    return parseHex(uuid, 0, 8) << 32 | parseHex(uuid, 9, 13) << 16 | parseHex(uuid, 14, 18);
+  }
+
+  private static long getLeastSignificantBits(@Nonnull final String uuid) {
+    return parseHex(uuid, 19, 23) << 48 | parseHex(uuid, 24, 36);
+  }
+
+  private static long parseHex(@Nonnull final String id, final int from, final int to) {
+    long value = 0;
+    for (int index = from; index < to; index++) {
+      value = value << 4 | Character.digit(id.charAt(index), 16);
+    }
+    return value;
+  }
+
+  private static int hashOfUuid(final long msb, final long lsb) {
+    return mix(msb * 31 + lsb);
+  }
+
+  private static int hashOfNonUuid(@Nonnull final String id) {
+    return mix(id.hashCode());
+  }
+
+  private static int mix(final long value) {
+    final long mixed = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
@@ -0,0 +1,87 @@
+package com.commercetools.project.sync.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * A thread-safe cache of the ids of resources which were confirmed to not exist or to have no key.
+ * Every id is cached for a fixed time to live, after which it is looked up again, so that resources
+ * which got a key in the meantime become resolvable again. The cache holds at most {@code maxSize}
+ * ids; once it is full, every new id evicts the id which expires first.
+ */
+final class IrresolvableIdCache {
+  private final int maxSize;
+  private final long timeToLiveMillis;
+  private final Clock clock;
+
+  // The following fields are guarded by "this".
+  private final LinkedHashMap<String, Long> idToExpiryMillis;
+  private long hitCount;
+
+  private IrresolvableIdCache(
+      final int maxSize, final long timeToLiveMillis, @Nonnull final Clock clock) {
+    this.maxSize = maxSize;
+    this.timeToLiveMillis = timeToLiveMillis;
+    this.clock = clock;
+    this.idToExpiryMillis =
+        new LinkedHashMap<String, Long>() {
+          @Override
+          protected boolean removeEldestEntry(@Nonnull final Map.Entry<String, Long> eldest) {
+            return size() > IrresolvableIdCache.this.maxSize;
+          }
+        };
+  }
+
+  /**
+   * Creates an empty {@link IrresolvableIdCache}.
+   *
+   * @param maxSize the maximum number of ids of the cache, at least 1.
+   * @param timeToLive the time an id is cached for. A zero duration disables the cache.
+   * @param clock the clock used to compute the expiry of the cached ids.
+   * @return an empty {@link IrresolvableIdCache}.
+   */
+  @Nonnull
+  static IrresolvableIdCache of(
+      final int maxSize, @Nonnull final Duration timeToLive, @Nonnull final Clock clock) {
+    return new IrresolvableIdCache(Math.max(maxSize, 1), timeToLive.toMillis(), clock);
+  }
+
+  /**
+   * Checks whether the supplied id is cached as irresolvable and its time to live has not expired
+   * yet. An expired id is removed from the cache.
+   *
+   * @param id the id to check.
+   * @return {@code true} if the id is cached as irresolvable, otherwise {@code false}.
+   */
+  synchronized boolean contains(@Nonnull final String id) {
+    final Long expiryMillis = idToExpiryMillis.get(id);
+    if (expiryMillis == null) {
+      return false;
+    }
+    if (clock.millis() >= expiryMillis) {
+      idToExpiryMillis.remove(id);
+      return false;
+    }
+    hitCount++;
+    return true;
+  }
+
+  synchronized void put(@Nonnull final String id) {
+    if (timeToLiveMillis > 0) {
+      // removed first, so that the id moves to the end of the expiry order.
+      idToExpiryMillis.remove(id);
+      idToExpiryMillis.put(id, clock.millis() + timeToLiveMillis);
+    }
+  }
+
+  synchronized int getSize() {
+    return idToExpiryMillis.size();
+  }
+
+  synchronized long getHitCount() {
+    return hitCount;
+  }
+}
@@ -0,0 +1,247 @@
+package com.commercetools.project.sync.service.impl;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only file of resource id to key mappings of one source project, which lets the id to
+ * key cache survive across runs. Every line of the file contains an id and its key separated by a
+ * tab. If an id is contained more than once, the last line wins. The lines are streamed into the
+ * cache when the file is loaded, so that loading a large file takes no more memory than the cache.
+ * Once the file contains more than twice as many lines as the loaded cache holds entries, it is
+ * compacted to the entries of the cache, i.e. the mappings evicted by the cache are dropped.
+ *
+ * <p>The file may be shared by the sync modules of a runner and by several runners, e.g. the ones
+ * syncing the shards of a source project. Therefore, the file is only read and written while the
+ * store holds an exclusive lock on it. The file is compacted in place instead of being replaced, so
+ * that no mappings appended by other stores get lost. A line which is not terminated, because a
+ * runner was killed while writing it, is ignored.
+ *
+ * <p>The store is best-effort: if the file cannot be read or written, a warning is logged and the
+ * store stops persisting, whereas the sync continues with the keys fetched from CTP.
+ */
+final class PersistentIdToKeyStore {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PersistentIdToKeyStore.class);
+  private static final String FILE_NAME_SUFFIX = ".reference-keys";
+  private static final String SEPARATOR = "\t";
+  private static final char LINE_SEPARATOR = '\n';
+
+  /**
+   * The monitors which serialize the file locks of the stores of this JVM, keyed by file, since a
+   * file can only be locked once per JVM.
+   */
+  private static final ConcurrentMap<Path, Object> FILE_MONITORS = new ConcurrentHashMap<>();
+
+  private final Path file;
+  private final Object fileMonitor;
+
+  // Guarded by "this".
+  private FileChannel channel;
+  private boolean isFailed;
+
+  private PersistentIdToKeyStore(@Nonnull final Path file) {
+    this.file = file;
+    this.fileMonitor =
+        FILE_MONITORS.computeIfAbsent(file.toAbsolutePath().normalize(), key -> new Object());
+  }
+
+  /**
+   * Creates the store of the id to key mappings of the supplied source project.
+   *
+   * @param directory the directory which contains the files of all source projects.
+   * @param sourceProjectKey the key of the source project the mappings belong to.
+   * @return the store of the mappings of the source project.
+   */
+  @Nonnull
+  static PersistentIdToKeyStore of(
+      @Nonnull final Path directory, @Nonnull final String sourceProjectKey) {
+    return new PersistentIdToKeyStore(directory.resolve(sourceProjectKey + FILE_NAME_SUFFIX));
+  }
+
+  /**
+   * Puts all the mappings persisted by previous runs into the supplied cache, in the order they
+   * were persisted, and compacts the file if it contains too many lines. Nothing is put if the file
+   * does not exist or cannot be read.
+   *
+   * @param idToKeyCache the cache to put the persisted mappings into.
+   */
+  synchronized void load(@Nonnull final IdToKeyCache idToKeyCache) {
+    if (!Files.exists(file)) {
+      return;
+    }
+
+    synchronized (fileMonitor) {
+      try {
+        final FileChannel fileChannel = getChannel();
+        final FileLock lock = fileChannel.lock();
+        try {
+          final long numberOfLines = read(fileChannel, idToKeyCache);
+          if (numberOfLines > 2L * idToKeyCache.getSize()) {
+            compact(fileChannel, idToKeyCache);
+          }
+        } finally {
+          lock.release();
+        }
+      } catch (final IOException exception) {
+        fail("read", exception);
+      }
+    }
+  }
+
+  /**
+   * Appends the supplied mappings to the file.
+   *
+   * @param idToKey the mappings to persist.
+   */
+  synchronized void append(@Nonnull final Map<String, String> idToKey) {
+    if (isFailed || idToKey.isEmpty()) {
+      return;
+    }
+
+    final StringBuilder lines = new StringBuilder();
+    idToKey.forEach(
+        (id, key) -> lines.append(id).append(SEPARATOR).append(key).append(LINE_SEPARATOR));
+
+    synchronized (fileMonitor) {
+      try {
+        final FileChannel fileChannel = getChannel();
+        final FileLock lock = fileChannel.lock();
+        try {
+          final long size = fileChannel.size();
+          if (size > 0 && !endsWithLineSeparator(fileChannel, size)) {
+            // terminates the line left by a runner which was killed while writing it.
+            lines.insert(0, LINE_SEPARATOR);
+          }
+          write(fileChannel, UTF_8.encode(CharBuffer.wrap(lines)), size);
+        } finally {
+          lock.release();
+        }
+      } catch (final IOException exception) {
+        fail("write", exception);
+      }
+    }
+  }
+
+  /** Closes the file. The store reopens it if mappings are appended afterwards. */
+  synchronized void close() {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (final IOException exception) {
+      LOGGER.warn(format("Failed to close the reference key file '%s'.", file), exception);
+    }
+    channel = null;
+  }
+
+  @Nonnull
+  private FileChannel getChannel() throws IOException {
+    if (channel == null) {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      channel =
+          FileChannel.open(
+              file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+    return channel;
+  }
+
+  /**
+   * Puts the terminated lines of the file into the supplied cache.
+   *
+   * @return the number of lines put into the cache.
+   */
+  private static long read(
+      @Nonnull final FileChannel fileChannel, @Nonnull final IdToKeyCache idToKeyCache)
+      throws IOException {
+    final long size = fileChannel.size();
+    final boolean isLastLineTerminated = size == 0 || endsWithLineSeparator(fileChannel, size);
+    fileChannel.position(0);
+    // the reader is not closed, since that would close the channel.
+    final BufferedReader reader = new BufferedReader(Channels.newReader(fileChannel, UTF_8.name()));
+
+    long numberOfLines = 0;
+    String line = reader.readLine();
+    while (line != null) {
+      final String nextLine = reader.readLine();
+      if (nextLine != null || isLastLineTerminated) {
+        final int separatorIndex = line.indexOf(SEPARATOR);
+        if (separatorIndex > 0 && separatorIndex < line.length() - 1) {
+          idToKeyCache.put(line.substring(0, separatorIndex), line.substring(separatorIndex + 1));
+          numberOfLines++;
+        }
+      }
+      line = nextLine;
+    }
+    return numberOfLines;
+  }
+
+  private void compact(
+      @Nonnull final FileChannel fileChannel, @Nonnull final IdToKeyCache idToKeyCache)
+      throws IOException {
+    fileChannel.truncate(0);
+    fileChannel.position(0);
+    // the writer is not closed, since that would close the channel.
+    final BufferedWriter writer = new BufferedWriter(Channels.newWriter(fileChannel, UTF_8.name()));
+    try {
+      idToKeyCache.forEach(
+          (id, key) -> {
+            try {
+              writer.write(id + SEPARATOR + key + LINE_SEPARATOR);
+            } catch (final IOException exception) {
+              throw new UncheckedIOException(exception);
+            }
+          });
+    } catch (final UncheckedIOException exception) {
+      throw exception.getCause();
+    }
+    writer.flush();
+    LOGGER.info(
+        format("Compacted the reference key file '%s' to %d lines.", file, idToKeyCache.getSize()));
+  }
+
+  private static boolean endsWithLineSeparator(
+      @Nonnull final FileChannel fileChannel, final long size) throws IOException {
+    final ByteBuffer lastByte = ByteBuffer.allocate(1);
+    return fileChannel.read(lastByte, size - 1) == 1 && lastByte.get(0) == LINE_SEPARATOR;
+  }
+
+  private static void write(
+      @Nonnull final FileChannel fileChannel, @Nonnull final ByteBuffer bytes, final long position)
+      throws IOException {
+    long writePosition = position;
+    while (bytes.hasRemaining()) {
+      writePosition += fileChannel.write(bytes, writePosition);
+    }
+  }
+
+  private void fail(@Nonnull final String operation, @Nullable final IOException exception) {
+    isFailed = true;
+    LOGGER.warn(
+        format(
+            "Failed to %s the reference key file '%s'. The keys of referenced resources will not "
+                + "be persisted for the next runs.",
+            operation, file),
+        exception);
+  }
+}
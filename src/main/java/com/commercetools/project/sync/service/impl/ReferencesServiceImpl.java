@@ -1,41 +1,181 @@
 package com.commercetools.project.sync.service.impl;
 
+import static com.commercetools.project.sync.model.request.CombinedResourceKeysRequest.QUERY_LIMIT;
+import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Comparator.naturalOrder;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import com.commercetools.project.sync.model.request.CombinedResourceKeysRequest;
+import com.commercetools.project.sync.model.request.ResourceKeysPageRequest;
+import com.commercetools.project.sync.model.request.ResourceKeysRequest;
 import com.commercetools.project.sync.model.response.CombinedResult;
+import com.commercetools.project.sync.model.response.ReferenceIdKey;
 import com.commercetools.project.sync.model.response.ResultingResourcesContainer;
+import com.commercetools.project.sync.service.CacheEvictionPolicy;
 import com.commercetools.project.sync.service.ReferencesService;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.channels.Channel;
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.states.State;
+import io.sphere.sdk.taxcategories.TaxCategory;
+import io.sphere.sdk.types.Type;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class ReferencesServiceImpl extends BaseServiceImpl implements ReferencesService {
-  private final Map<String, String> idToKey = new HashMap<>();
+  public static final int CACHE_SIZE_DEFAULT = 100_000;
+  public static final CacheEvictionPolicy CACHE_EVICTION_POLICY_DEFAULT =
+      CacheEvictionPolicy.LEAST_RECENTLY_USED;
+
+  public static final Duration IRRESOLVABLE_ID_TIME_TO_LIVE_DEFAULT = Duration.ofMinutes(5);
+
+  private static final String CATEGORIES_QUERY_NAME = "categories";
+  private static final String PRODUCT_TYPES_QUERY_NAME = "productTypes";
+
+  /**
+   * The names of the GraphQL queries of the reference types which are not fetched by a {@link
+   * CombinedResourceKeysRequest}.
+   */
+  private static final Map<String, String> QUERY_NAMES_BY_REFERENCE_TYPE_ID;
+
+  private static final Set<String> SUPPORTED_REFERENCE_TYPE_IDS;
+
+  static {
+    final Map<String, String> queryNamesByReferenceTypeId = new HashMap<>();
+    queryNamesByReferenceTypeId.put(TaxCategory.referenceTypeId(), "taxCategories");
+    queryNamesByReferenceTypeId.put(State.referenceTypeId(), "states");
+    queryNamesByReferenceTypeId.put(Channel.referenceTypeId(), "channels");
+    queryNamesByReferenceTypeId.put(Type.referenceTypeId(), "typeDefinitions");
+    QUERY_NAMES_BY_REFERENCE_TYPE_ID = unmodifiableMap(queryNamesByReferenceTypeId);
+
+    final Set<String> supportedReferenceTypeIds =
+        new HashSet<>(queryNamesByReferenceTypeId.keySet());
+    supportedReferenceTypeIds.add(Product.referenceTypeId());
+    supportedReferenceTypeIds.add(Category.referenceTypeId());
+    supportedReferenceTypeIds.add(ProductType.referenceTypeId());
+    SUPPORTED_REFERENCE_TYPE_IDS = unmodifiableSet(supportedReferenceTypeIds);
+  }
+
+  private final IdToKeyCache idToKeyCache;
+  private final IrresolvableIdCache irresolvableIdCache;
+  private final PersistentIdToKeyStore persistentIdToKeyStore;
+  private final ConcurrentMap<String, CompletableFuture<String>> pendingKeyLookups =
+      new ConcurrentHashMap<>();
+  private final AtomicLong coalescedLookupCount = new AtomicLong();
+  private final Executor callbackExecutor;
 
   public ReferencesServiceImpl(@Nonnull final SphereClient ctpClient) {
+    this(
+        ctpClient,
+        CACHE_SIZE_DEFAULT,
+        CACHE_EVICTION_POLICY_DEFAULT,
+        IRRESOLVABLE_ID_TIME_TO_LIVE_DEFAULT,
+        Clock.systemDefaultZone(),
+        null);
+  }
+
+  /**
+   * Creates a service which caches at most {@code cacheSize} id to key mappings. This bounds the
+   * memory used by the cache, no matter how many different resources are referenced by the synced
+   * resources.
+   *
+   * @param ctpClient the client of the CTP project the references point to.
+   * @param cacheSize the maximum number of id to key mappings which are cached.
+   * @param cacheEvictionPolicy defines which mapping is evicted once the cache is full.
+   * @param irresolvableIdTimeToLive the time the ids of non-existent resources or of resources
+   *     without a key are cached for, before they are fetched again. A zero duration disables the
+   *     caching of these ids.
+   * @param clock the clock used to compute the expiry of the cached irresolvable ids.
+   * @param persistentCacheDirectory the directory of the file the fetched id to key mappings of the
+   *     CTP project are appended to. The mappings persisted by previous runs are loaded into the
+   *     cache right away. If {@code null}, the mappings are not persisted.
+   */
+  public ReferencesServiceImpl(
+      @Nonnull final SphereClient ctpClient,
+      final int cacheSize,
+      @Nonnull final CacheEvictionPolicy cacheEvictionPolicy,
+      @Nonnull final Duration irresolvableIdTimeToLive,
+      @Nonnull final Clock clock,
+      @Nullable final Path persistentCacheDirectory) {
+    this(
+        ctpClient,
+        cacheSize,
+        cacheEvictionPolicy,
+        irresolvableIdTimeToLive,
+        clock,
+        persistentCacheDirectory,
+        Runnable::run);
+  }
+
+  /**
+   * Creates a service like {@link #ReferencesServiceImpl(SphereClient, int, CacheEvictionPolicy,
+   * Duration, Clock, Path)} which caches and persists the fetched keys on the supplied {@code
+   * callbackExecutor} instead of the I/O thread of the client which completed the requests.
+   *
+   * @param ctpClient the client of the CTP project the references point to.
+   * @param cacheSize the maximum number of id to key mappings which are cached.
+   * @param cacheEvictionPolicy defines which mapping is evicted once the cache is full.
+   * @param irresolvableIdTimeToLive the time the ids of non-existent resources or of resources
+   *     without a key are cached for, before they are fetched again.
+   * @param clock the clock used to compute the expiry of the cached irresolvable ids.
+   * @param persistentCacheDirectory the directory of the file the fetched id to key mappings are
+   *     appended to, or {@code null} if the mappings are not persisted.
+   * @param callbackExecutor the executor which processes the results of the requests.
+   */
+  public ReferencesServiceImpl(
+      @Nonnull final SphereClient ctpClient,
+      final int cacheSize,
+      @Nonnull final CacheEvictionPolicy cacheEvictionPolicy,
+      @Nonnull final Duration irresolvableIdTimeToLive,
+      @Nonnull final Clock clock,
+      @Nullable final Path persistentCacheDirectory,
+      @Nonnull final Executor callbackExecutor) {
     super(ctpClient);
+    this.callbackExecutor = callbackExecutor;
+    this.idToKeyCache = IdToKeyCache.of(cacheSize, cacheEvictionPolicy);
+    this.irresolvableIdCache = IrresolvableIdCache.of(cacheSize, irresolvableIdTimeToLive, clock);
+    this.persistentIdToKeyStore =
+        persistentCacheDirectory == null
+            ? null
+            : PersistentIdToKeyStore.of(
+                persistentCacheDirectory, ctpClient.getConfig().getProjectKey());
+    if (persistentIdToKeyStore != null) {
+      persistentIdToKeyStore.load(idToKeyCache);
+    }
   }
 
   /**
-   * Given 3 {@link Set}s of ids of products, categories and productTypes, this method first checks
-   * if there is a key mapping for each id in the {@code idToKey} cache. If there exists a mapping
-   * for all the ids, the method returns a future containing the existing {@code idToKey} cache as
-   * it is. If there is at least one missing mapping, it attempts to make a GraphQL request to CTP
-   * to fetch all ids and keys of every missing product, category or productType Id in a combined
-   * request. For each fetched key/id pair, the method will insert it into the {@code idToKey} cache
-   * and then return the cache in a {@link CompletableFuture} after the request is successful.
+   * Given 3 {@link Set}s of ids of products, categories and productTypes, this method returns the
+   * key mappings of these ids, as {@link #getIdToKeys(Map)} does for the corresponding reference
+   * type ids.
    *
    * @param productIds the product ids to find a key mapping for.
    * @param categoryIds the category ids to find a key mapping for.
    * @param productTypeIds the productType ids to find a key mapping for.
-   * @return a map of id to key representing products, categories and productTypes in the CTP
+   * @return a map of id to key of the supplied products, categories and productTypes in the CTP
    *     project defined by the injected {@code ctpClient}.
    */
   @Nonnull
@@ -45,46 +185,348 @@ public class ReferencesServiceImpl extends BaseServiceImpl implements References
       @Nonnull final Set<String> categoryIds,
       @Nonnull final Set<String> productTypeIds) {
 
-    final Set<String> nonCachedProductIds = getNonCachedIds(productIds);
-    final Set<String> nonCachedCategoryIds = getNonCachedIds(categoryIds);
-    final Set<String> nonCachedProductTypeIds = getNonCachedIds(productTypeIds);
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+    idsByReferenceTypeId.put(Product.referenceTypeId(), productIds);
+    idsByReferenceTypeId.put(Category.referenceTypeId(), categoryIds);
+    idsByReferenceTypeId.put(ProductType.referenceTypeId(), productTypeIds);
+    return getIdToKeys(idsByReferenceTypeId);
+  }
+
+  /**
+   * Given the ids of references grouped by the type id of the references, this method first checks
+   * if there is a key mapping for each id in the {@code idToKeyCache}, or if the id is cached as
+   * irresolvable in the {@code irresolvableIdCache}. If all the ids are cached, the method returns
+   * a future containing the cached mappings. If there is at least one non-cached id, it attempts to
+   * make GraphQL requests to CTP to fetch all ids and keys of every non-cached id. The ids of
+   * products, categories and productTypes are fetched by combined requests, the ids of the other
+   * supported reference types (taxCategories, states, channels and types) by one request per type.
+   * Since every GraphQL query is limited to {@link CombinedResourceKeysRequest#QUERY_LIMIT}
+   * results, the non-cached ids of each resource type are split into chunks of this size, which are
+   * fetched by concurrent requests. After all the requests are successful, each fetched key/id pair
+   * is inserted into the {@code idToKeyCache} and added to the returned mappings, whereas each id
+   * which was not found or has a blank key is inserted into the {@code irresolvableIdCache}, so
+   * that it is not fetched again before its time to live expires. If a persistent cache directory
+   * is set, the fetched mappings are also appended to the file of the CTP project in this
+   * directory.
+   *
+   * <p>Concurrent calls never fetch the same id twice: if the key of a non-cached id is already
+   * being fetched by another call, this call waits for the pending lookup of the other call instead
+   * of fetching the id again.
+   *
+   * <p>Note: the returned map only contains the mappings of the supplied ids, so it stays complete
+   * even if some of these mappings are evicted from the {@code idToKeyCache} in the meantime. Ids
+   * without a mapping point to a non-existent resource, to a resource without a key or to a
+   * resource of a reference type which is not supported.
+   *
+   * @param idsByReferenceTypeId the ids to find a key mapping for, grouped by the type id of their
+   *     references, e.g. {@code "tax-category"}.
+   * @return a map of id to key of the supplied ids in the CTP project defined by the injected
+   *     {@code ctpClient}.
+   */
+  @Nonnull
+  @Override
+  public CompletionStage<Map<String, String>> getIdToKeys(
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    final Map<String, String> idToKey = new HashMap<>();
+    final Map<String, CompletableFuture<String>> ownKeyLookups = new HashMap<>();
+    final Map<String, CompletableFuture<String>> pendingKeyLookupsOfOthers = new HashMap<>();
+    final Map<String, Set<String>> nonCachedIdsByReferenceTypeId = new HashMap<>();
+    idsByReferenceTypeId.forEach(
+        (referenceTypeId, ids) -> {
+          if (SUPPORTED_REFERENCE_TYPE_IDS.contains(referenceTypeId)) {
+            nonCachedIdsByReferenceTypeId.put(
+                referenceTypeId,
+                getNonCachedIds(ids, idToKey, ownKeyLookups, pendingKeyLookupsOfOthers));
+          }
+        });
 
     // if everything is cached, no need to make a request to CTP.
-    if (nonCachedProductIds.isEmpty()
-        && nonCachedCategoryIds.isEmpty()
-        && nonCachedProductTypeIds.isEmpty()) {
+    if (ownKeyLookups.isEmpty() && pendingKeyLookupsOfOthers.isEmpty()) {
       return CompletableFuture.completedFuture(idToKey);
     }
 
-    // TODO: Make sure each nonCached set has less than 500 resources, otherwise batch requests
-    // https://github.com/commercetools/commercetools-project-sync/issues/42
-    final CombinedResourceKeysRequest combinedResourceKeysRequest =
-        new CombinedResourceKeysRequest(
-            nonCachedProductIds, nonCachedCategoryIds, nonCachedProductTypeIds);
+    final CompletableFuture<Map<String, String>> fetchedIdToKeyFuture =
+        ownKeyLookups.isEmpty()
+            ? CompletableFuture.completedFuture(emptyMap())
+            // Fetching is started within a stage, so that an exception thrown by it synchronously
+            // still completes and removes the own key lookups which other calls may wait for.
+            : CompletableFuture.completedFuture(nonCachedIdsByReferenceTypeId)
+                .thenCompose(this::fetchKeys)
+                .whenComplete(
+                    (fetchedIdToKey, exception) ->
+                        completeKeyLookups(ownKeyLookups, fetchedIdToKey, exception));
 
-    return getCtpClient()
-        .execute(combinedResourceKeysRequest)
+    final List<CompletableFuture<?>> allKeyLookups =
+        new ArrayList<>(pendingKeyLookupsOfOthers.values());
+    allKeyLookups.add(fetchedIdToKeyFuture);
+
+    return CompletableFuture.allOf(allKeyLookups.toArray(new CompletableFuture[0]))
         .thenApply(
-            combinedResult -> {
-              cacheKeys(combinedResult);
+            ignoredResult -> {
+              idToKey.putAll(fetchedIdToKeyFuture.join());
+              pendingKeyLookupsOfOthers.forEach(
+                  (id, keyLookup) -> {
+                    final String key = keyLookup.join();
+                    if (key != null) {
+                      idToKey.put(id, key);
+                    }
+                  });
               return idToKey;
             });
   }
 
+  /**
+   * Fetches the keys of the supplied ids in chunks of at most {@link
+   * CombinedResourceKeysRequest#QUERY_LIMIT} ids per resource type and caches them.
+   */
   @Nonnull
-  private Set<String> getNonCachedIds(@Nonnull final Set<String> ids) {
-    return ids.stream().filter(id -> !idToKey.containsKey(id)).collect(Collectors.toSet());
+  private CompletableFuture<Map<String, String>> fetchKeys(
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    final List<Set<String>> productIdChunks =
+        chunk(idsByReferenceTypeId.getOrDefault(Product.referenceTypeId(), emptySet()));
+    final List<Set<String>> categoryIdChunks =
+        chunk(idsByReferenceTypeId.getOrDefault(Category.referenceTypeId(), emptySet()));
+    final List<Set<String>> productTypeIdChunks =
+        chunk(idsByReferenceTypeId.getOrDefault(ProductType.referenceTypeId(), emptySet()));
+    final int numberOfRequests =
+        Math.max(
+            productIdChunks.size(), Math.max(categoryIdChunks.size(), productTypeIdChunks.size()));
+
+    final List<CompletableFuture<CombinedResult>> combinedResultFutures =
+        IntStream.range(0, numberOfRequests)
+            .mapToObj(
+                index ->
+                    new CombinedResourceKeysRequest(
+                        getChunk(productIdChunks, index),
+                        getChunk(categoryIdChunks, index),
+                        getChunk(productTypeIdChunks, index)))
+            .map(request -> getCtpClient().execute(request).toCompletableFuture())
+            .collect(toList());
+
+    final List<Set<String>> otherIdChunks = new ArrayList<>();
+    final List<CompletableFuture<ResultingResourcesContainer>> otherResultFutures =
+        new ArrayList<>();
+    idsByReferenceTypeId.forEach(
+        (referenceTypeId, ids) -> {
+          final String resourceQueryName = QUERY_NAMES_BY_REFERENCE_TYPE_ID.get(referenceTypeId);
+          if (resourceQueryName != null) {
+            chunk(ids)
+                .forEach(
+                    idChunk -> {
+                      otherIdChunks.add(idChunk);
+                      otherResultFutures.add(
+                          getCtpClient()
+                              .execute(new ResourceKeysRequest(resourceQueryName, idChunk))
+                              .toCompletableFuture());
+                    });
+          }
+        });
+
+    final List<CompletableFuture<?>> allResultFutures = new ArrayList<>(combinedResultFutures);
+    allResultFutures.addAll(otherResultFutures);
+
+    return CompletableFuture.allOf(allResultFutures.toArray(new CompletableFuture[0]))
+        .thenApplyAsync(
+            ignoredResult -> {
+              final Map<String, String> fetchedIdToKey = new HashMap<>();
+              IntStream.range(0, numberOfRequests)
+                  .forEach(
+                      index -> {
+                        final CombinedResult combinedResult =
+                            combinedResultFutures.get(index).join();
+                        if (combinedResult != null) {
+                          cacheKeys(
+                              combinedResult.getProducts(),
+                              getChunk(productIdChunks, index),
+                              fetchedIdToKey);
+                          cacheKeys(
+                              combinedResult.getCategories(),
+                              getChunk(categoryIdChunks, index),
+                              fetchedIdToKey);
+                          cacheKeys(
+                              combinedResult.getProductTypes(),
+                              getChunk(productTypeIdChunks, index),
+                              fetchedIdToKey);
+                        }
+                      });
+              IntStream.range(0, otherResultFutures.size())
+                  .forEach(
+                      index ->
+                          cacheKeys(
+                              otherResultFutures.get(index).join(),
+                              otherIdChunks.get(index),
+                              fetchedIdToKey));
+              persist(fetchedIdToKey);
+              return fetchedIdToKey;
+            },
+            callbackExecutor);
   }
 
-  private void cacheKeys(@Nullable final CombinedResult combinedResult) {
-    if (combinedResult != null) {
-      cacheKeys(combinedResult.getProducts());
-      cacheKeys(combinedResult.getCategories());
-      cacheKeys(combinedResult.getProductTypes());
+  /**
+   * Completes the pending key lookups of this call with the fetched keys, or with {@code null} if
+   * no key was fetched for an id, and removes them from the {@code pendingKeyLookups}. Since the
+   * fetched keys are cached before, later calls find them in the cache.
+   */
+  private void completeKeyLookups(
+      @Nonnull final Map<String, CompletableFuture<String>> ownKeyLookups,
+      @Nullable final Map<String, String> fetchedIdToKey,
+      @Nullable final Throwable exception) {
+
+    ownKeyLookups.forEach(
+        (id, keyLookup) -> {
+          pendingKeyLookups.remove(id, keyLookup);
+          if (exception != null) {
+            keyLookup.completeExceptionally(exception);
+          } else {
+            keyLookup.complete(fetchedIdToKey.get(id));
+          }
+        });
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<Void> cacheAllCategoryAndProductTypeKeys() {
+    return CompletableFuture.allOf(
+        cacheAllKeys(CATEGORIES_QUERY_NAME, null).toCompletableFuture(),
+        cacheAllKeys(PRODUCT_TYPES_QUERY_NAME, null).toCompletableFuture());
+  }
+
+  /**
+   * Fetches and caches the page of ids and keys after {@code lastId} and then, unless it is the
+   * last page, the next page.
+   */
+  @Nonnull
+  private CompletionStage<Void> cacheAllKeys(
+      @Nonnull final String resourceQueryName, @Nullable final String lastId) {
+
+    return getCtpClient()
+        .execute(new ResourceKeysPageRequest(resourceQueryName, lastId))
+        .thenComposeAsync(
+            resultsContainer -> {
+              if (resultsContainer == null) {
+                return CompletableFuture.completedFuture(null);
+              }
+              final Set<ReferenceIdKey> results = resultsContainer.getResults();
+              final Map<String, String> fetchedIdToKey = new HashMap<>();
+              results.forEach(
+                  referenceIdKey -> {
+                    if (isBlank(referenceIdKey.getKey())) {
+                      irresolvableIdCache.put(referenceIdKey.getId());
+                    } else {
+                      idToKeyCache.put(referenceIdKey.getId(), referenceIdKey.getKey());
+                      fetchedIdToKey.put(referenceIdKey.getId(), referenceIdKey.getKey());
+                    }
+                  });
+              persist(fetchedIdToKey);
+              if (results.size() < ResourceKeysPageRequest.PAGE_SIZE) {
+                return CompletableFuture.completedFuture(null);
+              }
+              final String greatestId =
+                  results.stream().map(ReferenceIdKey::getId).max(naturalOrder()).orElse(lastId);
+              return cacheAllKeys(resourceQueryName, greatestId);
+            },
+            callbackExecutor);
+  }
+
+  @Nonnull
+  @Override
+  public String getCacheReportMessage() {
+    return format(
+        "The id to key cache contains %d of at most %d mappings, using about %d KB of memory "
+            + "(%d cache hits, %d cache misses and %d evictions). "
+            + "%d ids are cached as irresolvable (%d cache hits). "
+            + "%d lookups waited for the pending lookup of the same id.",
+        idToKeyCache.getSize(),
+        idToKeyCache.getMaxSize(),
+        idToKeyCache.estimateFootprintBytes() / 1024,
+        idToKeyCache.getHitCount(),
+        idToKeyCache.getMissCount(),
+        idToKeyCache.getEvictionCount(),
+        irresolvableIdCache.getSize(),
+        irresolvableIdCache.getHitCount(),
+        coalescedLookupCount.get());
+  }
+
+  @Override
+  public void close() {
+    if (persistentIdToKeyStore != null) {
+      persistentIdToKeyStore.close();
     }
   }
 
-  private void cacheKeys(@Nullable final ResultingResourcesContainer resultsContainer) {
+  /**
+   * Adds the cached key mappings of the supplied ids to {@code idToKey} and returns the ids which
+   * have neither a cached key mapping, nor are cached as irresolvable, nor are being fetched by
+   * another call. The key lookups of the returned ids are registered in {@code ownKeyLookups} and
+   * as pending, whereas the pending key lookups of other calls are added to {@code
+   * pendingKeyLookupsOfOthers}.
+   */
+  @Nonnull
+  private Set<String> getNonCachedIds(
+      @Nonnull final Set<String> ids,
+      @Nonnull final Map<String, String> idToKey,
+      @Nonnull final Map<String, CompletableFuture<String>> ownKeyLookups,
+      @Nonnull final Map<String, CompletableFuture<String>> pendingKeyLookupsOfOthers) {
+
+    final Set<String> nonCachedIds = new HashSet<>();
+    ids.forEach(
+        id -> {
+          final String key = idToKeyCache.get(id);
+          if (key != null) {
+            idToKey.put(id, key);
+          } else if (!irresolvableIdCache.contains(id)) {
+            final CompletableFuture<String> keyLookup = new CompletableFuture<>();
+            final CompletableFuture<String> pendingKeyLookup =
+                pendingKeyLookups.putIfAbsent(id, keyLookup);
+            if (pendingKeyLookup == null) {
+              ownKeyLookups.put(id, keyLookup);
+              nonCachedIds.add(id);
+            } else {
+              coalescedLookupCount.incrementAndGet();
+              pendingKeyLookupsOfOthers.put(id, pendingKeyLookup);
+            }
+          }
+        });
+    return nonCachedIds;
+  }
+
+  /**
+   * Splits the supplied ids into chunks of at most {@link CombinedResourceKeysRequest#QUERY_LIMIT}
+   * ids, so that every chunk fits into the result limit of a single GraphQL query.
+   */
+  @Nonnull
+  private static List<Set<String>> chunk(@Nonnull final Set<String> ids) {
+    final List<Set<String>> chunks = new ArrayList<>();
+    Set<String> chunk = new HashSet<>();
+    for (final String id : ids) {
+      if (chunk.size() == QUERY_LIMIT) {
+        chunks.add(chunk);
+        chunk = new HashSet<>();
+      }
+      chunk.add(id);
+    }
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+
+  @Nonnull
+  private static Set<String> getChunk(
+      @Nonnull final List<Set<String>> chunks, final int chunkIndex) {
+    return chunkIndex < chunks.size() ? chunks.get(chunkIndex) : emptySet();
+  }
+
+  /**
+   * Caches the keys of the fetched resources and adds them to {@code fetchedIdToKey}. The requested
+   * ids which were not fetched, or have a blank key, are cached as irresolvable.
+   */
+  private void cacheKeys(
+      @Nullable final ResultingResourcesContainer resultsContainer,
+      @Nonnull final Set<String> requestedIds,
+      @Nonnull final Map<String, String> fetchedIdToKey) {
     if (resultsContainer != null) {
       resultsContainer
           .getResults()
@@ -93,9 +535,20 @@ public class ReferencesServiceImpl extends BaseServiceImpl implements References
                 final String key = referenceIdKey.getKey();
                 final String id = referenceIdKey.getId();
                 if (!isBlank(key)) {
-                  idToKey.put(id, key);
+                  idToKeyCache.put(id, key);
+                  fetchedIdToKey.put(id, key);
                 }
               });
+      requestedIds
+          .stream()
+          .filter(id -> !fetchedIdToKey.containsKey(id))
+          .forEach(irresolvableIdCache::put);
+    }
+  }
+
+  private void persist(@Nonnull final Map<String, String> fetchedIdToKey) {
+    if (persistentIdToKeyStore != null) {
+      persistentIdToKeyStore.append(fetchedIdToKey);
     }
   }
 }
@@ -0,0 +1,176 @@
+package com.commercetools.project.sync.service.impl;
+
+import static java.util.Optional.ofNullable;
+
+import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.model.response.SyncCheckpoint;
+import com.commercetools.project.sync.service.CustomObjectService;
+import io.sphere.sdk.customobjects.CustomObject;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link CustomObjectService} for the sync modules which are started together by a single run,
+ * e.g. of all modules. The current CTP timestamp and the last sync custom objects of all these sync
+ * modules are fetched once when the session is started, with one request each, instead of a
+ * timestamp upsert and a query per sync module. All sync modules of the session then sync the
+ * resources modified up to the same CTP timestamp. All other calls are delegated.
+ */
+public final class SyncSessionCustomObjectService implements CustomObjectService {
+  public static final String SYNC_SESSION_NAME = "syncSession";
+
+  private final CustomObjectService delegate;
+  private final String sourceProjectKey;
+  private final String runnerName;
+  private final Set<String> syncModuleNames;
+  private final ZonedDateTime currentCtpTimestamp;
+  private final Map<String, CustomObject<LastSyncCustomObject>> lastSyncCustomObjectsBySyncModule;
+
+  private SyncSessionCustomObjectService(
+      @Nonnull final CustomObjectService delegate,
+      @Nonnull final String sourceProjectKey,
+      @Nullable final String runnerName,
+      @Nonnull final Set<String> syncModuleNames,
+      @Nonnull final ZonedDateTime currentCtpTimestamp,
+      @Nonnull final Map<String, CustomObject<LastSyncCustomObject>> lastSyncCustomObjects) {
+    this.delegate = delegate;
+    this.sourceProjectKey = sourceProjectKey;
+    this.runnerName = runnerName;
+    this.syncModuleNames = syncModuleNames;
+    this.currentCtpTimestamp = currentCtpTimestamp;
+    this.lastSyncCustomObjectsBySyncModule = lastSyncCustomObjects;
+  }
+
+  /**
+   * Starts a sync session by fetching the current CTP timestamp and the last sync custom objects of
+   * the supplied sync modules concurrently, using the supplied {@code delegate}.
+   *
+   * @param delegate the service used to fetch the session data and to which all other calls are
+   *     delegated.
+   * @param sourceProjectKey the source project from which the data is coming.
+   * @param syncModuleNames the names of the resources synced in this session. E.g. ProductSync,
+   *     CategorySync, etc..
+   * @param runnerName the name of this specific running sync instance defined by the user.
+   * @return a {@link CompletionStage} containing the service of the started session.
+   */
+  @Nonnull
+  public static CompletionStage<CustomObjectService> start(
+      @Nonnull final CustomObjectService delegate,
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final Collection<String> syncModuleNames,
+      @Nullable final String runnerName) {
+
+    final CompletableFuture<ZonedDateTime> currentCtpTimestampStage =
+        delegate.getCurrentCtpTimestamp(runnerName, SYNC_SESSION_NAME).toCompletableFuture();
+
+    return delegate
+        .getLastSyncCustomObjects(sourceProjectKey, syncModuleNames, runnerName)
+        .thenCombine(
+            currentCtpTimestampStage,
+            (lastSyncCustomObjects, currentCtpTimestamp) ->
+                new SyncSessionCustomObjectService(
+                    delegate,
+                    sourceProjectKey,
+                    runnerName,
+                    new HashSet<>(syncModuleNames),
+                    currentCtpTimestamp,
+                    lastSyncCustomObjects));
+  }
+
+  /**
+   * Gets the CTP timestamp fetched when the session was started, if the supplied sync module
+   * belongs to the session. Otherwise, the current CTP timestamp is fetched by the delegate.
+   */
+  @Nonnull
+  @Override
+  public CompletionStage<ZonedDateTime> getCurrentCtpTimestamp(
+      @Nullable final String runnerName, @Nonnull final String syncModuleName) {
+
+    if (isSessionModule(runnerName, syncModuleName)) {
+      return CompletableFuture.completedFuture(currentCtpTimestamp);
+    }
+    return delegate.getCurrentCtpTimestamp(runnerName, syncModuleName);
+  }
+
+  /**
+   * Gets the last sync custom object fetched when the session was started, if the supplied sync
+   * module belongs to the session. Otherwise, it is queried by the delegate.
+   */
+  @Nonnull
+  @Override
+  public CompletionStage<Optional<CustomObject<LastSyncCustomObject>>> getLastSyncCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName) {
+
+    if (this.sourceProjectKey.equals(sourceProjectKey)
+        && isSessionModule(runnerName, syncModuleName)) {
+      return CompletableFuture.completedFuture(
+          ofNullable(lastSyncCustomObjectsBySyncModule.get(syncModuleName)));
+    }
+    return delegate.getLastSyncCustomObject(sourceProjectKey, syncModuleName, runnerName);
+  }
+
+  private boolean isSessionModule(
+      @Nullable final String runnerName, @Nonnull final String syncModuleName) {
+    return Objects.equals(this.runnerName, runnerName) && syncModuleNames.contains(syncModuleName);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<Map<String, CustomObject<LastSyncCustomObject>>> getLastSyncCustomObjects(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final Collection<String> syncModuleNames,
+      @Nullable final String runnerName) {
+    return delegate.getLastSyncCustomObjects(sourceProjectKey, syncModuleNames, runnerName);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<CustomObject<LastSyncCustomObject>> createLastSyncCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final LastSyncCustomObject lastSyncCustomObject) {
+    return delegate.createLastSyncCustomObject(
+        sourceProjectKey, syncModuleName, runnerName, lastSyncCustomObject);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<Optional<CustomObject<SyncCheckpoint>>> getSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName) {
+    return delegate.getSyncCheckpointCustomObject(sourceProjectKey, syncModuleName, runnerName);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<CustomObject<SyncCheckpoint>> createSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName,
+      @Nonnull final SyncCheckpoint syncCheckpoint) {
+    return delegate.createSyncCheckpointCustomObject(
+        sourceProjectKey, syncModuleName, runnerName, syncCheckpoint);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<CustomObject<SyncCheckpoint>> deleteSyncCheckpointCustomObject(
+      @Nonnull final String sourceProjectKey,
+      @Nonnull final String syncModuleName,
+      @Nullable final String runnerName) {
+    return delegate.deleteSyncCheckpointCustomObject(sourceProjectKey, syncModuleName, runnerName);
+  }
+}
@@ -1,6 +1,8 @@
 package com.commercetools.project.sync.type;
 
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.SyncerExecutors;
+import com.commercetools.project.sync.SyncerOptions;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.types.TypeSync;
@@ -32,8 +34,18 @@ public final class TypeSyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final CustomObjectService customObjectService,
-      @Nonnull final Clock clock) {
-    super(typeSync, sourceClient, targetClient, customObjectService, clock);
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final SyncerExecutors executors) {
+    super(
+        typeSync,
+        sourceClient,
+        targetClient,
+        customObjectService,
+        clock,
+        syncerOptions,
+        null,
+        executors);
   }
 
   @Nonnull
@@ -41,18 +53,69 @@ public final class TypeSyncer
       @Nonnull final SphereClient sourceClient,
       @Nonnull final SphereClient targetClient,
       @Nonnull final Clock clock) {
+    return of(sourceClient, targetClient, clock, SyncerOptions.ofDefaults());
+  }
+
+  @Nonnull
+  public static TypeSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        new CustomObjectServiceImpl(
+            targetClient, syncerOptions.getShard(), syncerOptions.getShardCount()));
+  }
+
+  /**
+   * Instantiates a {@link TypeSyncer} which persists and fetches the last sync timestamps and
+   * checkpoints with the supplied {@code customObjectService}, e.g. one shared by the sync modules
+   * of a sync session.
+   */
+  @Nonnull
+  public static TypeSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService) {
+    return of(
+        sourceClient,
+        targetClient,
+        clock,
+        syncerOptions,
+        customObjectService,
+        SyncerExecutors.of(syncerOptions));
+  }
+
+  /**
+   * Instantiates a {@link TypeSyncer} which runs on the supplied {@code executors}, e.g. ones
+   * shared by the syncers of all target projects.
+   */
+  @Nonnull
+  public static TypeSyncer of(
+      @Nonnull final SphereClient sourceClient,
+      @Nonnull final SphereClient targetClient,
+      @Nonnull final Clock clock,
+      @Nonnull final SyncerOptions syncerOptions,
+      @Nonnull final CustomObjectService customObjectService,
+      @Nonnull final SyncerExecutors executors) {
 
     final TypeSyncOptions syncOptions =
         TypeSyncOptionsBuilder.of(targetClient)
+            .batchSize(syncerOptions.getBatchSize())
             .errorCallback(LOGGER::error)
             .warningCallback(LOGGER::warn)
             .build();
 
     final TypeSync typeSync = new TypeSync(syncOptions);
 
-    final CustomObjectService customObjectService = new CustomObjectServiceImpl(targetClient);
-
-    return new TypeSyncer(typeSync, sourceClient, targetClient, customObjectService, clock);
+    return new TypeSyncer(
+        typeSync, sourceClient, targetClient, customObjectService, clock, syncerOptions, executors);
   }
 
   @Nonnull
@@ -0,0 +1,165 @@
+package com.commercetools.project.sync.util;
+
+import static java.lang.String.format;
+
+import io.sphere.sdk.queries.QueryDsl;
+import io.sphere.sdk.queries.QueryPredicate;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+
+public final class QueryPartitionUtils {
+
+  /**
+   * The maximum number of id range partitions. The ranges are bounded by the first two hex digits
+   * of the resource ids, which allows up to 256 disjoint ranges.
+   */
+  public static final int MAX_ID_RANGE_PARTITIONS = 256;
+
+  /** The maximum number of time windows a time range is split into. */
+  public static final int MAX_TIME_WINDOWS = 256;
+
+  /**
+   * Splits the resources matched by the supplied {@code query} into {@code partitions} disjoint
+   * slices of similar size, by adding an id range predicate to the query of every slice. Since the
+   * resource ids are random UUIDs, the ranges are bounded by the first two hex digits of the ids.
+   * The first range has no lower bound and the last range has no upper bound, so that together the
+   * slices match exactly the same resources as the supplied query.
+   *
+   * @param query the query to split into partitions.
+   * @param partitions the number of partitions, which is expected to be between 1 and {@link
+   *     #MAX_ID_RANGE_PARTITIONS}.
+   * @param <T> the type of the resources queried.
+   * @param <C> the type of the query.
+   * @return a list containing a query for every partition, or a list containing only the supplied
+   *     query if {@code partitions} is less than 2.
+   */
+  @Nonnull
+  public static <T, C extends QueryDsl<T, C>> List<C> partitionByIdRanges(
+      @Nonnull final C query, final int partitions) {
+    return partitionByIdRanges(query, 1, 1, partitions);
+  }
+
+  /**
+   * Splits the resources of the shard {@code shard} of {@code shardCount} matched by the supplied
+   * {@code query} into {@code partitions} disjoint slices of similar size. The shards split the id
+   * ranges in the same way as {@link #partitionByIdRanges(QueryDsl, int)} does, so that the shards
+   * of all runner processes together match exactly the same resources as the supplied query. The id
+   * range of the shard is then split into the partitions.
+   *
+   * @param query the query to split into partitions.
+   * @param shard the number of the shard, which is expected to be between 1 and {@code shardCount}.
+   * @param shardCount the number of shards, which is expected to be between 1 and {@link
+   *     #MAX_ID_RANGE_PARTITIONS}.
+   * @param partitions the number of partitions of the shard. Since the id range of a shard can not
+   *     be split further than the first two hex digits of the ids, there are at most as many
+   *     partitions as the shard has id range bounds.
+   * @param <T> the type of the resources queried.
+   * @param <C> the type of the query.
+   * @return a list containing a query for every partition of the shard, or a list containing only
+   *     the supplied query if there is only one shard and less than 2 partitions.
+   */
+  @Nonnull
+  public static <T, C extends QueryDsl<T, C>> List<C> partitionByIdRanges(
+      @Nonnull final C query, final int shard, final int shardCount, final int partitions) {
+
+    final int boundedShardCount = Math.min(Math.max(shardCount, 1), MAX_ID_RANGE_PARTITIONS);
+    final int boundedShard = Math.min(Math.max(shard, 1), boundedShardCount);
+    final int shardLowerBound = getIdRangeBound(boundedShard - 1, boundedShardCount);
+    final int shardUpperBound = getIdRangeBound(boundedShard, boundedShardCount);
+    final int shardRange = shardUpperBound - shardLowerBound;
+    final int boundedPartitions = Math.min(Math.max(partitions, 1), shardRange);
+
+    final List<C> partitionQueries = new ArrayList<>(boundedPartitions);
+    for (int partition = 0; partition < boundedPartitions; partition++) {
+      final int lowerBound =
+          shardLowerBound + getIdRangeBound(partition, boundedPartitions, shardRange);
+      final int upperBound =
+          shardLowerBound + getIdRangeBound(partition + 1, boundedPartitions, shardRange);
+      C partitionQuery = query;
+      if (lowerBound > 0) {
+        partitionQuery =
+            partitionQuery.plusPredicates(QueryPredicate.of(format("id >= \"%02x\"", lowerBound)));
+      }
+      if (upperBound < MAX_ID_RANGE_PARTITIONS) {
+        partitionQuery =
+            partitionQuery.plusPredicates(QueryPredicate.of(format("id < \"%02x\"", upperBound)));
+      }
+      partitionQueries.add(partitionQuery);
+    }
+    return partitionQueries;
+  }
+
+  /**
+   * Builds the predicate restricting the ids to the id range of the shard {@code shard} of {@code
+   * shardCount}, which is the same id range as the one split into partitions by {@link
+   * #partitionByIdRanges(QueryDsl, int, int, int)}. It is needed where the ids of the shard can not
+   * be restricted by a predicate on the {@code id} field of the query itself, e.g. for the ids of
+   * the resources referenced by messages.
+   *
+   * @param shard the number of the shard, which is expected to be between 1 and {@code shardCount}.
+   * @param shardCount the number of shards, which is expected to be between 1 and {@link
+   *     #MAX_ID_RANGE_PARTITIONS}.
+   * @return an optional containing the id range predicate of the shard, or an empty optional if
+   *     there is only one shard.
+   */
+  @Nonnull
+  public static Optional<String> getShardIdRangePredicate(final int shard, final int shardCount) {
+
+    final int boundedShardCount = Math.min(Math.max(shardCount, 1), MAX_ID_RANGE_PARTITIONS);
+    final int boundedShard = Math.min(Math.max(shard, 1), boundedShardCount);
+    final int lowerBound = getIdRangeBound(boundedShard - 1, boundedShardCount);
+    final int upperBound = getIdRangeBound(boundedShard, boundedShardCount);
+    if (lowerBound > 0 && upperBound < MAX_ID_RANGE_PARTITIONS) {
+      return Optional.of(format("id >= \"%02x\" AND id < \"%02x\"", lowerBound, upperBound));
+    }
+    if (lowerBound > 0) {
+      return Optional.of(format("id >= \"%02x\"", lowerBound));
+    }
+    if (upperBound < MAX_ID_RANGE_PARTITIONS) {
+      return Optional.of(format("id < \"%02x\"", upperBound));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Splits the time range between {@code lowerBound} and {@code upperBound} into {@code windows}
+   * consecutive windows of equal duration and returns the bounds of these windows. The first
+   * returned bound is {@code lowerBound}, the last one is {@code upperBound} and every other bound
+   * is the upper bound of a window and the lower bound of the following window.
+   *
+   * @param lowerBound the start of the time range.
+   * @param upperBound the end of the time range.
+   * @param windows the number of windows, which is expected to be at least 1.
+   * @return a list containing {@code windows + 1} ascending bounds.
+   */
+  @Nonnull
+  public static List<ZonedDateTime> getTimeWindowBounds(
+      @Nonnull final ZonedDateTime lowerBound,
+      @Nonnull final ZonedDateTime upperBound,
+      final int windows) {
+
+    final int boundedWindows = Math.max(windows, 1);
+    final Duration windowDuration =
+        Duration.between(lowerBound, upperBound).dividedBy(boundedWindows);
+    final List<ZonedDateTime> bounds = new ArrayList<>(boundedWindows + 1);
+    for (int window = 0; window < boundedWindows; window++) {
+      bounds.add(lowerBound.plus(windowDuration.multipliedBy(window)));
+    }
+    bounds.add(upperBound);
+    return bounds;
+  }
+
+  private static int getIdRangeBound(final int partition, final int partitions) {
+    return getIdRangeBound(partition, partitions, MAX_ID_RANGE_PARTITIONS);
+  }
+
+  private static int getIdRangeBound(final int partition, final int partitions, final int range) {
+    return partition * range / partitions;
+  }
+
+  private QueryPartitionUtils() {}
+}
@@ -0,0 +1,143 @@
+package com.commercetools.project.sync.util;
+
+import static java.util.stream.Collectors.toList;
+
+import io.sphere.sdk.models.AssetDraft;
+import io.sphere.sdk.models.AssetDraftBuilder;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.types.CustomFieldsDraft;
+import io.sphere.sdk.types.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Helpers to replace the ids of the references of drafts with the keys resolved by the {@link
+ * com.commercetools.project.sync.service.ReferencesService}, for the drafts built from resources
+ * whose references are not expanded. Like the reference replacement of the commercetools-sync
+ * library, the keys are put into the id fields of the references. A reference whose id has no key
+ * mapping keeps its id.
+ */
+public final class ReferenceKeyReplacementUtils {
+
+  /**
+   * Adds the id of the supplied reference to {@code idsByReferenceTypeId}, if the reference is set.
+   *
+   * @param referenceTypeId the type id of the reference, e.g. {@code "channel"}.
+   * @param resourceIdentifier the reference to add the id of.
+   * @param idsByReferenceTypeId the ids collected so far, grouped by the type id of the references.
+   */
+  public static void addReferenceId(
+      @Nonnull final String referenceTypeId,
+      @Nullable final ResourceIdentifier<?> resourceIdentifier,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    if (resourceIdentifier != null && resourceIdentifier.getId() != null) {
+      idsByReferenceTypeId
+          .computeIfAbsent(referenceTypeId, typeId -> new HashSet<>())
+          .add(resourceIdentifier.getId());
+    }
+  }
+
+  /**
+   * Adds the id of the custom type of the supplied custom fields to {@code idsByReferenceTypeId},
+   * if the custom fields are set.
+   *
+   * @param customFieldsDraft the custom fields to add the type id of.
+   * @param idsByReferenceTypeId the ids collected so far, grouped by the type id of the references.
+   */
+  public static void addCustomTypeId(
+      @Nullable final CustomFieldsDraft customFieldsDraft,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    if (customFieldsDraft != null) {
+      addReferenceId(Type.referenceTypeId(), customFieldsDraft.getType(), idsByReferenceTypeId);
+    }
+  }
+
+  /**
+   * Adds the ids of the custom types of the supplied assets to {@code idsByReferenceTypeId}.
+   *
+   * @param assetDrafts the assets to add the custom type ids of.
+   * @param idsByReferenceTypeId the ids collected so far, grouped by the type id of the references.
+   */
+  public static void addAssetCustomTypeIds(
+      @Nullable final List<AssetDraft> assetDrafts,
+      @Nonnull final Map<String, Set<String>> idsByReferenceTypeId) {
+
+    if (assetDrafts != null) {
+      assetDrafts.forEach(
+          assetDraft -> addCustomTypeId(assetDraft.getCustom(), idsByReferenceTypeId));
+    }
+  }
+
+  /**
+   * Gets the key of the id of the supplied reference.
+   *
+   * @param resourceIdentifier the reference to get the key of.
+   * @param idToKey the keys of the referenced ids.
+   * @return the key of the referenced id, or {@code null} if the reference is not set or its id has
+   *     no key mapping.
+   */
+  @Nullable
+  public static String getKey(
+      @Nullable final ResourceIdentifier<?> resourceIdentifier,
+      @Nonnull final Map<String, String> idToKey) {
+
+    return resourceIdentifier == null || resourceIdentifier.getId() == null
+        ? null
+        : idToKey.get(resourceIdentifier.getId());
+  }
+
+  /**
+   * Replaces the id of the custom type of the supplied custom fields with its key.
+   *
+   * @param customFieldsDraft the custom fields which reference the custom type by id.
+   * @param idToKey the keys of the referenced ids.
+   * @return a copy of the custom fields which references the key of the custom type, or the
+   *     supplied custom fields if they are not set or the type id has no key mapping.
+   */
+  @Nullable
+  public static CustomFieldsDraft replaceCustomTypeIdWithKey(
+      @Nullable final CustomFieldsDraft customFieldsDraft,
+      @Nonnull final Map<String, String> idToKey) {
+
+    if (customFieldsDraft == null) {
+      return null;
+    }
+    final String typeKey = getKey(customFieldsDraft.getType(), idToKey);
+    return typeKey == null
+        ? customFieldsDraft
+        : CustomFieldsDraft.ofTypeIdAndJson(typeKey, customFieldsDraft.getFields());
+  }
+
+  /**
+   * Replaces the ids of the custom types of the supplied assets with their keys.
+   *
+   * @param assetDrafts the assets which reference their custom types by id.
+   * @param idToKey the keys of the referenced ids.
+   * @return copies of the assets which reference the keys of their custom types, or {@code null} if
+   *     no assets are supplied.
+   */
+  @Nullable
+  public static List<AssetDraft> replaceAssetCustomTypeIdsWithKeys(
+      @Nullable final List<AssetDraft> assetDrafts, @Nonnull final Map<String, String> idToKey) {
+
+    if (assetDrafts == null) {
+      return null;
+    }
+    return assetDrafts
+        .stream()
+        .map(
+            assetDraft ->
+                AssetDraftBuilder.of(assetDraft)
+                    .custom(replaceCustomTypeIdWithKey(assetDraft.getCustom(), idToKey))
+                    .build())
+        .collect(toList());
+  }
+
+  private ReferenceKeyReplacementUtils() {}
+}
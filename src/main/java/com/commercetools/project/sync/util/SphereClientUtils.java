@@ -1,10 +1,13 @@
 package com.commercetools.project.sync.util;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.client.SphereClientConfig;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import javax.annotation.Nonnull;
 
@@ -16,6 +19,11 @@ public final class SphereClientUtils {
       ClientConfigurationUtils.createClient(CTP_SOURCE_CLIENT_CONFIG);
   public static final SphereClient CTP_TARGET_CLIENT =
       ClientConfigurationUtils.createClient(CTP_TARGET_CLIENT_CONFIG);
+  public static final List<SphereClient> CTP_ADDITIONAL_TARGET_CLIENTS =
+      getCtpAdditionalTargetClientConfigs()
+          .stream()
+          .map(ClientConfigurationUtils::createClient)
+          .collect(toList());
 
   private static SphereClientConfig getCtpSourceClientConfig() {
     return getCtpClientConfig("source.", "SOURCE");
@@ -25,6 +33,41 @@ public final class SphereClientUtils {
     return getCtpClientConfig("target.", "TARGET");
   }
 
+  /**
+   * Gets the configs of the additional target projects, which are numbered consecutively from 2 on,
+   * e.g. with the properties prefix "target2." or the environment variables prefix "TARGET_2".
+   */
+  @Nonnull
+  private static List<SphereClientConfig> getCtpAdditionalTargetClientConfigs() {
+    final List<SphereClientConfig> clientConfigs = new ArrayList<>();
+    for (int target = 2;
+        isCtpClientConfigured("target" + target + ".", "TARGET_" + target);
+        target++) {
+      clientConfigs.add(getCtpClientConfig("target" + target + ".", "TARGET_" + target));
+    }
+    return clientConfigs;
+  }
+
+  private static boolean isCtpClientConfigured(
+      @Nonnull final String propertiesPrefix, @Nonnull final String envVarPrefix) {
+    try {
+      final InputStream propStream =
+          SphereClientUtils.class.getClassLoader().getResourceAsStream(CTP_CREDENTIALS_PROPERTIES);
+      if (propStream != null) {
+        final Properties ctpCredsProperties = new Properties();
+        ctpCredsProperties.load(propStream);
+        return ctpCredsProperties.containsKey(propertiesPrefix + "projectKey");
+      }
+    } catch (Exception exception) {
+      throw new IllegalStateException(
+          format(
+              "CTP credentials file \"%s\" found, but can't be read", CTP_CREDENTIALS_PROPERTIES),
+          exception);
+    }
+
+    return System.getenv(envVarPrefix + "_PROJECT_KEY") != null;
+  }
+
   private static SphereClientConfig getCtpClientConfig(
       @Nonnull final String propertiesPrefix, @Nonnull final String envVarPrefix) {
     try {
@@ -0,0 +1,73 @@
+package com.commercetools.project.sync;
+
+import static com.commercetools.project.sync.AdaptivePageSizer.MIN_PAGE_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptivePageSizerTest {
+
+  @Test
+  void getPageSize_WithoutTargetLatency_ShouldAlwaysReturnConfiguredPageSize() {
+    // preparation
+    final AdaptivePageSizer pageSizer =
+        AdaptivePageSizer.of(SyncerOptionsBuilder.of().pageSize(200).build());
+
+    // test
+    pageSizer.onPageProcessed(200, 100_000);
+
+    // assertion
+    assertThat(pageSizer.getPageSize()).isEqualTo(200);
+  }
+
+  @Test
+  void onPageProcessed_WithSlowPage_ShouldShrinkPageSizeByAtMostHalf() {
+    // preparation
+    final AdaptivePageSizer pageSizer =
+        AdaptivePageSizer.of(
+            SyncerOptionsBuilder.of().pageSize(400).targetPageLatencyMillis(1000).build());
+
+    // test
+    pageSizer.onPageProcessed(400, 2000);
+    final int pageSizeAfterSlowPage = pageSizer.getPageSize();
+    pageSizer.onPageProcessed(200, 20_000);
+
+    // assertions
+    assertThat(pageSizeAfterSlowPage).isEqualTo(200);
+    assertThat(pageSizer.getPageSize()).isEqualTo(100);
+  }
+
+  @Test
+  void onPageProcessed_WithFastPages_ShouldGrowPageSizeUpToConfiguredPageSize() {
+    // preparation
+    final AdaptivePageSizer pageSizer =
+        AdaptivePageSizer.of(
+            SyncerOptionsBuilder.of().pageSize(400).targetPageLatencyMillis(1000).build());
+    pageSizer.onPageProcessed(400, 4000);
+
+    // test
+    pageSizer.onPageProcessed(200, 10);
+    final int pageSizeAfterFastPage = pageSizer.getPageSize();
+    pageSizer.onPageProcessed(400, 10);
+
+    // assertions
+    assertThat(pageSizeAfterFastPage).isEqualTo(400);
+    assertThat(pageSizer.getPageSize()).isEqualTo(400);
+  }
+
+  @Test
+  void onPageProcessed_WithVerySlowPages_ShouldNotShrinkBelowMinPageSize() {
+    // preparation
+    final AdaptivePageSizer pageSizer =
+        AdaptivePageSizer.of(
+            SyncerOptionsBuilder.of().pageSize(40).targetPageLatencyMillis(10).build());
+
+    // test
+    pageSizer.onPageProcessed(40, 100_000);
+    pageSizer.onPageProcessed(20, 100_000);
+    pageSizer.onPageProcessed(10, 100_000);
+
+    // assertion
+    assertThat(pageSizer.getPageSize()).isEqualTo(MIN_PAGE_SIZE);
+  }
+}
@@ -1,26 +1,44 @@
 package com.commercetools.project.sync;
 
+import static com.commercetools.project.sync.CliRunner.CONCURRENCY_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.CONCURRENCY_OPTION_SHORT;
+import static com.commercetools.project.sync.CliRunner.DAEMON_INTERVAL_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.DAEMON_INTERVAL_OPTION_SHORT;
+import static com.commercetools.project.sync.CliRunner.FULL_SYNC_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.FULL_SYNC_OPTION_SHORT;
 import static com.commercetools.project.sync.CliRunner.HELP_OPTION_DESCRIPTION;
 import static com.commercetools.project.sync.CliRunner.HELP_OPTION_LONG;
 import static com.commercetools.project.sync.CliRunner.HELP_OPTION_SHORT;
+import static com.commercetools.project.sync.CliRunner.MAX_CONCURRENT_MODULES_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.MAX_CONCURRENT_MODULES_OPTION_SHORT;
+import static com.commercetools.project.sync.CliRunner.PREFETCH_DEPTH_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.PREFETCH_DEPTH_OPTION_SHORT;
 import static com.commercetools.project.sync.CliRunner.RUNNER_NAME_OPTION_DESCRIPTION;
 import static com.commercetools.project.sync.CliRunner.RUNNER_NAME_OPTION_LONG;
 import static com.commercetools.project.sync.CliRunner.RUNNER_NAME_OPTION_SHORT;
+import static com.commercetools.project.sync.CliRunner.SHARD_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.SHARD_OPTION_SHORT;
+import static com.commercetools.project.sync.CliRunner.SYNC_MODULES;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_DESCRIPTION;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_LONG;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_SHORT;
 import static com.commercetools.project.sync.CliRunner.VERSION_OPTION_DESCRIPTION;
 import static com.commercetools.project.sync.CliRunner.VERSION_OPTION_LONG;
 import static com.commercetools.project.sync.CliRunner.VERSION_OPTION_SHORT;
+import static com.commercetools.project.sync.SyncerOptionsBuilder.BATCH_SIZE_DEFAULT;
+import static com.commercetools.project.sync.SyncerOptionsBuilder.MAX_PAGE_SIZE;
 import static com.commercetools.project.sync.util.SyncUtils.APPLICATION_DEFAULT_NAME;
 import static com.commercetools.project.sync.util.SyncUtils.APPLICATION_DEFAULT_VERSION;
 import static com.commercetools.project.sync.util.TestUtils.getMockedClock;
 import static com.commercetools.project.sync.util.TestUtils.stubClientsCustomObjectService;
 import static com.commercetools.project.sync.util.TestUtils.verifyInteractionsWithClientAfterSync;
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -41,13 +59,16 @@ import io.sphere.sdk.types.queries.TypeQuery;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import org.apache.commons.cli.MissingArgumentException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import uk.org.lidalia.slf4jext.Level;
@@ -215,9 +236,9 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "products"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync("products", null, false);
+    verify(syncerFactory, times(1)).sync("products", null, false, emptyMap());
     verify(sourceClient, times(1)).execute(any(ProductQuery.class));
-    verify(syncerFactory, never()).syncAll(null, false);
+    verify(syncerFactory, never()).syncAll(null, false, emptyMap());
   }
 
   @Test
@@ -241,9 +262,9 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "products", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync("products", null, true);
+    verify(syncerFactory, times(1)).sync("products", null, true, emptyMap());
     verify(sourceClient, times(1)).execute(any(ProductQuery.class));
-    verify(syncerFactory, never()).syncAll(null, true);
+    verify(syncerFactory, never()).syncAll(null, true, emptyMap());
   }
 
   @Test
@@ -267,9 +288,9 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "cartDiscounts", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync("cartDiscounts", null, true);
+    verify(syncerFactory, times(1)).sync("cartDiscounts", null, true, emptyMap());
     verify(sourceClient, times(1)).execute(any(CartDiscountQuery.class));
-    verify(syncerFactory, never()).syncAll(null, true);
+    verify(syncerFactory, never()).syncAll(null, true, emptyMap());
   }
 
   @Test
@@ -293,9 +314,9 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"--sync", "products"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync("products", null, false);
+    verify(syncerFactory, times(1)).sync("products", null, false, emptyMap());
     verify(sourceClient, times(1)).execute(any(ProductQuery.class));
-    verify(syncerFactory, never()).syncAll(null, false);
+    verify(syncerFactory, never()).syncAll(null, false, emptyMap());
   }
 
   @Test
@@ -319,9 +340,9 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"--sync", "products", "-r", "Runner123"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync("products", "Runner123", false);
+    verify(syncerFactory, times(1)).sync("products", "Runner123", false, emptyMap());
     verify(sourceClient, times(1)).execute(any(ProductQuery.class));
-    verify(syncerFactory, never()).syncAll("Runner123", false);
+    verify(syncerFactory, never()).syncAll("Runner123", false, emptyMap());
   }
 
   @Test
@@ -348,9 +369,9 @@ class CliRunnerTest {
             syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync("products", "Runner123", true);
+    verify(syncerFactory, times(1)).sync("products", "Runner123", true, emptyMap());
     verify(sourceClient, times(1)).execute(any(ProductQuery.class));
-    verify(syncerFactory, never()).syncAll("Runner123", true);
+    verify(syncerFactory, never()).syncAll("Runner123", true, emptyMap());
   }
 
   @Test
@@ -364,8 +385,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-u"}, syncerFactory);
 
     // Assert error log
-    verify(syncerFactory, never()).sync(any(), any(), anyBoolean());
-    verify(syncerFactory, never()).syncAll(any(), anyBoolean());
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), any());
+    verify(syncerFactory, never()).syncAll(any(), anyBoolean(), any());
   }
 
   @Test
@@ -405,7 +426,7 @@ class CliRunnerTest {
             format(
                 "-%s,--%s %s",
                 VERSION_OPTION_SHORT, VERSION_OPTION_LONG, VERSION_OPTION_DESCRIPTION));
-    verify(syncerFactory, never()).sync(any(), any(), anyBoolean());
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), any());
   }
 
   @Test
@@ -439,7 +460,7 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "all"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).syncAll(null, false);
+    verify(syncerFactory, times(1)).syncAll(null, false, emptyMap());
     verify(sourceClient, times(1)).execute(any(ProductTypeQuery.class));
     verify(sourceClient, times(1)).execute(any(TypeQuery.class));
     verify(sourceClient, times(1)).execute(any(CategoryQuery.class));
@@ -479,7 +500,7 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "all", "-r", "myRunner"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).syncAll("myRunner", false);
+    verify(syncerFactory, times(1)).syncAll("myRunner", false, emptyMap());
     verify(sourceClient, times(1)).execute(any(ProductTypeQuery.class));
     verify(sourceClient, times(1)).execute(any(TypeQuery.class));
     verify(sourceClient, times(1)).execute(any(CategoryQuery.class));
@@ -519,7 +540,7 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "all", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).syncAll(null, true);
+    verify(syncerFactory, times(1)).syncAll(null, true, emptyMap());
 
     final InOrder inOrder = Mockito.inOrder(sourceClient);
 
@@ -532,4 +553,517 @@ class CliRunnerTest {
 
     verifyInteractionsWithClientAfterSync(sourceClient, 6);
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithConcurrencyAsSingleNumber_ShouldApplyConcurrencyToAllModules() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.sync(any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-c", "4"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1))
+        .sync(eq("products"), eq(null), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue()).containsOnlyKeys(SYNC_MODULES);
+    assertThat(syncerOptionsCaptor.getValue().values())
+        .allSatisfy(syncerOptions -> assertThat(syncerOptions.getMaxPagesInFlight()).isEqualTo(4));
+    assertThat(testLogger.getAllLoggingEvents()).isEmpty();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithModuleSpecificConcurrency_ShouldApplyConcurrencyToSpecifiedModules() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {"-s", "all", "--concurrency", "products=4, inventoryEntries=8"},
+            syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1)).syncAll(eq(null), eq(false), syncerOptionsCaptor.capture());
+    final Map<String, SyncerOptions> syncerOptionsByModule = syncerOptionsCaptor.getValue();
+    assertThat(syncerOptionsByModule).containsOnlyKeys("products", "inventoryEntries");
+    assertThat(syncerOptionsByModule.get("products").getMaxPagesInFlight()).isEqualTo(4);
+    assertThat(syncerOptionsByModule.get("inventoryEntries").getMaxPagesInFlight()).isEqualTo(8);
+  }
+
+  @Test
+  void run_WithInvalidConcurrency_ShouldFailAndLogError() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-c", "products=0"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), any());
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasSize(1)
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              assertThat(loggingEvent.getMessage()).contains("Failed to run sync process.");
+              final Throwable actualThrowable = loggingEvent.getThrowable().get();
+              assertThat(actualThrowable).isExactlyInstanceOf(IllegalArgumentException.class);
+              assertThat(actualThrowable.getMessage())
+                  .contains(
+                      format(
+                          "Invalid argument \"products=0\" supplied to \"-%s\" or \"--%s\" option!",
+                          CONCURRENCY_OPTION_SHORT, CONCURRENCY_OPTION_LONG));
+            });
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithModuleSpecificPrefetchDepth_ShouldApplyPrefetchDepthIncludingZero() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {"-s", "all", "--prefetchDepth", "products=3, inventoryEntries=0"},
+            syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1)).syncAll(eq(null), eq(false), syncerOptionsCaptor.capture());
+    final Map<String, SyncerOptions> syncerOptionsByModule = syncerOptionsCaptor.getValue();
+    assertThat(syncerOptionsByModule).containsOnlyKeys("products", "inventoryEntries");
+    assertThat(syncerOptionsByModule.get("products").getPrefetchDepth()).isEqualTo(3);
+    assertThat(syncerOptionsByModule.get("inventoryEntries").getPrefetchDepth()).isEqualTo(0);
+    assertThat(testLogger.getAllLoggingEvents()).isEmpty();
+  }
+
+  @Test
+  void run_WithNegativePrefetchDepth_ShouldFailAndLogError() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-q", "-1"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), any());
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasSize(1)
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              assertThat(loggingEvent.getMessage()).contains("Failed to run sync process.");
+              final Throwable actualThrowable = loggingEvent.getThrowable().get();
+              assertThat(actualThrowable).isExactlyInstanceOf(IllegalArgumentException.class);
+              assertThat(actualThrowable.getMessage())
+                  .contains(
+                      format(
+                          "Invalid argument \"-1\" supplied to \"-%s\" or \"--%s\" option!",
+                          PREFETCH_DEPTH_OPTION_SHORT, PREFETCH_DEPTH_OPTION_LONG));
+            });
+  }
+
+  @Test
+  void run_WithConcurrencyOfUnknownModule_ShouldFailAndLogError() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-c", "orders=4"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), any());
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasSize(1)
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              final Throwable actualThrowable = loggingEvent.getThrowable().get();
+              assertThat(actualThrowable).isExactlyInstanceOf(IllegalArgumentException.class);
+              assertThat(actualThrowable.getMessage()).contains("\"orders=4\"");
+            });
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithPartitionsAndConcurrency_ShouldBuildSyncerOptionsWithBothValues() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.sync(any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of()
+        .run(new String[] {"-s", "products", "-f", "-p", "products=8", "-c", "2"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1))
+        .sync(eq("products"), eq(null), eq(true), syncerOptionsCaptor.capture());
+    final SyncerOptions productSyncerOptions = syncerOptionsCaptor.getValue().get("products");
+    assertThat(productSyncerOptions.getFullSyncPartitions()).isEqualTo(8);
+    assertThat(productSyncerOptions.getMaxPagesInFlight()).isEqualTo(2);
+    assertThat(syncerOptionsCaptor.getValue().get("categories").getFullSyncPartitions())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithCheckpointInterval_ShouldBuildSyncerOptionsWithCheckpointInterval() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.sync(any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {"-s", "products", "-r", "nightly", "--checkpointInterval", "products=10"},
+            syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1))
+        .sync(eq("products"), eq("nightly"), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue()).containsOnlyKeys("products");
+    assertThat(syncerOptionsCaptor.getValue().get("products").getCheckpointInterval())
+        .isEqualTo(10);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithPageSizeAndBatchSize_ShouldBuildSyncerOptionsWithModuleSpecificSizes() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {
+              "-s", "all", "-l", "products=50,inventoryEntries=1000", "--batchSize", "products=20"
+            },
+            syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1)).syncAll(eq(null), eq(false), syncerOptionsCaptor.capture());
+    final Map<String, SyncerOptions> syncerOptionsByModule = syncerOptionsCaptor.getValue();
+    assertThat(syncerOptionsByModule).containsOnlyKeys("products", "inventoryEntries");
+    assertThat(syncerOptionsByModule.get("products").getPageSize()).isEqualTo(50);
+    assertThat(syncerOptionsByModule.get("products").getBatchSize()).isEqualTo(20);
+    assertThat(syncerOptionsByModule.get("inventoryEntries").getPageSize())
+        .isEqualTo(MAX_PAGE_SIZE);
+    assertThat(syncerOptionsByModule.get("inventoryEntries").getBatchSize())
+        .isEqualTo(BATCH_SIZE_DEFAULT);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithReferenceCacheSize_ShouldBuildSyncerOptionsWithReferenceCacheSize() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.sync(any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-k", "500000"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1))
+        .sync(eq("products"), eq(null), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue().get("products").getReferenceCacheSize())
+        .isEqualTo(500000);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithTransformParallelism_ShouldBuildSyncerOptionsWithTransformParallelism() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.sync(any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {"-s", "products", "--transformParallelism", "products=4"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1))
+        .sync(eq("products"), eq(null), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue()).containsOnlyKeys("products");
+    assertThat(syncerOptionsCaptor.getValue().get("products").getTransformParallelism())
+        .isEqualTo(4);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithCallbackAndPersistenceThreads_ShouldBuildSyncerOptionsWithThreads() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.sync(any(), any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-o", "2", "-e", "1"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1))
+        .sync(eq("products"), eq(null), eq(false), syncerOptionsCaptor.capture());
+    final SyncerOptions productSyncerOptions = syncerOptionsCaptor.getValue().get("products");
+    assertThat(productSyncerOptions.getCallbackThreads()).isEqualTo(2);
+    assertThat(productSyncerOptions.getPersistenceThreads()).isEqualTo(1);
+  }
+
+  @Test
+  void run_WithMaxConcurrentModules_ShouldSyncAllWithMaxConcurrentModules() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any(), anyInt()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "-m", "3"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1)).syncAll(null, false, emptyMap(), 3);
+    assertThat(testLogger.getAllLoggingEvents()).isEmpty();
+  }
+
+  @Test
+  void run_WithInvalidMaxConcurrentModules_ShouldFailAndLogError() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "-m", "0"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).syncAll(any(), anyBoolean(), any(), anyInt());
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasSize(1)
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              final Throwable actualThrowable = loggingEvent.getThrowable().get();
+              assertThat(actualThrowable).isExactlyInstanceOf(IllegalArgumentException.class);
+              assertThat(actualThrowable.getMessage())
+                  .contains(
+                      format(
+                          "Invalid argument \"0\" supplied to \"-%s\" or \"--%s\" option!",
+                          MAX_CONCURRENT_MODULES_OPTION_SHORT, MAX_CONCURRENT_MODULES_OPTION_LONG));
+            });
+  }
+
+  @Test
+  void run_WithMaxConcurrentModulesAndSingleModule_ShouldFailAndLogError() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-m", "3"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), any());
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              final Throwable actualThrowable = loggingEvent.getThrowable().get();
+              assertThat(actualThrowable).isExactlyInstanceOf(IllegalArgumentException.class);
+              assertThat(actualThrowable.getMessage())
+                  .isEqualTo(
+                      format(
+                          "The \"-%s\" or \"--%s\" option can only be used when syncing \"all\" "
+                              + "modules!",
+                          MAX_CONCURRENT_MODULES_OPTION_SHORT, MAX_CONCURRENT_MODULES_OPTION_LONG));
+            });
+  }
+
+  @Test
+  void run_WithDaemonInterval_ShouldSyncContinuouslyWithInterval() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncContinuously(any(), any(), any(), anyInt(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "-r", "daemon", "-n", "300"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .syncContinuously(
+            "all",
+            "daemon",
+            emptyMap(),
+            SyncModuleScheduler.MAX_CONCURRENT_MODULES_DEFAULT,
+            Duration.ofSeconds(300));
+    verify(syncerFactory, never()).syncAll(any(), anyBoolean(), any());
+    assertThat(testLogger.getAllLoggingEvents()).isEmpty();
+  }
+
+  @Test
+  void run_WithDaemonIntervalAndFullSync_ShouldFailAndLogError() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "-f", "-n", "300"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).syncContinuously(any(), any(), any(), anyInt(), any());
+    verify(syncerFactory, never()).syncAll(any(), anyBoolean(), any());
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              final Throwable actualThrowable = loggingEvent.getThrowable().get();
+              assertThat(actualThrowable).isExactlyInstanceOf(IllegalArgumentException.class);
+              assertThat(actualThrowable.getMessage())
+                  .isEqualTo(
+                      format(
+                          "The \"-%s\" or \"--%s\" option can't be combined with the \"-%s\" or "
+                              + "\"--%s\" option! A continuous sync only runs delta syncs.",
+                          DAEMON_INTERVAL_OPTION_SHORT,
+                          DAEMON_INTERVAL_OPTION_LONG,
+                          FULL_SYNC_OPTION_SHORT,
+                          FULL_SYNC_OPTION_LONG));
+            });
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithWarmUpReferenceCache_ShouldBuildProductSyncerOptionsWithWarmUp() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "--warmUpReferenceCache"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1)).syncAll(eq(null), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue()).containsOnlyKeys("products");
+    assertThat(syncerOptionsCaptor.getValue().get("products").isReferenceCacheWarmUp()).isTrue();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithResolveReferencesFromCache_ShouldBuildSyncerOptionsOfReferencingModules() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "-x"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1)).syncAll(eq(null), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue())
+        .containsOnlyKeys("categories", "productTypes", "inventoryEntries");
+    assertThat(syncerOptionsCaptor.getValue().values())
+        .allSatisfy(
+            syncerOptions -> assertThat(syncerOptions.isResolveReferencesFromCache()).isTrue());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithChangeFeed_ShouldBuildSyncerOptionsOfModulesWithMessages() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "-g"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1)).syncAll(eq(null), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue())
+        .containsOnlyKeys("products", "categories", "inventoryEntries");
+    assertThat(syncerOptionsCaptor.getValue().values())
+        .allSatisfy(syncerOptions -> assertThat(syncerOptions.isChangeFeed()).isTrue());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void run_WithShard_ShouldBuildSyncerOptionsOfAllModulesWithShard() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+    when(syncerFactory.syncAll(any(), anyBoolean(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "all", "-a", "3/8"}, syncerFactory);
+
+    // assertions
+    final ArgumentCaptor<Map<String, SyncerOptions>> syncerOptionsCaptor =
+        ArgumentCaptor.forClass(Map.class);
+    verify(syncerFactory, times(1)).syncAll(eq(null), eq(false), syncerOptionsCaptor.capture());
+    assertThat(syncerOptionsCaptor.getValue()).containsOnlyKeys(SYNC_MODULES);
+    assertThat(syncerOptionsCaptor.getValue().values())
+        .allSatisfy(
+            syncerOptions -> {
+              assertThat(syncerOptions.getShard()).isEqualTo(3);
+              assertThat(syncerOptions.getShardCount()).isEqualTo(8);
+            });
+  }
+
+  @Test
+  void run_WithShardGreaterThanShardCount_ShouldFailAndLogError() {
+    // preparation
+    final SyncerFactory syncerFactory = mock(SyncerFactory.class);
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "-a", "9/8"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), any());
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasSize(1)
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              final Throwable actualThrowable = loggingEvent.getThrowable().get();
+              assertThat(actualThrowable).isExactlyInstanceOf(IllegalArgumentException.class);
+              assertThat(actualThrowable.getMessage())
+                  .contains(
+                      format(
+                          "Invalid argument \"9/8\" supplied to \"-%s\" or \"--%s\" option!",
+                          SHARD_OPTION_SHORT, SHARD_OPTION_LONG));
+            });
+  }
 }
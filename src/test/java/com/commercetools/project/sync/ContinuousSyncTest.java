@@ -0,0 +1,101 @@
+package com.commercetools.project.sync;
+
+import static io.sphere.sdk.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.org.lidalia.slf4jext.Level;
+import uk.org.lidalia.slf4jtest.TestLogger;
+import uk.org.lidalia.slf4jtest.TestLoggerFactory;
+
+class ContinuousSyncTest {
+  private static final TestLogger testLogger =
+      TestLoggerFactory.getTestLogger(ContinuousSync.class);
+
+  @BeforeEach
+  void setupTest() {
+    testLogger.clearAll();
+  }
+
+  @Test
+  void stop_WhileWaitingForNextSync_ShouldCompleteWithoutFurtherSyncs() throws Exception {
+    // preparation
+    final AtomicInteger syncs = new AtomicInteger();
+    final CompletableFuture<Void> firstSyncStarted = new CompletableFuture<>();
+    final ContinuousSync continuousSync =
+        ContinuousSync.start(
+            () -> {
+              syncs.incrementAndGet();
+              firstSyncStarted.complete(null);
+              return CompletableFuture.completedFuture(null);
+            },
+            Duration.ofHours(1));
+    firstSyncStarted.get(5, SECONDS);
+
+    // test
+    continuousSync.stop();
+
+    // assertions
+    continuousSync.getResult().get(5, SECONDS);
+    assertThat(syncs).hasValue(1);
+  }
+
+  @Test
+  void stop_WhileSyncIsRunning_ShouldCompleteOnceTheSyncCompleted() throws Exception {
+    // preparation
+    final CompletableFuture<Void> runningSync = new CompletableFuture<>();
+    final CompletableFuture<Void> syncStarted = new CompletableFuture<>();
+    final ContinuousSync continuousSync =
+        ContinuousSync.start(
+            () -> {
+              syncStarted.complete(null);
+              return runningSync;
+            },
+            Duration.ofMillis(1));
+    syncStarted.get(5, SECONDS);
+
+    // test
+    continuousSync.stop();
+
+    // assertions
+    assertThat(continuousSync.getResult()).isNotDone();
+    runningSync.complete(null);
+    continuousSync.getResult().get(5, SECONDS);
+  }
+
+  @Test
+  void start_WithFailingSync_ShouldLogErrorAndStartNextSync() throws Exception {
+    // preparation
+    final AtomicInteger syncs = new AtomicInteger();
+    final CompletableFuture<Void> secondSyncStarted = new CompletableFuture<>();
+
+    // test
+    final ContinuousSync continuousSync =
+        ContinuousSync.start(
+            () -> {
+              if (syncs.incrementAndGet() == 1) {
+                return exceptionallyCompletedFuture(new IllegalStateException("CTP error!"));
+              }
+              secondSyncStarted.complete(null);
+              return CompletableFuture.completedFuture(null);
+            },
+            Duration.ofMillis(1));
+
+    // assertions
+    secondSyncStarted.get(5, SECONDS);
+    continuousSync.stop();
+    continuousSync.getResult().get(5, SECONDS);
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasOnlyOneElementSatisfying(
+            loggingEvent -> {
+              assertThat(loggingEvent.getLevel()).isEqualTo(Level.ERROR);
+              assertThat(loggingEvent.getMessage()).contains("Failed to run the sync.");
+              assertThat(loggingEvent.getThrowable().get()).hasMessageContaining("CTP error!");
+            });
+  }
+}
@@ -0,0 +1,400 @@
+package com.commercetools.project.sync;
+
+import static com.commercetools.project.sync.SyncerOptionsBuilder.PAGE_SIZE_DEFAULT;
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.commercetools.project.sync.util.MockPagedQueryResult;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.BadGatewayException;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QueryPredicate;
+import io.sphere.sdk.utils.CompletableFutureUtils;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class PagePipelineTest {
+
+  @Test
+  void run_WithEmptyResult_ShouldCompleteWithoutProcessingAnyPage() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(MockPagedQueryResult.of(emptyList())));
+    final List<List<Category>> processedPages = new ArrayList<>();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            page -> {
+              processedPages.add(page);
+              return CompletableFuture.completedFuture(null);
+            },
+            SyncerOptions.ofDefaults());
+
+    // assertions
+    assertThat(result).isCompleted();
+    assertThat(processedPages).isEmpty();
+    verify(client, times(1)).execute(any(CategoryQuery.class));
+  }
+
+  @Test
+  void run_WithMultiplePages_ShouldProcessAllPagesInOrder() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> firstPage = mockCategories(0, PAGE_SIZE_DEFAULT);
+    final List<Category> secondPage = mockCategories(PAGE_SIZE_DEFAULT, 1);
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(completedPage(firstPage))
+        .thenReturn(completedPage(secondPage));
+    final List<List<Category>> processedPages = new ArrayList<>();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            page -> {
+              processedPages.add(page);
+              return CompletableFuture.completedFuture(null);
+            },
+            SyncerOptions.ofDefaults());
+
+    // assertions
+    assertThat(result).isCompleted();
+    assertThat(processedPages).containsExactly(firstPage, secondPage);
+    verify(client, times(2)).execute(any(CategoryQuery.class));
+  }
+
+  @Test
+  void run_WithPageSize_ShouldFetchPagesOfSuppliedSize() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> firstPage = mockCategories(0, 2);
+    final List<Category> secondPage = mockCategories(2, 1);
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(completedPage(firstPage))
+        .thenReturn(completedPage(secondPage));
+    final List<List<Category>> processedPages = new ArrayList<>();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            page -> {
+              processedPages.add(page);
+              return CompletableFuture.completedFuture(null);
+            },
+            SyncerOptionsBuilder.of().pageSize(2).build());
+
+    // assertions
+    assertThat(result).isCompleted();
+    assertThat(processedPages).containsExactly(firstPage, secondPage);
+    final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+    verify(client, times(2)).execute(queryCaptor.capture());
+    assertThat(queryCaptor.getAllValues()).extracting(CategoryQuery::limit).containsOnly(2L);
+  }
+
+  @Test
+  void run_WhilePageIsProcessed_ShouldPrefetchNextPage() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> firstPage = mockCategories(0, PAGE_SIZE_DEFAULT);
+    final List<Category> secondPage = mockCategories(PAGE_SIZE_DEFAULT, PAGE_SIZE_DEFAULT);
+    final List<Category> thirdPage = mockCategories(2 * PAGE_SIZE_DEFAULT, 1);
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(completedPage(firstPage))
+        .thenReturn(completedPage(secondPage))
+        .thenReturn(completedPage(thirdPage));
+    final CompletableFuture<Long> firstPageProcessing = new CompletableFuture<>();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client, CategoryQuery.of(), page -> firstPageProcessing, SyncerOptions.ofDefaults());
+
+    // assertions
+    assertThat(result).isNotDone();
+    verify(client, times(2)).execute(any(CategoryQuery.class));
+
+    firstPageProcessing.complete(null);
+    assertThat(result).isCompleted();
+    verify(client, times(3)).execute(any(CategoryQuery.class));
+  }
+
+  @Test
+  void run_WithNoPrefetchDepth_ShouldOnlyFetchNextPageAfterProcessing() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> firstPage = mockCategories(0, PAGE_SIZE_DEFAULT);
+    final List<Category> secondPage = mockCategories(PAGE_SIZE_DEFAULT, 1);
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(completedPage(firstPage))
+        .thenReturn(completedPage(secondPage));
+    final CompletableFuture<Long> firstPageProcessing = new CompletableFuture<>();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            page -> firstPageProcessing,
+            SyncerOptionsBuilder.of().prefetchDepth(0).build());
+
+    // assertions
+    assertThat(result).isNotDone();
+    verify(client, times(1)).execute(any(CategoryQuery.class));
+
+    firstPageProcessing.complete(null);
+    assertThat(result).isCompleted();
+    verify(client, times(2)).execute(any(CategoryQuery.class));
+  }
+
+  @Test
+  void run_WithMaxPagesInFlight_ShouldProcessPagesConcurrently() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> firstPage = mockCategories(0, PAGE_SIZE_DEFAULT);
+    final List<Category> secondPage = mockCategories(PAGE_SIZE_DEFAULT, PAGE_SIZE_DEFAULT);
+    final List<Category> thirdPage = mockCategories(2 * PAGE_SIZE_DEFAULT, PAGE_SIZE_DEFAULT);
+    final List<Category> fourthPage = mockCategories(3 * PAGE_SIZE_DEFAULT, 1);
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(completedPage(firstPage))
+        .thenReturn(completedPage(secondPage))
+        .thenReturn(completedPage(thirdPage))
+        .thenReturn(completedPage(fourthPage));
+    final List<CompletableFuture<Long>> pageProcessings = new ArrayList<>();
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().maxPagesInFlight(2).prefetchDepth(1).build();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            page -> {
+              final CompletableFuture<Long> pageProcessing = new CompletableFuture<>();
+              pageProcessings.add(pageProcessing);
+              return pageProcessing;
+            },
+            syncerOptions);
+
+    // assertions
+    assertThat(result).isNotDone();
+    assertThat(pageProcessings).hasSize(2);
+    verify(client, times(3)).execute(any(CategoryQuery.class));
+
+    pageProcessings.get(1).complete(null);
+    assertThat(pageProcessings).hasSize(3);
+    verify(client, times(4)).execute(any(CategoryQuery.class));
+
+    pageProcessings.get(0).complete(null);
+    assertThat(pageProcessings).hasSize(4);
+    assertThat(result).isNotDone();
+
+    pageProcessings.forEach(pageProcessing -> pageProcessing.complete(null));
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  void run_WithSerializedPageProcessingAndMaxPagesInFlight_ShouldNotShrinkPagesByWaitingTime()
+      throws Exception {
+    // preparation
+    final int pageSize = 100;
+    final SphereClient client = mock(SphereClient.class);
+    final Iterator<List<Category>> pages =
+        IntStream.range(0, 10)
+            .mapToObj(page -> mockCategories(page * pageSize, pageSize))
+            .collect(toList())
+            .iterator();
+    when(client.execute(any(CategoryQuery.class)))
+        .thenAnswer(invocation -> completedPage(pages.hasNext() ? pages.next() : emptyList()));
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of()
+            .pageSize(pageSize)
+            .maxPagesInFlight(4)
+            .targetPageLatencyMillis(100)
+            .build();
+    // Every page takes 40 ms on its own, but the pages are processed one after the other, so that
+    // the fourth page in flight completes about 160 ms after it was handed over.
+    final ExecutorService serializedExecutor = Executors.newSingleThreadExecutor();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            page ->
+                CompletableFuture.supplyAsync(
+                    () -> {
+                      final long processStartNanos = System.nanoTime();
+                      sleep(40);
+                      return PagePipeline.getMillisSince(processStartNanos);
+                    },
+                    serializedExecutor),
+            syncerOptions);
+
+    // assertions
+    result.toCompletableFuture().get(10, SECONDS);
+    serializedExecutor.shutdown();
+    final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+    verify(client, times(11)).execute(queryCaptor.capture());
+    assertThat(queryCaptor.getAllValues())
+        .extracting(CategoryQuery::limit)
+        .containsOnly((long) pageSize);
+  }
+
+  @Test
+  void run_WithStartAfterId_ShouldOnlyFetchResourcesAfterSuppliedId() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> page = mockCategories(8, 1);
+    when(client.execute(any(CategoryQuery.class))).thenReturn(completedPage(page));
+    final List<String> lastIds = new ArrayList<>();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            "00000007",
+            categories -> CompletableFuture.completedFuture(null),
+            lastIds::add,
+            SyncerOptions.ofDefaults());
+
+    // assertions
+    assertThat(result).isCompleted();
+    assertThat(lastIds).containsExactly("00000008");
+    final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+    verify(client, times(1)).execute(queryCaptor.capture());
+    assertThat(queryCaptor.getValue().predicates())
+        .extracting(QueryPredicate::toSphereQuery)
+        .containsExactly("id > \"00000007\"");
+  }
+
+  @Test
+  void run_WithPagesProcessedOutOfOrder_ShouldNotifyListenerInPageOrder() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> firstPage = mockCategories(0, PAGE_SIZE_DEFAULT);
+    final List<Category> secondPage = mockCategories(PAGE_SIZE_DEFAULT, 1);
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(completedPage(firstPage))
+        .thenReturn(completedPage(secondPage));
+    final List<CompletableFuture<Long>> pageProcessings = new ArrayList<>();
+    final List<String> lastIds = new ArrayList<>();
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            null,
+            page -> {
+              final CompletableFuture<Long> pageProcessing = new CompletableFuture<>();
+              pageProcessings.add(pageProcessing);
+              return pageProcessing;
+            },
+            lastIds::add,
+            SyncerOptionsBuilder.of().maxPagesInFlight(2).build());
+
+    // assertions
+    assertThat(pageProcessings).hasSize(2);
+
+    pageProcessings.get(1).complete(null);
+    assertThat(lastIds).isEmpty();
+
+    pageProcessings.get(0).complete(null);
+    assertThat(lastIds)
+        .containsExactly(format("%08d", PAGE_SIZE_DEFAULT - 1), format("%08d", PAGE_SIZE_DEFAULT));
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  void run_WithFailingFetch_ShouldCompleteExceptionally() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final BadGatewayException badGatewayException = new BadGatewayException();
+    when(client.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFutureUtils.exceptionallyCompletedFuture(badGatewayException));
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            page -> CompletableFuture.completedFuture(null),
+            SyncerOptions.ofDefaults());
+
+    // assertions
+    assertThat(result).hasFailedWithThrowableThat().isEqualTo(badGatewayException);
+  }
+
+  @Test
+  void run_WithFailingPageProcessing_ShouldCompleteExceptionally() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final List<Category> page = mockCategories(0, 1);
+    when(client.execute(any(CategoryQuery.class))).thenReturn(completedPage(page));
+    final IllegalStateException processingException = new IllegalStateException("failed");
+
+    // test
+    final CompletionStage<Void> result =
+        PagePipeline.run(
+            client,
+            CategoryQuery.of(),
+            categories -> CompletableFutureUtils.exceptionallyCompletedFuture(processingException),
+            SyncerOptions.ofDefaults());
+
+    // assertions
+    assertThat(result).hasFailedWithThrowableThat().isEqualTo(processingException);
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Nonnull
+  private static CompletionStage<PagedQueryResult<Category>> completedPage(
+      @Nonnull final List<Category> page) {
+    return CompletableFuture.completedFuture(MockPagedQueryResult.of(page));
+  }
+
+  @Nonnull
+  private static List<Category> mockCategories(final int firstIndex, final int count) {
+    return IntStream.range(firstIndex, firstIndex + count)
+        .mapToObj(
+            index -> {
+              final Category category = mock(Category.class);
+              when(category.getId()).thenReturn(format("%08d", index));
+              return category;
+            })
+        .collect(toList());
+  }
+}
@@ -0,0 +1,129 @@
+package com.commercetools.project.sync;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+class SyncModuleSchedulerTest {
+
+  private final List<String> startedModules = new ArrayList<>();
+  private final Map<String, CompletableFuture<Void>> syncsByModule = new HashMap<>();
+
+  private CompletableFuture<Void> startSync(final String module) {
+    startedModules.add(module);
+    final CompletableFuture<Void> sync = new CompletableFuture<>();
+    syncsByModule.put(module, sync);
+    return sync;
+  }
+
+  @Test
+  void run_WithDependencies_ShouldStartModulesOnceTheirDependenciesCompleted() {
+    // preparation
+    final Map<String, List<String>> dependenciesByModule = new LinkedHashMap<>();
+    dependenciesByModule.put("types", emptyList());
+    dependenciesByModule.put("productTypes", emptyList());
+    dependenciesByModule.put("categories", singletonList("types"));
+    dependenciesByModule.put("products", asList("productTypes", "categories"));
+
+    // test
+    final CompletableFuture<Void> result =
+        SyncModuleScheduler.run(dependenciesByModule, 4, Clock.systemUTC(), this::startSync);
+
+    // assertions
+    assertThat(startedModules).containsExactly("types", "productTypes");
+
+    syncsByModule.get("types").complete(null);
+    assertThat(startedModules).containsExactly("types", "productTypes", "categories");
+
+    syncsByModule.get("categories").complete(null);
+    assertThat(startedModules).containsExactly("types", "productTypes", "categories");
+
+    syncsByModule.get("productTypes").complete(null);
+    assertThat(startedModules).containsExactly("types", "productTypes", "categories", "products");
+    assertThat(result).isNotDone();
+
+    syncsByModule.get("products").complete(null);
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  void run_WithMaxConcurrentModules_ShouldNotRunMoreModulesAtTheSameTime() {
+    // preparation
+    final Map<String, List<String>> dependenciesByModule = new LinkedHashMap<>();
+    dependenciesByModule.put("types", emptyList());
+    dependenciesByModule.put("productTypes", emptyList());
+    dependenciesByModule.put("cartDiscounts", emptyList());
+
+    // test
+    final CompletableFuture<Void> result =
+        SyncModuleScheduler.run(dependenciesByModule, 2, Clock.systemUTC(), this::startSync);
+
+    // assertions
+    assertThat(startedModules).containsExactly("types", "productTypes");
+
+    syncsByModule.get("productTypes").complete(null);
+    assertThat(startedModules).containsExactly("types", "productTypes", "cartDiscounts");
+
+    syncsByModule.get("types").complete(null);
+    syncsByModule.get("cartDiscounts").complete(null);
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  void run_WithFailingModule_ShouldNotStartItsDependentsAndFail() {
+    // preparation
+    final Map<String, List<String>> dependenciesByModule = new LinkedHashMap<>();
+    dependenciesByModule.put("types", emptyList());
+    dependenciesByModule.put("productTypes", emptyList());
+    dependenciesByModule.put("categories", singletonList("types"));
+    dependenciesByModule.put("products", asList("productTypes", "categories"));
+    dependenciesByModule.put("cartDiscounts", emptyList());
+
+    // test
+    final CompletableFuture<Void> result =
+        SyncModuleScheduler.run(dependenciesByModule, 2, Clock.systemUTC(), this::startSync);
+
+    // assertions
+    syncsByModule.get("types").completeExceptionally(new IllegalStateException("types failed"));
+    syncsByModule.get("productTypes").complete(null);
+    assertThat(startedModules).containsExactly("types", "productTypes", "cartDiscounts");
+    assertThat(result).isNotDone();
+
+    syncsByModule.get("cartDiscounts").complete(null);
+    assertThat(startedModules).containsExactly("types", "productTypes", "cartDiscounts");
+    assertThat(result).isCompletedExceptionally();
+    assertThatThrownBy(result::join)
+        .isExactlyInstanceOf(CompletionException.class)
+        .hasMessageContaining("types failed");
+  }
+
+  @Test
+  void run_WithDependencyDeclaredAfterModule_ShouldThrowIllegalArgumentException() {
+    // preparation
+    final Map<String, List<String>> dependenciesByModule = new LinkedHashMap<>();
+    dependenciesByModule.put("categories", singletonList("types"));
+    dependenciesByModule.put("types", emptyList());
+
+    // test and assertions
+    assertThatThrownBy(
+            () ->
+                SyncModuleScheduler.run(
+                    dependenciesByModule, 2, Clock.systemUTC(), this::startSync))
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("\"categories\"")
+        .hasMessageContaining("\"types\"");
+    assertThat(startedModules).isEmpty();
+  }
+}
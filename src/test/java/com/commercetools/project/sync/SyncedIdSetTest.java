@@ -0,0 +1,54 @@
+package com.commercetools.project.sync;
+
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SyncedIdSetTest {
+
+  @Test
+  void add_WithNewAndContainedIds_ShouldOnlyAddNewIds() {
+    // preparation
+    final SyncedIdSet syncedIds = new SyncedIdSet();
+    final String uuid = randomUUID().toString();
+
+    // test & assertions
+    assertThat(syncedIds.add(uuid)).isTrue();
+    assertThat(syncedIds.add("id")).isTrue();
+    assertThat(syncedIds.add(uuid)).isFalse();
+    assertThat(syncedIds.add("id")).isFalse();
+    assertThat(syncedIds.size()).isEqualTo(2);
+  }
+
+  @Test
+  void add_WithUpperCaseUuid_ShouldNotMatchLowerCaseUuid() {
+    // preparation
+    final SyncedIdSet syncedIds = new SyncedIdSet();
+    final String uuid = randomUUID().toString();
+    syncedIds.add(uuid);
+
+    // test & assertions
+    assertThat(syncedIds.add(uuid.toUpperCase(Locale.ENGLISH))).isTrue();
+    assertThat(syncedIds.size()).isEqualTo(2);
+  }
+
+  @Test
+  void add_WithMoreUuidsThanInitialCapacity_ShouldKeepAllUuids() {
+    // preparation
+    final SyncedIdSet syncedIds = new SyncedIdSet();
+    final List<String> uuids =
+        IntStream.range(0, 10_000).mapToObj(index -> randomUUID().toString()).collect(toList());
+
+    // test
+    uuids.forEach(syncedIds::add);
+
+    // assertions
+    assertThat(syncedIds.size()).isEqualTo(uuids.size());
+    uuids.forEach(uuid -> assertThat(syncedIds.add(uuid)).isFalse());
+  }
+}
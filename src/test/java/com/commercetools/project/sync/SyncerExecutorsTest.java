@@ -0,0 +1,79 @@
+package com.commercetools.project.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.Test;
+
+class SyncerExecutorsTest {
+
+  @Test
+  void of_WithDefaultOptions_ShouldRunContinuationsOnCompletingThread() {
+    // preparation
+    final SyncerExecutors executors = SyncerExecutors.of(SyncerOptions.ofDefaults());
+
+    // test
+    final Thread callbackThread =
+        CompletableFuture.completedFuture(null)
+            .thenApplyAsync(
+                ignoredResult -> Thread.currentThread(), executors.getCallbackExecutor())
+            .toCompletableFuture()
+            .join();
+
+    // assertions
+    assertThat(callbackThread).isSameAs(Thread.currentThread());
+    assertThat(executors.getTransformPool()).isNull();
+  }
+
+  @Test
+  void of_WithExecutorSizes_ShouldRunContinuationsOnDedicatedDaemonThreads() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of()
+            .callbackThreads(2)
+            .transformParallelism(3)
+            .persistenceThreads(1)
+            .build();
+    final SyncerExecutors executors = SyncerExecutors.of(syncerOptions);
+
+    // test
+    final Thread callbackThread =
+        CompletableFuture.supplyAsync(Thread::currentThread, executors.getCallbackExecutor())
+            .join();
+    final Thread persistenceThread =
+        CompletableFuture.supplyAsync(Thread::currentThread, executors.getPersistenceExecutor())
+            .join();
+
+    // assertions
+    assertThat(callbackThread.getName()).startsWith("syncer-callback-");
+    assertThat(callbackThread.isDaemon()).isTrue();
+    assertThat(persistenceThread.getName()).startsWith("syncer-persistence-");
+    assertThat(persistenceThread.isDaemon()).isTrue();
+    assertThat(executors.getTransformPool()).isNotNull();
+    assertThat(executors.getTransformPool().getParallelism()).isEqualTo(3);
+    assertThat(executors.getTransformExecutor()).isSameAs(executors.getTransformPool());
+  }
+
+  @Test
+  void shutdown_WithExecutorSizes_ShouldShutDownDedicatedExecutors() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of()
+            .callbackThreads(2)
+            .transformParallelism(3)
+            .persistenceThreads(1)
+            .build();
+    final SyncerExecutors executors = SyncerExecutors.of(syncerOptions);
+
+    // test
+    executors.shutdown();
+
+    // assertions
+    assertThat(executors.getCallbackExecutor()).isInstanceOf(ExecutorService.class);
+    assertThat(((ExecutorService) executors.getCallbackExecutor()).isShutdown()).isTrue();
+    assertThat(executors.getTransformPool().isShutdown()).isTrue();
+    assertThat(executors.getPersistenceExecutor()).isInstanceOf(ExecutorService.class);
+    assertThat(((ExecutorService) executors.getPersistenceExecutor()).isShutdown()).isTrue();
+  }
+}
@@ -14,6 +14,7 @@ import static io.sphere.sdk.utils.SphereInternalUtils.asSet;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -22,6 +23,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.commercetools.project.sync.model.request.CombinedResourceKeysRequest;
+import com.commercetools.project.sync.model.request.ResourceKeysRequest;
 import com.commercetools.project.sync.model.response.CombinedResult;
 import com.commercetools.project.sync.model.response.LastSyncCustomObject;
 import com.commercetools.project.sync.model.response.ReferenceIdKey;
@@ -276,6 +278,8 @@ class SyncerFactoryTest {
         .thenReturn(CompletableFutureUtils.failed(badGatewayException));
     when(sourceClient.execute(any(CombinedResourceKeysRequest.class)))
         .thenReturn(CompletableFutureUtils.failed(badGatewayException));
+    when(sourceClient.execute(any(ResourceKeysRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(new ResultingResourcesContainer(emptySet())));
 
     final SyncerFactory syncerFactory =
         SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock());
@@ -286,6 +290,7 @@ class SyncerFactoryTest {
     // assertions
     verify(sourceClient, times(1)).execute(any(ProductQuery.class));
     verify(sourceClient, times(1)).execute(any(CombinedResourceKeysRequest.class));
+    verify(sourceClient, times(1)).execute(any(ResourceKeysRequest.class));
     verifyInteractionsWithClientAfterSync(sourceClient, 1);
 
     final Condition<LoggingEvent> startLog =
@@ -311,8 +316,17 @@ class SyncerFactoryTest {
         .haveExactly(1, startLog)
         .haveExactly(1, statisticsLog);
 
+    final Condition<LoggingEvent> cacheReportLog =
+        new Condition<>(
+            loggingEvent ->
+                Level.INFO.equals(loggingEvent.getLevel())
+                    && loggingEvent.getMessage().startsWith("The id to key cache contains"),
+            "cache report log");
+
     assertThat(productSyncerTestLogger.getAllLoggingEvents())
-        .containsExactly(
+        .hasSize(2)
+        .haveExactly(1, cacheReportLog)
+        .contains(
             LoggingEvent.warn(
                 badGatewayException,
                 "Failed to replace referenced resource ids with keys on the attributes of the products in "
@@ -378,6 +392,8 @@ class SyncerFactoryTest {
         .thenReturn(
             CompletableFuture.completedFuture(
                 new CombinedResult(productsResult, categoriesResult, productTypesResult)));
+    when(sourceClient.execute(any(ResourceKeysRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(new ResultingResourcesContainer(emptySet())));
 
     final SyncerFactory syncerFactory =
         SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock());
@@ -388,6 +404,7 @@ class SyncerFactoryTest {
     // assertions
     verify(sourceClient, times(2)).execute(any(ProductQuery.class));
     verify(sourceClient, times(2)).execute(any(CombinedResourceKeysRequest.class));
+    verify(sourceClient, times(2)).execute(any(ResourceKeysRequest.class));
     verifyInteractionsWithClientAfterSync(sourceClient, 2);
 
     final Condition<LoggingEvent> startLog =
@@ -413,24 +430,31 @@ class SyncerFactoryTest {
         .haveExactly(1, startLog)
         .haveExactly(1, statisticsLog);
 
+    final Condition<LoggingEvent> cacheReportLog =
+        new Condition<>(
+            loggingEvent ->
+                Level.INFO.equals(loggingEvent.getLevel())
+                    && loggingEvent.getMessage().startsWith("The id to key cache contains"),
+            "cache report log");
+
     assertThat(productSyncerTestLogger.getAllLoggingEvents())
-        .hasSize(2)
-        .containsOnlyElementsOf(
-            asList(
-                LoggingEvent.warn(
-                    "The product with id "
-                        + "'ba81a6da-cf83-435b-a89e-2afab579846f' on the source project ('foo') will not be synced because it "
-                        + "has the following reference attribute(s): \n"
-                        + "[{\"id\":\"53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c5\",\"typeId\":\"product\"}, "
-                        + "{\"id\":\"53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c4\",\"typeId\":\"category\"}].\n"
-                        + "These references are either pointing to a non-existent resource or to an existing one but with a "
-                        + "blank key. Please make sure these referenced resources are existing and have non-blank (i.e. "
-                        + "non-null and non-empty) keys."),
-                LoggingEvent.warn(
-                    badGatewayException,
-                    "Failed to replace referenced resource ids with keys on the attributes of the products"
-                        + " in the current fetched page from the source project. This page will not be synced to the target"
-                        + " project.")));
+        .hasSize(3)
+        .haveExactly(1, cacheReportLog)
+        .contains(
+            LoggingEvent.warn(
+                "The product with id "
+                    + "'ba81a6da-cf83-435b-a89e-2afab579846f' on the source project ('foo') will not be synced because it "
+                    + "has the following reference attribute(s): \n"
+                    + "[{\"id\":\"53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c5\",\"typeId\":\"product\"}, "
+                    + "{\"id\":\"53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c4\",\"typeId\":\"category\"}].\n"
+                    + "These references are either pointing to a non-existent resource or to an existing one but with a "
+                    + "blank key. Please make sure these referenced resources are existing and have non-blank (i.e. "
+                    + "non-null and non-empty) keys."),
+            LoggingEvent.warn(
+                badGatewayException,
+                "Failed to replace referenced resource ids with keys on the attributes of the products"
+                    + " in the current fetched page from the source project. This page will not be synced to the target"
+                    + " project."));
   }
 
   private static void verifyTimestampGeneratorCustomObjectUpsert(
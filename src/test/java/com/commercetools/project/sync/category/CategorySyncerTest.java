@@ -1,21 +1,67 @@
 package com.commercetools.project.sync.category;
 
 import static com.commercetools.project.sync.util.TestUtils.getMockedClock;
+import static com.commercetools.project.sync.util.TestUtils.stubClientsCustomObjectService;
 import static com.commercetools.sync.categories.utils.CategoryReferenceReplacementUtils.buildCategoryQuery;
 import static com.commercetools.sync.categories.utils.CategoryReferenceReplacementUtils.replaceCategoriesReferenceIdsWithKeys;
 import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
+import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.commercetools.project.sync.SyncerOptions;
+import com.commercetools.project.sync.SyncerOptionsBuilder;
+import com.commercetools.project.sync.model.response.SyncCheckpoint;
+import com.commercetools.project.sync.util.MockPagedQueryResult;
 import com.commercetools.sync.categories.CategorySync;
 import io.sphere.sdk.categories.Category;
 import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
 import io.sphere.sdk.categories.queries.CategoryQuery;
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereClientConfig;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.customobjects.CustomObject;
+import io.sphere.sdk.customobjects.CustomObjectDraft;
+import io.sphere.sdk.customobjects.commands.CustomObjectDeleteCommand;
+import io.sphere.sdk.customobjects.commands.CustomObjectUpsertCommand;
+import io.sphere.sdk.customobjects.queries.CustomObjectQuery;
+import io.sphere.sdk.messages.Message;
+import io.sphere.sdk.messages.queries.MessageQuery;
+import io.sphere.sdk.models.AssetDraftBuilder;
+import io.sphere.sdk.models.AssetSourceBuilder;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.projects.MessagesConfiguration;
+import io.sphere.sdk.projects.Project;
+import io.sphere.sdk.projects.queries.ProjectGet;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QueryPredicate;
+import io.sphere.sdk.types.CustomFieldsDraft;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class CategorySyncerTest {
   @Test
@@ -61,4 +107,436 @@ class CategorySyncerTest {
     // assertion
     assertThat(query).isEqualTo(buildCategoryQuery());
   }
+
+  @Test
+  void getQuery_WithResolveReferencesFromCache_ShouldNotExpandReferences() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().resolveReferencesFromCache(true).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(
+            mock(SphereClient.class), mock(SphereClient.class), getMockedClock(), syncerOptions);
+
+    // test
+    final CategoryQuery query = categorySyncer.getQuery();
+
+    // assertion
+    assertThat(query).isEqualTo(CategoryQuery.of());
+  }
+
+  @Test
+  void replaceReferenceIdsWithKeys_WithCollectedIds_ShouldReplaceParentAndCustomTypeIds() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().resolveReferencesFromCache(true).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(
+            mock(SphereClient.class), mock(SphereClient.class), getMockedClock(), syncerOptions);
+    final CategoryDraft categoryDraft =
+        CategoryDraftBuilder.of(
+                LocalizedString.ofEnglish("name"), LocalizedString.ofEnglish("slug"))
+            .parent(ResourceIdentifier.<Category>ofId("parentId"))
+            .custom(CustomFieldsDraft.ofTypeIdAndJson("typeId", emptyMap()))
+            .assets(
+                singletonList(
+                    AssetDraftBuilder.of(
+                            singletonList(AssetSourceBuilder.ofUri("uri").build()),
+                            LocalizedString.ofEnglish("asset"))
+                        .custom(CustomFieldsDraft.ofTypeIdAndJson("assetTypeId", emptyMap()))
+                        .build()))
+            .build();
+    final Map<String, String> idToKey = new HashMap<>();
+    idToKey.put("parentId", "parentKey");
+    idToKey.put("typeId", "typeKey");
+    idToKey.put("assetTypeId", "assetTypeKey");
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+
+    // test
+    categorySyncer.collectReferenceIds(categoryDraft, idsByReferenceTypeId);
+    final CategoryDraft draftWithKeys =
+        categorySyncer.replaceReferenceIdsWithKeys(categoryDraft, idToKey);
+
+    // assertions
+    assertThat(idsByReferenceTypeId.get("category")).containsExactly("parentId");
+    assertThat(idsByReferenceTypeId.get("type")).containsExactlyInAnyOrder("typeId", "assetTypeId");
+    assertThat(draftWithKeys.getParent().getId()).isEqualTo("parentKey");
+    assertThat(draftWithKeys.getCustom().getType().getId()).isEqualTo("typeKey");
+    assertThat(draftWithKeys.getAssets().get(0).getCustom().getType().getId())
+        .isEqualTo("assetTypeKey");
+    assertThat(draftWithKeys.getSlug()).isEqualTo(categoryDraft.getSlug());
+  }
+
+  @Test
+  void sync_AsFullSyncWithPartitions_ShouldQueryEveryPartition() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    when(sourceClient.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+
+    final SyncerOptions syncerOptions = SyncerOptionsBuilder.of().fullSyncPartitions(4).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), syncerOptions);
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, true);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+    verify(sourceClient, times(4)).execute(queryCaptor.capture());
+    assertThat(queryCaptor.getAllValues())
+        .extracting(query -> query.predicates().get(query.predicates().size() - 1))
+        .extracting(QueryPredicate::toSphereQuery)
+        .containsExactlyInAnyOrder("id < \"40\"", "id < \"80\"", "id < \"c0\"", "id >= \"c0\"");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sync_AsDeltaSyncWithWindowSize_ShouldSyncTimeWindowsBeforeUpdatingLastSyncTimestamp() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    final List<Category> modifiedCategories = nCopies(25, mock(Category.class));
+    when(sourceClient.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(MockPagedQueryResult.of(modifiedCategories)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+    stubClientsCustomObjectService(targetClient, ZonedDateTime.now().plusHours(1));
+
+    final SyncerOptions syncerOptions = SyncerOptionsBuilder.of().deltaSyncWindowSize(10).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), syncerOptions);
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, false);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+    verify(sourceClient, times(4)).execute(queryCaptor.capture());
+    final List<CategoryQuery> queries = queryCaptor.getAllValues();
+    assertThat(queries.get(0).limit()).isEqualTo(0L);
+    assertThat(queries.get(0).fetchTotal()).isTrue();
+    assertThat(queries.subList(1, 4))
+        .extracting(query -> query.predicates().get(query.predicates().size() - 1))
+        .extracting(QueryPredicate::toSphereQuery)
+        .satisfies(
+            predicates -> {
+              assertThat(predicates.get(0)).contains("lastModifiedAt < ");
+              assertThat(predicates.get(1)).contains("lastModifiedAt < ");
+              assertThat(predicates.get(2)).contains("lastModifiedAt <= ");
+            });
+    // the timestamp generator and the last sync timestamp are upserted once each
+    verify(targetClient, times(2)).execute(any(CustomObjectUpsertCommand.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sync_AsFullSyncWithCheckpointInterval_ShouldPersistCheckpointsAndDeleteThemAfterSync() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    final List<Category> firstPage = mockCategories(0, 500);
+    final List<Category> secondPage = mockCategories(500, 1);
+    when(sourceClient.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(MockPagedQueryResult.of(firstPage)))
+        .thenReturn(CompletableFuture.completedFuture(MockPagedQueryResult.of(secondPage)));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+    when(targetClient.execute(any(CustomObjectQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+    final CustomObject<SyncCheckpoint> syncCheckpointCustomObject = mock(CustomObject.class);
+    when(targetClient.execute(any(CustomObjectUpsertCommand.class)))
+        .thenReturn(CompletableFuture.completedFuture(syncCheckpointCustomObject));
+    when(targetClient.execute(any(CustomObjectDeleteCommand.class)))
+        .thenReturn(CompletableFuture.completedFuture(syncCheckpointCustomObject));
+
+    final SyncerOptions syncerOptions = SyncerOptionsBuilder.of().checkpointInterval(1).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), syncerOptions);
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, true);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    verify(targetClient, times(2)).execute(any(CustomObjectUpsertCommand.class));
+    final ArgumentCaptor<SphereRequest> requestCaptor =
+        ArgumentCaptor.forClass(SphereRequest.class);
+    verify(targetClient, times(4)).execute(requestCaptor.capture());
+    assertThat(requestCaptor.getAllValues())
+        .filteredOn(request -> request instanceof CustomObjectUpsertCommand)
+        .extracting(request -> (CustomObjectUpsertCommand) request)
+        .extracting(
+            upsertCommand ->
+                ((CustomObjectDraft<SyncCheckpoint>) upsertCommand.getDraft()).getValue())
+        .extracting(SyncCheckpoint::getLastSyncedIds)
+        .containsExactly(singletonList("00000499"), singletonList("00000500"));
+    verify(targetClient, times(1)).execute(any(CustomObjectDeleteCommand.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sync_AsFullSyncWithPersistedCheckpoint_ShouldResumeAfterLastSyncedIds() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    when(sourceClient.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+    final CustomObject<SyncCheckpoint> syncCheckpointCustomObject = mock(CustomObject.class);
+    when(syncCheckpointCustomObject.getValue())
+        .thenReturn(SyncCheckpoint.of(true, emptyList(), null, asList("3f", null)));
+    final PagedQueryResult<CustomObject<SyncCheckpoint>> queriedCustomObjects =
+        spy(PagedQueryResult.empty());
+    when(queriedCustomObjects.getResults()).thenReturn(singletonList(syncCheckpointCustomObject));
+    when(targetClient.execute(any(CustomObjectQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(queriedCustomObjects));
+    when(targetClient.execute(any(CustomObjectDeleteCommand.class)))
+        .thenReturn(CompletableFuture.completedFuture(syncCheckpointCustomObject));
+
+    final SyncerOptions syncerOptions = SyncerOptionsBuilder.of().checkpointInterval(1).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), syncerOptions);
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, true);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+    verify(sourceClient, times(2)).execute(queryCaptor.capture());
+    assertThat(queryCaptor.getAllValues())
+        .extracting(
+            query ->
+                query.predicates().stream().map(QueryPredicate::toSphereQuery).collect(toList()))
+        .containsExactlyInAnyOrder(
+            asList("id < \"80\"", "id > \"3f\""), singletonList("id >= \"80\""));
+    verify(targetClient, times(0)).execute(any(CustomObjectUpsertCommand.class));
+    verify(targetClient, times(1)).execute(any(CustomObjectDeleteCommand.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sync_AsDeltaSyncWithChangeFeed_ShouldSyncResourcesOfMessagesOnce() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    final List<Message> messages =
+        asList(mockMessage("1", "category-a"), mockMessage("2", "category-b"));
+    final List<Message> nextMessages = singletonList(mockMessage("3", "category-a"));
+    when(sourceClient.execute(any(MessageQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(MockPagedQueryResult.of(messages)))
+        .thenReturn(CompletableFuture.completedFuture(MockPagedQueryResult.of(nextMessages)));
+    when(sourceClient.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+    final Project project = mockProject(true);
+    when(sourceClient.execute(any(ProjectGet.class)))
+        .thenReturn(CompletableFuture.completedFuture(project));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+    stubClientsCustomObjectService(targetClient, ZonedDateTime.now().plusHours(1));
+
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().changeFeed(true).deltaSyncWindowSize(10).pageSize(2).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), syncerOptions);
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, false);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    final ArgumentCaptor<SphereRequest> requestCaptor =
+        ArgumentCaptor.forClass(SphereRequest.class);
+    verify(sourceClient, times(4)).execute(requestCaptor.capture());
+    assertThat(requestCaptor.getAllValues())
+        .filteredOn(request -> request instanceof MessageQuery)
+        .extracting(request -> ((MessageQuery) request).predicates().get(0).toSphereQuery())
+        .allSatisfy(predicate -> assertThat(predicate).startsWith("resource(typeId=\"category\")"));
+    assertThat(requestCaptor.getAllValues())
+        .filteredOn(request -> request instanceof CategoryQuery)
+        .extracting(request -> (CategoryQuery) request)
+        .extracting(query -> query.predicates().get(query.predicates().size() - 1))
+        .extracting(QueryPredicate::toSphereQuery)
+        .containsExactly("id in (\"category-a\", \"category-b\")");
+    // the timestamp generator and the last sync timestamp of the change feed are upserted once
+    // each, the last sync timestamp is not advanced by the change feed
+    final ArgumentCaptor<SphereRequest> targetRequestCaptor =
+        ArgumentCaptor.forClass(SphereRequest.class);
+    verify(targetClient, times(2)).execute(any(CustomObjectUpsertCommand.class));
+    verify(targetClient, times(4)).execute(targetRequestCaptor.capture());
+    assertThat(targetRequestCaptor.getAllValues())
+        .filteredOn(request -> request instanceof CustomObjectUpsertCommand)
+        .extracting(request -> ((CustomObjectUpsertCommand<?>) request).getDraft().getContainer())
+        .containsExactlyInAnyOrder(
+            "commercetools-project-sync.runnerName.CategorySync.timestampGenerator",
+            "commercetools-project-sync.runnerName.categorySyncChangeFeed");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sync_AsDeltaSyncWithChangeFeedAndShard_ShouldQueryMessagesOfShardOnly() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    when(sourceClient.execute(any(MessageQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+    final Project project = mockProject(true);
+    when(sourceClient.execute(any(ProjectGet.class)))
+        .thenReturn(CompletableFuture.completedFuture(project));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+    stubClientsCustomObjectService(targetClient, ZonedDateTime.now().plusHours(1));
+
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().changeFeed(true).shard(2, 4).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), syncerOptions);
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, false);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    final ArgumentCaptor<SphereRequest> requestCaptor =
+        ArgumentCaptor.forClass(SphereRequest.class);
+    verify(sourceClient, times(2)).execute(requestCaptor.capture());
+    assertThat(requestCaptor.getAllValues())
+        .filteredOn(request -> request instanceof MessageQuery)
+        .extracting(request -> (MessageQuery) request)
+        .flatExtracting(MessageQuery::predicates)
+        .extracting(QueryPredicate::toSphereQuery)
+        .contains("resource(id >= \"40\" AND id < \"80\")");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sync_AsDeltaSyncWithChangeFeedAndDisabledMessages_ShouldSyncModifiedResources() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    when(sourceClient.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+    final Project project = mockProject(false);
+    when(sourceClient.execute(any(ProjectGet.class)))
+        .thenReturn(CompletableFuture.completedFuture(project));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+    stubClientsCustomObjectService(targetClient, ZonedDateTime.now().plusHours(1));
+
+    final SyncerOptions syncerOptions = SyncerOptionsBuilder.of().changeFeed(true).build();
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), syncerOptions);
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, false);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    verify(sourceClient, never()).execute(any(MessageQuery.class));
+    final ArgumentCaptor<SphereRequest> requestCaptor =
+        ArgumentCaptor.forClass(SphereRequest.class);
+    verify(sourceClient, times(2)).execute(requestCaptor.capture());
+    assertThat(requestCaptor.getAllValues())
+        .filteredOn(request -> request instanceof CategoryQuery)
+        .extracting(request -> (CategoryQuery) request)
+        .flatExtracting(CategoryQuery::predicates)
+        .extracting(QueryPredicate::toSphereQuery)
+        .anySatisfy(predicate -> assertThat(predicate).startsWith("lastModifiedAt >= "));
+    final ArgumentCaptor<SphereRequest> targetRequestCaptor =
+        ArgumentCaptor.forClass(SphereRequest.class);
+    verify(targetClient, times(2)).execute(any(CustomObjectUpsertCommand.class));
+    verify(targetClient, times(3)).execute(targetRequestCaptor.capture());
+    assertThat(targetRequestCaptor.getAllValues())
+        .filteredOn(request -> request instanceof CustomObjectUpsertCommand)
+        .extracting(request -> ((CustomObjectUpsertCommand<?>) request).getDraft().getContainer())
+        .contains("commercetools-project-sync.runnerName.categorySync");
+  }
+
+  @Nonnull
+  private static Project mockProject(final boolean isMessagesEnabled) {
+    final MessagesConfiguration messagesConfiguration = mock(MessagesConfiguration.class);
+    when(messagesConfiguration.isEnabled()).thenReturn(isMessagesEnabled);
+    when(messagesConfiguration.getDeleteDaysAfterCreation()).thenReturn(15L);
+    final Project project = mock(Project.class);
+    when(project.getMessages()).thenReturn(messagesConfiguration);
+    return project;
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sync_AsDeltaSyncWithAdditionalTarget_ShouldFetchPagesOnceAndUpdateLastSyncOfEveryTarget() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    when(sourceClient.getConfig()).thenReturn(SphereClientConfig.of("foo", "foo", "foo"));
+    final List<Category> categories = mockCategories(0, 1);
+    when(sourceClient.execute(any(CategoryQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(MockPagedQueryResult.of(categories)));
+
+    final SphereClient targetClient = mock(SphereClient.class);
+    when(targetClient.getConfig()).thenReturn(SphereClientConfig.of("bar", "bar", "bar"));
+    stubClientsCustomObjectService(targetClient, ZonedDateTime.now().plusHours(1));
+
+    final SphereClient additionalTargetClient = mock(SphereClient.class);
+    when(additionalTargetClient.getConfig()).thenReturn(SphereClientConfig.of("baz", "baz", "baz"));
+    when(additionalTargetClient.execute(any(CustomObjectQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(PagedQueryResult.empty()));
+    when(additionalTargetClient.execute(any(CustomObjectUpsertCommand.class)))
+        .thenReturn(CompletableFuture.completedFuture(mock(CustomObject.class)));
+
+    final CategorySyncer categorySyncer =
+        CategorySyncer.of(sourceClient, targetClient, getMockedClock(), SyncerOptions.ofDefaults());
+    categorySyncer.addTarget(
+        CategorySyncer.of(
+            sourceClient, additionalTargetClient, getMockedClock(), SyncerOptions.ofDefaults()));
+
+    // test
+    final CompletionStage<Void> syncStage = categorySyncer.sync(null, false);
+
+    // assertions
+    assertThat(syncStage).isCompleted();
+    final ArgumentCaptor<CategoryQuery> queryCaptor = ArgumentCaptor.forClass(CategoryQuery.class);
+    verify(sourceClient, times(1)).execute(queryCaptor.capture());
+    // the additional target has no last sync timestamp, so all resources are synced
+    assertThat(queryCaptor.getValue().predicates())
+        .extracting(QueryPredicate::toSphereQuery)
+        .noneMatch(predicate -> predicate.contains("lastModifiedAt"));
+    // the timestamp generator and the last sync timestamp are upserted once each
+    verify(targetClient, times(2)).execute(any(CustomObjectUpsertCommand.class));
+    // only the last sync timestamp is upserted
+    verify(additionalTargetClient, times(1)).execute(any(CustomObjectUpsertCommand.class));
+  }
+
+  @Nonnull
+  private static Message mockMessage(@Nonnull final String id, @Nonnull final String categoryId) {
+    final Message message = mock(Message.class);
+    when(message.getId()).thenReturn(id);
+    doReturn(Category.referenceOfId(categoryId)).when(message).getResource();
+    return message;
+  }
+
+  @Nonnull
+  private static List<Category> mockCategories(final int firstIndex, final int count) {
+    return IntStream.range(firstIndex, firstIndex + count)
+        .mapToObj(
+            index -> {
+              final Category category = mock(Category.class);
+              when(category.getId()).thenReturn(format("%08d", index));
+              return category;
+            })
+        .collect(toList());
+  }
 }
@@ -4,17 +4,29 @@ import static com.commercetools.project.sync.util.TestUtils.getMockedClock;
 import static com.commercetools.sync.inventories.utils.InventoryReferenceReplacementUtils.replaceInventoriesReferenceIdsWithKeys;
 import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.mock;
 
+import com.commercetools.project.sync.SyncerOptions;
+import com.commercetools.project.sync.SyncerOptionsBuilder;
 import com.commercetools.sync.inventories.InventorySync;
+import io.sphere.sdk.channels.Channel;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.expansion.ExpansionPath;
 import io.sphere.sdk.inventory.InventoryEntry;
 import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.InventoryEntryDraftBuilder;
 import io.sphere.sdk.inventory.expansion.InventoryEntryExpansionModel;
 import io.sphere.sdk.inventory.queries.InventoryEntryQuery;
+import io.sphere.sdk.types.CustomFieldsDraft;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import org.junit.jupiter.api.Test;
 
@@ -38,6 +50,20 @@ class InventoryEntrySyncerTest {
     assertThat(inventorySyncer.getSync()).isInstanceOf(InventorySync.class);
   }
 
+  @Test
+  void of_WithSyncerOptions_ShouldCreateInventorySyncWithBatchSize() {
+    // preparation
+    final SyncerOptions syncerOptions = SyncerOptionsBuilder.of().batchSize(100).build();
+
+    // test
+    final InventoryEntrySyncer inventorySyncer =
+        InventoryEntrySyncer.of(
+            mock(SphereClient.class), mock(SphereClient.class), getMockedClock(), syncerOptions);
+
+    // assertions
+    assertThat(inventorySyncer.getSync().getSyncOptions().getBatchSize()).isEqualTo(100);
+  }
+
   @Test
   void transform_ShouldReplaceInventoryEntryReferenceIdsWithKeys() {
     // preparation
@@ -76,4 +102,49 @@ class InventoryEntrySyncerTest {
                 .withExpansionPaths(InventoryEntryExpansionModel::supplyChannel)
                 .plusExpansionPaths(ExpansionPath.of("custom.type")));
   }
+
+  @Test
+  void getQuery_WithResolveReferencesFromCache_ShouldNotExpandReferences() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().resolveReferencesFromCache(true).build();
+    final InventoryEntrySyncer inventoryEntrySyncer =
+        InventoryEntrySyncer.of(
+            mock(SphereClient.class), mock(SphereClient.class), getMockedClock(), syncerOptions);
+
+    // test
+    final InventoryEntryQuery query = inventoryEntrySyncer.getQuery();
+
+    // assertion
+    assertThat(query).isEqualTo(InventoryEntryQuery.of());
+  }
+
+  @Test
+  void replaceReferenceIdsWithKeys_WithCollectedIds_ShouldReplaceIdsWithKeyMapping() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().resolveReferencesFromCache(true).build();
+    final InventoryEntrySyncer inventoryEntrySyncer =
+        InventoryEntrySyncer.of(
+            mock(SphereClient.class), mock(SphereClient.class), getMockedClock(), syncerOptions);
+    final InventoryEntryDraft inventoryEntryDraft =
+        InventoryEntryDraftBuilder.of("sku", 1L)
+            .supplyChannel(Channel.referenceOfId("channelId"))
+            .custom(CustomFieldsDraft.ofTypeIdAndJson("typeId", emptyMap()))
+            .build();
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+
+    // test
+    inventoryEntrySyncer.collectReferenceIds(inventoryEntryDraft, idsByReferenceTypeId);
+    final InventoryEntryDraft draftWithKeys =
+        inventoryEntrySyncer.replaceReferenceIdsWithKeys(
+            inventoryEntryDraft, singletonMap("channelId", "channelKey"));
+
+    // assertions
+    assertThat(idsByReferenceTypeId)
+        .containsOnly(entry("channel", singleton("channelId")), entry("type", singleton("typeId")));
+    assertThat(draftWithKeys.getSupplyChannel().getId()).isEqualTo("channelKey");
+    assertThat(draftWithKeys.getCustom().getType().getId()).isEqualTo("typeId");
+    assertThat(draftWithKeys.getQuantityOnStock()).isEqualTo(1L);
+  }
 }
@@ -0,0 +1,67 @@
+package com.commercetools.project.sync.model.request;
+
+import static io.sphere.sdk.utils.SphereInternalUtils.asSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.project.sync.model.response.ReferenceIdKey;
+import com.commercetools.project.sync.model.response.ResultingResourcesContainer;
+import io.sphere.sdk.client.HttpRequestIntent;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.http.StringHttpRequestBody;
+import org.junit.jupiter.api.Test;
+
+class ResourceKeysPageRequestTest {
+
+  @Test
+  void httpRequestIntent_WithoutLastId_ShouldBuildRequestOfFirstPage() {
+    // preparation
+    final ResourceKeysPageRequest request = new ResourceKeysPageRequest("categories", null);
+
+    // test
+    final HttpRequestIntent httpRequestIntent = request.httpRequestIntent();
+
+    // assertions
+    assertThat(httpRequestIntent.getPath()).isEqualTo("/graphql");
+    assertThat(httpRequestIntent.getHttpMethod()).isEqualTo(HttpMethod.POST);
+    assertThat(((StringHttpRequestBody) httpRequestIntent.getBody()).getString())
+        .isEqualTo(
+            "{\"query\": \"{ "
+                + "categories(limit: 500, sort: [\\\"id asc\\\"]) { results { id key } }"
+                + " }\"}");
+  }
+
+  @Test
+  void httpRequestIntent_WithLastId_ShouldBuildRequestOfPageAfterLastId() {
+    // preparation
+    final ResourceKeysPageRequest request = new ResourceKeysPageRequest("productTypes", "foo");
+
+    // test
+    final HttpRequestIntent httpRequestIntent = request.httpRequestIntent();
+
+    // assertion
+    assertThat(((StringHttpRequestBody) httpRequestIntent.getBody()).getString())
+        .isEqualTo(
+            "{\"query\": \"{ "
+                + "productTypes(limit: 500, sort: [\\\"id asc\\\"], where: \\\"id > \\\\\\\"foo\\\\\\\"\\\") "
+                + "{ results { id key } }"
+                + " }\"}");
+  }
+
+  @Test
+  void deserialize_WithResults_ShouldDeserializeResultsOfQuery() {
+    // preparation
+    final HttpResponse response =
+        HttpResponse.of(
+            200,
+            "{\"data\": {\"categories\": {\"results\": [{\"id\": \"foo\", \"key\": \"bar\"}]}}}");
+
+    // test
+    final ResultingResourcesContainer resultsContainer =
+        new ResourceKeysPageRequest("categories", null).deserialize(response);
+
+    // assertion
+    assertThat(resultsContainer).isNotNull();
+    assertThat(resultsContainer.getResults()).isEqualTo(asSet(new ReferenceIdKey("foo", "bar")));
+  }
+}
@@ -0,0 +1,62 @@
+package com.commercetools.project.sync.model.request;
+
+import static io.sphere.sdk.utils.SphereInternalUtils.asSet;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.commercetools.project.sync.model.response.ReferenceIdKey;
+import com.commercetools.project.sync.model.response.ResultingResourcesContainer;
+import io.sphere.sdk.client.HttpRequestIntent;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.http.StringHttpRequestBody;
+import org.junit.jupiter.api.Test;
+
+class ResourceKeysRequestTest {
+
+  @Test
+  void httpRequestIntent_WithIds_ShouldBuildRequestOfIds() {
+    // preparation
+    final ResourceKeysRequest request = new ResourceKeysRequest("taxCategories", asSet("foo"));
+
+    // test
+    final HttpRequestIntent httpRequestIntent = request.httpRequestIntent();
+
+    // assertions
+    assertThat(httpRequestIntent.getPath()).isEqualTo("/graphql");
+    assertThat(httpRequestIntent.getHttpMethod()).isEqualTo(HttpMethod.POST);
+    assertThat(((StringHttpRequestBody) httpRequestIntent.getBody()).getString())
+        .isEqualTo(
+            "{\"query\": \"{ "
+                + "taxCategories(limit: 500, where: \\\"id in (\\\\\\\"foo\\\\\\\")\\\") { results { id key } }"
+                + " }\"}");
+  }
+
+  @Test
+  void httpRequestIntent_WithoutIds_ShouldThrowIllegalArgumentException() {
+    // preparation
+    final ResourceKeysRequest request = new ResourceKeysRequest("channels", emptySet());
+
+    // test and assertion
+    assertThatThrownBy(request::httpRequestIntent)
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessage("No ids passed to build the graphql request body.");
+  }
+
+  @Test
+  void deserialize_WithResults_ShouldDeserializeResultsOfQuery() {
+    // preparation
+    final HttpResponse response =
+        HttpResponse.of(
+            200, "{\"data\": {\"states\": {\"results\": [{\"id\": \"foo\", \"key\": \"bar\"}]}}}");
+
+    // test
+    final ResultingResourcesContainer resultsContainer =
+        new ResourceKeysRequest("states", asSet("foo")).deserialize(response);
+
+    // assertion
+    assertThat(resultsContainer).isNotNull();
+    assertThat(resultsContainer.getResults()).isEqualTo(asSet(new ReferenceIdKey("foo", "bar")));
+  }
+}
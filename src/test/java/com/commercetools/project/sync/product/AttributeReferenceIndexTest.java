@@ -0,0 +1,88 @@
+package com.commercetools.project.sync.product;
+
+import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.attributes.Attribute;
+import io.sphere.sdk.producttypes.ProductType;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class AttributeReferenceIndexTest {
+
+  @Test
+  void collectIds_WithReferenceAttributes_ShouldCollectIdsOfTypeId() {
+    // preparation
+    final AttributeReferenceIndex referenceIndex =
+        AttributeReferenceIndex.of(readObjectFromResource("product-key-1.json", Product.class));
+    final Set<String> productIds = new HashSet<>();
+    final Set<String> categoryIds = new HashSet<>();
+    final Set<String> productTypeIds = new HashSet<>();
+
+    // test
+    referenceIndex.collectIds(Product.referenceTypeId(), productIds);
+    referenceIndex.collectIds(Category.referenceTypeId(), categoryIds);
+    referenceIndex.collectIds(ProductType.referenceTypeId(), productTypeIds);
+
+    // assertions
+    assertThat(productIds)
+        .containsExactlyInAnyOrder(
+            "53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c1", "53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c5");
+    assertThat(categoryIds)
+        .containsExactlyInAnyOrder(
+            "53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c3", "53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c4");
+    assertThat(productTypeIds).containsExactly("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c2");
+  }
+
+  @Test
+  void getIrresolvableReferences_WithMissingKeys_ShouldReturnReferencesWithoutKey() {
+    // preparation
+    final AttributeReferenceIndex referenceIndex =
+        AttributeReferenceIndex.of(readObjectFromResource("product-key-1.json", Product.class));
+    final Map<String, String> idToKey = getIdToKey();
+    idToKey.remove("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c5");
+
+    // test
+    final Set<JsonNode> irresolvableReferences = referenceIndex.getIrresolvableReferences(idToKey);
+
+    // assertions
+    assertThat(irresolvableReferences)
+        .hasOnlyOneElementSatisfying(
+            reference ->
+                assertThat(reference.get("id").asText())
+                    .isEqualTo("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c5"));
+    assertThat(referenceIndex.getIrresolvableReferences(getIdToKey())).isEmpty();
+  }
+
+  @Test
+  void replaceIdsWithKeys_WithAllKeys_ShouldReplaceIdsOnProductAttributes() {
+    // preparation
+    final Product product = readObjectFromResource("product-key-1.json", Product.class);
+    final AttributeReferenceIndex referenceIndex = AttributeReferenceIndex.of(product);
+
+    // test
+    referenceIndex.replaceIdsWithKeys(getIdToKey());
+
+    // assertions
+    final Attribute productTypeReference =
+        product.getMasterData().getStaged().getMasterVariant().getAttribute("productTypeReference");
+    assertThat(productTypeReference.getValueAsJsonNode().get("id").asText()).isEqualTo("prodType1");
+    assertThat(referenceIndex.getProduct()).isSameAs(product);
+  }
+
+  private static Map<String, String> getIdToKey() {
+    final Map<String, String> idToKey = new HashMap<>();
+    idToKey.put("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c1", "prod1");
+    idToKey.put("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c5", "prod2");
+    idToKey.put("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c2", "prodType1");
+    idToKey.put("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c3", "cat1");
+    idToKey.put("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c4", "cat2");
+    return idToKey;
+  }
+}
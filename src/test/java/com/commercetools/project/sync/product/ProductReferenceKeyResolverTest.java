@@ -0,0 +1,107 @@
+package com.commercetools.project.sync.product;
+
+import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
+import static io.sphere.sdk.models.DefaultCurrencyUnits.EUR;
+import static io.sphere.sdk.models.LocalizedString.ofEnglish;
+import static io.sphere.sdk.utils.SphereInternalUtils.asSet;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.products.PriceDraft;
+import io.sphere.sdk.products.PriceDraftBuilder;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductDraftBuilder;
+import io.sphere.sdk.products.ProductVariantDraftBuilder;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.types.CustomFieldsDraft;
+import io.sphere.sdk.utils.MoneyImpl;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ProductReferenceKeyResolverTest {
+
+  @Test
+  void collectReferenceIds_WithProduct_ShouldCollectIdsOfNonAttributeReferencesByTypeId() {
+    // preparation
+    final Product product = readObjectFromResource("product-key-1.json", Product.class);
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+
+    // test
+    ProductReferenceKeyResolver.collectReferenceIds(product, idsByReferenceTypeId);
+
+    // assertions
+    assertThat(idsByReferenceTypeId).containsOnlyKeys("product-type", "tax-category", "category");
+    assertThat(idsByReferenceTypeId.get("product-type"))
+        .containsExactly("cda0dbf7-b42e-40bf-8453-241d5b587f93");
+    assertThat(idsByReferenceTypeId.get("tax-category"))
+        .containsExactly("ebbe95fb-2282-4f9a-8747-fbe440e02dc0");
+    assertThat(idsByReferenceTypeId.get("category"))
+        .containsExactlyInAnyOrder(
+            "1dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f",
+            "2dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f",
+            "3dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f",
+            "4dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f");
+  }
+
+  @Test
+  void replaceReferenceIdsWithKeys_WithResolvableAndIrresolvableIds_ShouldReplaceResolvableIds() {
+    // preparation
+    final Product product = readObjectFromResource("product-key-4.json", Product.class);
+    final PriceDraft priceDraft =
+        PriceDraftBuilder.of(MoneyImpl.of(BigDecimal.TEN, EUR))
+            .channel(ResourceIdentifier.<Channel>ofId("channelId"))
+            .custom(CustomFieldsDraft.ofTypeIdAndJson("typeId", emptyMap()))
+            .build();
+    // A draft without the categoryOrderHints of the product, whose categories are not expanded.
+    final ProductDraft productDraft =
+        ProductDraftBuilder.of(
+                ProductType.referenceOfId("cda0dbf7-b42e-40bf-8453-241d5b587f93"),
+                ofEnglish("name"),
+                ofEnglish("slug"),
+                ProductVariantDraftBuilder.of().prices(singletonList(priceDraft)).build())
+            .categories(
+                asSet(
+                    ResourceIdentifier.<Category>ofId("1dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f"),
+                    ResourceIdentifier.ofId("2dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f")))
+            .build();
+
+    final Map<String, String> idToKey = new HashMap<>();
+    idToKey.put("cda0dbf7-b42e-40bf-8453-241d5b587f93", "productTypeKey");
+    idToKey.put("1dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "categoryKey");
+    idToKey.put("channelId", "channelKey");
+    idToKey.put("typeId", "typeKey");
+
+    // test
+    final ProductDraft draftWithKeys =
+        ProductReferenceKeyResolver.replaceReferenceIdsWithKeys(product, productDraft, idToKey);
+
+    // assertions
+    assertThat(draftWithKeys.getProductType().getId()).isEqualTo("productTypeKey");
+    assertThat(draftWithKeys.getTaxCategory().getId())
+        .isEqualTo("ebbe95fb-2282-4f9a-8747-fbe440e02dc0");
+    assertThat(
+            draftWithKeys
+                .getCategories()
+                .stream()
+                .map(ResourceIdentifier::getId)
+                .collect(Collectors.toSet()))
+        .containsExactlyInAnyOrder("categoryKey", "2dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f");
+    assertThat(draftWithKeys.getCategoryOrderHints().getAsMap())
+        .containsOnly(
+            entry("categoryKey", "0.43"), entry("2dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "0.53"));
+    final PriceDraft priceDraftWithKeys = draftWithKeys.getMasterVariant().getPrices().get(0);
+    assertThat(priceDraftWithKeys.getChannel().getId()).isEqualTo("channelKey");
+    assertThat(priceDraftWithKeys.getCustom().getType().getId()).isEqualTo("typeKey");
+    assertThat(priceDraftWithKeys.getValue()).isEqualTo(priceDraft.getValue());
+  }
+}
@@ -5,12 +5,17 @@ import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
 import static io.sphere.sdk.models.LocalizedString.ofEnglish;
 import static io.sphere.sdk.utils.SphereInternalUtils.asSet;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.commercetools.project.sync.SyncerOptions;
+import com.commercetools.project.sync.SyncerOptionsBuilder;
 import com.commercetools.project.sync.model.request.CombinedResourceKeysRequest;
+import com.commercetools.project.sync.model.request.ResourceKeysRequest;
 import com.commercetools.project.sync.model.response.CombinedResult;
 import com.commercetools.project.sync.model.response.ReferenceIdKey;
 import com.commercetools.project.sync.model.response.ResultingResourcesContainer;
@@ -20,7 +25,8 @@ import io.sphere.sdk.client.BadGatewayException;
 import io.sphere.sdk.client.SphereApiConfig;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.commands.UpdateAction;
-import io.sphere.sdk.expansion.ExpansionPath;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.products.PriceDraft;
 import io.sphere.sdk.products.Product;
 import io.sphere.sdk.products.ProductCatalogData;
 import io.sphere.sdk.products.ProductDraft;
@@ -90,6 +96,11 @@ class ProductSyncerTest {
         .thenReturn(
             CompletableFuture.completedFuture(
                 new CombinedResult(productsResult, categoriesResult, productTypesResult)));
+    when(sourceClient.execute(any(ResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new ResultingResourcesContainer(
+                    asSet(new ReferenceIdKey("ebbe95fb-2282-4f9a-8747-fbe440e02dc0", "taxCat1")))));
 
     // test
     final List<ProductDraft> draftsFromPageStage =
@@ -150,6 +161,10 @@ class ProductSyncerTest {
                               .isEqualTo("prodType1");
                         }));
 
+    assertThat(productDraftKey1)
+        .hasValueSatisfying(
+            productDraft -> assertThat(productDraft.getTaxCategory().getId()).isEqualTo("taxCat1"));
+
     final Optional<ProductDraft> productDraftKey2 =
         draftsFromPageStage
             .stream()
@@ -219,6 +234,11 @@ class ProductSyncerTest {
         .thenReturn(
             CompletableFuture.completedFuture(
                 new CombinedResult(productsResult, categoriesResult, productTypesResult)));
+    when(sourceClient.execute(any(ResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new ResultingResourcesContainer(
+                    asSet(new ReferenceIdKey("ebbe95fb-2282-4f9a-8747-fbe440e02dc0", "taxCat1")))));
 
     // test
     final List<ProductDraft> draftsFromPageStage =
@@ -272,6 +292,62 @@ class ProductSyncerTest {
                             + "Please make sure these referenced resources are existing and have non-blank (i.e. non-null and non-empty) keys."));
   }
 
+  @Test
+  void transform_WithUnexpandedReferences_ShouldReplaceReferenceIdsWithKeys() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    final ProductSyncer productSyncer =
+        ProductSyncer.of(sourceClient, mock(SphereClient.class), getMockedClock());
+    final Product product = readObjectFromResource("product-key-4.json", Product.class);
+
+    final ResultingResourcesContainer categoriesResult =
+        new ResultingResourcesContainer(
+            asSet(
+                new ReferenceIdKey("1dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "cat1"),
+                new ReferenceIdKey("2dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "cat2")));
+    final ResultingResourcesContainer productTypesResult =
+        new ResultingResourcesContainer(
+            asSet(new ReferenceIdKey("cda0dbf7-b42e-40bf-8453-241d5b587f93", "prodType1")));
+    when(sourceClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new CombinedResult(null, categoriesResult, productTypesResult)));
+    when(sourceClient.execute(any(ResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new ResultingResourcesContainer(
+                    asSet(
+                        new ReferenceIdKey("ebbe95fb-2282-4f9a-8747-fbe440e02dc0", "taxCat1"),
+                        new ReferenceIdKey("8dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "state1"),
+                        new ReferenceIdKey("6dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "channel1"),
+                        new ReferenceIdKey("7dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "priceType1"),
+                        new ReferenceIdKey(
+                            "5dfc8bea-84f2-45bc-b3c2-cdc94bf96f1f", "assetType1")))));
+
+    // test
+    final List<ProductDraft> drafts =
+        productSyncer.transform(singletonList(product)).toCompletableFuture().join();
+
+    // assertions
+    assertThat(drafts).hasSize(1);
+    final ProductDraft productDraft = drafts.get(0);
+    assertThat(productDraft.getKey()).isEqualTo("productKey4");
+    assertThat(productDraft.getProductType().getId()).isEqualTo("prodType1");
+    assertThat(productDraft.getTaxCategory().getId()).isEqualTo("taxCat1");
+    assertThat(productDraft.getState().getId()).isEqualTo("state1");
+    assertThat(productDraft.getCategories())
+        .extracting(ResourceIdentifier::getId)
+        .containsExactlyInAnyOrder("cat1", "cat2");
+    assertThat(productDraft.getCategoryOrderHints().getAsMap())
+        .containsOnly(entry("cat1", "0.43"), entry("cat2", "0.53"));
+    final PriceDraft priceDraft = productDraft.getMasterVariant().getPrices().get(0);
+    assertThat(priceDraft.getChannel().getId()).isEqualTo("channel1");
+    assertThat(priceDraft.getCustom().getType().getId()).isEqualTo("priceType1");
+    assertThat(productDraft.getMasterVariant().getAssets().get(0).getCustom().getType().getId())
+        .isEqualTo("assetType1");
+    assertThat(testLogger.getAllLoggingEvents()).isEmpty();
+  }
+
   @Test
   void transform_WithErrorOnGraphQlRequest_ShouldContinueAndLogError() {
     // preparation
@@ -287,6 +363,11 @@ class ProductSyncerTest {
         new BadGatewayException("Failed Graphql request");
     when(sourceClient.execute(any(CombinedResourceKeysRequest.class)))
         .thenReturn(CompletableFutureUtils.failed(badGatewayException));
+    when(sourceClient.execute(any(ResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new ResultingResourcesContainer(
+                    asSet(new ReferenceIdKey("ebbe95fb-2282-4f9a-8747-fbe440e02dc0", "taxCat1")))));
 
     // test
     final CompletionStage<List<ProductDraft>> draftsFromPageStage =
@@ -306,6 +387,53 @@ class ProductSyncerTest {
             });
   }
 
+  @Test
+  void transform_WithTransformParallelism_ShouldBuildDraftsInPageOrder() {
+    // preparation
+    final SphereClient sourceClient = mock(SphereClient.class);
+    final SyncerOptions syncerOptions = SyncerOptionsBuilder.of().transformParallelism(2).build();
+    final ProductSyncer productSyncer =
+        ProductSyncer.of(sourceClient, mock(SphereClient.class), getMockedClock(), syncerOptions);
+    final List<Product> productPage =
+        asList(
+            readObjectFromResource("product-key-1.json", Product.class),
+            readObjectFromResource("product-key-2.json", Product.class));
+
+    final ResultingResourcesContainer productsResult =
+        new ResultingResourcesContainer(
+            asSet(
+                new ReferenceIdKey("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c1", "prod1"),
+                new ReferenceIdKey("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c5", "prod2")));
+    final ResultingResourcesContainer productTypesResult =
+        new ResultingResourcesContainer(
+            asSet(new ReferenceIdKey("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c2", "prodType1")));
+    final ResultingResourcesContainer categoriesResult =
+        new ResultingResourcesContainer(
+            asSet(
+                new ReferenceIdKey("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c3", "cat1"),
+                new ReferenceIdKey("53c4a8b4-754f-4b95-b6f2-3e1e70e3d0c4", "cat2")));
+
+    when(sourceClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new CombinedResult(productsResult, categoriesResult, productTypesResult)));
+    when(sourceClient.execute(any(ResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new ResultingResourcesContainer(
+                    asSet(new ReferenceIdKey("ebbe95fb-2282-4f9a-8747-fbe440e02dc0", "taxCat1")))));
+
+    // test
+    final List<ProductDraft> draftsFromPage =
+        productSyncer.transform(productPage).toCompletableFuture().join();
+
+    // assertions
+    assertThat(draftsFromPage)
+        .extracting(ProductDraft::getKey)
+        .containsExactly("productKey1", "productKey2");
+    assertThat(draftsFromPage.get(0).getTaxCategory().getId()).isEqualTo("taxCat1");
+  }
+
   @Test
   void getQuery_ShouldBuildProductQuery() {
     // preparation
@@ -316,18 +444,7 @@ class ProductSyncerTest {
     final ProductQuery query = productSyncer.getQuery();
 
     // assertion
-    assertThat(query.expansionPaths())
-        .containsExactly(
-            ExpansionPath.of("productType"),
-            ExpansionPath.of("taxCategory"),
-            ExpansionPath.of("state"),
-            ExpansionPath.of("masterData.staged.categories[*]"),
-            ExpansionPath.of("masterData.staged.masterVariant.prices[*].channel"),
-            ExpansionPath.of("masterData.staged.variants[*].prices[*].channel"),
-            ExpansionPath.of("masterData.staged.masterVariant.prices[*].custom.type"),
-            ExpansionPath.of("masterData.staged.variants[*].prices[*].custom.type"),
-            ExpansionPath.of("masterData.staged.masterVariant.assets[*].custom.type"),
-            ExpansionPath.of("masterData.staged.variants[*].assets[*].custom.type"));
+    assertThat(query.expansionPaths()).isEmpty();
   }
 
   @Test
@@ -3,18 +3,29 @@ package com.commercetools.project.sync.producttype;
 import static com.commercetools.project.sync.util.TestUtils.getMockedClock;
 import static io.sphere.sdk.json.SphereJsonUtils.readObjectFromResource;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
+import com.commercetools.project.sync.SyncerOptions;
+import com.commercetools.project.sync.SyncerOptionsBuilder;
 import com.commercetools.sync.producttypes.ProductTypeSync;
 import com.commercetools.sync.producttypes.utils.ProductTypeReferenceReplacementUtils;
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.products.attributes.AttributeDefinitionDraftBuilder;
+import io.sphere.sdk.products.attributes.NestedAttributeType;
+import io.sphere.sdk.products.attributes.SetAttributeType;
 import io.sphere.sdk.producttypes.ProductType;
 import io.sphere.sdk.producttypes.ProductTypeDraft;
 import io.sphere.sdk.producttypes.ProductTypeDraftBuilder;
 import io.sphere.sdk.producttypes.queries.ProductTypeQuery;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import org.junit.jupiter.api.Test;
 
@@ -67,4 +78,59 @@ class ProductTypeSyncerTest {
     // assertion
     assertThat(query).isEqualTo(ProductTypeReferenceReplacementUtils.buildProductTypeQuery(1));
   }
+
+  @Test
+  void getQuery_WithResolveReferencesFromCache_ShouldNotExpandReferences() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().resolveReferencesFromCache(true).build();
+    final ProductTypeSyncer productTypeSyncer =
+        ProductTypeSyncer.of(
+            mock(SphereClient.class), mock(SphereClient.class), getMockedClock(), syncerOptions);
+
+    // test
+    final ProductTypeQuery query = productTypeSyncer.getQuery();
+
+    // assertion
+    assertThat(query).isEqualTo(ProductTypeQuery.of());
+  }
+
+  @Test
+  void replaceReferenceIdsWithKeys_WithNestedTypeInSet_ShouldReplaceNestedProductTypeId() {
+    // preparation
+    final SyncerOptions syncerOptions =
+        SyncerOptionsBuilder.of().resolveReferencesFromCache(true).build();
+    final ProductTypeSyncer productTypeSyncer =
+        ProductTypeSyncer.of(
+            mock(SphereClient.class), mock(SphereClient.class), getMockedClock(), syncerOptions);
+    final ProductTypeDraft productTypeDraft =
+        ProductTypeDraftBuilder.of(
+                "key",
+                "name",
+                "description",
+                singletonList(
+                    AttributeDefinitionDraftBuilder.of(
+                            SetAttributeType.of(
+                                NestedAttributeType.of(ProductType.referenceOfId("nestedId"))),
+                            "nested",
+                            LocalizedString.ofEnglish("nested"),
+                            false)
+                        .build()))
+            .build();
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+
+    // test
+    productTypeSyncer.collectReferenceIds(productTypeDraft, idsByReferenceTypeId);
+    final ProductTypeDraft draftWithKeys =
+        productTypeSyncer.replaceReferenceIdsWithKeys(
+            productTypeDraft, singletonMap("nestedId", "nestedKey"));
+
+    // assertions
+    assertThat(idsByReferenceTypeId.get("product-type")).containsExactly("nestedId");
+    final SetAttributeType setAttributeType =
+        (SetAttributeType) draftWithKeys.getAttributes().get(0).getAttributeType();
+    assertThat(((NestedAttributeType) setAttributeType.getElementType()).getTypeReference().getId())
+        .isEqualTo("nestedKey");
+    assertThat(draftWithKeys.getKey()).isEqualTo("key");
+  }
 }
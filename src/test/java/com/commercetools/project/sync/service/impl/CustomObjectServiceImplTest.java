@@ -1,26 +1,34 @@
 package com.commercetools.project.sync.service.impl;
 
 import static com.commercetools.project.sync.service.impl.CustomObjectServiceImpl.DEFAULT_RUNNER_NAME;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.model.response.SyncCheckpoint;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.sync.products.helpers.ProductSyncStatistics;
 import io.sphere.sdk.client.BadGatewayException;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.customobjects.CustomObject;
 import io.sphere.sdk.customobjects.CustomObjectDraft;
+import io.sphere.sdk.customobjects.commands.CustomObjectDeleteCommand;
 import io.sphere.sdk.customobjects.commands.CustomObjectUpsertCommand;
 import io.sphere.sdk.customobjects.queries.CustomObjectQuery;
 import io.sphere.sdk.queries.PagedQueryResult;
 import io.sphere.sdk.utils.CompletableFutureUtils;
 import java.time.ZonedDateTime;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -151,6 +159,41 @@ class CustomObjectServiceImplTest {
         .hasMessageContaining("CTP error!");
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void getLastSyncCustomObjects_WithSeveralSyncModules_ShouldQueryOnceAndMapBySyncModule() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final CustomObject<LastSyncCustomObject> productSyncCustomObject = mock(CustomObject.class);
+    when(productSyncCustomObject.getContainer())
+        .thenReturn("commercetools-project-sync.runnerName.productSync");
+    final PagedQueryResult<CustomObject<LastSyncCustomObject>> queriedCustomObjects =
+        spy(PagedQueryResult.empty());
+    when(queriedCustomObjects.getResults()).thenReturn(singletonList(productSyncCustomObject));
+    when(client.execute(any(CustomObjectQuery.class)))
+        .thenReturn(CompletableFuture.completedFuture(queriedCustomObjects));
+
+    final CustomObjectService customObjectService = new CustomObjectServiceImpl(client);
+
+    // test
+    final Map<String, CustomObject<LastSyncCustomObject>> lastSyncCustomObjects =
+        customObjectService
+            .getLastSyncCustomObjects("foo", asList("ProductSync", "CategorySync"), null)
+            .toCompletableFuture()
+            .join();
+
+    // assertions
+    assertThat(lastSyncCustomObjects).containsOnly(entry("ProductSync", productSyncCustomObject));
+    final ArgumentCaptor<CustomObjectQuery<LastSyncCustomObject>> queryCaptor =
+        ArgumentCaptor.forClass(CustomObjectQuery.class);
+    verify(client, times(1)).execute(queryCaptor.capture());
+    assertThat(queryCaptor.getValue().predicates().get(0).toSphereQuery())
+        .contains("container in (")
+        .contains("\"commercetools-project-sync.runnerName.productSync\"")
+        .contains("\"commercetools-project-sync.runnerName.categorySync\"")
+        .contains("key=\"foo\"");
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   void createLastSyncCustomObject_OnSuccessfulCreation_ShouldCompleteWithLastSyncCustomObject() {
@@ -225,6 +268,31 @@ class CustomObjectServiceImplTest {
     assertThat(createdDraft.getKey()).isEqualTo("foo");
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void createLastSyncCustomObject_WithShard_ShouldCreateDraftInShardQualifiedContainer() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final ArgumentCaptor<CustomObjectUpsertCommand> arg =
+        ArgumentCaptor.forClass(CustomObjectUpsertCommand.class);
+    when(client.execute(arg.capture())).thenReturn(null);
+
+    final CustomObjectService customObjectService = new CustomObjectServiceImpl(client, 3, 8);
+
+    final LastSyncCustomObject<ProductSyncStatistics> lastSyncCustomObject =
+        LastSyncCustomObject.of(ZonedDateTime.now(), new ProductSyncStatistics(), 100);
+
+    // test
+    customObjectService.createLastSyncCustomObject(
+        "foo", "ProductSync", "testRunnerName", lastSyncCustomObject);
+
+    // assertions
+    final CustomObjectDraft createdDraft = (CustomObjectDraft) arg.getValue().getDraft();
+    assertThat(createdDraft.getContainer())
+        .isEqualTo("commercetools-project-sync.testRunnerName.productSync.shard-3-of-8");
+    assertThat(createdDraft.getKey()).isEqualTo("foo");
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   void createLastSyncCustomObject_WithEmptyRunnerName_ShouldCreateCorrectCustomObjectDraft() {
@@ -270,4 +338,48 @@ class CustomObjectServiceImplTest {
     assertThat(createdDraft.getContainer()).isEqualTo("commercetools-project-sync.runnerName.bar");
     assertThat(createdDraft.getKey()).isEqualTo("foo");
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void createSyncCheckpointCustomObject_WithValidTestRunnerName_ShouldCreateCorrectDraft() {
+    // preparation
+    final SphereClient client = mock(SphereClient.class);
+    final ArgumentCaptor<CustomObjectUpsertCommand> arg =
+        ArgumentCaptor.forClass(CustomObjectUpsertCommand.class);
+    when(client.execute(arg.capture())).thenReturn(null);
+
+    final CustomObjectService customObjectService = new CustomObjectServiceImpl(client);
+
+    final SyncCheckpoint syncCheckpoint =
+        SyncCheckpoint.of(true, emptyList(), null, singletonList("lastId"));
+
+    // test
+    customObjectService.createSyncCheckpointCustomObject(
+        "foo", "bar", "testRunnerName", syncCheckpoint);
+
+    // assertions
+    final CustomObjectDraft createdDraft = (CustomObjectDraft) arg.getValue().getDraft();
+    assertThat(createdDraft.getContainer())
+        .isEqualTo("commercetools-project-sync.testRunnerName.bar.checkpoint");
+    assertThat(createdDraft.getKey()).isEqualTo("foo");
+    assertThat(createdDraft.getValue()).isEqualTo(syncCheckpoint);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void deleteSyncCheckpointCustomObject_OnSuccessfulDeletion_ShouldCompleteWithDeletedObject() {
+    // preparation
+    final CustomObject<SyncCheckpoint> syncCheckpointCustomObject = mock(CustomObject.class);
+    when(CLIENT.execute(any(CustomObjectDeleteCommand.class)))
+        .thenReturn(CompletableFuture.completedFuture(syncCheckpointCustomObject));
+
+    final CustomObjectService customObjectService = new CustomObjectServiceImpl(CLIENT);
+
+    // test
+    final CompletionStage<CustomObject<SyncCheckpoint>> deletedCustomObject =
+        customObjectService.deleteSyncCheckpointCustomObject("foo", "barSync", DEFAULT_RUNNER_NAME);
+
+    // assertions
+    assertThat(deletedCustomObject).isCompletedWithValue(syncCheckpointCustomObject);
+  }
 }
@@ -0,0 +1,188 @@
+package com.commercetools.project.sync.service.impl;
+
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.commercetools.project.sync.service.CacheEvictionPolicy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class IdToKeyCacheTest {
+
+  @Test
+  void get_WithCachedAndNonCachedIds_ShouldCountHitsAndMisses() {
+    // preparation
+    final IdToKeyCache cache = IdToKeyCache.of(10, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+    cache.put("id", "key");
+
+    // test
+    final String cachedKey = cache.get("id");
+    final String nonCachedKey = cache.get("otherId");
+
+    // assertions
+    assertThat(cachedKey).isEqualTo("key");
+    assertThat(nonCachedKey).isNull();
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getEvictionCount()).isZero();
+  }
+
+  @Test
+  void put_WithFullLeastRecentlyUsedCache_ShouldEvictLeastRecentlyReadId() {
+    // preparation
+    final IdToKeyCache cache = IdToKeyCache.of(2, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+    cache.put("id1", "key1");
+    cache.put("id2", "key2");
+    cache.get("id1");
+
+    // test
+    cache.put("id3", "key3");
+
+    // assertions
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+    assertThat(cache.get("id1")).isEqualTo("key1");
+    assertThat(cache.get("id2")).isNull();
+    assertThat(cache.get("id3")).isEqualTo("key3");
+  }
+
+  @Test
+  void put_WithFullFirstInFirstOutCache_ShouldEvictFirstWrittenId() {
+    // preparation
+    final IdToKeyCache cache = IdToKeyCache.of(2, CacheEvictionPolicy.FIRST_IN_FIRST_OUT);
+    cache.put("id1", "key1");
+    cache.put("id2", "key2");
+    cache.get("id1");
+
+    // test
+    cache.put("id3", "key3");
+
+    // assertions
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+    assertThat(cache.get("id1")).isNull();
+    assertThat(cache.get("id2")).isEqualTo("key2");
+    assertThat(cache.get("id3")).isEqualTo("key3");
+  }
+
+  @Test
+  void put_WithMoreUuidsThanMaxSize_ShouldKeepYoungestUuidsFindable() {
+    // preparation
+    final IdToKeyCache cache = IdToKeyCache.of(1000, CacheEvictionPolicy.FIRST_IN_FIRST_OUT);
+    final List<String> ids =
+        IntStream.range(0, 5000).mapToObj(index -> randomUUID().toString()).collect(toList());
+
+    // test
+    ids.forEach(id -> cache.put(id, "key-" + id));
+
+    // assertions
+    assertThat(cache.getSize()).isEqualTo(1000);
+    assertThat(cache.getEvictionCount()).isEqualTo(4000);
+    ids.subList(0, 4000).forEach(id -> assertThat(cache.get(id)).isNull());
+    ids.subList(4000, 5000).forEach(id -> assertThat(cache.get(id)).isEqualTo("key-" + id));
+  }
+
+  @Test
+  void put_WithMoreUuidsThanMaxSizeOfSegmentedCache_ShouldKeepMaxSizeAndYoungestUuids() {
+    // preparation
+    final int maxSize = IdToKeyCache.MAX_SEGMENTS * IdToKeyCache.MIN_SEGMENT_SIZE;
+    final IdToKeyCache cache = IdToKeyCache.of(maxSize, CacheEvictionPolicy.FIRST_IN_FIRST_OUT);
+    final List<String> ids =
+        IntStream.range(0, 4 * maxSize)
+            .mapToObj(index -> randomUUID().toString())
+            .collect(toList());
+
+    // test
+    ids.forEach(id -> cache.put(id, "key-" + id));
+
+    // assertions
+    assertThat(cache.getSize()).isEqualTo(maxSize);
+    assertThat(cache.getEvictionCount()).isEqualTo(3 * maxSize);
+    ids.subList(ids.size() - maxSize / 4, ids.size())
+        .forEach(id -> assertThat(cache.get(id)).isEqualTo("key-" + id));
+  }
+
+  @Test
+  void get_WithConcurrentPutsAndGetsOnSegmentedCache_ShouldGetPutKeys() {
+    // preparation
+    final int maxSize = IdToKeyCache.MAX_SEGMENTS * IdToKeyCache.MIN_SEGMENT_SIZE;
+    final IdToKeyCache cache = IdToKeyCache.of(maxSize, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+    // half of the max size, so that none of the segments is full.
+    final List<String> ids =
+        IntStream.range(0, maxSize / 2)
+            .mapToObj(index -> randomUUID().toString())
+            .collect(toList());
+
+    // test
+    final List<String> keys =
+        ids.parallelStream()
+            .map(
+                id -> {
+                  cache.put(id, "key-" + id);
+                  return cache.get(id);
+                })
+            .collect(toList());
+
+    // assertions
+    assertThat(keys).isEqualTo(ids.stream().map(id -> "key-" + id).collect(toList()));
+    assertThat(cache.getSize()).isEqualTo(ids.size());
+    assertThat(cache.getHitCount()).isEqualTo(ids.size());
+    assertThat(cache.getEvictionCount()).isZero();
+  }
+
+  @Test
+  void forEach_WithUuidAndNonUuidIds_ShouldVisitEntriesFromEldestToYoungest() {
+    // preparation
+    final IdToKeyCache cache = IdToKeyCache.of(10, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+    final String uuid = randomUUID().toString();
+    cache.put(uuid, "key1");
+    cache.put("id2", "key2");
+    cache.get(uuid);
+    final Map<String, String> visitedEntries = new LinkedHashMap<>();
+
+    // test
+    cache.forEach(visitedEntries::put);
+
+    // assertions
+    assertThat(visitedEntries).containsExactly(entry("id2", "key2"), entry(uuid, "key1"));
+  }
+
+  @Test
+  void get_WithUpperCaseUuid_ShouldNotMatchLowerCaseUuid() {
+    // preparation
+    final IdToKeyCache cache = IdToKeyCache.of(10, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+    final String id = randomUUID().toString();
+    cache.put(id, "key");
+
+    // test & assertions
+    assertThat(cache.get(id)).isEqualTo("key");
+    assertThat(cache.get(id.toUpperCase(Locale.ENGLISH))).isNull();
+  }
+
+  @Test
+  void estimateFootprintBytes_WithUuids_ShouldBeSmallerThanWithNonUuidIds() {
+    // preparation
+    final IdToKeyCache uuidCache = IdToKeyCache.of(100, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+    final IdToKeyCache nonUuidCache = IdToKeyCache.of(100, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+
+    // test
+    IntStream.range(0, 100)
+        .forEach(
+            index -> {
+              final String id = randomUUID().toString();
+              uuidCache.put(id, "key" + index);
+              nonUuidCache.put(id.toUpperCase(Locale.ENGLISH), "key" + index);
+            });
+
+    // assertion
+    assertThat(uuidCache.estimateFootprintBytes())
+        .isPositive()
+        .isLessThan(nonUuidCache.estimateFootprintBytes());
+  }
+}
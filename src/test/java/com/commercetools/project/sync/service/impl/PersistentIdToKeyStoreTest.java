@@ -0,0 +1,175 @@
+package com.commercetools.project.sync.service.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.project.sync.service.CacheEvictionPolicy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentIdToKeyStoreTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void load_WithoutFile_ShouldNotPutIntoCache() {
+    // preparation
+    final IdToKeyCache idToKeyCache = IdToKeyCache.of(10, CacheEvictionPolicy.LEAST_RECENTLY_USED);
+
+    // test
+    PersistentIdToKeyStore.of(directory, "project").load(idToKeyCache);
+
+    // assertions
+    assertThat(idToKeyCache.getSize()).isZero();
+    assertThat(directory.resolve("project.reference-keys")).doesNotExist();
+  }
+
+  @Test
+  void load_WithAppendedMappings_ShouldPutLastKeyOfEveryId() {
+    // preparation
+    final PersistentIdToKeyStore store = PersistentIdToKeyStore.of(directory, "project");
+    final Map<String, String> idToKey = new HashMap<>();
+    idToKey.put("id1", "key1");
+    idToKey.put("id2", "key2");
+    store.append(idToKey);
+    store.append(singletonMap("id1", "newKey1"));
+    store.close();
+
+    // test
+    final Map<String, String> loadedIdToKey = load("project", 10);
+
+    // assertions
+    final Map<String, String> expectedIdToKey = new HashMap<>();
+    expectedIdToKey.put("id1", "newKey1");
+    expectedIdToKey.put("id2", "key2");
+    assertThat(loadedIdToKey).isEqualTo(expectedIdToKey);
+    assertThat(load("otherProject", 10)).isEmpty();
+  }
+
+  @Test
+  void load_WithMoreDuplicateLinesThanIds_ShouldCompactFile() throws IOException {
+    // preparation
+    final PersistentIdToKeyStore store = PersistentIdToKeyStore.of(directory, "project");
+    store.append(singletonMap("id", "key1"));
+    store.append(singletonMap("id", "key2"));
+    store.append(singletonMap("id", "key3"));
+    store.close();
+
+    // test
+    final Map<String, String> loadedIdToKey = load("project", 10);
+
+    // assertions
+    assertThat(loadedIdToKey).isEqualTo(singletonMap("id", "key3"));
+    assertThat(Files.readAllLines(directory.resolve("project.reference-keys"), UTF_8))
+        .containsExactly("id\tkey3");
+  }
+
+  @Test
+  void load_WithMoreIdsThanCacheSize_ShouldCompactFileToCachedIds() throws IOException {
+    // preparation
+    final PersistentIdToKeyStore store = PersistentIdToKeyStore.of(directory, "project");
+    IntStream.range(0, 5).forEach(index -> store.append(singletonMap("id" + index, "key" + index)));
+    store.close();
+
+    // test
+    final Map<String, String> loadedIdToKey = load("project", 2);
+
+    // assertions
+    final Map<String, String> expectedIdToKey = new HashMap<>();
+    expectedIdToKey.put("id3", "key3");
+    expectedIdToKey.put("id4", "key4");
+    assertThat(loadedIdToKey).isEqualTo(expectedIdToKey);
+    assertThat(Files.readAllLines(directory.resolve("project.reference-keys"), UTF_8))
+        .containsExactly("id3\tkey3", "id4\tkey4");
+  }
+
+  @Test
+  void load_WithUnterminatedLastLine_ShouldIgnoreLastLine() throws IOException {
+    // preparation
+    final Path file = directory.resolve("project.reference-keys");
+    Files.write(file, "id1\tkey1\nid2\tke".getBytes(UTF_8));
+
+    // test
+    final Map<String, String> loadedIdToKey = load("project", 10);
+
+    // assertions
+    assertThat(loadedIdToKey).isEqualTo(singletonMap("id1", "key1"));
+  }
+
+  @Test
+  void append_WithUnterminatedLastLine_ShouldAppendOnNewLine() throws IOException {
+    // preparation
+    final Path file = directory.resolve("project.reference-keys");
+    Files.write(file, "id1\tkey1\nid2\tke".getBytes(UTF_8));
+    final PersistentIdToKeyStore store = PersistentIdToKeyStore.of(directory, "project");
+
+    // test
+    store.append(singletonMap("id3", "key3"));
+    store.close();
+
+    // assertions
+    assertThat(Files.readAllLines(file, UTF_8))
+        .containsExactly("id1\tkey1", "id2\tke", "id3\tkey3");
+  }
+
+  @Test
+  void append_AfterCompactionByOtherStore_ShouldKeepMappingsAppendedByBothStores()
+      throws IOException {
+    // preparation
+    final PersistentIdToKeyStore store = PersistentIdToKeyStore.of(directory, "project");
+    store.append(singletonMap("id", "key1"));
+    store.append(singletonMap("id", "key2"));
+    store.append(singletonMap("id", "key3"));
+    final PersistentIdToKeyStore otherStore = PersistentIdToKeyStore.of(directory, "project");
+    otherStore.load(IdToKeyCache.of(10, CacheEvictionPolicy.LEAST_RECENTLY_USED));
+
+    // test
+    store.append(singletonMap("id1", "key1"));
+    otherStore.append(singletonMap("id2", "key2"));
+    store.close();
+    otherStore.close();
+
+    // assertions
+    assertThat(Files.readAllLines(directory.resolve("project.reference-keys"), UTF_8))
+        .containsExactly("id\tkey3", "id1\tkey1", "id2\tkey2");
+  }
+
+  @Test
+  void append_AfterClose_ShouldReopenFile() {
+    // preparation
+    final PersistentIdToKeyStore store = PersistentIdToKeyStore.of(directory, "project");
+    store.append(singletonMap("id1", "key1"));
+    store.close();
+
+    // test
+    store.append(singletonMap("id2", "key2"));
+    store.close();
+
+    // assertions
+    final Map<String, String> expectedIdToKey = new HashMap<>();
+    expectedIdToKey.put("id1", "key1");
+    expectedIdToKey.put("id2", "key2");
+    assertThat(load("project", 10)).isEqualTo(expectedIdToKey);
+  }
+
+  @Nonnull
+  private Map<String, String> load(@Nonnull final String sourceProjectKey, final int cacheSize) {
+    final IdToKeyCache idToKeyCache =
+        IdToKeyCache.of(cacheSize, CacheEvictionPolicy.FIRST_IN_FIRST_OUT);
+    final PersistentIdToKeyStore store = PersistentIdToKeyStore.of(directory, sourceProjectKey);
+    store.load(idToKeyCache);
+    store.close();
+    final Map<String, String> loadedIdToKey = new LinkedHashMap<>();
+    idToKeyCache.forEach(loadedIdToKey::put);
+    return loadedIdToKey;
+  }
+}
@@ -1,8 +1,10 @@
 package com.commercetools.project.sync.service.impl;
 
+import static com.commercetools.project.sync.model.request.CombinedResourceKeysRequest.QUERY_LIMIT;
 import static io.sphere.sdk.utils.SphereInternalUtils.asSet;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -12,18 +14,29 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.commercetools.project.sync.model.request.CombinedResourceKeysRequest;
+import com.commercetools.project.sync.model.request.ResourceKeysPageRequest;
+import com.commercetools.project.sync.model.request.ResourceKeysRequest;
 import com.commercetools.project.sync.model.response.CombinedResult;
 import com.commercetools.project.sync.model.response.ReferenceIdKey;
 import com.commercetools.project.sync.model.response.ResultingResourcesContainer;
+import com.commercetools.project.sync.service.CacheEvictionPolicy;
 import com.commercetools.project.sync.service.ReferencesService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.sphere.sdk.client.SphereApiConfig;
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.http.StringHttpRequestBody;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ReferencesServiceImplTest {
 
@@ -118,6 +131,49 @@ class ReferencesServiceImplTest {
     verify(ctpClient, times(1)).execute(any(CombinedResourceKeysRequest.class));
   }
 
+  @Test
+  void getIdToKeys_WithIdsOfOtherReferenceTypes_ShouldFetchKeysPerTypeAndCacheIds() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    when(ctpClient.execute(any(ResourceKeysRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              final String body =
+                  ((StringHttpRequestBody)
+                          invocation
+                              .<ResourceKeysRequest>getArgument(0)
+                              .httpRequestIntent()
+                              .getBody())
+                      .getString();
+              final ReferenceIdKey referenceIdKey =
+                  body.contains("taxCategories")
+                      ? new ReferenceIdKey("taxCategoryId", "taxCategoryKey")
+                      : new ReferenceIdKey("channelId", "channelKey");
+              return CompletableFuture.completedFuture(
+                  new ResultingResourcesContainer(asSet(referenceIdKey)));
+            });
+    final ReferencesService referencesService = new ReferencesServiceImpl(ctpClient);
+    final Map<String, Set<String>> idsByReferenceTypeId = new HashMap<>();
+    idsByReferenceTypeId.put("tax-category", asSet("taxCategoryId"));
+    idsByReferenceTypeId.put("channel", asSet("channelId"));
+    idsByReferenceTypeId.put("customer", asSet("customerId"));
+
+    // test
+    final Map<String, String> idToKey =
+        referencesService.getIdToKeys(idsByReferenceTypeId).toCompletableFuture().join();
+    final Map<String, String> cachedIdToKey =
+        referencesService.getIdToKeys(idsByReferenceTypeId).toCompletableFuture().join();
+
+    // assertions
+    final Map<String, String> expectedIdToKey = new HashMap<>();
+    expectedIdToKey.put("taxCategoryId", "taxCategoryKey");
+    expectedIdToKey.put("channelId", "channelKey");
+    assertThat(idToKey).isEqualTo(expectedIdToKey);
+    assertThat(cachedIdToKey).isEqualTo(expectedIdToKey);
+    verify(ctpClient, times(2)).execute(any(ResourceKeysRequest.class));
+    verify(ctpClient, never()).execute(any(CombinedResourceKeysRequest.class));
+  }
+
   @Test
   void getIdToKeys_WithSomeNonCachedIds_ShouldFetchTwiceAndCacheIds() {
     // preparation
@@ -179,4 +235,310 @@ class ReferencesServiceImplTest {
     assertThat(idToKeysStage).isCompletedWithValue(expectedCache);
     verify(ctpClient, times(1)).execute(any(CombinedResourceKeysRequest.class));
   }
+
+  @Test
+  void getIdToKeys_WithMoreIdsThanCacheSize_ShouldReturnAllKeysAndEvictFromCache() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    final CombinedResult mockResult =
+        new CombinedResult(
+            new ResultingResourcesContainer(
+                asSet(
+                    new ReferenceIdKey("productId", "productKey"),
+                    new ReferenceIdKey("productId2", "productKey2"))),
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("categoryId", "categoryKey"))),
+            null);
+    when(ctpClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(mockResult));
+    final ReferencesService referencesService =
+        new ReferencesServiceImpl(
+            ctpClient,
+            2,
+            CacheEvictionPolicy.LEAST_RECENTLY_USED,
+            Duration.ZERO,
+            Clock.systemDefaultZone(),
+            null);
+
+    // test
+    final CompletionStage<Map<String, String>> idToKeysStage =
+        referencesService.getIdToKeys(
+            asSet("productId", "productId2"), asSet("categoryId"), emptySet());
+
+    // assertions
+    final HashMap<String, String> expectedIdToKeys = new HashMap<>();
+    expectedIdToKeys.put("productId", "productKey");
+    expectedIdToKeys.put("productId2", "productKey2");
+    expectedIdToKeys.put("categoryId", "categoryKey");
+    assertThat(idToKeysStage).isCompletedWithValue(expectedIdToKeys);
+    assertThat(referencesService.getCacheReportMessage())
+        .isEqualTo(
+            "The id to key cache contains 2 of at most 2 mappings, using about 0 KB of memory "
+                + "(0 cache hits, 3 cache misses and 1 evictions). "
+                + "0 ids are cached as irresolvable (0 cache hits). "
+                + "0 lookups waited for the pending lookup of the same id.");
+  }
+
+  @Test
+  void getIdToKeys_WithMoreIdsThanQueryLimit_ShouldFetchChunksAndMergeKeys() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    final CombinedResult firstResult =
+        new CombinedResult(
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("productId0", "productKey0"))),
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("categoryId", "categoryKey"))),
+            null);
+    final CombinedResult secondResult =
+        new CombinedResult(
+            new ResultingResourcesContainer(
+                asSet(new ReferenceIdKey("productId1000", "productKey1000"))),
+            null,
+            null);
+    when(ctpClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(firstResult))
+        .thenReturn(CompletableFuture.completedFuture(secondResult))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    final ReferencesService referencesService = new ReferencesServiceImpl(ctpClient);
+    final Set<String> productIds =
+        IntStream.range(0, 2 * QUERY_LIMIT + 1)
+            .mapToObj(index -> "productId" + index)
+            .collect(Collectors.toSet());
+
+    // test
+    final CompletionStage<Map<String, String>> idToKeysStage =
+        referencesService.getIdToKeys(productIds, asSet("categoryId"), emptySet());
+
+    // assertions
+    final HashMap<String, String> expectedIdToKeys = new HashMap<>();
+    expectedIdToKeys.put("productId0", "productKey0");
+    expectedIdToKeys.put("productId1000", "productKey1000");
+    expectedIdToKeys.put("categoryId", "categoryKey");
+    assertThat(idToKeysStage).isCompletedWithValue(expectedIdToKeys);
+    verify(ctpClient, times(3)).execute(any(CombinedResourceKeysRequest.class));
+  }
+
+  @Test
+  void getIdToKeys_WithIrresolvableIdsWithinTimeToLive_ShouldNotFetchThemAgain() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    final CombinedResult mockResult =
+        new CombinedResult(
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("productId", "productKey"))),
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("categoryId", ""))),
+            null);
+    when(ctpClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(mockResult));
+    final Clock clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(0L, 1000L);
+    final ReferencesService referencesService =
+        new ReferencesServiceImpl(
+            ctpClient,
+            10,
+            CacheEvictionPolicy.LEAST_RECENTLY_USED,
+            Duration.ofMinutes(1),
+            clock,
+            null);
+    referencesService.getIdToKeys(
+        asSet("productId", "productId2"), asSet("categoryId"), emptySet());
+
+    // test
+    final CompletionStage<Map<String, String>> idToKeysStage =
+        referencesService.getIdToKeys(
+            asSet("productId", "productId2"), asSet("categoryId"), emptySet());
+
+    // assertions
+    assertThat(idToKeysStage).isCompletedWithValue(singletonMap("productId", "productKey"));
+    verify(ctpClient, times(1)).execute(any(CombinedResourceKeysRequest.class));
+  }
+
+  @Test
+  void getIdToKeys_WithIrresolvableIdsAfterTimeToLive_ShouldFetchThemAgain() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    when(ctpClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new CombinedResult(null, new ResultingResourcesContainer(emptySet()), null)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new CombinedResult(
+                    null,
+                    new ResultingResourcesContainer(
+                        asSet(new ReferenceIdKey("categoryId", "categoryKey"))),
+                    null)));
+    final Clock clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(0L, 60_000L);
+    final ReferencesService referencesService =
+        new ReferencesServiceImpl(
+            ctpClient,
+            10,
+            CacheEvictionPolicy.LEAST_RECENTLY_USED,
+            Duration.ofMinutes(1),
+            clock,
+            null);
+    referencesService.getIdToKeys(emptySet(), asSet("categoryId"), emptySet());
+
+    // test
+    final CompletionStage<Map<String, String>> idToKeysStage =
+        referencesService.getIdToKeys(emptySet(), asSet("categoryId"), emptySet());
+
+    // assertions
+    assertThat(idToKeysStage).isCompletedWithValue(singletonMap("categoryId", "categoryKey"));
+    verify(ctpClient, times(2)).execute(any(CombinedResourceKeysRequest.class));
+  }
+
+  @Test
+  void cacheAllCategoryAndProductTypeKeys_WithMultiplePages_ShouldCacheAllKeys() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    final Set<ReferenceIdKey> fullPage =
+        IntStream.range(0, ResourceKeysPageRequest.PAGE_SIZE)
+            .mapToObj(index -> new ReferenceIdKey("categoryId" + index, "categoryKey" + index))
+            .collect(Collectors.toSet());
+    when(ctpClient.execute(any(ResourceKeysPageRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              final String requestBody =
+                  ((StringHttpRequestBody)
+                          ((ResourceKeysPageRequest) invocation.getArgument(0))
+                              .httpRequestIntent()
+                              .getBody())
+                      .getString();
+              final Set<ReferenceIdKey> results;
+              if (requestBody.contains("productTypes")) {
+                results = asSet(new ReferenceIdKey("productTypeId", "productTypeKey"));
+              } else if (requestBody.contains("where")) {
+                results = asSet(new ReferenceIdKey("categoryId500", ""));
+              } else {
+                results = fullPage;
+              }
+              return CompletableFuture.completedFuture(new ResultingResourcesContainer(results));
+            });
+    final ReferencesService referencesService = new ReferencesServiceImpl(ctpClient);
+
+    // test
+    final CompletionStage<Void> cacheStage = referencesService.cacheAllCategoryAndProductTypeKeys();
+    final CompletionStage<Map<String, String>> idToKeysStage =
+        referencesService.getIdToKeys(
+            emptySet(), asSet("categoryId0", "categoryId500"), asSet("productTypeId"));
+
+    // assertions
+    assertThat(cacheStage).isCompleted();
+    final HashMap<String, String> expectedIdToKeys = new HashMap<>();
+    expectedIdToKeys.put("categoryId0", "categoryKey0");
+    expectedIdToKeys.put("productTypeId", "productTypeKey");
+    assertThat(idToKeysStage).isCompletedWithValue(expectedIdToKeys);
+    verify(ctpClient, times(3)).execute(any(ResourceKeysPageRequest.class));
+    verify(ctpClient, never()).execute(any(CombinedResourceKeysRequest.class));
+  }
+
+  @Test
+  void getIdToKeys_WithPersistentCacheDirectory_ShouldReuseKeysPersistedByPreviousRun(
+      @TempDir final Path persistentCacheDirectory) {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    when(ctpClient.getConfig()).thenReturn(SphereApiConfig.of("test-project"));
+    final CombinedResult mockResult =
+        new CombinedResult(
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("productId", "productKey"))),
+            null,
+            null);
+    when(ctpClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(mockResult));
+    new ReferencesServiceImpl(
+            ctpClient,
+            10,
+            CacheEvictionPolicy.LEAST_RECENTLY_USED,
+            Duration.ZERO,
+            Clock.systemDefaultZone(),
+            persistentCacheDirectory)
+        .getIdToKeys(asSet("productId"), emptySet(), emptySet());
+    final ReferencesService referencesService =
+        new ReferencesServiceImpl(
+            ctpClient,
+            10,
+            CacheEvictionPolicy.LEAST_RECENTLY_USED,
+            Duration.ZERO,
+            Clock.systemDefaultZone(),
+            persistentCacheDirectory);
+
+    // test
+    final CompletionStage<Map<String, String>> idToKeysStage =
+        referencesService.getIdToKeys(asSet("productId"), emptySet(), emptySet());
+
+    // assertions
+    assertThat(idToKeysStage).isCompletedWithValue(singletonMap("productId", "productKey"));
+    verify(ctpClient, times(1)).execute(any(CombinedResourceKeysRequest.class));
+  }
+
+  @Test
+  void getIdToKeys_WithConcurrentLookupsOfSameIds_ShouldFetchEveryIdOnce() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    final CompletableFuture<CombinedResult> pendingResult = new CompletableFuture<>();
+    when(ctpClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenReturn(pendingResult)
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new CombinedResult(
+                    new ResultingResourcesContainer(
+                        asSet(new ReferenceIdKey("productId2", "productKey2"))),
+                    null,
+                    null)));
+    final ReferencesService referencesService = new ReferencesServiceImpl(ctpClient);
+    final CompletionStage<Map<String, String>> firstIdToKeysStage =
+        referencesService.getIdToKeys(asSet("productId"), asSet("categoryId"), emptySet());
+
+    // test
+    final CompletionStage<Map<String, String>> secondIdToKeysStage =
+        referencesService.getIdToKeys(asSet("productId", "productId2"), emptySet(), emptySet());
+    final boolean isSecondStageCompletedBeforeFirstLookup =
+        secondIdToKeysStage.toCompletableFuture().isDone();
+    pendingResult.complete(
+        new CombinedResult(
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("productId", "productKey"))),
+            new ResultingResourcesContainer(asSet(new ReferenceIdKey("categoryId", "categoryKey"))),
+            null));
+
+    // assertions
+    assertThat(isSecondStageCompletedBeforeFirstLookup).isFalse();
+    final HashMap<String, String> expectedFirstIdToKeys = new HashMap<>();
+    expectedFirstIdToKeys.put("productId", "productKey");
+    expectedFirstIdToKeys.put("categoryId", "categoryKey");
+    assertThat(firstIdToKeysStage).isCompletedWithValue(expectedFirstIdToKeys);
+    final HashMap<String, String> expectedSecondIdToKeys = new HashMap<>();
+    expectedSecondIdToKeys.put("productId", "productKey");
+    expectedSecondIdToKeys.put("productId2", "productKey2");
+    assertThat(secondIdToKeysStage).isCompletedWithValue(expectedSecondIdToKeys);
+    verify(ctpClient, times(2)).execute(any(CombinedResourceKeysRequest.class));
+    assertThat(referencesService.getCacheReportMessage())
+        .endsWith("1 lookups waited for the pending lookup of the same id.");
+  }
+
+  @Test
+  void getIdToKeys_WithRequestThrowingSynchronously_ShouldFailAndNotBlockLaterLookupsOfSameIds() {
+    // preparation
+    final SphereClient ctpClient = mock(SphereClient.class);
+    final IllegalStateException requestException = new IllegalStateException("request failed");
+    when(ctpClient.execute(any(CombinedResourceKeysRequest.class)))
+        .thenThrow(requestException)
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new CombinedResult(
+                    new ResultingResourcesContainer(
+                        asSet(new ReferenceIdKey("productId", "productKey"))),
+                    null,
+                    null)));
+    final ReferencesService referencesService = new ReferencesServiceImpl(ctpClient);
+
+    // test
+    final CompletionStage<Map<String, String>> failedIdToKeysStage =
+        referencesService.getIdToKeys(asSet("productId"), emptySet(), emptySet());
+    final CompletionStage<Map<String, String>> idToKeysStage =
+        referencesService.getIdToKeys(asSet("productId"), emptySet(), emptySet());
+
+    // assertions
+    assertThat(failedIdToKeysStage).hasFailedWithThrowableThat().isEqualTo(requestException);
+    assertThat(idToKeysStage).isCompletedWithValue(singletonMap("productId", "productKey"));
+    verify(ctpClient, times(2)).execute(any(CombinedResourceKeysRequest.class));
+  }
 }
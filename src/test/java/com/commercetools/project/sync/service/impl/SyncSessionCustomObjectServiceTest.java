@@ -0,0 +1,88 @@
+package com.commercetools.project.sync.service.impl;
+
+import static com.commercetools.project.sync.service.impl.SyncSessionCustomObjectService.SYNC_SESSION_NAME;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.service.CustomObjectService;
+import io.sphere.sdk.customobjects.CustomObject;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class SyncSessionCustomObjectServiceTest {
+
+  private static final List<String> SYNC_MODULE_NAMES = asList("ProductSync", "CategorySync");
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void start_ShouldAnswerSessionModulesFromSessionData() {
+    // preparation
+    final ZonedDateTime currentCtpTimestamp = ZonedDateTime.now();
+    final CustomObject<LastSyncCustomObject> productSyncCustomObject = mock(CustomObject.class);
+    final CustomObjectService delegate = mock(CustomObjectService.class);
+    when(delegate.getCurrentCtpTimestamp("runner", SYNC_SESSION_NAME))
+        .thenReturn(CompletableFuture.completedFuture(currentCtpTimestamp));
+    when(delegate.getLastSyncCustomObjects("foo", SYNC_MODULE_NAMES, "runner"))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                singletonMap("ProductSync", productSyncCustomObject)));
+
+    // test
+    final CustomObjectService sessionService =
+        SyncSessionCustomObjectService.start(delegate, "foo", SYNC_MODULE_NAMES, "runner")
+            .toCompletableFuture()
+            .join();
+
+    // assertions
+    assertThat(sessionService.getCurrentCtpTimestamp("runner", "ProductSync"))
+        .isCompletedWithValue(currentCtpTimestamp);
+    assertThat(sessionService.getCurrentCtpTimestamp("runner", "CategorySync"))
+        .isCompletedWithValue(currentCtpTimestamp);
+    assertThat(sessionService.getLastSyncCustomObject("foo", "ProductSync", "runner"))
+        .isCompletedWithValue(Optional.of(productSyncCustomObject));
+    assertThat(sessionService.getLastSyncCustomObject("foo", "CategorySync", "runner"))
+        .isCompletedWithValue(Optional.empty());
+    verify(delegate, times(1)).getCurrentCtpTimestamp(any(), any());
+    verify(delegate, never()).getLastSyncCustomObject(any(), any(), any());
+  }
+
+  @Test
+  void start_WithModuleOutsideOfSession_ShouldDelegate() {
+    // preparation
+    final CustomObjectService delegate = mock(CustomObjectService.class);
+    when(delegate.getCurrentCtpTimestamp(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(ZonedDateTime.now()));
+    when(delegate.getLastSyncCustomObjects(any(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(emptyMap()));
+    when(delegate.getLastSyncCustomObject(any(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+    final CustomObjectService sessionService =
+        SyncSessionCustomObjectService.start(delegate, "foo", SYNC_MODULE_NAMES, null)
+            .toCompletableFuture()
+            .join();
+
+    // test
+    sessionService.getCurrentCtpTimestamp(null, "TypeSync");
+    sessionService.getLastSyncCustomObject("foo", "TypeSync", null);
+    sessionService.getLastSyncCustomObject("bar", "ProductSync", null);
+
+    // assertions
+    verify(delegate, times(1)).getCurrentCtpTimestamp(null, "TypeSync");
+    verify(delegate, times(1)).getLastSyncCustomObject("foo", "TypeSync", null);
+    verify(delegate, times(1)).getLastSyncCustomObject(eq("bar"), eq("ProductSync"), any());
+  }
+}
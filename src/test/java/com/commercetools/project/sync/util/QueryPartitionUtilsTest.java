@@ -0,0 +1,146 @@
+package com.commercetools.project.sync.util;
+
+import static com.commercetools.project.sync.util.QueryPartitionUtils.MAX_ID_RANGE_PARTITIONS;
+import static com.commercetools.project.sync.util.QueryPartitionUtils.getShardIdRangePredicate;
+import static com.commercetools.project.sync.util.QueryPartitionUtils.getTimeWindowBounds;
+import static com.commercetools.project.sync.util.QueryPartitionUtils.partitionByIdRanges;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.queries.QueryPredicate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class QueryPartitionUtilsTest {
+
+  @Test
+  void partitionByIdRanges_WithOnePartition_ShouldReturnSuppliedQuery() {
+    // preparation
+    final CategoryQuery query = CategoryQuery.of();
+
+    // test
+    final List<CategoryQuery> partitionQueries = partitionByIdRanges(query, 1);
+
+    // assertion
+    assertThat(partitionQueries).containsExactly(query);
+  }
+
+  @Test
+  void partitionByIdRanges_WithFourPartitions_ShouldAddDisjointIdRangePredicates() {
+    // preparation
+    final QueryPredicate<Category> keyPredicate = QueryPredicate.of("key is defined");
+    final CategoryQuery query = CategoryQuery.of().plusPredicates(keyPredicate);
+
+    // test
+    final List<CategoryQuery> partitionQueries = partitionByIdRanges(query, 4);
+
+    // assertions
+    assertThat(partitionQueries.stream().map(QueryPartitionUtilsTest::getPredicates))
+        .containsExactly(
+            "key is defined,id < \"40\"",
+            "key is defined,id >= \"40\",id < \"80\"",
+            "key is defined,id >= \"80\",id < \"c0\"",
+            "key is defined,id >= \"c0\"");
+  }
+
+  @Test
+  void partitionByIdRanges_WithTooManyPartitions_ShouldLimitToMaxPartitions() {
+    // test
+    final List<CategoryQuery> partitionQueries =
+        partitionByIdRanges(CategoryQuery.of(), MAX_ID_RANGE_PARTITIONS + 10);
+
+    // assertions
+    assertThat(partitionQueries).hasSize(MAX_ID_RANGE_PARTITIONS);
+    assertThat(getPredicates(partitionQueries.get(0))).isEqualTo("id < \"01\"");
+    assertThat(getPredicates(partitionQueries.get(MAX_ID_RANGE_PARTITIONS - 1)))
+        .isEqualTo("id >= \"ff\"");
+  }
+
+  @Test
+  void partitionByIdRanges_WithShards_ShouldPartitionIdRangeOfShard() {
+    // test
+    final List<CategoryQuery> firstShardQueries = partitionByIdRanges(CategoryQuery.of(), 1, 4, 2);
+    final List<CategoryQuery> thirdShardQueries = partitionByIdRanges(CategoryQuery.of(), 3, 4, 2);
+    final List<CategoryQuery> lastShardQueries = partitionByIdRanges(CategoryQuery.of(), 4, 4, 1);
+
+    // assertions
+    assertThat(firstShardQueries.stream().map(QueryPartitionUtilsTest::getPredicates))
+        .containsExactly("id < \"20\"", "id >= \"20\",id < \"40\"");
+    assertThat(thirdShardQueries.stream().map(QueryPartitionUtilsTest::getPredicates))
+        .containsExactly("id >= \"80\",id < \"a0\"", "id >= \"a0\",id < \"c0\"");
+    assertThat(lastShardQueries.stream().map(QueryPartitionUtilsTest::getPredicates))
+        .containsExactly("id >= \"c0\"");
+  }
+
+  @Test
+  void partitionByIdRanges_WithMorePartitionsThanShardIdRangeBounds_ShouldLimitPartitions() {
+    // test
+    final List<CategoryQuery> partitionQueries = partitionByIdRanges(CategoryQuery.of(), 2, 128, 4);
+
+    // assertions
+    assertThat(partitionQueries.stream().map(QueryPartitionUtilsTest::getPredicates))
+        .containsExactly("id >= \"02\",id < \"03\"", "id >= \"03\",id < \"04\"");
+  }
+
+  @Test
+  void getShardIdRangePredicate_WithShards_ShouldReturnIdRangeOfShard() {
+    // test
+    final Optional<String> firstShardPredicate = getShardIdRangePredicate(1, 4);
+    final Optional<String> thirdShardPredicate = getShardIdRangePredicate(3, 4);
+    final Optional<String> lastShardPredicate = getShardIdRangePredicate(4, 4);
+
+    // assertions
+    assertThat(firstShardPredicate).contains("id < \"40\"");
+    assertThat(thirdShardPredicate).contains("id >= \"80\" AND id < \"c0\"");
+    assertThat(lastShardPredicate).contains("id >= \"c0\"");
+  }
+
+  @Test
+  void getShardIdRangePredicate_WithOneShard_ShouldReturnEmptyOptional() {
+    // test
+    final Optional<String> predicate = getShardIdRangePredicate(1, 1);
+
+    // assertion
+    assertThat(predicate).isEmpty();
+  }
+
+  @Test
+  void getTimeWindowBounds_WithThreeWindows_ShouldSplitRangeIntoEqualWindows() {
+    // preparation
+    final ZonedDateTime lowerBound = ZonedDateTime.parse("2019-01-01T00:00:00Z");
+    final ZonedDateTime upperBound = ZonedDateTime.parse("2019-01-01T03:00:00Z");
+
+    // test
+    final List<ZonedDateTime> bounds = getTimeWindowBounds(lowerBound, upperBound, 3);
+
+    // assertion
+    assertThat(bounds)
+        .containsExactly(
+            lowerBound,
+            ZonedDateTime.parse("2019-01-01T01:00:00Z"),
+            ZonedDateTime.parse("2019-01-01T02:00:00Z"),
+            upperBound);
+  }
+
+  @Test
+  void getTimeWindowBounds_WithOneWindow_ShouldReturnRangeBounds() {
+    // preparation
+    final ZonedDateTime lowerBound = ZonedDateTime.parse("2019-01-01T00:00:00Z");
+    final ZonedDateTime upperBound = ZonedDateTime.parse("2019-01-01T03:00:00Z");
+
+    // test
+    final List<ZonedDateTime> bounds = getTimeWindowBounds(lowerBound, upperBound, 1);
+
+    // assertion
+    assertThat(bounds).containsExactly(lowerBound, upperBound);
+  }
+
+  private static String getPredicates(final CategoryQuery query) {
+    return String.join(
+        ",", query.predicates().stream().map(QueryPredicate::toSphereQuery).collect(toList()));
+  }
+}